@@ -1,23 +1,29 @@
-import io.XlsReader;
+import io.IncrementalIngestor;
+import io.SnapshotCache;
+import io.StreamingPipeline;
+import io.WorkbookSource;
 import io.XlsWriter;
 import io.XmlWriter;
 import io.JsonWriter;
+import model.Dataset;
 import model.Root;
 import model.Statistics;
 import model.Student;
 import model.University;
-import comparators.StudentComparator;
-import comparators.UniversityComparator;
-import enums.StudentComparatorType;
+import enums.StudyProfile;
 import enums.UniversityComparatorType;
-import util.ComparatorUtil;
+import util.SortUtil;
+import util.StatisticsEngine;
 import util.StatisticsUtil;
+import util.TopStudentsUtil;
 
 import javax.xml.bind.JAXBException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 import java.util.logging.LogManager;
@@ -29,10 +35,27 @@ public class Boot {
 
     private static final Logger logger = Logger.getLogger(Boot.class.getName());
 
+    /** Путь к книге с исходными данными. */
+    private static final String SOURCE_PATH = "src/main/resources/universityInfo.xlsx";
+
+    /** Путь к отчёту по статистике. */
+    private static final String REPORT_PATH = "target/statistics-report.xlsx";
+
+    /** Аргумент командной строки, включающий наблюдение за книгой после обработки. */
+    private static final String WATCH_ARGUMENT = "--watch";
+
+    /** Аргумент командной строки, включающий потоковую обработку с ограниченным расходом памяти. */
+    private static final String STREAM_ARGUMENT = "--stream";
+
+    /** Количество лучших студентов, выводимых по каждому профилю обучения. */
+    private static final int TOP_STUDENTS_PER_PROFILE = 5;
+
     /**
      * Запускает обработку данных: читает XLSX, сортирует коллекции, строит статистику и сохраняет отчёт.
      *
-     * @param args аргументы командной строки (не используются)
+     * @param args аргументы командной строки; {@code --stream} включает потоковую обработку без загрузки всех
+     *             студентов в память (без сортировок и списков лучших студентов), {@code --watch} после обработки
+     *             включает наблюдение за книгой и пересчёт отчёта по статистике при каждом её изменении
      * @throws IOException если чтение исходных файлов или запись отчёта завершается ошибкой
      */
     public static void main(String[] args) throws IOException {
@@ -48,29 +71,49 @@ public class Boot {
 
         logger.info("Starting application data processing");
 
-        List<University> universities =
-                XlsReader.readXlsUniversities("src/main/resources/universityInfo.xlsx");
-        logger.info("Successfully loaded " + universities.size() + " universities from file");
+        List<String> arguments = Arrays.asList(args);
+        if (arguments.contains(STREAM_ARGUMENT)) {
+            processStreaming();
+        } else {
+            processInMemory();
+        }
+
+        logger.info("Application processing completed successfully");
 
-        // Получаем компаратор университетов по полному названию
-        UniversityComparator universityComparator = ComparatorUtil.getUniversityComparator(UniversityComparatorType.FULL_NAME);
+        if (arguments.contains(WATCH_ARGUMENT)) {
+            watchSource(REPORT_PATH);
+        }
+    }
 
+    /**
+     * Обрабатывает книгу целиком в памяти: сортирует коллекции, выбирает лучших студентов, строит статистику
+     * и формирует отчёт, XML и JSON.
+     *
+     * @throws IOException если чтение книги или запись отчёта завершается ошибкой
+     */
+    private static void processInMemory() throws IOException {
+        Dataset dataset = SnapshotCache.read(SOURCE_PATH);
+
+        List<University> universities = dataset.getUniversities();
+        logger.info("Successfully loaded " + universities.size() + " universities from file");
+
+        // Сортируем университеты по полному названию (параллельно на больших объёмах)
         logger.info("Universities sorted by full name:");
-        universities.stream()
-                .sorted(universityComparator)
+        SortUtil.sortUniversities(universities, UniversityComparatorType.FULL_NAME)
                 .forEach(university -> logger.info(university.toString()));
 
-        List<Student> students =
-                XlsReader.readXlsStudents("src/main/resources/universityInfo.xlsx");
+        List<Student> students = dataset.getStudents();
         logger.info("Successfully loaded " + students.size() + " students from file");
 
-        // Получаем компаратор студентов по среднему баллу
-        StudentComparator studentComparator = ComparatorUtil.getStudentComparator(StudentComparatorType.AVG_EXAM_SCORE);
+        // Лучшие студенты каждого профиля без сортировки всего списка
+        Map<StudyProfile, List<Student>> topStudents =
+                TopStudentsUtil.topByProfile(students, universities, TOP_STUDENTS_PER_PROFILE);
 
-        logger.info("Students sorted by average exam score (descending):");
-        students.stream()
-                .sorted(studentComparator)
-                .forEach(student -> logger.info(student.toString()));
+        logger.info("Top " + TOP_STUDENTS_PER_PROFILE + " students by average exam score per study profile:");
+        topStudents.forEach((profile, profileStudents) -> {
+            logger.info(profile.getProfileName() + ":");
+            profileStudents.forEach(student -> logger.info(student.toString()));
+        });
 
         // Статистика по профилям обучения
         logger.info("=== STUDY PROFILE STATISTICS ===");
@@ -78,9 +121,8 @@ public class Boot {
         logger.info("Calculated statistics for " + statistics.size() + " study profiles");
         statistics.forEach(stat -> logger.info(stat.toString()));
 
-        String reportPath = "target/statistics-report.xlsx";
-        XlsWriter.writeStatistics(statistics, reportPath);
-        logger.info("Statistics report generated: " + reportPath);
+        XlsWriter.writeStatistics(statistics, REPORT_PATH);
+        logger.info("Statistics report generated: " + REPORT_PATH);
 
         // Создаём корневой объект для XML и JSON экспорта
         LocalDateTime processedAt = LocalDateTime.now();
@@ -107,7 +149,65 @@ public class Boot {
         } catch (IOException e) {
             logger.log(Level.SEVERE, "Failed to write JSON file to disk: " + e.getMessage(), e);
         }
+    }
 
-        logger.info("Application processing completed successfully");
+    /**
+     * Обрабатывает книгу потоково: студенты пакетами проходят через агрегацию статистики и запись XML и JSON,
+     * не накапливаясь в памяти; по готовой статистике формируется отчёт.
+     *
+     * @throws IOException если чтение книги, запись XML и JSON или запись отчёта завершается ошибкой
+     */
+    private static void processStreaming() throws IOException {
+        LocalDateTime processedAt = LocalDateTime.now();
+        StreamingPipeline.Result result;
+        try (WorkbookSource source = WorkbookSource.open(SOURCE_PATH)) {
+            List<University> universities = source.readUniversities();
+            logger.info("Successfully loaded " + universities.size() + " universities from file");
+            result = new StreamingPipeline()
+                    .setJsonOutput(JsonWriter.outputPath(processedAt))
+                    .setXmlOutput(XmlWriter.outputPath(processedAt))
+                    .setProcessedAt(processedAt)
+                    .run(universities, source::streamStudents);
+        }
+        logger.info("Streamed " + result);
+
+        logger.info("=== STUDY PROFILE STATISTICS ===");
+        result.getStatistics().forEach(stat -> logger.info(stat.toString()));
+
+        XlsWriter.writeStatistics(result.getStatistics(), REPORT_PATH);
+        logger.info("Statistics report generated: " + REPORT_PATH);
+    }
+
+    /**
+     * Наблюдает за книгой с исходными данными до завершения процесса: изменения книги применяются
+     * к инкрементальному движку статистики, после чего отчёт по статистике перезаписывается. Начальное состояние
+     * берётся из сохранённого состояния или снимка, поэтому книга, уже прочитанная при обработке, повторно
+     * не разбирается.
+     *
+     * @param reportPath путь к отчёту по статистике
+     * @throws IOException если книгу или состояние инкрементального чтения не удаётся прочитать
+     */
+    private static void watchSource(String reportPath) throws IOException {
+        IncrementalIngestor ingestor = IncrementalIngestor.open(SOURCE_PATH);
+        if (!ingestor.seedFromSnapshot()) {
+            ingestor.ingest();
+        }
+        StatisticsEngine engine = new StatisticsEngine(ingestor.getUniversities(), ingestor.getStudents());
+        try (IncrementalIngestor.Watch watch = ingestor.watch(delta -> {
+            delta.applyTo(engine);
+            List<Statistics> statistics = engine.getStatistics();
+            logger.info("Recalculated statistics after " + delta);
+            statistics.forEach(stat -> logger.info(stat.toString()));
+            try {
+                XlsWriter.writeStatistics(statistics, reportPath);
+                logger.info("Statistics report updated: " + reportPath);
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Failed to update statistics report: " + e.getMessage(), e);
+            }
+        })) {
+            watch.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 }
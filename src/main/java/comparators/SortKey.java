@@ -0,0 +1,116 @@
+package comparators;
+
+import enums.SortDirection;
+
+import java.util.Objects;
+
+/**
+ * Элемент составного ключа сортировки: тип сравнения и направление.
+ * <p>
+ * Направление относится к значению атрибута, а не к порядку компаратора типа: например,
+ * {@code SortKey.descending(StudentComparatorType.AVG_EXAM_SCORE)} упорядочивает студентов от большего балла
+ * к меньшему, как и {@link StudentAvgExamScoreComparator}.
+ * </p>
+ *
+ * @param <T> перечисление типов сравнения ({@code StudentComparatorType} или {@code UniversityComparatorType})
+ */
+public final class SortKey<T extends Enum<T>> {
+
+    private final T type;
+    private final SortDirection direction;
+
+    /**
+     * Создаёт элемент ключа сортировки.
+     *
+     * @param type      тип сравнения
+     * @param direction направление сортировки
+     * @throws NullPointerException если тип или направление равны {@code null}
+     */
+    private SortKey(T type, SortDirection direction) {
+        this.type = Objects.requireNonNull(type, "type");
+        this.direction = Objects.requireNonNull(direction, "direction");
+    }
+
+    /**
+     * Создаёт элемент ключа сортировки с указанным направлением.
+     *
+     * @param type      тип сравнения
+     * @param direction направление сортировки
+     * @param <T>       перечисление типов сравнения
+     * @return элемент ключа
+     */
+    public static <T extends Enum<T>> SortKey<T> of(T type, SortDirection direction) {
+        return new SortKey<>(type, direction);
+    }
+
+    /**
+     * Создаёт элемент ключа сортировки по возрастанию значения.
+     *
+     * @param type тип сравнения
+     * @param <T>  перечисление типов сравнения
+     * @return элемент ключа
+     */
+    public static <T extends Enum<T>> SortKey<T> ascending(T type) {
+        return new SortKey<>(type, SortDirection.ASCENDING);
+    }
+
+    /**
+     * Создаёт элемент ключа сортировки по убыванию значения.
+     *
+     * @param type тип сравнения
+     * @param <T>  перечисление типов сравнения
+     * @return элемент ключа
+     */
+    public static <T extends Enum<T>> SortKey<T> descending(T type) {
+        return new SortKey<>(type, SortDirection.DESCENDING);
+    }
+
+    /**
+     * Возвращает тип сравнения.
+     *
+     * @return тип сравнения
+     */
+    public T getType() {
+        return type;
+    }
+
+    /**
+     * Возвращает направление сортировки.
+     *
+     * @return направление сортировки
+     */
+    public SortDirection getDirection() {
+        return direction;
+    }
+
+    /**
+     * Проверяет, задана ли сортировка по убыванию.
+     *
+     * @return {@code true} для {@link SortDirection#DESCENDING}
+     */
+    public boolean isDescending() {
+        return direction == SortDirection.DESCENDING;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SortKey)) {
+            return false;
+        }
+        SortKey<?> other = (SortKey<?>) o;
+        return type == other.type && direction == other.direction;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, direction);
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + direction;
+    }
+}
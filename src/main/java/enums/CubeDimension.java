@@ -0,0 +1,15 @@
+package enums;
+
+/**
+ * Измерения куба статистики {@link util.StatisticsCube}.
+ */
+public enum CubeDimension {
+    /** Основной профиль обучения университета, значения типа {@link StudyProfile}. */
+    STUDY_PROFILE,
+    /** Идентификатор университета, значения типа {@link String}. */
+    UNIVERSITY,
+    /** Номер текущего курса студента, значения типа {@link Integer}. */
+    COURSE,
+    /** Десятилетие основания университета (например, 1950 для 1955 года), значения типа {@link Integer}. */
+    FOUNDATION_DECADE
+}
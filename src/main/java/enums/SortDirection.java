@@ -0,0 +1,11 @@
+package enums;
+
+/**
+ * Перечисление направлений сортировки по значению атрибута в составных компараторах.
+ */
+public enum SortDirection {
+    /** По возрастанию значения: меньшие числа и лексикографически меньшие строки первыми. */
+    ASCENDING,
+    /** По убыванию значения: большие числа и лексикографически большие строки первыми. */
+    DESCENDING
+}
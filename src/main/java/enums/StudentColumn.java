@@ -0,0 +1,15 @@
+package enums;
+
+/**
+ * Столбцы листа студентов, которые можно запросить через {@link io.XlsQuery}.
+ */
+public enum StudentColumn {
+    /** Идентификатор университета. */
+    UNIVERSITY_ID,
+    /** Полное имя студента. */
+    FULL_NAME,
+    /** Номер текущего курса. */
+    COURSE,
+    /** Средний балл за экзамены. */
+    AVG_SCORE
+}
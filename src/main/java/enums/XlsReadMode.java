@@ -0,0 +1,11 @@
+package enums;
+
+/**
+ * Режимы чтения XLSX-файлов с исходными данными.
+ */
+public enum XlsReadMode {
+    /** Загрузка книги целиком в объектную модель {@code XSSFWorkbook}. */
+    DOM,
+    /** Потоковый разбор листа через событийную модель POI с постоянным расходом памяти. */
+    STREAMING
+}
@@ -0,0 +1,130 @@
+package io;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Несинхронизированная буферизованная запись символов в канал в кодировке UTF-8.
+ * <p>
+ * Символы накапливаются в массиве и кодируются в байтовый буфер одним вызовом {@link CharsetEncoder} на весь
+ * буфер, после чего байты записываются в канал. В отличие от цепочки {@code BufferedWriter} →
+ * {@code OutputStreamWriter}, мелкие записи (JSON-писатель передаёт отдельные скобки, запятые и отступы) не проходят
+ * через синхронизированные методы и кодировщик по одной. Некорректные суррогатные пары заменяются символом
+ * {@code '?'}, как в {@code OutputStreamWriter}. Экземпляр не потокобезопасен.
+ * </p>
+ */
+final class ChannelWriter extends Writer {
+
+    private final WritableByteChannel channel;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final char[] chars;
+    private final ByteBuffer bytes;
+    private int position;
+    private boolean closed;
+
+    /**
+     * Создаёт запись в канал.
+     *
+     * @param channel    канал, в который записываются байты; закрывается вместе с записью
+     * @param bufferSize размер буфера, в символах
+     */
+    ChannelWriter(WritableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.chars = new char[bufferSize];
+        this.bytes = ByteBuffer.allocate((int) Math.ceil(bufferSize * (double) encoder.maxBytesPerChar()));
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        if (position == chars.length) {
+            drain(false);
+        }
+        chars[position++] = (char) c;
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        while (len > 0) {
+            if (position == chars.length) {
+                drain(false);
+            }
+            int count = Math.min(len, chars.length - position);
+            str.getChars(off, off + count, chars, position);
+            position += count;
+            off += count;
+            len -= count;
+        }
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        while (len > 0) {
+            if (position == chars.length) {
+                drain(false);
+            }
+            int count = Math.min(len, chars.length - position);
+            System.arraycopy(cbuf, off, chars, position, count);
+            position += count;
+            off += count;
+            len -= count;
+        }
+    }
+
+    /**
+     * Кодирует накопленные символы и записывает их в канал. Буфер операционной системы не сбрасывается на диск.
+     *
+     * @throws IOException если запись в канал завершается ошибкой
+     */
+    @Override
+    public void flush() throws IOException {
+        drain(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            drain(true);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Кодирует буфер символов и записывает байты в канал. Старшая половина суррогатной пары в конце буфера
+     * остаётся в нём до следующей записи.
+     *
+     * @param endOfInput {@code true}, если символов больше не будет
+     * @throws IOException если запись в канал завершается ошибкой
+     */
+    private void drain(boolean endOfInput) throws IOException {
+        CharBuffer input = CharBuffer.wrap(chars, 0, position);
+        bytes.clear();
+        CoderResult result = encoder.encode(input, bytes, endOfInput);
+        if (endOfInput && result.isUnderflow()) {
+            result = encoder.flush(bytes);
+        }
+        if (result.isError() || result.isOverflow()) {
+            result.throwException();
+        }
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        int remaining = input.remaining();
+        System.arraycopy(chars, input.position(), chars, 0, remaining);
+        position = remaining;
+    }
+}
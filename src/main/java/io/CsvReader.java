@@ -0,0 +1,710 @@
+package io;
+
+import model.Student;
+import model.StudentTable;
+import model.University;
+import util.StringDictionary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Чтение университетов и студентов из CSV- и TSV-выгрузок с той же разметкой столбцов, что и листы XLSX-книги
+ * ({@link XlsReader}).
+ * <p>
+ * Файл отображается в память через {@link FileChannel#map}, разделители ищутся прямо в байтах отображения,
+ * а поля студентов декодируются без создания строки на каждую строку файла: числа разбираются из байтов,
+ * идентификатор университета находится по байтам в кэше фрагмента и заменяется каноническим экземпляром словаря
+ * {@link StringDictionary}, который создаётся на каждое чтение файла и общий для всех его фрагментов; строка
+ * создаётся только для имени студента. Файл делится
+ * на фрагменты по границам строк, фрагменты разбираются параллельно и склеиваются в исходном порядке.
+ * </p>
+ * <p>
+ * Первая строка файла считается заголовком и пропускается, пустые строки пропускаются, окончания строк
+ * {@code \n} и {@code \r\n} допустимы. Разделитель — табуляция для файлов {@code .tsv} и {@code .tab}, иначе
+ * запятая. Поля в двойных кавычках (с удвоением кавычки внутри) поддерживаются, но не должны содержать переводов
+ * строки: деление на фрагменты считает каждую запись одной строкой. Пустое поле соответствует пустой ячейке
+ * листа и, как в читателях XLSX, читается пустой строкой; поля, которых нет в конце короткой строки, читаются
+ * как {@code null}. Числа приводятся так же, как значения ячеек XLSX.
+ * </p>
+ */
+public final class CsvReader {
+
+    private static final Logger logger = Logger.getLogger(CsvReader.class.getName());
+
+    /** Количество фрагментов на один поток для выравнивания нагрузки. */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /** Наибольший размер фрагмента: одно отображение не может превышать 2 ГБ. */
+    private static final long MAX_CHUNK_SIZE = 1L << 30;
+
+    /** Размер окна, которым ищется конец строки на границе фрагментов. */
+    private static final int BOUNDARY_SCAN_SIZE = 8192;
+
+    /** Размер окна, в которое переносятся байты отображения при разборе. */
+    private static final int WINDOW_SIZE = 1 << 16;
+
+    /** Наибольшая мантисса, которую быстрый разбор чисел представляет в {@code double} точно. */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private static final double[] POWERS_OF_TEN = new double[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    /**
+     * Скрытый конструктор предотвращает создание экземпляров утилитного класса.
+     */
+    private CsvReader() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Считывает университеты из CSV-файла.
+     *
+     * @param filePath путь к файлу со столбцами «id университета», «Полное название», «Аббревиатура»,
+     *                 «Год основания», «Профиль обучения»
+     * @return список университетов в порядке строк файла
+     * @throws IOException если файл недоступен для чтения
+     * @throws IllegalArgumentException если профиль обучения не распознан
+     */
+    public static List<University> readCsvUniversities(String filePath) throws IOException {
+        logger.info("Starting to read universities from CSV file: " + filePath);
+        List<University> universities = new ArrayList<>();
+        StringDictionary universityIds = new StringDictionary();
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("University file is too large to map: " + size + " bytes");
+            }
+            Cursor cursor = new Cursor(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), delimiter(filePath),
+                    XlsRowMapper.UNIVERSITY_COLUMNS);
+            cursor.nextLine();
+            String[] cells = new String[XlsRowMapper.UNIVERSITY_COLUMNS];
+            while (cursor.nextLine()) {
+                for (int i = 0; i < cells.length; i++) {
+                    cells[i] = cursor.string(i);
+                }
+                universities.add(XlsRowMapper.toUniversity(cells, universityIds));
+            }
+        }
+        logger.info("Successfully read " + universities.size() + " universities from CSV file");
+        return universities;
+    }
+
+    /**
+     * Считывает студентов из CSV-файла, разбирая его всеми доступными процессорами.
+     *
+     * @param filePath путь к файлу со столбцами «id университета», «ФИО», «Курс», «Средний балл»
+     * @return список студентов в порядке строк файла
+     * @throws IOException если файл недоступен для чтения
+     * @throws NumberFormatException если курс или средний балл не являются числами
+     */
+    public static List<Student> readCsvStudents(String filePath) throws IOException {
+        return readCsvStudents(filePath, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Считывает студентов из CSV-файла, разбирая фрагменты заданным количеством потоков.
+     *
+     * @param filePath    путь к файлу со столбцами «id университета», «ФИО», «Курс», «Средний балл»
+     * @param parallelism количество потоков разбора
+     * @return список студентов в порядке строк файла
+     * @throws IOException если файл недоступен для чтения
+     * @throws IllegalArgumentException если parallelism меньше 1
+     * @throws NumberFormatException если курс или средний балл не являются числами
+     */
+    public static List<Student> readCsvStudents(String filePath, int parallelism) throws IOException {
+        StringDictionary universityIds = new StringDictionary();
+        List<Student[]> chunks = parseStudents(filePath, parallelism, universityIds,
+                columns -> columns.toStudents(universityIds));
+        int total = 0;
+        for (Student[] chunk : chunks) {
+            total += chunk.length;
+        }
+        List<Student> students = new ArrayList<>(total);
+        for (Student[] chunk : chunks) {
+            students.addAll(Arrays.asList(chunk));
+        }
+        logger.info("Successfully read " + students.size() + " students from CSV file in " + chunks.size()
+                + " chunks");
+        return students;
+    }
+
+    /**
+     * Считывает студентов из CSV-файла сразу в колоночную таблицу, не создавая объектов {@link Student}.
+     *
+     * @param filePath    путь к файлу со столбцами «id университета», «ФИО», «Курс», «Средний балл»
+     * @param parallelism количество потоков разбора
+     * @return колоночная таблица студентов в порядке строк файла
+     * @throws IOException если файл недоступен для чтения
+     * @throws IllegalArgumentException если parallelism меньше 1
+     * @throws NumberFormatException если курс или средний балл не являются числами
+     */
+    public static StudentTable readCsvStudentTable(String filePath, int parallelism) throws IOException {
+        StringDictionary universityIds = new StringDictionary();
+        List<Columns> chunks = parseStudents(filePath, parallelism, universityIds, Function.identity());
+        int total = 0;
+        for (Columns columns : chunks) {
+            total += columns.size;
+        }
+        StudentTable.Builder builder = new StudentTable.Builder(total, universityIds);
+        for (Columns columns : chunks) {
+            for (int i = 0; i < columns.size; i++) {
+                builder.add(universityIds.decode(columns.universityIdCode[i]), columns.fullName[i],
+                        columns.currentCourseNumber[i], columns.avgExamScore[i]);
+            }
+        }
+        logger.info("Successfully read " + builder.size() + " students from CSV file into a column table");
+        return builder.build();
+    }
+
+    /**
+     * Последовательно передаёт потребителю студентов из CSV-файла, не накапливая их. Подходит как источник
+     * для {@link StreamingPipeline}.
+     *
+     * @param filePath путь к файлу со столбцами «id университета», «ФИО», «Курс», «Средний балл»
+     * @param consumer получатель студентов в порядке строк файла
+     * @return количество прочитанных студентов
+     * @throws IOException если файл недоступен для чтения
+     * @throws NumberFormatException если курс или средний балл не являются числами
+     */
+    public static int streamCsvStudents(String filePath, Consumer<Student> consumer) throws IOException {
+        byte delimiter = delimiter(filePath);
+        StringDictionary universityIds = new StringDictionary();
+        int count = 0;
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            List<long[]> chunks = splitLines(channel, 1);
+            for (int i = 0; i < chunks.size(); i++) {
+                long[] chunk = chunks.get(i);
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, chunk[0], chunk[1] - chunk[0]);
+                count += parseChunk(buffer, delimiter, i == 0, universityIds, (code, name, course, score) ->
+                        consumer.accept(toStudent(code, name, course, score, universityIds)));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Делит файл на фрагменты и разбирает их пулом потоков.
+     *
+     * @param universityIds словарь идентификаторов университетов, общий для всех фрагментов файла
+     * @param finisher      преобразование столбцов фрагмента в результат, выполняемое в потоке разбора
+     * @return результаты фрагментов в порядке следования
+     */
+    private static <T> List<T> parseStudents(String filePath, int parallelism, StringDictionary universityIds,
+                                             Function<Columns, T> finisher) throws IOException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        logger.info("Starting to read students from CSV file: " + filePath + " with parallelism " + parallelism);
+        byte delimiter = delimiter(filePath);
+
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            List<long[]> chunks = splitLines(channel, parallelism * CHUNKS_PER_THREAD);
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                List<ForkJoinTask<T>> tasks = new ArrayList<>(chunks.size());
+                for (int i = 0; i < chunks.size(); i++) {
+                    long[] chunk = chunks.get(i);
+                    boolean first = i == 0;
+                    tasks.add(pool.submit(() -> {
+                        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, chunk[0], chunk[1] - chunk[0]);
+                        return finisher.apply(parseChunk(buffer, delimiter, first, universityIds));
+                    }));
+                }
+                List<T> results = new ArrayList<>(tasks.size());
+                for (ForkJoinTask<T> task : tasks) {
+                    results.add(task.get());
+                }
+                return results;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Parallel CSV parsing was interrupted", e);
+            } catch (ExecutionException e) {
+                logger.severe("Failed to parse CSV chunk: " + e.getCause().getMessage());
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IOException("Failed to parse CSV chunk", e.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Разбирает строки студентов одного фрагмента в столбцы.
+     */
+    private static Columns parseChunk(ByteBuffer buffer, byte delimiter, boolean skipHeader,
+                                      StringDictionary universityIds) {
+        Columns columns = new Columns(Math.max(16, buffer.limit() / 40));
+        parseChunk(buffer, delimiter, skipHeader, universityIds, columns::add);
+        return columns;
+    }
+
+    /**
+     * Разбирает строки студентов одного фрагмента и передаёт значения полей получателю.
+     *
+     * @return количество строк
+     */
+    private static int parseChunk(ByteBuffer buffer, byte delimiter, boolean skipHeader,
+                                  StringDictionary universityIds, RowSink sink) {
+        Cursor cursor = new Cursor(buffer, delimiter, XlsRowMapper.STUDENT_COLUMNS);
+        IdCache ids = new IdCache(universityIds);
+        if (skipHeader) {
+            cursor.nextLine();
+        }
+        int count = 0;
+        while (cursor.nextLine()) {
+            sink.accept(ids.code(cursor, 0), cursor.string(1), cursor.parseInt(2), cursor.parseFloat(3));
+            count++;
+        }
+        return count;
+    }
+
+    private static Student toStudent(int universityIdCode, String fullName, int currentCourseNumber,
+                                     float avgExamScore, StringDictionary universityIds) {
+        return new Student()
+                .setUniversityId(universityIds.decode(universityIdCode), universityIdCode)
+                .setFullName(fullName)
+                .setCurrentCourseNumber(currentCourseNumber)
+                .setAvgExamScore(avgExamScore);
+    }
+
+    /**
+     * Делит файл на фрагменты примерно равного размера, каждый из которых начинается с начала строки.
+     *
+     * @param channel    канал файла
+     * @param chunkCount желаемое количество фрагментов
+     * @return границы фрагментов {@code [start, end)} в порядке следования
+     */
+    private static List<long[]> splitLines(FileChannel channel, int chunkCount) throws IOException {
+        long size = channel.size();
+        long targetSize = Math.min(MAX_CHUNK_SIZE, Math.max(1, size / chunkCount));
+        List<long[]> chunks = new ArrayList<>(chunkCount);
+        ByteBuffer window = ByteBuffer.allocate(BOUNDARY_SCAN_SIZE);
+        long chunkStart = 0;
+        while (chunkStart < size) {
+            long chunkEnd = chunkStart + targetSize >= size ? size
+                    : nextLineStart(channel, chunkStart + targetSize, size, window);
+            if (chunkEnd - chunkStart > Integer.MAX_VALUE) {
+                throw new IOException("CSV line at offset " + chunkStart + " is too long to map");
+            }
+            chunks.add(new long[]{chunkStart, chunkEnd});
+            chunkStart = chunkEnd;
+        }
+        return chunks;
+    }
+
+    /**
+     * Находит начало строки, следующей за переводом строки не раньше указанной позиции.
+     *
+     * @return позиция начала строки или размер файла, если переводов строки больше нет
+     */
+    private static long nextLineStart(FileChannel channel, long from, long size, ByteBuffer window)
+            throws IOException {
+        long position = from;
+        while (position < size) {
+            window.clear();
+            int read = channel.read(window, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (window.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static byte delimiter(String filePath) {
+        String name = filePath.toLowerCase(Locale.ROOT);
+        return name.endsWith(".tsv") || name.endsWith(".tab") ? (byte) '\t' : (byte) ',';
+    }
+
+    /**
+     * Курсор по строкам отображённого фрагмента. Байты переносятся из отображения в окно-массив большими блоками:
+     * поэлементное чтение {@link java.nio.MappedByteBuffer} заметно медленнее просмотра массива, а копирование
+     * блока почти ничего не стоит. Границы полей очередной строки запоминаются как смещения в окне, поэтому
+     * разделение строки на поля ничего не копирует и не создаёт строк.
+     */
+    private static final class Cursor {
+
+        private final ByteBuffer source;
+        private final byte delimiter;
+        private final int[] starts;
+        private final int[] ends;
+        private final boolean[] quoted;
+        private byte[] window;
+        private byte[] scratch = new byte[256];
+        private int limit;
+        private int position;
+        private int fieldCount;
+
+        private Cursor(ByteBuffer source, byte delimiter, int columns) {
+            this.source = source;
+            this.delimiter = delimiter;
+            this.starts = new int[columns];
+            this.ends = new int[columns];
+            this.quoted = new boolean[columns];
+            this.window = new byte[Math.max(1, Math.min(WINDOW_SIZE, source.remaining()))];
+        }
+
+        /**
+         * Переходит к следующей непустой строке.
+         *
+         * @return {@code false}, если строки закончились
+         */
+        private boolean nextLine() {
+            while (true) {
+                if (position >= limit && !source.hasRemaining()) {
+                    return false;
+                }
+                int lineStart = position;
+                int fieldStart = position;
+                boolean inQuotes = false;
+                boolean fieldQuoted = false;
+                fieldCount = 0;
+                byte[] bytes = window;
+                int p = position;
+                while (p < limit) {
+                    byte b = bytes[p];
+                    if (inQuotes) {
+                        if (b == '"') {
+                            if (p + 1 < limit && bytes[p + 1] == '"') {
+                                p++;
+                            } else {
+                                inQuotes = false;
+                            }
+                        }
+                    } else if (b == delimiter) {
+                        endField(fieldStart, p, fieldQuoted);
+                        fieldStart = p + 1;
+                        fieldQuoted = false;
+                    } else if (b == '\n') {
+                        break;
+                    } else if (b == '"' && p == fieldStart) {
+                        inQuotes = true;
+                        fieldQuoted = true;
+                    }
+                    p++;
+                }
+                if (p == limit && source.hasRemaining()) {
+                    refill(lineStart);
+                    continue;
+                }
+                position = p + 1;
+                int lineEnd = p > lineStart && bytes[p - 1] == '\r' ? p - 1 : p;
+                if (lineEnd == lineStart) {
+                    continue;
+                }
+                endField(fieldStart, Math.max(fieldStart, lineEnd), fieldQuoted);
+                return true;
+            }
+        }
+
+        /**
+         * Переносит незавершённую строку в начало окна и дочитывает окно из отображения.
+         */
+        private void refill(int lineStart) {
+            int kept = limit - lineStart;
+            if (kept == window.length) {
+                window = Arrays.copyOfRange(window, lineStart, lineStart + window.length * 2);
+            } else {
+                System.arraycopy(window, lineStart, window, 0, kept);
+            }
+            int count = Math.min(window.length - kept, source.remaining());
+            source.get(window, kept, count);
+            limit = kept + count;
+            position = 0;
+        }
+
+        private void endField(int start, int end, boolean fieldQuoted) {
+            if (fieldCount < starts.length) {
+                starts[fieldCount] = start;
+                ends[fieldCount] = end;
+                quoted[fieldCount] = fieldQuoted;
+            }
+            fieldCount++;
+        }
+
+        private boolean isMissing(int field) {
+            return field >= fieldCount;
+        }
+
+        private boolean isEmpty(int field) {
+            return field >= fieldCount || ends[field] == starts[field]
+                    || quoted[field] && ends[field] - starts[field] <= 2;
+        }
+
+        /**
+         * Декодирует поле в строку.
+         *
+         * @return значение поля, пустая строка для пустого поля или {@code null} для поля, которого нет в строке
+         */
+        private String string(int field) {
+            if (isMissing(field)) {
+                return null;
+            }
+            if (isEmpty(field)) {
+                return "";
+            }
+            int start = starts[field];
+            int end = ends[field];
+            if (!quoted[field]) {
+                return new String(window, start, end - start, StandardCharsets.UTF_8);
+            }
+            if (scratch.length < end - start) {
+                scratch = new byte[Math.max(end - start, scratch.length * 2)];
+            }
+            int length = 0;
+            int closing = window[end - 1] == '"' ? end - 1 : end;
+            for (int p = start + 1; p < closing; p++) {
+                byte b = window[p];
+                scratch[length++] = b;
+                if (b == '"') {
+                    p++;
+                }
+            }
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Разбирает целое число с отбрасыванием дробной части, как {@link XlsRowMapper#parseInt(String)}.
+         */
+        private int parseInt(int field) {
+            if (isEmpty(field) || quoted[field]) {
+                return XlsRowMapper.parseInt(string(field));
+            }
+            byte[] bytes = window;
+            int p = starts[field];
+            int end = ends[field];
+            boolean negative = bytes[p] == '-';
+            if (negative || bytes[p] == '+') {
+                p++;
+            }
+            long value = 0;
+            int digits = 0;
+            for (; p < end; p++) {
+                int digit = bytes[p] - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                value = value * 10 + digit;
+                digits++;
+                if (value > Integer.MAX_VALUE) {
+                    return XlsRowMapper.parseInt(string(field));
+                }
+            }
+            if (p < end && bytes[p] == '.') {
+                for (p++; p < end && bytes[p] >= '0' && bytes[p] <= '9'; p++) {
+                    digits++;
+                }
+            }
+            if (p != end || digits == 0) {
+                return XlsRowMapper.parseInt(string(field));
+            }
+            return (int) (negative ? -value : value);
+        }
+
+        /**
+         * Разбирает десятичное число одинарной точности с тем же результатом, что и
+         * {@link XlsRowMapper#parseFloat(String)}: мантисса и степень десяти точно представимы в {@code double},
+         * поэтому их частное округляется так же, как {@link Double#parseDouble(String)}. Экспоненциальная запись
+         * и длинные мантиссы разбираются через строку.
+         */
+        private float parseFloat(int field) {
+            if (isEmpty(field) || quoted[field]) {
+                return XlsRowMapper.parseFloat(string(field));
+            }
+            byte[] bytes = window;
+            int p = starts[field];
+            int end = ends[field];
+            boolean negative = bytes[p] == '-';
+            if (negative || bytes[p] == '+') {
+                p++;
+            }
+            long mantissa = 0;
+            int scale = 0;
+            int digits = 0;
+            boolean fraction = false;
+            for (; p < end; p++) {
+                byte b = bytes[p];
+                if (b >= '0' && b <= '9') {
+                    mantissa = mantissa * 10 + (b - '0');
+                    digits++;
+                    if (fraction) {
+                        scale++;
+                    }
+                    if (mantissa >= MAX_EXACT_MANTISSA || scale >= POWERS_OF_TEN.length) {
+                        return XlsRowMapper.parseFloat(string(field));
+                    }
+                } else if (b == '.' && !fraction) {
+                    fraction = true;
+                } else {
+                    return XlsRowMapper.parseFloat(string(field));
+                }
+            }
+            if (digits == 0) {
+                return XlsRowMapper.parseFloat(string(field));
+            }
+            double value = mantissa / POWERS_OF_TEN[scale];
+            return (float) (negative ? -value : value);
+        }
+    }
+
+    /**
+     * Кэш идентификаторов университетов фрагмента: байты поля сопоставляются коду словаря чтения без создания
+     * строки. Строка декодируется только при первой встрече значения во фрагменте.
+     */
+    private static final class IdCache {
+
+        private final StringDictionary universityIds;
+        private byte[][] keys = new byte[1024][];
+        private int[] codes = new int[1024];
+        private int size;
+
+        private IdCache(StringDictionary universityIds) {
+            this.universityIds = universityIds;
+        }
+
+        /**
+         * Возвращает код идентификатора в поле строки.
+         *
+         * @return код словаря чтения или {@code -1} для поля, которого нет в строке
+         */
+        private int code(Cursor cursor, int field) {
+            if (cursor.isMissing(field)) {
+                return -1;
+            }
+            if (cursor.quoted[field]) {
+                return universityIds.encode(cursor.string(field));
+            }
+            byte[] bytes = cursor.window;
+            int start = cursor.starts[field];
+            int end = cursor.ends[field];
+            int mask = keys.length - 1;
+            int slot = hash(bytes, start, end) & mask;
+            while (true) {
+                byte[] key = keys[slot];
+                if (key == null) {
+                    break;
+                }
+                if (Arrays.equals(key, 0, key.length, bytes, start, end)) {
+                    return codes[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            byte[] key = Arrays.copyOfRange(bytes, start, end);
+            int code = universityIds.encode(new String(key, StandardCharsets.UTF_8));
+            keys[slot] = key;
+            codes[slot] = code;
+            if (++size * 2 > keys.length) {
+                grow();
+            }
+            return code;
+        }
+
+        private static int hash(byte[] bytes, int start, int end) {
+            int hash = 1;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + bytes[i];
+            }
+            return hash ^ (hash >>> 16);
+        }
+
+        private void grow() {
+            byte[][] oldKeys = keys;
+            int[] oldCodes = codes;
+            keys = new byte[oldKeys.length * 2][];
+            codes = new int[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                byte[] key = oldKeys[i];
+                if (key == null) {
+                    continue;
+                }
+                int slot = hash(key, 0, key.length) & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                codes[slot] = oldCodes[i];
+            }
+        }
+    }
+
+    /**
+     * Получатель значений полей строки студента.
+     */
+    @FunctionalInterface
+    private interface RowSink {
+
+        void accept(int universityIdCode, String fullName, int currentCourseNumber, float avgExamScore);
+    }
+
+    /**
+     * Столбцы студентов одного фрагмента.
+     */
+    private static final class Columns {
+
+        private int[] universityIdCode;
+        private String[] fullName;
+        private int[] currentCourseNumber;
+        private float[] avgExamScore;
+        private int size;
+
+        private Columns(int capacity) {
+            universityIdCode = new int[capacity];
+            fullName = new String[capacity];
+            currentCourseNumber = new int[capacity];
+            avgExamScore = new float[capacity];
+        }
+
+        private void add(int idCode, String name, int course, float score) {
+            if (size == universityIdCode.length) {
+                int capacity = size + (size >> 1);
+                universityIdCode = Arrays.copyOf(universityIdCode, capacity);
+                fullName = Arrays.copyOf(fullName, capacity);
+                currentCourseNumber = Arrays.copyOf(currentCourseNumber, capacity);
+                avgExamScore = Arrays.copyOf(avgExamScore, capacity);
+            }
+            universityIdCode[size] = idCode;
+            fullName[size] = name;
+            currentCourseNumber[size] = course;
+            avgExamScore[size] = score;
+            size++;
+        }
+
+        private Student[] toStudents(StringDictionary universityIds) {
+            Student[] students = new Student[size];
+            for (int i = 0; i < size; i++) {
+                students[i] = toStudent(universityIdCode[i], fullName[i], currentCourseNumber[i], avgExamScore[i],
+                        universityIds);
+            }
+            return students;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package io;
+
+import model.Dataset;
+import model.Student;
+import model.University;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Чтение полного набора исходных данных (университеты и студенты) из одной XLSX-книги за одно открытие файла.
+ */
+public final class DatasetReader {
+
+    private static final Logger logger = Logger.getLogger(DatasetReader.class.getName());
+
+    /**
+     * Скрытый конструктор предотвращает создание экземпляров утилитного класса.
+     */
+    private DatasetReader() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Открывает книгу один раз и считывает из неё университеты и студентов.
+     *
+     * @param filePath путь к Excel-файлу
+     * @return набор данных с университетами и студентами
+     * @throws IOException если файл недоступен для чтения или повреждён
+     * @throws IllegalArgumentException если один из листов не найден
+     */
+    public static Dataset read(String filePath) throws IOException {
+        logger.info("Starting to read dataset from file: " + filePath);
+        try (WorkbookSource source = WorkbookSource.open(filePath)) {
+            List<University> universities = source.readUniversities();
+            List<Student> students = source.readStudents();
+            logger.info("Successfully read " + universities.size() + " universities and "
+                    + students.size() + " students from file");
+            return new Dataset(universities, students);
+        }
+    }
+}
@@ -0,0 +1,788 @@
+package io;
+
+import enums.StudyProfile;
+import model.Dataset;
+import model.Student;
+import model.University;
+import util.StatisticsEngine;
+import util.StringDictionary;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Инкрементальное чтение книги с исходными данными: при каждом чтении определяются только вставленные,
+ * изменённые и удалённые строки по сравнению с предыдущим чтением.
+ * <p>
+ * Для каждой строки листов «Университеты» и «Студенты» хранится ключ и 64-битный хеш содержимого ячеек.
+ * Ключ университета — его идентификатор, ключ студента — идентификатор университета и ФИО; повторяющиеся ключи
+ * различаются порядковым номером повторения. Строка с новым ключом считается вставленной, строка с известным
+ * ключом и другим хешем — изменённой, ключ, отсутствующий в новом листе, — удалённым. Смена ФИО студента или
+ * идентификатора поэтому выглядит как удаление и вставка. Если размер и хеш SHA-256 файла совпадают
+ * с предыдущим чтением, книга не разбирается вовсе. Хеш файла вычисляется до разбора, а после разбора размер
+ * и время изменения сверяются повторно: если книгу сохранили во время разбора, хеш не запоминается, и следующее
+ * чтение разберёт книгу снова.
+ * </p>
+ * <p>
+ * Состояние сохраняется после каждого чтения в файл {@code <файл>.ingest-state} рядом с книгой и загружается
+ * при открытии, поэтому изменения определяются и между запусками приложения. Количества записей и длины строк
+ * состояния сверяются с размером файла до выделения памяти: состояние с испорченной длиной считается повреждённым
+ * и не загружается. Объекты неизменившихся строк сохраняются между чтениями, а объекты прежних версий строк
+ * передаются в изменении: это позволяет применить изменение к {@link StatisticsEngine}, заполненному текущими
+ * строками ({@link Delta#applyTo}). Если состояния нет,
+ * его можно заполнить из действительного снимка {@link SnapshotCache} ({@link #seedFromSnapshot()}) вместо
+ * разбора книги; хеши строк такого состояния неизвестны, поэтому при первом чтении строки с известным ключом
+ * сравниваются по значениям полей. Режим наблюдения
+ * ({@link #watch}) перечитывает книгу при каждом изменении файла. Методы чтения синхронизированы.
+ * </p>
+ */
+public final class IncrementalIngestor {
+
+    private static final Logger logger = Logger.getLogger(IncrementalIngestor.class.getName());
+
+    /** Расширение файла состояния, добавляемое к имени исходного файла. */
+    public static final String STATE_EXTENSION = ".ingest-state";
+
+    /** Время без новых событий файловой системы, после которого изменённая книга перечитывается, в миллисекундах. */
+    public static final long DEFAULT_WATCH_QUIET_PERIOD_MILLIS = 500;
+
+    private static final int MAGIC = 0x494E4753;
+    private static final int FORMAT_VERSION = 2;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final StudyProfile[] PROFILES = StudyProfile.values();
+
+    /** Наименьший размер записи университета в состоянии: ключ, хеш, идентификатор, два названия, год и профиль. */
+    private static final int MIN_UNIVERSITY_RECORD_SIZE = 5 * Integer.BYTES + Long.BYTES + Byte.BYTES;
+
+    /** Наименьший размер записи студента в состоянии: ключ, хеш, идентификатор, ФИО, курс и балл. */
+    private static final int MIN_STUDENT_RECORD_SIZE = 4 * Integer.BYTES + Long.BYTES + Float.BYTES;
+
+    private final Path source;
+    private final Path statePath;
+    private Rows<University> universities;
+    private Rows<Student> students;
+    private long sourceSize = -1;
+    private byte[] sourceHash;
+
+    private IncrementalIngestor(Path source, Path statePath, Rows<University> universities, Rows<Student> students) {
+        this.source = source;
+        this.statePath = statePath;
+        this.universities = universities;
+        this.students = students;
+    }
+
+    /**
+     * Открывает книгу для инкрементального чтения и загружает состояние предыдущего чтения, если оно сохранено.
+     * Повреждённое или относящееся к другому файлу состояние не используется: первое чтение вернёт все строки
+     * как вставленные.
+     *
+     * @param filePath путь к Excel-файлу
+     * @return читатель книги
+     * @throws IOException если файл состояния не удаётся прочитать
+     */
+    public static IncrementalIngestor open(String filePath) throws IOException {
+        Path source = Paths.get(filePath).toAbsolutePath().normalize();
+        Path statePath = source.resolveSibling(source.getFileName() + STATE_EXTENSION);
+        IncrementalIngestor ingestor = new IncrementalIngestor(source, statePath, new Rows<>(0), new Rows<>(0));
+        if (Files.isRegularFile(statePath)) {
+            ingestor.loadState();
+        }
+        return ingestor;
+    }
+
+    /**
+     * Возвращает университеты последнего чтения (или сохранённого состояния) в порядке строк листа.
+     *
+     * @return неизменяемый список университетов
+     */
+    public synchronized List<University> getUniversities() {
+        return Collections.unmodifiableList(universities.objects);
+    }
+
+    /**
+     * Возвращает студентов последнего чтения (или сохранённого состояния) в порядке строк листа.
+     *
+     * @return неизменяемый список студентов
+     */
+    public synchronized List<Student> getStudents() {
+        return Collections.unmodifiableList(students.objects);
+    }
+
+    /**
+     * Возвращает путь к файлу состояния.
+     *
+     * @return путь к файлу состояния рядом с книгой
+     */
+    public Path getStatePath() {
+        return statePath;
+    }
+
+    /**
+     * Подготавливает состояние к наблюдению без разбора книги. Если сохранённое состояние уже описывает текущее
+     * содержимое файла, ничего не делается; иначе состояние заполняется строками действительного снимка
+     * {@link SnapshotCache}. Заполненное из снимка состояние не сохраняется в файл до следующего чтения.
+     *
+     * @return {@code true}, если состояние описывает текущее содержимое файла; {@code false}, если действительного
+     *         снимка нет и книгу нужно прочитать через {@link #ingest()}
+     * @throws IOException если книга или снимок недоступны для чтения
+     */
+    public synchronized boolean seedFromSnapshot() throws IOException {
+        SourceKey key = SourceKey.of(source);
+        if (sourceHash != null && key.matches(source.toString(), sourceSize, sourceHash)) {
+            return true;
+        }
+        Dataset dataset = SnapshotCache.loadIfValid(source, key);
+        if (dataset == null || !key.isUnchanged()) {
+            return false;
+        }
+        Rows<University> seededUniversities = new Rows<>(dataset.getUniversities().size());
+        for (University university : dataset.getUniversities()) {
+            seededUniversities.add(uniqueKey(String.valueOf(university.getId()), seededUniversities), 0L, university);
+        }
+        Rows<Student> seededStudents = new Rows<>(dataset.getStudents().size());
+        for (Student student : dataset.getStudents()) {
+            String studentKey = student.getUniversityId() + '\u001f' + student.getFullName();
+            seededStudents.add(uniqueKey(studentKey, seededStudents), 0L, student);
+        }
+        seededUniversities.trim();
+        seededStudents.trim();
+        seededUniversities.hashed = false;
+        seededStudents.hashed = false;
+        universities = seededUniversities;
+        students = seededStudents;
+        sourceSize = key.getSize();
+        sourceHash = key.hash();
+        logger.info("Seeded ingestion state with " + universities.keys.size() + " universities and "
+                + students.keys.size() + " students from the snapshot of " + source);
+        return true;
+    }
+
+    /**
+     * Перечитывает книгу, сравнивает строки с предыдущим чтением и сохраняет новое состояние.
+     *
+     * @return изменения с предыдущего чтения
+     * @throws IOException если книга или файл состояния недоступны
+     * @throws IllegalArgumentException если один из листов книги не найден
+     */
+    public synchronized Delta ingest() throws IOException {
+        long start = System.nanoTime();
+        SourceKey key = SourceKey.of(source);
+        key.hash();
+        if (sourceHash != null && key.matches(source.toString(), sourceSize, sourceHash)) {
+            logger.info("Workbook " + source + " is unchanged since the last ingestion");
+            return new Delta(new Diff<>(0), new Diff<>(0));
+        }
+
+        Diff<University> universityDiff;
+        Diff<Student> studentDiff;
+        try (WorkbookSource workbook = WorkbookSource.open(source.toString())) {
+            StringDictionary universityIds = workbook.universityIds();
+            universityDiff = diff(workbook, XlsReader.UNIVERSITIES_SHEET, XlsRowMapper.UNIVERSITY_COLUMNS,
+                    universities, cells -> XlsRowMapper.toUniversity(cells, universityIds),
+                    IncrementalIngestor::sameUniversity);
+            studentDiff = diff(workbook, XlsReader.STUDENTS_SHEET, XlsRowMapper.STUDENT_COLUMNS,
+                    students, cells -> XlsRowMapper.toStudent(cells, universityIds), IncrementalIngestor::sameStudent);
+        }
+        universities = universityDiff.rows;
+        students = studentDiff.rows;
+        if (key.isUnchanged()) {
+            sourceSize = key.getSize();
+            sourceHash = key.hash();
+        } else {
+            logger.warning("Workbook " + source + " changed while it was ingested, it will be parsed again");
+            sourceSize = -1;
+            sourceHash = new byte[SourceKey.HASH_LENGTH];
+        }
+        saveState();
+
+        Delta delta = new Delta(universityDiff, studentDiff);
+        logger.info(String.format("Ingested %s in %.1f ms: %s",
+                source, (System.nanoTime() - start) / 1e6, delta));
+        return delta;
+    }
+
+    /**
+     * Запускает фоновое наблюдение за файлом книги: после каждого изменения файла и паузы
+     * {@link #DEFAULT_WATCH_QUIET_PERIOD_MILLIS} без новых событий книга перечитывается, и непустое изменение
+     * передаётся потребителю в потоке наблюдения. Ошибки чтения (например, файл ещё записывается) записываются
+     * в журнал, наблюдение продолжается.
+     *
+     * @param listener потребитель изменений
+     * @return наблюдение, которое следует закрыть для остановки
+     * @throws IOException если службу наблюдения не удаётся создать
+     */
+    public Watch watch(Consumer<Delta> listener) throws IOException {
+        WatchService service = FileSystems.getDefault().newWatchService();
+        try {
+            source.getParent().register(service,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            service.close();
+            throw e;
+        }
+        Watch watch = new Watch(service, listener);
+        watch.thread.start();
+        logger.info("Watching " + source + " for changes");
+        return watch;
+    }
+
+    private <T> Diff<T> diff(WorkbookSource workbook, String sheetName, int columnCount, Rows<T> previous,
+                             Function<String[], T> mapper, BiPredicate<T, T> sameContent) throws IOException {
+        Diff<T> diff = new Diff<>(previous.keys.size());
+        boolean[] seen = new boolean[previous.keys.size()];
+        workbook.streamRows(sheetName, columnCount, cells -> {
+            String key = rowKey(cells, columnCount == XlsRowMapper.STUDENT_COLUMNS, diff.rows);
+            long hash = hash(cells);
+            Integer index = previous.indexByKey.get(key);
+            T object;
+            if (index == null) {
+                object = mapper.apply(cells);
+                diff.inserted.add(object);
+            } else {
+                seen[index] = true;
+                object = previous.objects.get(index);
+                T current = null;
+                boolean changed;
+                if (previous.hashed) {
+                    changed = previous.hashes[index] != hash;
+                } else {
+                    current = mapper.apply(cells);
+                    changed = !sameContent.test(object, current);
+                }
+                if (changed) {
+                    if (current == null) {
+                        current = mapper.apply(cells);
+                    }
+                    diff.updated.add(new Update<>(object, current));
+                    object = current;
+                }
+            }
+            diff.rows.add(key, hash, object);
+        });
+        for (int i = 0; i < seen.length; i++) {
+            if (!seen[i]) {
+                diff.deleted.add(previous.objects.get(i));
+            }
+        }
+        diff.rows.trim();
+        return diff;
+    }
+
+    /**
+     * Строит ключ строки; повторение уже встреченного в этом чтении ключа получает порядковый номер.
+     */
+    private static String rowKey(String[] cells, boolean student, Rows<?> rows) {
+        return uniqueKey(student ? cells[0] + '\u001f' + cells[1] : String.valueOf(cells[0]), rows);
+    }
+
+    /**
+     * Возвращает ключ без изменений или, если он уже встречался в этом чтении, с порядковым номером повторения.
+     */
+    private static String uniqueKey(String key, Rows<?> rows) {
+        if (!rows.indexByKey.containsKey(key)) {
+            return key;
+        }
+        int occurrence = 1;
+        while (rows.indexByKey.containsKey(key + '\u001e' + occurrence)) {
+            occurrence++;
+        }
+        return key + '\u001e' + occurrence;
+    }
+
+    private static boolean sameUniversity(University previous, University current) {
+        return Objects.equals(previous.getId(), current.getId())
+                && Objects.equals(previous.getFullName(), current.getFullName())
+                && Objects.equals(previous.getShortName(), current.getShortName())
+                && previous.getYearOfFoundation() == current.getYearOfFoundation()
+                && previous.getMainProfile() == current.getMainProfile();
+    }
+
+    private static boolean sameStudent(Student previous, Student current) {
+        return Objects.equals(previous.getUniversityId(), current.getUniversityId())
+                && Objects.equals(previous.getFullName(), current.getFullName())
+                && previous.getCurrentCourseNumber() == current.getCurrentCourseNumber()
+                && Float.compare(previous.getAvgExamScore(), current.getAvgExamScore()) == 0;
+    }
+
+    /**
+     * Вычисляет 64-битный хеш FNV-1a значений ячеек строки; отсутствующая ячейка отличается от пустой.
+     */
+    private static long hash(String[] cells) {
+        long hash = FNV_OFFSET_BASIS;
+        for (String cell : cells) {
+            if (cell == null) {
+                hash = (hash ^ 0xFF) * FNV_PRIME;
+                continue;
+            }
+            for (int i = 0; i < cell.length(); i++) {
+                char c = cell.charAt(i);
+                hash = (hash ^ (c & 0xFF)) * FNV_PRIME;
+                hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+            }
+            hash = (hash ^ 0xFE) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private void loadState() throws IOException {
+        long stateSize = Files.size(statePath);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(statePath)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION
+                    || !source.toString().equals(readString(in, stateSize))) {
+                logger.warning("Ignoring ingestion state " + statePath + " written for another file or format");
+                return;
+            }
+            StringDictionary universityIds = new StringDictionary();
+            long storedSize = in.readLong();
+            byte[] storedHash = new byte[SourceKey.HASH_LENGTH];
+            in.readFully(storedHash);
+            int universityCount = readCount(in, stateSize, MIN_UNIVERSITY_RECORD_SIZE);
+            Rows<University> loadedUniversities = new Rows<>(universityCount);
+            for (int i = 0; i < universityCount; i++) {
+                String key = readString(in, stateSize);
+                long hash = in.readLong();
+                int idCode = universityIds.encode(readString(in, stateSize));
+                String fullName = readString(in, stateSize);
+                String shortName = readString(in, stateSize);
+                int yearOfFoundation = in.readInt();
+                byte profile = in.readByte();
+                loadedUniversities.add(key, hash, new University()
+                        .setId(universityIds.decode(idCode), idCode)
+                        .setFullName(fullName)
+                        .setShortName(shortName)
+                        .setYearOfFoundation(yearOfFoundation)
+                        .setMainProfile(profile < 0 ? null : PROFILES[profile]));
+            }
+            int studentCount = readCount(in, stateSize, MIN_STUDENT_RECORD_SIZE);
+            Rows<Student> loadedStudents = new Rows<>(studentCount);
+            for (int i = 0; i < studentCount; i++) {
+                String key = readString(in, stateSize);
+                long hash = in.readLong();
+                int universityIdCode = universityIds.encode(readString(in, stateSize));
+                String fullName = readString(in, stateSize);
+                int currentCourseNumber = in.readInt();
+                float avgExamScore = in.readFloat();
+                loadedStudents.add(key, hash, new Student()
+                        .setUniversityId(universityIds.decode(universityIdCode), universityIdCode)
+                        .setFullName(fullName)
+                        .setCurrentCourseNumber(currentCourseNumber)
+                        .setAvgExamScore(avgExamScore));
+            }
+            loadedUniversities.trim();
+            loadedStudents.trim();
+            universities = loadedUniversities;
+            students = loadedStudents;
+            sourceSize = storedSize;
+            sourceHash = storedHash;
+            logger.info("Loaded ingestion state with " + universityCount + " universities and "
+                    + studentCount + " students from " + statePath);
+        } catch (EOFException | IndexOutOfBoundsException | NegativeArraySizeException | IllegalArgumentException e) {
+            logger.warning("Ignoring corrupted ingestion state " + statePath);
+        }
+    }
+
+    private void saveState() throws IOException {
+        Path temporary = statePath.resolveSibling(statePath.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(temporary), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            writeString(out, source.toString());
+            out.writeLong(sourceSize);
+            out.write(sourceHash);
+            out.writeInt(universities.keys.size());
+            for (int i = 0; i < universities.keys.size(); i++) {
+                University university = universities.objects.get(i);
+                writeString(out, universities.keys.get(i));
+                out.writeLong(universities.hashes[i]);
+                writeString(out, university.getId());
+                writeString(out, university.getFullName());
+                writeString(out, university.getShortName());
+                out.writeInt(university.getYearOfFoundation());
+                out.writeByte(university.getMainProfile() == null ? -1 : university.getMainProfile().ordinal());
+            }
+            out.writeInt(students.keys.size());
+            for (int i = 0; i < students.keys.size(); i++) {
+                Student student = students.objects.get(i);
+                writeString(out, students.keys.get(i));
+                out.writeLong(students.hashes[i]);
+                writeString(out, student.getUniversityId());
+                writeString(out, student.getFullName());
+                out.writeInt(student.getCurrentCourseNumber());
+                out.writeFloat(student.getAvgExamScore());
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        try {
+            Files.move(temporary, statePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, statePath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Читает количество записей и сверяет его с размером файла состояния до выделения памяти под записи.
+     *
+     * @throws EOFException если записи указанного количества не помещаются в файл состояния
+     */
+    private static int readCount(DataInputStream in, long stateSize, int minRecordSize) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > stateSize / minRecordSize) {
+            throw new EOFException("Record count " + count + " does not fit the state of " + stateSize + " bytes");
+        }
+        return count;
+    }
+
+    /**
+     * Читает строку в кодировке UTF-8, сверяя её длину с размером файла состояния до выделения буфера.
+     *
+     * @throws EOFException если строка указанной длины не помещается в файл состояния
+     */
+    private static String readString(DataInputStream in, long stateSize) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > stateSize) {
+            throw new EOFException("String length " + length + " exceeds the state of " + stateSize + " bytes");
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Строки одного листа: ключи, хеши содержимого и объекты модели в порядке листа. У строк, заполненных
+     * из снимка, хеши неизвестны ({@code hashed == false}).
+     */
+    private static final class Rows<T> {
+
+        private final List<String> keys;
+        private final List<T> objects;
+        private final Map<String, Integer> indexByKey;
+        private long[] hashes;
+        private boolean hashed = true;
+
+        private Rows(int expectedRows) {
+            keys = new ArrayList<>(expectedRows);
+            objects = new ArrayList<>(expectedRows);
+            indexByKey = new HashMap<>(Math.max(16, expectedRows * 4 / 3 + 1));
+            hashes = new long[Math.max(16, expectedRows)];
+        }
+
+        private void add(String key, long hash, T object) {
+            if (keys.size() == hashes.length) {
+                hashes = Arrays.copyOf(hashes, hashes.length * 2);
+            }
+            hashes[keys.size()] = hash;
+            indexByKey.put(key, keys.size());
+            keys.add(key);
+            objects.add(object);
+        }
+
+        private void trim() {
+            hashes = Arrays.copyOf(hashes, keys.size());
+        }
+    }
+
+    /**
+     * Результат сравнения одного листа с предыдущим чтением.
+     */
+    private static final class Diff<T> {
+
+        private final Rows<T> rows;
+        private final List<T> inserted = new ArrayList<>();
+        private final List<Update<T>> updated = new ArrayList<>();
+        private final List<T> deleted = new ArrayList<>();
+
+        private Diff(int expectedRows) {
+            rows = new Rows<>(expectedRows);
+        }
+    }
+
+    /**
+     * Изменённая строка: прежняя и новая версии объекта.
+     *
+     * @param <T> тип объекта модели
+     */
+    public static final class Update<T> {
+
+        private final T previous;
+        private final T current;
+
+        private Update(T previous, T current) {
+            this.previous = previous;
+            this.current = current;
+        }
+
+        /**
+         * Возвращает объект прежней версии строки (тот же, что был возвращён предыдущим чтением).
+         *
+         * @return прежняя версия
+         */
+        public T getPrevious() {
+            return previous;
+        }
+
+        /**
+         * Возвращает объект новой версии строки.
+         *
+         * @return новая версия
+         */
+        public T getCurrent() {
+            return current;
+        }
+    }
+
+    /**
+     * Изменения книги между двумя чтениями.
+     */
+    public static final class Delta {
+
+        private final List<University> insertedUniversities;
+        private final List<Update<University>> updatedUniversities;
+        private final List<University> deletedUniversities;
+        private final List<Student> insertedStudents;
+        private final List<Update<Student>> updatedStudents;
+        private final List<Student> deletedStudents;
+
+        private Delta(Diff<University> universities, Diff<Student> students) {
+            this.insertedUniversities = Collections.unmodifiableList(universities.inserted);
+            this.updatedUniversities = Collections.unmodifiableList(universities.updated);
+            this.deletedUniversities = Collections.unmodifiableList(universities.deleted);
+            this.insertedStudents = Collections.unmodifiableList(students.inserted);
+            this.updatedStudents = Collections.unmodifiableList(students.updated);
+            this.deletedStudents = Collections.unmodifiableList(students.deleted);
+        }
+
+        /**
+         * Возвращает вставленные университеты в порядке строк листа.
+         *
+         * @return неизменяемый список
+         */
+        public List<University> getInsertedUniversities() {
+            return insertedUniversities;
+        }
+
+        /**
+         * Возвращает изменённые университеты в порядке строк листа.
+         *
+         * @return неизменяемый список пар версий
+         */
+        public List<Update<University>> getUpdatedUniversities() {
+            return updatedUniversities;
+        }
+
+        /**
+         * Возвращает удалённые университеты в порядке строк предыдущего чтения.
+         *
+         * @return неизменяемый список
+         */
+        public List<University> getDeletedUniversities() {
+            return deletedUniversities;
+        }
+
+        /**
+         * Возвращает вставленных студентов в порядке строк листа.
+         *
+         * @return неизменяемый список
+         */
+        public List<Student> getInsertedStudents() {
+            return insertedStudents;
+        }
+
+        /**
+         * Возвращает изменённых студентов в порядке строк листа.
+         *
+         * @return неизменяемый список пар версий
+         */
+        public List<Update<Student>> getUpdatedStudents() {
+            return updatedStudents;
+        }
+
+        /**
+         * Возвращает удалённых студентов в порядке строк предыдущего чтения.
+         *
+         * @return неизменяемый список
+         */
+        public List<Student> getDeletedStudents() {
+            return deletedStudents;
+        }
+
+        /**
+         * Проверяет, что книга не изменилась.
+         *
+         * @return {@code true}, если нет ни одной изменённой строки
+         */
+        public boolean isEmpty() {
+            return size() == 0;
+        }
+
+        /**
+         * Возвращает общее количество вставленных, изменённых и удалённых строк.
+         *
+         * @return количество изменённых строк
+         */
+        public int size() {
+            return insertedUniversities.size() + updatedUniversities.size() + deletedUniversities.size()
+                    + insertedStudents.size() + updatedStudents.size() + deletedStudents.size();
+        }
+
+        /**
+         * Применяет изменения к движку статистики, заполненному строками предыдущего чтения (теми же объектами).
+         * Изменённые университеты заменяются на прежних позициях, вставленные добавляются в конец списка
+         * университетов движка.
+         *
+         * @param engine движок статистики
+         * @throws IllegalArgumentException если движок не содержит прежних версий строк
+         */
+        public void applyTo(StatisticsEngine engine) {
+            deletedUniversities.forEach(engine::removeUniversity);
+            updatedUniversities.forEach(update -> engine.replaceUniversity(update.getPrevious(), update.getCurrent()));
+            insertedUniversities.forEach(engine::addUniversity);
+            deletedStudents.forEach(engine::removeStudent);
+            for (Update<Student> update : updatedStudents) {
+                engine.removeStudent(update.getPrevious());
+                engine.addStudent(update.getCurrent());
+            }
+            insertedStudents.forEach(engine::addStudent);
+        }
+
+        @Override
+        public String toString() {
+            return "Delta{" +
+                    "universities=+" + insertedUniversities.size() +
+                    "/~" + updatedUniversities.size() +
+                    "/-" + deletedUniversities.size() +
+                    ", students=+" + insertedStudents.size() +
+                    "/~" + updatedStudents.size() +
+                    "/-" + deletedStudents.size() +
+                    '}';
+        }
+    }
+
+    /**
+     * Фоновое наблюдение за файлом книги.
+     */
+    public final class Watch implements AutoCloseable {
+
+        private final WatchService service;
+        private final Consumer<Delta> listener;
+        private final Thread thread;
+
+        private Watch(WatchService service, Consumer<Delta> listener) {
+            this.service = service;
+            this.listener = listener;
+            this.thread = new Thread(this::run, "workbook-watch-" + source.getFileName());
+            this.thread.setDaemon(true);
+        }
+
+        /**
+         * Ожидает завершения наблюдения.
+         *
+         * @throws InterruptedException если ожидающий поток прерван
+         */
+        public void join() throws InterruptedException {
+            thread.join();
+        }
+
+        /**
+         * Останавливает наблюдение.
+         */
+        @Override
+        public void close() {
+            try {
+                service.close();
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Failed to close watch service: " + e.getMessage(), e);
+            }
+        }
+
+        private void run() {
+            try {
+                while (true) {
+                    WatchKey key = service.take();
+                    boolean changed = pollEvents(key);
+                    while (changed) {
+                        WatchKey next = service.poll(DEFAULT_WATCH_QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        pollEvents(next);
+                    }
+                    if (changed) {
+                        reingest();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ClosedWatchServiceException e) {
+                logger.info("Stopped watching " + source);
+            }
+        }
+
+        private boolean pollEvents(WatchKey key) {
+            boolean changed = false;
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (source.getFileName().equals(event.context())) {
+                    changed = true;
+                }
+            }
+            key.reset();
+            return changed;
+        }
+
+        private void reingest() {
+            try {
+                Delta delta = ingest();
+                if (!delta.isEmpty()) {
+                    listener.accept(delta);
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.log(Level.WARNING, "Failed to re-ingest " + source + ": " + e.getMessage(), e);
+            }
+        }
+    }
+}
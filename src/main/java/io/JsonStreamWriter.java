@@ -0,0 +1,307 @@
+package io;
+
+import enums.StudyProfile;
+import model.Statistics;
+import model.Student;
+import model.University;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Потоковая запись JSON-документа с разделами {@code studentsInfo}, {@code universitiesInfo},
+ * {@code statisticalInfo} и {@code processedAt} через потоковый API Gson
+ * ({@link com.google.gson.stream.JsonWriter}).
+ * <p>
+ * Записи разделов принимаются итераторами и сразу записываются в буфер, поэтому расход памяти не зависит
+ * от количества записей. Поля моделей записываются напрямую, без рефлексии, с именами и порядком полей
+ * их аннотаций {@code @SerializedName}: результат совпадает с сериализацией {@code Gson} тех же объектов,
+ * включая пропуск полей со значением {@code null} и экранирование HTML-символов в строках.
+ * </p>
+ * <p>
+ * Разделы записываются в фиксированном порядке; любой раздел можно пропустить, но нельзя вернуться к уже
+ * закрытому. Повторный вызов метода записи того же раздела дописывает записи в его конец, поэтому раздел
+ * можно записывать частями, например пакетами. {@link #close()} завершает документ и закрывает файл.
+ * Экземпляр не потокобезопасен.
+ * </p>
+ */
+public final class JsonStreamWriter implements Closeable {
+
+    /** Размер буфера записи в файл по умолчанию, в символах. */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 18;
+
+    private static final String[] SECTIONS = {"studentsInfo", "universitiesInfo", "statisticalInfo", "processedAt"};
+    private static final int STUDENTS = 0;
+    private static final int UNIVERSITIES = 1;
+    private static final int STATISTICS = 2;
+    private static final int PROCESSED_AT = 3;
+
+    private final Writer writer;
+    private final com.google.gson.stream.JsonWriter json;
+    private int section = -1;
+    private boolean writing;
+    private boolean closed;
+
+    /**
+     * Создаёт запись поверх произвольного получателя символов и начинает документ.
+     *
+     * @param writer  получатель символов; закрывается вместе с записью
+     * @param compact {@code true} для записи без отступов и переводов строк
+     * @throws IOException если начало документа не удаётся записать
+     */
+    public JsonStreamWriter(Writer writer, boolean compact) throws IOException {
+        this.writer = writer;
+        this.json = new com.google.gson.stream.JsonWriter(writer);
+        json.setHtmlSafe(true);
+        if (!compact) {
+            json.setIndent("  ");
+        }
+        json.beginObject();
+    }
+
+    /**
+     * Открывает файл на запись с буфером размера {@link #DEFAULT_BUFFER_SIZE} и начинает документ.
+     *
+     * @param path    путь к файлу; существующий файл перезаписывается
+     * @param compact {@code true} для записи без отступов и переводов строк
+     * @return запись в файл
+     * @throws IOException если файл не удаётся открыть
+     */
+    public static JsonStreamWriter open(Path path, boolean compact) throws IOException {
+        return open(path, compact, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Открывает файл на запись через канал с буфером указанного размера и начинает документ. Символы кодируются
+     * в UTF-8 целым буфером и записываются в канал без промежуточных синхронизированных потоков.
+     *
+     * @param path       путь к файлу; существующий файл перезаписывается
+     * @param compact    {@code true} для записи без отступов и переводов строк
+     * @param bufferSize размер буфера записи, в символах
+     * @return запись в файл
+     * @throws IOException если файл не удаётся открыть
+     * @throws IllegalArgumentException если размер буфера меньше 2
+     */
+    public static JsonStreamWriter open(Path path, boolean compact, int bufferSize) throws IOException {
+        if (bufferSize < 2) {
+            throw new IllegalArgumentException("Buffer size must be at least 2 characters: " + bufferSize);
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        Writer writer = new ChannelWriter(channel, bufferSize);
+        try {
+            return new JsonStreamWriter(writer, compact);
+        } catch (IOException | RuntimeException e) {
+            writer.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Дописывает студентов в раздел {@code studentsInfo}.
+     *
+     * @param students итератор студентов
+     * @return текущая запись
+     * @throws IOException если данные не удаётся записать
+     * @throws IllegalStateException если уже начат следующий раздел или документ закрыт
+     */
+    public JsonStreamWriter writeStudents(Iterator<Student> students) throws IOException {
+        enterArraySection(STUDENTS);
+        while (students.hasNext()) {
+            writeStudentEntry(students.next());
+        }
+        writing = false;
+        return this;
+    }
+
+    /**
+     * Дописывает университеты в раздел {@code universitiesInfo}.
+     *
+     * @param universities итератор университетов
+     * @return текущая запись
+     * @throws IOException если данные не удаётся записать
+     * @throws IllegalStateException если уже начат следующий раздел или документ закрыт
+     */
+    public JsonStreamWriter writeUniversities(Iterator<University> universities) throws IOException {
+        enterArraySection(UNIVERSITIES);
+        while (universities.hasNext()) {
+            writeUniversityEntry(universities.next());
+        }
+        writing = false;
+        return this;
+    }
+
+    /**
+     * Дописывает записи статистики в раздел {@code statisticalInfo}.
+     *
+     * @param statistics итератор записей статистики
+     * @return текущая запись
+     * @throws IOException если данные не удаётся записать
+     * @throws IllegalStateException если уже начат следующий раздел или документ закрыт
+     */
+    public JsonStreamWriter writeStatistics(Iterator<Statistics> statistics) throws IOException {
+        enterArraySection(STATISTICS);
+        while (statistics.hasNext()) {
+            writeStatisticsEntry(statistics.next());
+        }
+        writing = false;
+        return this;
+    }
+
+    /**
+     * Записывает время обработки в раздел {@code processedAt}; это последний раздел документа.
+     *
+     * @param processedAt время обработки
+     * @return текущая запись
+     * @throws IOException если данные не удаётся записать
+     * @throws IllegalStateException если время обработки уже записано или документ закрыт
+     * @throws IllegalArgumentException если время не задано
+     */
+    public JsonStreamWriter writeProcessedAt(LocalDateTime processedAt) throws IOException {
+        if (processedAt == null) {
+            throw new IllegalArgumentException("Processing time must not be null");
+        }
+        if (section == PROCESSED_AT) {
+            throw new IllegalStateException("Section processedAt is already written");
+        }
+        enterSection(PROCESSED_AT);
+        json.value(processedAt.toString());
+        writing = false;
+        return this;
+    }
+
+    /**
+     * Завершает открытый раздел и документ, сбрасывает буфер и закрывает получателя. Если предыдущая запись
+     * прервалась исключением, документ не завершается: получатель только закрывается. Повторный вызов ничего
+     * не делает.
+     *
+     * @throws IOException если конец документа не удаётся записать или файл не закрывается
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (writing) {
+            writer.close();
+            return;
+        }
+        try {
+            if (section >= STUDENTS && section < PROCESSED_AT) {
+                json.endArray();
+            }
+            json.endObject();
+            json.flush();
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Переходит к разделу-массиву; если он уже открыт, записи дописываются в его конец.
+     */
+    private void enterArraySection(int index) throws IOException {
+        if (section != index) {
+            enterSection(index);
+            json.beginArray();
+        } else {
+            checkOpen();
+            writing = true;
+        }
+    }
+
+    /**
+     * Закрывает текущий раздел и записывает имя следующего.
+     */
+    private void enterSection(int index) throws IOException {
+        checkOpen();
+        if (index < section) {
+            throw new IllegalStateException("Section " + SECTIONS[index] + " must be written before "
+                    + SECTIONS[section]);
+        }
+        writing = true;
+        if (section >= STUDENTS && section < PROCESSED_AT) {
+            json.endArray();
+        }
+        json.name(SECTIONS[index]);
+        section = index;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("JSON document is already closed");
+        }
+    }
+
+    private void writeStudentEntry(Student student) throws IOException {
+        json.beginObject();
+        writeString("student_name", student.getFullName());
+        writeString("universityId", student.getUniversityId());
+        json.name("course_year").value(student.getCurrentCourseNumber());
+        json.name("average_score").value(Float.valueOf(student.getAvgExamScore()));
+        json.endObject();
+    }
+
+    private void writeUniversityEntry(University university) throws IOException {
+        json.beginObject();
+        writeString("university_id", university.getId());
+        writeString("full_university_name", university.getFullName());
+        writeString("abbreviated_name", university.getShortName());
+        json.name("establishment_year").value(university.getYearOfFoundation());
+        writeProfile("primary_study_profile", university.getMainProfile());
+        json.endObject();
+    }
+
+    private void writeStatisticsEntry(Statistics statistics) throws IOException {
+        json.beginObject();
+        writeProfile("study_profile", statistics.getStudyProfile());
+        writeDecimal("avg_exam_score", statistics.getAvgExamScore());
+        json.name("student_count").value(statistics.getStudentCount());
+        json.name("university_count").value(statistics.getUniversityCount());
+        List<String> universityNames = statistics.getUniversityNames();
+        json.name("university_names").beginArray();
+        for (String name : universityNames) {
+            json.value(name);
+        }
+        json.endArray();
+        writeDecimal("median_exam_score", statistics.getMedianExamScore());
+        writeDecimal("p90_exam_score", statistics.getP90ExamScore());
+        writeDecimal("p99_exam_score", statistics.getP99ExamScore());
+        writeDecimal("score_histogram_lower_bound", statistics.getScoreHistogramLowerBound());
+        writeDecimal("score_histogram_bucket_width", statistics.getScoreHistogramBucketWidth());
+        List<Long> histogram = statistics.getScoreHistogram();
+        json.name("score_histogram").beginArray();
+        for (Long count : histogram) {
+            json.value(count);
+        }
+        json.endArray();
+        json.endObject();
+    }
+
+    private void writeString(String name, String value) throws IOException {
+        if (value != null) {
+            json.name(name).value(value);
+        }
+    }
+
+    private void writeDecimal(String name, BigDecimal value) throws IOException {
+        if (value != null) {
+            json.name(name).value(value);
+        }
+    }
+
+    private void writeProfile(String name, StudyProfile profile) throws IOException {
+        if (profile != null) {
+            json.name(name).value(profile.name());
+        }
+    }
+}
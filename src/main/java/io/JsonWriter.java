@@ -1,33 +1,29 @@
 package io;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import model.Root;
-import model.Statistics;
-import model.Student;
-import model.University;
-import util.JsonUtil;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Класс для записи JSON-файлов из Java-объектов с использованием Gson.
+ * <p>
+ * Разделы записываются потоково через {@link JsonStreamWriter} в фиксированном порядке, без промежуточного
+ * словаря и рефлексии по всему дереву объектов.
+ * </p>
  */
 public class JsonWriter {
 
     private static final Logger logger = Logger.getLogger(JsonWriter.class.getName());
     private static final String OUTPUT_DIR = "jsonReqs";
     private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
-    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
 
     /**
      * Скрывает конструктор утилитного класса.
@@ -36,6 +32,19 @@ public class JsonWriter {
         throw new UnsupportedOperationException("Utility class cannot be instantiated");
     }
 
+    /**
+     * Возвращает путь к JSON-файлу с временной меткой в каталоге вывода, создавая каталог при необходимости.
+     * Используется для потоковой записи через {@link StreamingPipeline}.
+     *
+     * @param processedAt время обработки, по которому формируется имя файла
+     * @return путь к файлу
+     * @throws IOException если каталог не удаётся создать
+     */
+    public static Path outputPath(LocalDateTime processedAt) throws IOException {
+        Path outputDir = Files.createDirectories(Paths.get(OUTPUT_DIR));
+        return outputDir.resolve(String.format("req_%s.json", processedAt.format(TIMESTAMP_FORMATTER)));
+    }
+
     /**
      * Выполняет сериализацию корневого объекта в JSON-файл с временной меткой.
      *
@@ -69,37 +78,7 @@ public class JsonWriter {
         logger.info("Writing JSON to file: " + outputFile.getAbsolutePath());
 
         try {
-            // Создаём структуру для JSON, аналогичную XML
-            Map<String, Object> jsonRoot = new HashMap<>();
-            
-            // Добавляем информацию о студентах
-            if (root.getStudents() != null) {
-                jsonRoot.put("studentsInfo", root.getStudents());
-                logger.info("Added " + root.getStudents().size() + " students to JSON");
-            }
-            
-            // Добавляем информацию об университетах
-            if (root.getUniversities() != null) {
-                jsonRoot.put("universitiesInfo", root.getUniversities());
-                logger.info("Added " + root.getUniversities().size() + " universities to JSON");
-            }
-            
-            // Добавляем статистическую информацию
-            if (root.getStatistics() != null) {
-                jsonRoot.put("statisticalInfo", root.getStatistics());
-                logger.info("Added " + root.getStatistics().size() + " statistics entries to JSON");
-            }
-            
-            // Добавляем время обработки
-            if (root.getProcessedAt() != null) {
-                jsonRoot.put("processedAt", root.getProcessedAt().toString());
-            }
-
-            // Записываем JSON в файл
-            try (FileWriter writer = new FileWriter(outputFile, java.nio.charset.StandardCharsets.UTF_8)) {
-                gson.toJson(jsonRoot, writer);
-            }
-
+            writeRoot(root, outputFile.toPath());
             logger.info("Successfully wrote JSON file: " + outputFile.getAbsolutePath());
 
         } catch (IOException e) {
@@ -136,42 +115,40 @@ public class JsonWriter {
         logger.info("Writing JSON to file: " + outputFile.getAbsolutePath());
 
         try {
-            // Создаём структуру для JSON, аналогичную XML
-            Map<String, Object> jsonRoot = new HashMap<>();
-            
-            // Добавляем информацию о студентах
+            writeRoot(root, outputFile.toPath());
+            logger.info("Successfully wrote JSON file: " + outputFile.getAbsolutePath());
+
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Failed to write JSON file: " + e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * Записывает разделы корневого объекта в файл потоково в порядке {@code studentsInfo}, {@code universitiesInfo},
+     * {@code statisticalInfo}, {@code processedAt}; разделы со значением {@code null} пропускаются.
+     *
+     * @param root корневой объект для сериализации
+     * @param path путь к файлу
+     * @throws IOException если файл не удаётся записать
+     */
+    private static void writeRoot(Root root, Path path) throws IOException {
+        try (JsonStreamWriter writer = JsonStreamWriter.open(path, false)) {
             if (root.getStudents() != null) {
-                jsonRoot.put("studentsInfo", root.getStudents());
+                writer.writeStudents(root.getStudents().iterator());
                 logger.info("Added " + root.getStudents().size() + " students to JSON");
             }
-            
-            // Добавляем информацию об университетах
             if (root.getUniversities() != null) {
-                jsonRoot.put("universitiesInfo", root.getUniversities());
+                writer.writeUniversities(root.getUniversities().iterator());
                 logger.info("Added " + root.getUniversities().size() + " universities to JSON");
             }
-            
-            // Добавляем статистическую информацию
             if (root.getStatistics() != null) {
-                jsonRoot.put("statisticalInfo", root.getStatistics());
+                writer.writeStatistics(root.getStatistics().iterator());
                 logger.info("Added " + root.getStatistics().size() + " statistics entries to JSON");
             }
-            
-            // Добавляем время обработки
             if (root.getProcessedAt() != null) {
-                jsonRoot.put("processedAt", root.getProcessedAt().toString());
-            }
-
-            // Записываем JSON в файл
-            try (FileWriter writer = new FileWriter(outputFile, java.nio.charset.StandardCharsets.UTF_8)) {
-                gson.toJson(jsonRoot, writer);
+                writer.writeProcessedAt(root.getProcessedAt());
             }
-
-            logger.info("Successfully wrote JSON file: " + outputFile.getAbsolutePath());
-
-        } catch (IOException e) {
-            logger.log(Level.SEVERE, "Failed to write JSON file: " + e.getMessage(), e);
-            throw e;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,239 @@
+package io;
+
+import model.Student;
+import org.xml.sax.SAXException;
+import util.StringDictionary;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.logging.Logger;
+
+/**
+ * Параллельное чтение листа студентов XLSX-файла по диапазонам строк.
+ * <p>
+ * XML листа распаковывается в память и делится на фрагменты по границам элементов {@code <row>}. Каждый фрагмент
+ * дополняется заголовком и окончанием исходного документа и разбирается отдельной задачей {@link ForkJoinPool}
+ * с общей неизменяемой таблицей общих строк. Результаты фрагментов склеиваются в исходном порядке строк, поэтому
+ * итоговый список совпадает с результатом {@link XlsReader#readXlsStudents(String)}. Расход памяти пропорционален
+ * размеру распакованного XML листа.
+ * </p>
+ * <p>
+ * Распакованный XML листа целиком хранится в одном массиве байтов, поэтому его размер ограничен максимальной длиной
+ * массива Java (около 2 ГБ) и доступной кучей; для листов большего размера используйте потоковое чтение
+ * {@link XlsStreamReader}.
+ * </p>
+ */
+public final class ParallelXlsReader {
+
+    private static final Logger logger = Logger.getLogger(ParallelXlsReader.class.getName());
+
+    /** Количество фрагментов на один поток для выравнивания нагрузки. */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private static final byte[] SHEET_DATA_OPEN = "<sheetData".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SHEET_DATA_CLOSE = "</sheetData>".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ROW_OPEN = "<row".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DOCUMENT_TAIL = "</sheetData></worksheet>".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Скрытый конструктор предотвращает создание экземпляров утилитного класса.
+     */
+    private ParallelXlsReader() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Считывает студентов из XLSX-файла, разбирая лист параллельно.
+     *
+     * @param filePath    путь к Excel-файлу
+     * @param parallelism количество потоков разбора
+     * @return список студентов в порядке строк листа
+     * @throws IOException если файл недоступен для чтения или повреждён
+     * @throws IllegalArgumentException если лист со студентами не найден или parallelism меньше 1
+     */
+    public static List<Student> readXlsStudents(String filePath, int parallelism) throws IOException {
+        try (WorkbookSource source = WorkbookSource.open(filePath)) {
+            return readXlsStudents(source, parallelism);
+        }
+    }
+
+    /**
+     * Считывает студентов из открытой книги, разбирая лист параллельно. Распакованный XML листа должен
+     * помещаться в один массив байтов (около 2 ГБ) и в кучу.
+     *
+     * @param source      открытая книга
+     * @param parallelism количество потоков разбора
+     * @return список студентов в порядке строк листа
+     * @throws IOException если XML листа не читается или повреждён
+     * @throws IllegalArgumentException если лист со студентами не найден или parallelism меньше 1
+     */
+    public static List<Student> readXlsStudents(WorkbookSource source, int parallelism) throws IOException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        logger.info("Starting parallel read of students with parallelism " + parallelism);
+
+        byte[] xml;
+        try (InputStream sheetData = source.openSheet(XlsReader.STUDENTS_SHEET)) {
+            xml = sheetData.readAllBytes();
+        }
+
+        int openTag = indexOf(xml, SHEET_DATA_OPEN, 0, xml.length);
+        if (openTag < 0) {
+            throw new IOException("Sheet " + XlsReader.STUDENTS_SHEET + " has no sheetData element");
+        }
+        int openTagEnd = indexOf(xml, new byte[]{'>'}, openTag, xml.length);
+        if (openTagEnd < 0) {
+            throw new IOException("Sheet " + XlsReader.STUDENTS_SHEET + " has unterminated sheetData element");
+        }
+        int contentStart = openTagEnd + 1;
+        if (xml[contentStart - 2] == '/') {
+            logger.info("Sheet " + XlsReader.STUDENTS_SHEET + " is empty");
+            return new ArrayList<>();
+        }
+        int contentEnd = indexOf(xml, SHEET_DATA_CLOSE, contentStart, xml.length);
+        if (contentEnd < 0) {
+            throw new IOException("Sheet " + XlsReader.STUDENTS_SHEET + " has unterminated sheetData element");
+        }
+
+        List<int[]> chunks = splitRows(xml, contentStart, contentEnd, parallelism * CHUNKS_PER_THREAD);
+        String[] sharedStrings = source.sharedStrings();
+        StringDictionary universityIds = source.universityIds();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<ForkJoinTask<List<Student>>> tasks = new ArrayList<>(chunks.size());
+            for (int i = 0; i < chunks.size(); i++) {
+                int[] chunk = chunks.get(i);
+                boolean first = i == 0;
+                tasks.add(pool.submit(() -> parseChunk(xml, contentStart, chunk, sharedStrings,
+                        universityIds, first)));
+            }
+
+            List<Student> students = new ArrayList<>();
+            for (ForkJoinTask<List<Student>> task : tasks) {
+                students.addAll(task.get());
+            }
+            logger.info("Successfully read " + students.size() + " students in " + chunks.size() + " chunks");
+            return students;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Parallel sheet parsing was interrupted", e);
+        } catch (ExecutionException e) {
+            logger.severe("Failed to parse sheet chunk: " + e.getCause().getMessage());
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException("Failed to parse sheet chunk", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Разбирает один фрагмент строк листа как самостоятельный XML-документ.
+     *
+     * @param xml           распакованный XML листа
+     * @param headerLength  длина заголовка документа до содержимого {@code <sheetData>}
+     * @param chunk         границы фрагмента {@code [start, end)}
+     * @param sharedStrings таблица общих строк
+     * @param universityIds словарь идентификаторов университетов книги
+     * @param skipHeader    пропускать ли первую строку фрагмента как заголовок листа
+     * @return студенты фрагмента в порядке строк
+     * @throws IOException  если фрагмент не читается
+     * @throws SAXException если XML фрагмента повреждён
+     */
+    private static List<Student> parseChunk(byte[] xml, int headerLength, int[] chunk, String[] sharedStrings,
+                                            StringDictionary universityIds, boolean skipHeader)
+            throws IOException, SAXException {
+        List<Student> students = new ArrayList<>();
+        SheetRowHandler handler = new SheetRowHandler(sharedStrings, XlsRowMapper.STUDENT_COLUMNS, null,
+                (rowNumber, cells) -> {
+                    if (!skipHeader || rowNumber > 0) {
+                        students.add(XlsRowMapper.toStudent(cells, universityIds));
+                    }
+                });
+        InputStream document = new SequenceInputStream(Collections.enumeration(List.of(
+                new ByteArrayInputStream(xml, 0, headerLength),
+                new ByteArrayInputStream(xml, chunk[0], chunk[1] - chunk[0]),
+                new ByteArrayInputStream(DOCUMENT_TAIL))));
+        XlsStreamReader.parseSheet(document, handler);
+        return students;
+    }
+
+    /**
+     * Делит содержимое {@code <sheetData>} на фрагменты примерно равного размера по началам элементов {@code <row>}.
+     *
+     * @param xml        распакованный XML листа
+     * @param start      начало содержимого
+     * @param end        конец содержимого
+     * @param chunkCount желаемое количество фрагментов
+     * @return границы фрагментов {@code [start, end)} в порядке следования
+     */
+    private static List<int[]> splitRows(byte[] xml, int start, int end, int chunkCount) {
+        List<int[]> chunks = new ArrayList<>(chunkCount);
+        int targetSize = Math.max(1, (end - start) / chunkCount);
+        int chunkStart = start;
+        while (chunkStart < end) {
+            int chunkEnd = chunkStart + targetSize >= end ? end : nextRowStart(xml, chunkStart + targetSize, end);
+            chunks.add(new int[]{chunkStart, chunkEnd});
+            chunkStart = chunkEnd;
+        }
+        return chunks;
+    }
+
+    /**
+     * Находит начало ближайшего элемента {@code <row>} не раньше указанной позиции.
+     *
+     * @param xml  распакованный XML листа
+     * @param from позиция начала поиска
+     * @param end  граница поиска
+     * @return позиция начала элемента или {@code end}, если элементов больше нет
+     */
+    private static int nextRowStart(byte[] xml, int from, int end) {
+        int position = from;
+        while (true) {
+            int candidate = indexOf(xml, ROW_OPEN, position, end);
+            if (candidate < 0) {
+                return end;
+            }
+            byte next = xml[candidate + ROW_OPEN.length];
+            if (next == ' ' || next == '>' || next == '/') {
+                return candidate;
+            }
+            position = candidate + ROW_OPEN.length;
+        }
+    }
+
+    /**
+     * Ищет последовательность байтов в заданном диапазоне массива.
+     *
+     * @param data    массив данных
+     * @param pattern искомая последовательность
+     * @param from    начало диапазона
+     * @param to      конец диапазона (не включительно)
+     * @return позиция первого вхождения или {@code -1}
+     */
+    private static int indexOf(byte[] data, byte[] pattern, int from, int to) {
+        int last = to - pattern.length;
+        outer:
+        for (int i = from; i <= last; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,386 @@
+package io;
+
+import model.Statistics;
+import model.Student;
+import model.University;
+import util.StatisticsEngine;
+import util.StatisticsUtil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.logging.Logger;
+
+/**
+ * Чтение набора XLSX-книг (шардов) с одинаковой разметкой листов «Университеты» и «Студенты».
+ * <p>
+ * Каждый шард читается отдельной задачей пула {@link ForkJoinPool} ограниченного размера: университеты шарда
+ * считываются в список, а студенты потоком добавляются в частичный агрегат {@link StatisticsEngine} шарда
+ * (агрегаты по идентификаторам университетов без списка университетов) и при необходимости сохраняются. Частичные
+ * агрегаты объединяются попарно по дереву задач, поэтому общий список студентов для расчёта статистики
+ * не нужен. Университеты разных шардов дедуплицируются по идентификатору: сохраняется первая запись в порядке
+ * шардов, записи без идентификатора сохраняются все. Статистика считается по объединённому агрегату
+ * и дедуплицированным университетам ({@link StatisticsUtil#calculateStatistics(StatisticsEngine, List)})
+ * и совпадает с расчётом по списку всех студентов.
+ * </p>
+ * <p>
+ * Размер пула ограничивает количество одновременно открытых книг: разбор шарда чередует распаковку (ввод-вывод)
+ * и разбор XML (процессор), поэтому по умолчанию пул вдвое больше числа процессоров, но не больше числа шардов.
+ * </p>
+ */
+public final class ShardedXlsReader {
+
+    private static final Logger logger = Logger.getLogger(ShardedXlsReader.class.getName());
+
+    /** Шаблон имён шардов по умолчанию. */
+    public static final String DEFAULT_GLOB = "*.xlsx";
+
+    /**
+     * Скрытый конструктор предотвращает создание экземпляров утилитного класса.
+     */
+    private ShardedXlsReader() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Возвращает размер пула по умолчанию для указанного количества шардов.
+     *
+     * @param shardCount количество шардов
+     * @return удвоенное количество процессоров, но не больше количества шардов и не меньше 1
+     */
+    public static int defaultParallelism(int shardCount) {
+        return Math.max(1, Math.min(shardCount, 2 * Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Находит шарды в каталоге по шаблону имени.
+     *
+     * @param directory каталог с книгами
+     * @param glob      шаблон имени файла в синтаксисе glob, например {@code region-*.xlsx}
+     * @return пути к файлам, отсортированные по имени
+     * @throws IOException если каталог недоступен
+     */
+    public static List<Path> findShards(String directory, String glob) throws IOException {
+        List<Path> shards = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(Paths.get(directory), glob)) {
+            for (Path path : stream) {
+                if (Files.isRegularFile(path)) {
+                    shards.add(path);
+                }
+            }
+        }
+        Collections.sort(shards);
+        return shards;
+    }
+
+    /**
+     * Читает все книги каталога, подходящие под шаблон, с размером пула по умолчанию.
+     *
+     * @param directory       каталог с книгами
+     * @param glob            шаблон имени файла в синтаксисе glob
+     * @param collectStudents {@code true}, чтобы сохранить объединённый список студентов
+     * @return результат чтения
+     * @throws IOException если каталог или одна из книг недоступны для чтения
+     * @throws IllegalArgumentException если в одной из книг нет нужного листа
+     */
+    public static Result read(String directory, String glob, boolean collectStudents) throws IOException {
+        List<Path> shards = findShards(directory, glob);
+        return read(shards, defaultParallelism(shards.size()), collectStudents);
+    }
+
+    /**
+     * Читает книги параллельно пулом заданного размера.
+     *
+     * @param shards          пути к книгам; порядок определяет дедупликацию университетов и порядок студентов
+     * @param parallelism     размер пула (количество одновременно читаемых книг)
+     * @param collectStudents {@code true}, чтобы сохранить объединённый список студентов
+     * @return результат чтения
+     * @throws IOException если одна из книг недоступна для чтения или повреждена
+     * @throws IllegalArgumentException если parallelism меньше 1 или в одной из книг нет нужного листа
+     */
+    public static Result read(List<Path> shards, int parallelism, boolean collectStudents) throws IOException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        logger.info("Starting sharded read of " + shards.size() + " workbooks with parallelism " + parallelism);
+        long start = System.nanoTime();
+
+        Partial merged;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            merged = shards.isEmpty()
+                    ? new Partial(Collections.emptyList())
+                    : pool.invoke(new ShardTask(shards, 0, shards.size(), collectStudents));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            pool.shutdown();
+        }
+
+        List<University> universities = new ArrayList<>();
+        Set<String> seenIds = new HashSet<>();
+        int duplicates = 0;
+        for (University university : merged.universities) {
+            if (university.getId() == null || seenIds.add(university.getId())) {
+                universities.add(university);
+            } else {
+                duplicates++;
+            }
+        }
+        if (duplicates > 0) {
+            logger.info("Dropped " + duplicates + " duplicate university records across shards");
+        }
+
+        Result result = new Result(universities, merged.students, merged.aggregate, merged.shards, duplicates,
+                (System.nanoTime() - start) / 1_000_000);
+        logger.info("Read " + shards.size() + " workbooks in " + result.getElapsedMillis() + " ms: "
+                + universities.size() + " universities, " + result.getStudentCount() + " students");
+        return result;
+    }
+
+    private static Partial readShard(Path path, boolean collectStudents) throws IOException {
+        long start = System.nanoTime();
+        Partial partial;
+        int studentCount;
+        try (WorkbookSource source = WorkbookSource.open(path.toString())) {
+            partial = new Partial(source.readUniversities());
+            StatisticsEngine aggregate = partial.aggregate;
+            List<Student> students = partial.students;
+            studentCount = source.streamStudents(student -> {
+                aggregate.addStudent(student);
+                if (collectStudents) {
+                    students.add(student);
+                }
+            });
+        }
+        Shard shard = new Shard(path, partial.universities.size(), studentCount,
+                (System.nanoTime() - start) / 1_000_000);
+        partial.shards.add(shard);
+        logger.info("Read shard " + shard);
+        return partial;
+    }
+
+    /**
+     * Частичный результат: университеты, студенты и агрегат одного шарда или объединения нескольких шардов.
+     */
+    private static final class Partial {
+
+        private final List<University> universities;
+        private final List<Student> students = new ArrayList<>();
+        private final StatisticsEngine aggregate = new StatisticsEngine();
+        private final List<Shard> shards = new ArrayList<>();
+
+        private Partial(List<University> universities) {
+            this.universities = new ArrayList<>(universities);
+        }
+
+        /**
+         * Присоединяет следующий по порядку частичный результат.
+         */
+        private Partial append(Partial next) {
+            universities.addAll(next.universities);
+            students.addAll(next.students);
+            aggregate.mergeStudents(next.aggregate);
+            shards.addAll(next.shards);
+            return this;
+        }
+    }
+
+    /**
+     * Задача чтения диапазона шардов: диапазон делится пополам до одного шарда, результаты объединяются в порядке
+     * шардов.
+     */
+    private static final class ShardTask extends RecursiveTask<Partial> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<Path> shards;
+        private final int from;
+        private final int to;
+        private final boolean collectStudents;
+
+        private ShardTask(List<Path> shards, int from, int to, boolean collectStudents) {
+            this.shards = shards;
+            this.from = from;
+            this.to = to;
+            this.collectStudents = collectStudents;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from == 1) {
+                try {
+                    return readShard(shards.get(from), collectStudents);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            int middle = (from + to) >>> 1;
+            ShardTask left = new ShardTask(shards, from, middle, collectStudents);
+            ShardTask right = new ShardTask(shards, middle, to, collectStudents);
+            right.fork();
+            Partial result = left.compute();
+            return result.append(right.join());
+        }
+    }
+
+    /**
+     * Сведения о чтении одного шарда.
+     */
+    public static final class Shard {
+
+        private final Path path;
+        private final int universityCount;
+        private final long studentCount;
+        private final long elapsedMillis;
+
+        private Shard(Path path, int universityCount, long studentCount, long elapsedMillis) {
+            this.path = path;
+            this.universityCount = universityCount;
+            this.studentCount = studentCount;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        /**
+         * Возвращает путь к книге.
+         *
+         * @return путь к книге
+         */
+        public Path getPath() {
+            return path;
+        }
+
+        /**
+         * Возвращает количество университетов в книге до дедупликации.
+         *
+         * @return количество университетов
+         */
+        public int getUniversityCount() {
+            return universityCount;
+        }
+
+        /**
+         * Возвращает количество студентов в книге.
+         *
+         * @return количество студентов
+         */
+        public long getStudentCount() {
+            return studentCount;
+        }
+
+        /**
+         * Возвращает время чтения книги.
+         *
+         * @return время чтения в миллисекундах
+         */
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return path.getFileName() + ": " + universityCount + " universities, " + studentCount
+                    + " students in " + elapsedMillis + " ms";
+        }
+    }
+
+    /**
+     * Результат чтения набора книг.
+     */
+    public static final class Result {
+
+        private final List<University> universities;
+        private final List<Student> students;
+        private final StatisticsEngine studentAggregate;
+        private final List<Shard> shards;
+        private final int duplicateUniversityCount;
+        private final long elapsedMillis;
+
+        private Result(List<University> universities, List<Student> students, StatisticsEngine studentAggregate,
+                       List<Shard> shards, int duplicateUniversityCount, long elapsedMillis) {
+            this.universities = Collections.unmodifiableList(universities);
+            this.students = Collections.unmodifiableList(students);
+            this.studentAggregate = studentAggregate;
+            this.shards = Collections.unmodifiableList(shards);
+            this.duplicateUniversityCount = duplicateUniversityCount;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        /**
+         * Возвращает университеты всех шардов после дедупликации по идентификатору.
+         *
+         * @return неизменяемый список в порядке шардов и строк
+         */
+        public List<University> getUniversities() {
+            return universities;
+        }
+
+        /**
+         * Возвращает студентов всех шардов, если чтение выполнялось с их сохранением.
+         *
+         * @return неизменяемый список в порядке шардов и строк; пустой, если студенты не сохранялись
+         */
+        public List<Student> getStudents() {
+            return students;
+        }
+
+        /**
+         * Возвращает общее количество прочитанных студентов.
+         *
+         * @return количество студентов
+         */
+        public long getStudentCount() {
+            long count = 0;
+            for (Shard shard : shards) {
+                count += shard.getStudentCount();
+            }
+            return count;
+        }
+
+        /**
+         * Рассчитывает статистику по профилям обучения по объединённому агрегату студентов.
+         *
+         * @return список статистик в порядке первого появления профилей среди университетов
+         */
+        public List<Statistics> calculateStatistics() {
+            return StatisticsUtil.calculateStatistics(studentAggregate, universities);
+        }
+
+        /**
+         * Возвращает сведения о чтении каждого шарда.
+         *
+         * @return неизменяемый список в порядке шардов
+         */
+        public List<Shard> getShards() {
+            return shards;
+        }
+
+        /**
+         * Возвращает количество записей университетов, отброшенных как повторы идентификаторов.
+         *
+         * @return количество повторов
+         */
+        public int getDuplicateUniversityCount() {
+            return duplicateUniversityCount;
+        }
+
+        /**
+         * Возвращает общее время чтения.
+         *
+         * @return время в миллисекундах
+         */
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package io;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.util.ArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SAX-обработчик таблицы общих строк XLSX, собирающий текст элементов {@code <si>} в простые строки.
+ * <p>
+ * Результат совпадает с {@code ReadOnlySharedStringsTable.getItemAt(i).getString()} без фонетических фрагментов
+ * ({@code <rPh>}): текст всех элементов {@code <t>} элемента объединяется, а экранированные последовательности
+ * {@code _xHHHH_} заменяются символами. В отличие от POI, для строк не создаются объекты форматированного текста,
+ * поэтому загрузка таблицы с сотнями тысяч уникальных строк не порождает лишних аллокаций.
+ * </p>
+ */
+final class SharedStringsHandler extends DefaultHandler {
+
+    private static final Pattern ESCAPED_CHARACTER = Pattern.compile("_x([0-9A-Fa-f]{4})_");
+
+    private final ArrayList<String> strings = new ArrayList<>();
+    private final StringBuilder text = new StringBuilder(64);
+
+    private boolean capturing;
+    private boolean inPhoneticRun;
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+        switch (localName) {
+            case "sst":
+                String uniqueCount = attributes.getValue("uniqueCount");
+                if (uniqueCount != null) {
+                    strings.ensureCapacity(Integer.parseInt(uniqueCount));
+                }
+                break;
+            case "si":
+                text.setLength(0);
+                break;
+            case "rPh":
+                inPhoneticRun = true;
+                break;
+            case "t":
+                capturing = !inPhoneticRun;
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) {
+        switch (localName) {
+            case "si":
+                strings.add(decode(text.toString()));
+                break;
+            case "rPh":
+                inPhoneticRun = false;
+                break;
+            case "t":
+                capturing = false;
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+        if (capturing) {
+            text.append(ch, start, length);
+        }
+    }
+
+    /**
+     * Возвращает собранные строки в порядке их индексов.
+     *
+     * @return массив общих строк
+     */
+    String[] toArray() {
+        return strings.toArray(new String[0]);
+    }
+
+    /**
+     * Заменяет экранированные последовательности {@code _xHHHH_} соответствующими символами.
+     *
+     * @param value исходный текст
+     * @return текст с раскрытыми последовательностями
+     */
+    private static String decode(String value) {
+        if (!value.contains("_x")) {
+            return value;
+        }
+        Matcher matcher = ESCAPED_CHARACTER.matcher(value);
+        StringBuilder decoded = new StringBuilder(value.length());
+        int position = 0;
+        while (matcher.find()) {
+            decoded.append(value, position, matcher.start()).append((char) Integer.parseInt(matcher.group(1), 16));
+            position = matcher.end();
+        }
+        if (position == 0) {
+            return value;
+        }
+        return decoded.append(value, position, value.length()).toString();
+    }
+}
@@ -0,0 +1,165 @@
+package io;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.util.Arrays;
+
+/**
+ * SAX-обработчик XML-разметки листа XLSX, передающий значения ячеек построчно без построения DOM-модели.
+ * <p>
+ * Значения ячеек передаются в «сыром» строковом виде: строки из таблицы общих строк разрешаются по индексу,
+ * числовые ячейки передаются текстом из элемента {@code <v>}. Ячейка, присутствующая в разметке без значения,
+ * передаётся пустой строкой, как её возвращает {@code getStringCellValue()}. Массив значений переиспользуется
+ * между строками, поэтому потребитель не должен сохранять ссылку на него после возврата из обратного вызова.
+ * </p>
+ * <p>
+ * Строка передаётся потребителю, если значение есть хотя бы у одной ячейки в пределах {@code columnCount},
+ * в том числе у ненужной: набор строк не зависит от маски столбцов. Текст ненужных ячеек не накапливается.
+ * </p>
+ */
+final class SheetRowHandler extends DefaultHandler {
+
+    /**
+     * Потребитель строк листа.
+     */
+    interface RowConsumer {
+
+        /**
+         * Обрабатывает очередную строку листа.
+         *
+         * @param rowNumber порядковый номер строки в листе, начиная с нуля (заголовок имеет номер 0)
+         * @param cells     значения ячеек по индексам столбцов; пустые ячейки содержат пустую строку,
+         *                  отсутствующие в разметке — {@code null}
+         */
+        void accept(int rowNumber, String[] cells);
+    }
+
+    private final String[] sharedStrings;
+    private final boolean[] wantedColumns;
+    private final RowConsumer consumer;
+    private final String[] cells;
+    private final StringBuilder value = new StringBuilder(64);
+
+    private int rowNumber;
+    private int columnIndex;
+    private int nextColumnIndex;
+    private String cellType;
+    private boolean rowHasValues;
+    private boolean capturing;
+    private boolean inValue;
+    private boolean cellInRange;
+    private boolean cellHasValue;
+    private boolean wantedCell;
+
+    /**
+     * Создаёт обработчик листа.
+     *
+     * @param sharedStrings таблица общих строк книги, разрешённая в массив
+     * @param columnCount   количество столбцов, значения которых передаются потребителю
+     * @param wantedColumns маска нужных столбцов; {@code null} означает все столбцы в пределах {@code columnCount}
+     * @param consumer      потребитель строк
+     */
+    SheetRowHandler(String[] sharedStrings, int columnCount, boolean[] wantedColumns, RowConsumer consumer) {
+        this.sharedStrings = sharedStrings;
+        this.wantedColumns = wantedColumns;
+        this.consumer = consumer;
+        this.cells = new String[columnCount];
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+        switch (localName) {
+            case "row":
+                Arrays.fill(cells, null);
+                rowHasValues = false;
+                nextColumnIndex = 0;
+                break;
+            case "c":
+                columnIndex = resolveColumnIndex(attributes.getValue("r"));
+                nextColumnIndex = columnIndex + 1;
+                cellType = attributes.getValue("t");
+                cellInRange = columnIndex < cells.length;
+                wantedCell = cellInRange && (wantedColumns == null || wantedColumns[columnIndex]);
+                cellHasValue = false;
+                value.setLength(0);
+                break;
+            case "v":
+            case "t":
+                inValue = cellInRange;
+                capturing = wantedCell;
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) {
+        switch (localName) {
+            case "v":
+            case "t":
+                inValue = false;
+                capturing = false;
+                break;
+            case "c":
+                if (wantedCell) {
+                    cells[columnIndex] = value.length() > 0 ? decodeValue() : "";
+                }
+                rowHasValues |= cellHasValue;
+                cellInRange = false;
+                wantedCell = false;
+                break;
+            case "row":
+                if (rowHasValues) {
+                    consumer.accept(rowNumber, cells);
+                }
+                rowNumber++;
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+        cellHasValue |= inValue && length > 0;
+        if (capturing) {
+            value.append(ch, start, length);
+        }
+    }
+
+    /**
+     * Преобразует накопленный текст ячейки в значение с учётом её типа.
+     *
+     * @return строковое значение ячейки
+     */
+    private String decodeValue() {
+        if ("s".equals(cellType)) {
+            int index = Integer.parseInt(value, 0, value.length(), 10);
+            return sharedStrings[index];
+        }
+        return value.toString();
+    }
+
+    /**
+     * Определяет индекс столбца по ссылке на ячейку вида {@code "BC12"}.
+     *
+     * @param reference ссылка на ячейку; при отсутствии используется следующий столбец по порядку
+     * @return индекс столбца, начиная с нуля
+     */
+    private int resolveColumnIndex(String reference) {
+        if (reference == null) {
+            return nextColumnIndex;
+        }
+        int index = 0;
+        for (int i = 0; i < reference.length(); i++) {
+            char ch = reference.charAt(i);
+            if (ch < 'A' || ch > 'Z') {
+                break;
+            }
+            index = index * 26 + (ch - 'A' + 1);
+        }
+        return index - 1;
+    }
+}
@@ -0,0 +1,367 @@
+package io;
+
+import enums.StudyProfile;
+import model.Dataset;
+import model.Student;
+import model.University;
+import util.StringDictionary;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Двоичный снимок разобранной XLSX-книги, позволяющий не разбирать неизменившийся файл при каждом запуске.
+ * <p>
+ * Снимок хранится рядом с исходным файлом под именем {@code <файл>.snapshot}. Заголовок снимка содержит ключ
+ * источника: абсолютный путь, размер, время изменения и хеш SHA-256 содержимого. При чтении ключ сверяется
+ * с текущим файлом: несовпадение пути или размера сразу признаёт снимок устаревшим, иначе сравнивается хеш
+ * содержимого. Если файл лишь «тронут» (изменилось только время изменения, а содержимое то же), снимок остаётся
+ * действительным и время в заголовке обновляется. Книга разбирается через {@link DatasetReader} только при
+ * отсутствии действительного снимка, после чего снимок перезаписывается. Хеш содержимого вычисляется до разбора,
+ * а после разбора размер и время изменения файла сверяются повторно: если файл сохранили во время разбора, снимок
+ * не записывается, чтобы не связать старые данные с хешем нового содержимого.
+ * </p>
+ * <p>
+ * Тело снимка — таблица различных идентификаторов университетов и записи фиксированной структуры, в которых
+ * идентификатор хранится номером в этой таблице. Файл читается через канал целиком в буфер в куче и разбирается
+ * последовательно; идентификаторы при загрузке помещаются в собственный словарь загрузки {@link StringDictionary}.
+ * Отображение в память не используется: отображённый файл нельзя заменить до сборки мусора буфера (в Windows
+ * переименование поверх него завершается ошибкой), а снимок перезаписывается сразу после неудачной загрузки.
+ * Снимок записывается во временный файл и затем переименовывается, поэтому прерванная запись не оставляет
+ * повреждённого снимка. Буфер ограничен 2 ГБ: больший снимок не загружается, и книга разбирается заново.
+ * Количества записей и длины строк сверяются с остатком буфера до выделения памяти, поэтому снимок с испорченной
+ * длиной признаётся повреждённым, а не исчерпывает кучу.
+ * </p>
+ */
+public final class SnapshotCache {
+
+    private static final Logger logger = Logger.getLogger(SnapshotCache.class.getName());
+
+    /** Расширение файла снимка, добавляемое к имени исходного файла. */
+    public static final String SNAPSHOT_EXTENSION = ".snapshot";
+
+    private static final int MAGIC = 0x554E5353;
+    private static final int FORMAT_VERSION = 2;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    private static final StudyProfile[] PROFILES = StudyProfile.values();
+
+    /** Наименьший размер записи идентификатора: длина строки. */
+    private static final int MIN_ID_RECORD_SIZE = Integer.BYTES;
+
+    /** Наименьший размер записи университета: ссылка на идентификатор, длины двух строк, год и профиль. */
+    private static final int MIN_UNIVERSITY_RECORD_SIZE = 4 * Integer.BYTES + Byte.BYTES;
+
+    /** Наименьший размер записи студента: ссылка на идентификатор, длина имени, курс и балл. */
+    private static final int MIN_STUDENT_RECORD_SIZE = 3 * Integer.BYTES + Float.BYTES;
+
+    /**
+     * Скрытый конструктор предотвращает создание экземпляров утилитного класса.
+     */
+    private SnapshotCache() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Возвращает набор данных книги из действительного снимка либо разбирает книгу и сохраняет новый снимок.
+     * Ошибка записи снимка не прерывает чтение: она записывается в журнал, а разобранные данные возвращаются.
+     *
+     * @param filePath путь к Excel-файлу
+     * @return набор данных с университетами и студентами
+     * @throws IOException если исходный файл недоступен для чтения или повреждён
+     * @throws IllegalArgumentException если один из листов книги не найден
+     */
+    public static Dataset read(String filePath) throws IOException {
+        Path source = Paths.get(filePath).toAbsolutePath().normalize();
+        Path snapshot = snapshotPath(source);
+        SourceKey key = SourceKey.of(source);
+
+        Dataset cached = load(snapshot, key);
+        if (cached != null) {
+            return cached;
+        }
+
+        key.hash();
+        Dataset dataset = DatasetReader.read(filePath);
+        try {
+            if (key.isUnchanged()) {
+                write(snapshot, key, dataset);
+            } else {
+                logger.warning("Source " + source + " changed while it was parsed, snapshot is not written");
+            }
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to write snapshot " + snapshot + ": " + e.getMessage(), e);
+        }
+        return dataset;
+    }
+
+    /**
+     * Загружает снимок книги, если он существует и соответствует ключу источника, не разбирая книгу.
+     *
+     * @param source абсолютный путь к Excel-файлу
+     * @param key    ключ источника в его текущем состоянии
+     * @return набор данных или {@code null}, если действительного снимка нет
+     * @throws IOException если снимок или исходный файл не удаётся прочитать
+     */
+    static Dataset loadIfValid(Path source, SourceKey key) throws IOException {
+        return load(snapshotPath(source), key);
+    }
+
+    /**
+     * Удаляет снимок книги, если он существует.
+     *
+     * @param filePath путь к Excel-файлу
+     * @return {@code true}, если снимок был удалён
+     * @throws IOException если снимок не удаётся удалить
+     */
+    public static boolean invalidate(String filePath) throws IOException {
+        return Files.deleteIfExists(snapshotPath(Paths.get(filePath).toAbsolutePath().normalize()));
+    }
+
+    /**
+     * Возвращает путь к снимку книги.
+     *
+     * @param filePath путь к Excel-файлу
+     * @return путь к файлу снимка рядом с исходным файлом
+     */
+    public static Path snapshotPath(String filePath) {
+        return snapshotPath(Paths.get(filePath).toAbsolutePath().normalize());
+    }
+
+    private static Path snapshotPath(Path source) {
+        return source.resolveSibling(source.getFileName() + SNAPSHOT_EXTENSION);
+    }
+
+    /**
+     * Загружает снимок, если он существует и соответствует ключу источника.
+     *
+     * @return набор данных или {@code null}, если снимка нет или он устарел либо повреждён
+     */
+    private static Dataset load(Path snapshot, SourceKey key) throws IOException {
+        if (!Files.isRegularFile(snapshot)) {
+            logger.info("No snapshot found for " + key.getPath());
+            return null;
+        }
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                logger.warning("Snapshot " + snapshot + " exceeds 2 GB and cannot be loaded, re-reading workbook");
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+            if (buffer.remaining() < 2 * Integer.BYTES || buffer.getInt() != MAGIC
+                    || buffer.getInt() != FORMAT_VERSION) {
+                logger.warning("Snapshot " + snapshot + " has an unknown format, re-reading workbook");
+                return null;
+            }
+            String path = readString(buffer, new byte[64]);
+            long size = buffer.getLong();
+            int modifiedAtOffset = buffer.position();
+            long modifiedAt = buffer.getLong();
+            byte[] hash = new byte[SourceKey.HASH_LENGTH];
+            buffer.get(hash);
+
+            if (!key.matches(path, size, hash)) {
+                logger.info("Snapshot " + snapshot + " is stale, re-reading workbook");
+                return null;
+            }
+            if (key.getModifiedAt() != modifiedAt) {
+                refreshModifiedAt(snapshot, modifiedAtOffset, key.getModifiedAt());
+            }
+
+            Dataset dataset = readBody(buffer);
+            logger.info(String.format("Loaded %d universities and %d students from snapshot %s in %.1f ms",
+                    dataset.getUniversities().size(), dataset.getStudents().size(), snapshot,
+                    (System.nanoTime() - start) / 1e6));
+            return dataset;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException
+                 | NegativeArraySizeException e) {
+            logger.warning("Snapshot " + snapshot + " is corrupted, re-reading workbook");
+            return null;
+        }
+    }
+
+    /**
+     * Записывает в заголовок снимка новое время изменения источника, содержимое которого не изменилось.
+     * Снимок, недоступный для записи, остаётся действительным: при следующем запуске хеш будет сверен снова.
+     */
+    private static void refreshModifiedAt(Path snapshot, int offset, long modifiedAt) {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, modifiedAt), offset);
+            logger.fine("Source content unchanged, refreshed snapshot modification time");
+        } catch (IOException e) {
+            logger.fine("Could not refresh snapshot modification time: " + e.getMessage());
+        }
+    }
+
+    private static Dataset readBody(ByteBuffer buffer) {
+        byte[] scratch = new byte[256];
+        StringDictionary dictionary = new StringDictionary();
+        int[] idCodes = new int[readCount(buffer, MIN_ID_RECORD_SIZE)];
+        for (int i = 0; i < idCodes.length; i++) {
+            idCodes[i] = dictionary.encode(readString(buffer, scratch));
+        }
+
+        int universityCount = readCount(buffer, MIN_UNIVERSITY_RECORD_SIZE);
+        List<University> universities = new ArrayList<>(universityCount);
+        for (int i = 0; i < universityCount; i++) {
+            int idCode = idCode(idCodes, buffer.getInt());
+            String fullName = readString(buffer, scratch);
+            String shortName = readString(buffer, scratch);
+            int yearOfFoundation = buffer.getInt();
+            byte profile = buffer.get();
+            universities.add(new University()
+                    .setId(dictionary.decode(idCode), idCode)
+                    .setFullName(fullName)
+                    .setShortName(shortName)
+                    .setYearOfFoundation(yearOfFoundation)
+                    .setMainProfile(profile < 0 ? null : PROFILES[profile]));
+        }
+
+        int studentCount = readCount(buffer, MIN_STUDENT_RECORD_SIZE);
+        List<Student> students = new ArrayList<>(studentCount);
+        for (int i = 0; i < studentCount; i++) {
+            int idCode = idCode(idCodes, buffer.getInt());
+            String fullName = readString(buffer, scratch);
+            int currentCourseNumber = buffer.getInt();
+            float avgExamScore = buffer.getFloat();
+            students.add(new Student()
+                    .setUniversityId(dictionary.decode(idCode), idCode)
+                    .setFullName(fullName)
+                    .setCurrentCourseNumber(currentCourseNumber)
+                    .setAvgExamScore(avgExamScore));
+        }
+        return new Dataset(universities, students);
+    }
+
+    /**
+     * Читает количество записей и сверяет его с оставшимся размером снимка до выделения памяти под записи.
+     *
+     * @throws IllegalArgumentException если записи указанного количества не помещаются в остаток снимка
+     */
+    private static int readCount(ByteBuffer buffer, int minRecordSize) {
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining() / minRecordSize) {
+            throw new IllegalArgumentException("Record count " + count + " does not fit the remaining "
+                    + buffer.remaining() + " snapshot bytes");
+        }
+        return count;
+    }
+
+    private static int idCode(int[] idCodes, int reference) {
+        return reference < 0 ? -1 : idCodes[reference];
+    }
+
+    /**
+     * Записывает снимок во временный файл и атомарно заменяет им прежний снимок.
+     */
+    private static void write(Path snapshot, SourceKey key, Dataset dataset) throws IOException {
+        long start = System.nanoTime();
+        Map<String, Integer> idReferences = new LinkedHashMap<>();
+        for (University university : dataset.getUniversities()) {
+            reference(idReferences, university.getId());
+        }
+        for (Student student : dataset.getStudents()) {
+            reference(idReferences, student.getUniversityId());
+        }
+
+        Path temporary = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(temporary), WRITE_BUFFER_SIZE))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            writeString(out, key.getPath());
+            out.writeLong(key.getSize());
+            out.writeLong(key.getModifiedAt());
+            out.write(key.hash());
+
+            out.writeInt(idReferences.size());
+            for (String id : idReferences.keySet()) {
+                writeString(out, id);
+            }
+
+            out.writeInt(dataset.getUniversities().size());
+            for (University university : dataset.getUniversities()) {
+                out.writeInt(reference(idReferences, university.getId()));
+                writeString(out, university.getFullName());
+                writeString(out, university.getShortName());
+                out.writeInt(university.getYearOfFoundation());
+                out.writeByte(university.getMainProfile() == null ? -1 : university.getMainProfile().ordinal());
+            }
+
+            out.writeInt(dataset.getStudents().size());
+            for (Student student : dataset.getStudents()) {
+                out.writeInt(reference(idReferences, student.getUniversityId()));
+                writeString(out, student.getFullName());
+                out.writeInt(student.getCurrentCourseNumber());
+                out.writeFloat(student.getAvgExamScore());
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+
+        try {
+            Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING);
+        }
+        logger.info(String.format("Wrote snapshot %s (%d bytes) in %.1f ms",
+                snapshot, Files.size(snapshot), (System.nanoTime() - start) / 1e6));
+    }
+
+    private static int reference(Map<String, Integer> idReferences, String id) {
+        return id == null ? -1 : idReferences.computeIfAbsent(id, key -> idReferences.size());
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Читает строку в кодировке UTF-8, при необходимости расширяя временный буфер. Длина сверяется с остатком
+     * снимка до выделения буфера.
+     *
+     * @throws BufferUnderflowException если строка указанной длины не помещается в остаток снимка
+     */
+    private static String readString(ByteBuffer buffer, byte[] scratch) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = length <= scratch.length ? scratch : new byte[length];
+        buffer.get(bytes, 0, length);
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+}
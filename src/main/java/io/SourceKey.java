@@ -0,0 +1,116 @@
+package io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Ключ исходного файла для кешей производных данных: абсолютный путь, размер, время изменения и хеш SHA-256
+ * содержимого. Хеш вычисляется лениво и только один раз, поэтому несовпадение пути или размера обнаруживается
+ * без чтения файла.
+ */
+final class SourceKey {
+
+    /** Длина хеша содержимого в байтах. */
+    static final int HASH_LENGTH = 32;
+
+    private static final int HASH_BUFFER_SIZE = 1 << 20;
+
+    private final Path source;
+    private final String path;
+    private final long size;
+    private final long modifiedAt;
+    private byte[] hash;
+
+    private SourceKey(Path source, long size, long modifiedAt) {
+        this.source = source;
+        this.path = source.toString();
+        this.size = size;
+        this.modifiedAt = modifiedAt;
+    }
+
+    /**
+     * Снимает ключ файла в его текущем состоянии.
+     *
+     * @param source абсолютный путь к файлу
+     * @return ключ файла
+     * @throws IOException если атрибуты файла недоступны
+     */
+    static SourceKey of(Path source) throws IOException {
+        return new SourceKey(source, Files.size(source), Files.getLastModifiedTime(source).toMillis());
+    }
+
+    /**
+     * Проверяет, что сохранённый ключ описывает тот же файл с тем же содержимым. Время изменения не учитывается:
+     * файл, который лишь «тронули», считается неизменившимся.
+     *
+     * @param storedPath путь из сохранённого ключа
+     * @param storedSize размер из сохранённого ключа
+     * @param storedHash хеш из сохранённого ключа
+     * @return {@code true}, если путь, размер и хеш совпадают
+     * @throws IOException если файл не удаётся прочитать для вычисления хеша
+     */
+    boolean matches(String storedPath, long storedSize, byte[] storedHash) throws IOException {
+        return path.equals(storedPath) && size == storedSize && Arrays.equals(hash(), storedHash);
+    }
+
+    /**
+     * Проверяет, что размер и время изменения файла не изменились с момента снятия ключа. Вызывается после
+     * разбора файла: если файл сохранили во время разбора, разобранные данные и хеш могут описывать разные версии.
+     *
+     * @return {@code true}, если размер и время изменения файла прежние
+     * @throws IOException если атрибуты файла недоступны
+     */
+    boolean isUnchanged() throws IOException {
+        return Files.size(source) == size && Files.getLastModifiedTime(source).toMillis() == modifiedAt;
+    }
+
+    String getPath() {
+        return path;
+    }
+
+    long getSize() {
+        return size;
+    }
+
+    long getModifiedAt() {
+        return modifiedAt;
+    }
+
+    /**
+     * Возвращает хеш SHA-256 содержимого файла, вычисляя его при первом обращении.
+     *
+     * @return хеш длиной {@link #HASH_LENGTH} байт
+     * @throws IOException если файл не удаётся прочитать
+     */
+    byte[] hash() throws IOException {
+        if (hash == null) {
+            hash = sha256(source);
+        }
+        return hash;
+    }
+
+    private static byte[] sha256(Path source) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        ByteBuffer chunk = ByteBuffer.allocateDirect(HASH_BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            while (channel.read(chunk) >= 0) {
+                chunk.flip();
+                digest.update(chunk);
+                chunk.clear();
+            }
+        }
+        return digest.digest();
+    }
+}
@@ -0,0 +1,535 @@
+package io;
+
+import model.Root;
+import model.Statistics;
+import model.Student;
+import model.University;
+import util.StatisticsEngine;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Потоковая обработка студентов с ограниченным расходом памяти: чтение, агрегация и экспорт в JSON и XML
+ * выполняются отдельными стадиями, соединёнными ограниченными очередями пакетов.
+ * <p>
+ * Стадия чтения собирает студентов из источника в пакеты фиксированного размера и помещает их в очередь стадии
+ * агрегации; каждая стадия обрабатывает пакет и передаёт его следующей: агрегация учитывает студентов
+ * в {@link StatisticsEngine}, экспорт дописывает их в раздел студентов JSON- и XML-файлов. Очереди ограничены,
+ * поэтому медленная стадия останавливает предыдущие (обратное давление), и в памяти одновременно находится
+ * не больше {@code (стадии + 1) × (ёмкость очереди + 1)} пакетов независимо от размера входных данных. Университеты
+ * передаются целиком до начала чтения студентов: их количество не зависит от объёма входа. После последнего пакета
+ * агрегация фиксирует статистику, а экспорт дописывает разделы университетов, статистики и время обработки.
+ * </p>
+ * <p>
+ * Файлы имеют ту же структуру и тот же порядок разделов ({@code studentsInfo}, {@code universitiesInfo},
+ * {@code statisticalInfo}, {@code processedAt}), что и вывод {@link JsonWriter} и {@link XmlWriter}: статистика
+ * дописывается после всех студентов. JSON записывается через {@link JsonStreamWriter}, XML — без отступов.
+ * Ошибка любой стадии останавливает остальные и возвращается из {@link #run(List, StudentSource)}; частично
+ * записанные файлы не удаляются.
+ * </p>
+ */
+public final class StreamingPipeline {
+
+    private static final Logger logger = Logger.getLogger(StreamingPipeline.class.getName());
+
+    /** Размер пакета студентов по умолчанию. */
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    /** Ёмкость очереди пакетов перед каждой стадией по умолчанию. */
+    public static final int DEFAULT_QUEUE_CAPACITY = 4;
+
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+
+    /** Маркер конца потока пакетов; сравнивается по ссылке. */
+    private static final List<Student> END = Collections.emptyList();
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+    private Path jsonOutput;
+    private Path xmlOutput;
+    private LocalDateTime processedAt;
+
+    /**
+     * Источник студентов, последовательно передающий их потребителю, например
+     * {@link WorkbookSource#streamStudents(Consumer)}.
+     */
+    @FunctionalInterface
+    public interface StudentSource {
+
+        /**
+         * Передаёт потребителю всех студентов источника.
+         *
+         * @param consumer получатель студентов
+         * @return количество переданных студентов
+         * @throws IOException если источник не удаётся прочитать
+         */
+        int stream(Consumer<Student> consumer) throws IOException;
+    }
+
+    /**
+     * Создаёт конвейер с размерами пакета и очереди по умолчанию и без экспорта.
+     */
+    public StreamingPipeline() {
+    }
+
+    /**
+     * Устанавливает количество студентов в пакете.
+     *
+     * @param batchSize размер пакета
+     * @return текущий конвейер
+     * @throws IllegalArgumentException если размер меньше 1
+     */
+    public StreamingPipeline setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Устанавливает ёмкость очереди пакетов перед каждой стадией.
+     *
+     * @param queueCapacity количество пакетов, ожидающих обработки стадией
+     * @return текущий конвейер
+     * @throws IllegalArgumentException если ёмкость меньше 1
+     */
+    public StreamingPipeline setQueueCapacity(int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be positive: " + queueCapacity);
+        }
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
+    /**
+     * Устанавливает файл JSON-экспорта.
+     *
+     * @param jsonOutput путь к файлу или {@code null}, чтобы отключить JSON-экспорт
+     * @return текущий конвейер
+     */
+    public StreamingPipeline setJsonOutput(Path jsonOutput) {
+        this.jsonOutput = jsonOutput;
+        return this;
+    }
+
+    /**
+     * Устанавливает файл XML-экспорта.
+     *
+     * @param xmlOutput путь к файлу или {@code null}, чтобы отключить XML-экспорт
+     * @return текущий конвейер
+     */
+    public StreamingPipeline setXmlOutput(Path xmlOutput) {
+        this.xmlOutput = xmlOutput;
+        return this;
+    }
+
+    /**
+     * Устанавливает время обработки, записываемое в экспорт.
+     *
+     * @param processedAt время обработки или {@code null}, чтобы использовать время запуска конвейера
+     * @return текущий конвейер
+     */
+    public StreamingPipeline setProcessedAt(LocalDateTime processedAt) {
+        this.processedAt = processedAt;
+        return this;
+    }
+
+    /**
+     * Пропускает студентов источника через конвейер.
+     *
+     * @param universities университеты, по которым считается статистика и которые записываются в экспорт
+     * @param source       источник студентов
+     * @return результат обработки
+     * @throws IOException если источник не читается или экспорт не удаётся записать
+     */
+    public Result run(List<University> universities, StudentSource source) throws IOException {
+        LocalDateTime timestamp = processedAt != null ? processedAt : LocalDateTime.now();
+        List<Stage> stages = new ArrayList<>();
+        AggregationStage aggregation = new AggregationStage(universities);
+        stages.add(aggregation);
+        if (jsonOutput != null) {
+            stages.add(new JsonStage(jsonOutput, universities, aggregation, timestamp));
+        }
+        if (xmlOutput != null) {
+            stages.add(new XmlStage(xmlOutput, universities, aggregation, timestamp));
+        }
+        for (int i = 0; i + 1 < stages.size(); i++) {
+            stages.get(i).next = stages.get(i + 1).input;
+        }
+        logger.info("Starting streaming pipeline with " + stages.size() + " stages, batch size " + batchSize
+                + ", queue capacity " + queueCapacity);
+        long start = System.nanoTime();
+
+        ReaderStage reader = new ReaderStage(source, stages.get(0).input);
+        ExecutorService executor = Executors.newFixedThreadPool(stages.size() + 1);
+        ExecutorCompletionService<Void> completion = new ExecutorCompletionService<>(executor);
+        try {
+            completion.submit(reader);
+            stages.forEach(completion::submit);
+            for (int i = 0; i <= stages.size(); i++) {
+                completion.take().get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Streaming pipeline interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("Streaming pipeline failed: " + cause.getMessage(), cause);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Result result = new Result(aggregation.statistics, reader.studentCount, reader.batchCount,
+                reader.blockedNanos / 1_000_000, (System.nanoTime() - start) / 1_000_000);
+        logger.info("Streaming pipeline completed: " + result);
+        return result;
+    }
+
+    /**
+     * Стадия, читающая пакеты из своей очереди и передающая их в очередь следующей стадии.
+     */
+    private abstract class Stage implements Callable<Void> {
+
+        private final BlockingQueue<List<Student>> input = new ArrayBlockingQueue<>(queueCapacity);
+        private BlockingQueue<List<Student>> next;
+
+        @Override
+        public Void call() throws Exception {
+            open();
+            try {
+                List<Student> batch;
+                while ((batch = input.take()) != END) {
+                    accept(batch);
+                    if (next != null) {
+                        next.put(batch);
+                    }
+                }
+                finish();
+            } finally {
+                close();
+            }
+            if (next != null) {
+                next.put(END);
+            }
+            return null;
+        }
+
+        /**
+         * Подготавливает стадию перед первым пакетом.
+         */
+        void open() throws Exception {
+        }
+
+        /**
+         * Освобождает ресурсы стадии, в том числе после ошибки.
+         */
+        void close() throws Exception {
+        }
+
+        /**
+         * Обрабатывает очередной пакет.
+         */
+        abstract void accept(List<Student> batch) throws Exception;
+
+        /**
+         * Завершает обработку после последнего пакета.
+         */
+        abstract void finish() throws Exception;
+    }
+
+    /**
+     * Стадия чтения: собирает студентов источника в пакеты и ожидает места в очереди первой стадии.
+     */
+    private final class ReaderStage implements Callable<Void> {
+
+        private final StudentSource source;
+        private final BlockingQueue<List<Student>> output;
+        private List<Student> batch = new ArrayList<>(batchSize);
+        private long studentCount;
+        private long batchCount;
+        private long blockedNanos;
+
+        private ReaderStage(StudentSource source, BlockingQueue<List<Student>> output) {
+            this.source = source;
+            this.output = output;
+        }
+
+        @Override
+        public Void call() throws Exception {
+            source.stream(student -> {
+                batch.add(student);
+                if (batch.size() == batchSize) {
+                    publish(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            });
+            if (!batch.isEmpty()) {
+                publish(batch);
+            }
+            batch = null;
+            put(END);
+            return null;
+        }
+
+        private void publish(List<Student> students) {
+            studentCount += students.size();
+            batchCount++;
+            put(students);
+        }
+
+        private void put(List<Student> students) {
+            long start = System.nanoTime();
+            try {
+                output.put(students);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Streaming pipeline reader interrupted", e);
+            }
+            blockedNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Стадия агрегации: учитывает студентов в движке статистики и фиксирует снимок после последнего пакета.
+     */
+    private final class AggregationStage extends Stage {
+
+        private final StatisticsEngine engine;
+        private List<Statistics> statistics;
+
+        private AggregationStage(List<University> universities) {
+            this.engine = new StatisticsEngine(universities, null);
+        }
+
+        @Override
+        void accept(List<Student> batch) {
+            for (Student student : batch) {
+                engine.addStudent(student);
+            }
+        }
+
+        @Override
+        void finish() {
+            statistics = engine.getStatistics();
+        }
+    }
+
+    /**
+     * Стадия JSON-экспорта через {@link JsonStreamWriter}. Статистика берётся у агрегации: агрегация завершается
+     * раньше, чем маркер конца попадает в очередь этой стадии.
+     */
+    private final class JsonStage extends Stage {
+
+        private final List<University> universities;
+        private final AggregationStage aggregation;
+        private final LocalDateTime timestamp;
+        private final Path path;
+        private JsonStreamWriter json;
+
+        private JsonStage(Path path, List<University> universities, AggregationStage aggregation,
+                          LocalDateTime timestamp) {
+            this.path = path;
+            this.universities = universities;
+            this.aggregation = aggregation;
+            this.timestamp = timestamp;
+        }
+
+        @Override
+        void open() throws IOException {
+            json = JsonStreamWriter.open(path, false);
+        }
+
+        @Override
+        void close() throws IOException {
+            if (json != null) {
+                json.close();
+            }
+        }
+
+        @Override
+        void accept(List<Student> batch) throws IOException {
+            json.writeStudents(batch.iterator());
+        }
+
+        @Override
+        void finish() throws IOException {
+            json.writeStudents(Collections.emptyIterator())
+                    .writeUniversities(universities.iterator())
+                    .writeStatistics(aggregation.statistics.iterator())
+                    .writeProcessedAt(timestamp);
+        }
+    }
+
+    /**
+     * Стадия XML-экспорта: обёртки пишутся через StAX, записи — фрагментами JAXB с именами элементов {@link Root}.
+     */
+    private final class XmlStage extends Stage {
+
+        private final List<University> universities;
+        private final AggregationStage aggregation;
+        private final LocalDateTime timestamp;
+        private final Path path;
+        private OutputStream output;
+        private XMLStreamWriter xml;
+        private Marshaller marshaller;
+
+        private XmlStage(Path path, List<University> universities, AggregationStage aggregation,
+                         LocalDateTime timestamp) {
+            this.path = path;
+            this.universities = universities;
+            this.aggregation = aggregation;
+            this.timestamp = timestamp;
+        }
+
+        @Override
+        void open() throws IOException, JAXBException, XMLStreamException {
+            marshaller = JAXBContext.newInstance(Root.class).createMarshaller();
+            marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+            output = new BufferedOutputStream(Files.newOutputStream(path), OUTPUT_BUFFER_SIZE);
+            xml = XMLOutputFactory.newInstance().createXMLStreamWriter(output, "UTF-8");
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeStartElement("root");
+            xml.writeStartElement("studentsInfo");
+        }
+
+        @Override
+        void close() throws IOException {
+            if (output != null) {
+                output.close();
+            }
+        }
+
+        @Override
+        void accept(List<Student> batch) throws JAXBException {
+            for (Student student : batch) {
+                marshaller.marshal(new JAXBElement<>(new QName("studentEntry"), Student.class, student), xml);
+            }
+        }
+
+        @Override
+        void finish() throws JAXBException, XMLStreamException {
+            xml.writeEndElement();
+            xml.writeStartElement("universitiesInfo");
+            for (University university : universities) {
+                marshaller.marshal(new JAXBElement<>(new QName("universityEntry"), University.class, university), xml);
+            }
+            xml.writeEndElement();
+            xml.writeStartElement("statisticalInfo");
+            for (Statistics statistics : aggregation.statistics) {
+                marshaller.marshal(new JAXBElement<>(new QName("statisticsEntry"), Statistics.class, statistics), xml);
+            }
+            xml.writeEndElement();
+            xml.writeStartElement("processedAt");
+            xml.writeCharacters(timestamp.toString());
+            xml.writeEndElement();
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.flush();
+        }
+    }
+
+    /**
+     * Результат работы конвейера.
+     */
+    public static final class Result {
+
+        private final List<Statistics> statistics;
+        private final long studentCount;
+        private final long batchCount;
+        private final long readerBlockedMillis;
+        private final long elapsedMillis;
+
+        private Result(List<Statistics> statistics, long studentCount, long batchCount, long readerBlockedMillis,
+                       long elapsedMillis) {
+            this.statistics = Collections.unmodifiableList(statistics);
+            this.studentCount = studentCount;
+            this.batchCount = batchCount;
+            this.readerBlockedMillis = readerBlockedMillis;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        /**
+         * Возвращает статистику по профилям обучения.
+         *
+         * @return неизменяемый список в порядке первого появления профилей среди университетов
+         */
+        public List<Statistics> getStatistics() {
+            return statistics;
+        }
+
+        /**
+         * Возвращает количество обработанных студентов.
+         *
+         * @return количество студентов
+         */
+        public long getStudentCount() {
+            return studentCount;
+        }
+
+        /**
+         * Возвращает количество пакетов.
+         *
+         * @return количество пакетов
+         */
+        public long getBatchCount() {
+            return batchCount;
+        }
+
+        /**
+         * Возвращает время, в течение которого чтение ожидало места в очереди из-за более медленных стадий.
+         *
+         * @return время ожидания в миллисекундах
+         */
+        public long getReaderBlockedMillis() {
+            return readerBlockedMillis;
+        }
+
+        /**
+         * Возвращает общее время работы конвейера.
+         *
+         * @return время в миллисекундах
+         */
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return studentCount + " students in " + batchCount + " batches, " + elapsedMillis
+                    + " ms (reader blocked " + readerBlockedMillis + " ms)";
+        }
+    }
+}
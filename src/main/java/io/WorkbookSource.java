@@ -0,0 +1,260 @@
+package io;
+
+import model.Student;
+import model.StudentTable;
+import model.University;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.xml.sax.SAXException;
+import util.StringDictionary;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Открытая XLSX-книга с исходными данными, из которой можно последовательно прочитать несколько листов.
+ * <p>
+ * Пакет открывается один раз, таблица общих строк разбирается один раз и используется всеми листами.
+ * Стили ячеек не декодируются вовсе: значения берутся из XML листа в исходном виде. Источник должен закрываться
+ * через {@link #close()}, предпочтительно в блоке try-with-resources.
+ * </p>
+ * <p>
+ * Идентификаторы университетов всех листов книги заменяются каноническими экземплярами словаря
+ * {@link StringDictionary}, который принадлежит источнику и освобождается вместе с ним, поэтому студенты
+ * и университеты одной книги получают согласованные коды, а повторные чтения не накапливают значения.
+ * </p>
+ */
+public final class WorkbookSource implements AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(WorkbookSource.class.getName());
+
+    private final String filePath;
+    private final OPCPackage pkg;
+    private final String[] sharedStrings;
+    private final Map<String, PackagePart> sheetParts;
+    private final StringDictionary universityIds = new StringDictionary();
+
+    /**
+     * Создаёт источник поверх уже открытого пакета.
+     *
+     * @param filePath      путь к файлу (для сообщений об ошибках)
+     * @param pkg           открытый OPC-пакет
+     * @param sharedStrings разрешённая таблица общих строк
+     * @param sheetParts    части пакета с XML листов по их именам
+     */
+    private WorkbookSource(String filePath, OPCPackage pkg, String[] sharedStrings,
+                           Map<String, PackagePart> sheetParts) {
+        this.filePath = filePath;
+        this.pkg = pkg;
+        this.sharedStrings = sharedStrings;
+        this.sheetParts = sheetParts;
+    }
+
+    /**
+     * Открывает XLSX-файл для чтения, загружает таблицу общих строк и перечень листов.
+     *
+     * @param filePath путь к Excel-файлу
+     * @return открытый источник данных
+     * @throws IOException если файл недоступен для чтения или повреждён
+     */
+    public static WorkbookSource open(String filePath) throws IOException {
+        logger.info("Opening workbook: " + filePath);
+        OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(filePath, PackageAccess.READ);
+        } catch (OpenXML4JException e) {
+            logger.severe("Failed to open workbook " + filePath + ": " + e.getMessage());
+            throw new IOException("Failed to open workbook " + filePath, e);
+        }
+
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+            Map<String, PackagePart> sheetParts = new LinkedHashMap<>();
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                sheets.next().close();
+                sheetParts.put(sheets.getSheetName(), sheets.getSheetPart());
+            }
+            String[] sharedStrings = XlsStreamReader.loadSharedStrings(pkg);
+            return new WorkbookSource(filePath, pkg, sharedStrings, sheetParts);
+        } catch (OpenXML4JException | SAXException | IOException | RuntimeException e) {
+            pkg.revert();
+            logger.severe("Failed to read workbook structure " + filePath + ": " + e.getMessage());
+            if (e instanceof IOException) {
+                throw (IOException) e;
+            }
+            throw new IOException("Failed to read workbook structure " + filePath, e);
+        }
+    }
+
+    /**
+     * Последовательно передаёт потребителю университеты с листа «Университеты».
+     *
+     * @param consumer получатель университетов в порядке строк листа
+     * @return количество прочитанных университетов
+     * @throws IOException если XML листа не читается или повреждён
+     * @throws IllegalArgumentException если лист с университетами не найден
+     */
+    public int streamUniversities(Consumer<University> consumer) throws IOException {
+        return streamRows(XlsReader.UNIVERSITIES_SHEET, XlsRowMapper.UNIVERSITY_COLUMNS,
+                cells -> consumer.accept(XlsRowMapper.toUniversity(cells, universityIds)));
+    }
+
+    /**
+     * Последовательно передаёт потребителю студентов с листа «Студенты».
+     *
+     * @param consumer получатель студентов в порядке строк листа
+     * @return количество прочитанных студентов
+     * @throws IOException если XML листа не читается или повреждён
+     * @throws IllegalArgumentException если лист со студентами не найден
+     */
+    public int streamStudents(Consumer<Student> consumer) throws IOException {
+        return streamRows(XlsReader.STUDENTS_SHEET, XlsRowMapper.STUDENT_COLUMNS,
+                cells -> consumer.accept(XlsRowMapper.toStudent(cells, universityIds)));
+    }
+
+    /**
+     * Считывает все университеты книги в список.
+     *
+     * @return список университетов в порядке строк листа
+     * @throws IOException если XML листа не читается или повреждён
+     * @throws IllegalArgumentException если лист с университетами не найден
+     */
+    public List<University> readUniversities() throws IOException {
+        List<University> universities = new ArrayList<>();
+        streamUniversities(universities::add);
+        return universities;
+    }
+
+    /**
+     * Считывает всех студентов книги в список.
+     *
+     * @return список студентов в порядке строк листа
+     * @throws IOException если XML листа не читается или повреждён
+     * @throws IllegalArgumentException если лист со студентами не найден
+     */
+    public List<Student> readStudents() throws IOException {
+        List<Student> students = new ArrayList<>();
+        streamStudents(students::add);
+        return students;
+    }
+
+    /**
+     * Считывает лист студентов напрямую в колоночную таблицу без создания объектов {@link Student}.
+     *
+     * @return колоночная таблица студентов в порядке строк листа
+     * @throws IOException если XML листа не читается или повреждён
+     * @throws IllegalArgumentException если лист со студентами не найден
+     */
+    public StudentTable readStudentTable() throws IOException {
+        StudentTable.Builder builder = StudentTable.builder(universityIds);
+        streamRows(XlsReader.STUDENTS_SHEET, XlsRowMapper.STUDENT_COLUMNS,
+                cells -> builder.add(cells[0], cells[1],
+                        XlsRowMapper.parseInt(cells[2]), XlsRowMapper.parseFloat(cells[3])));
+        return builder.build();
+    }
+
+    /**
+     * Возвращает словарь идентификаторов университетов этой книги.
+     *
+     * @return словарь, общий для всех листов книги
+     */
+    StringDictionary universityIds() {
+        return universityIds;
+    }
+
+    /**
+     * Передаёт обработчику значения ячеек строк данных листа, пропуская строку заголовка.
+     *
+     * @param sheetName   имя листа
+     * @param columnCount количество значимых столбцов листа
+     * @param rowConsumer обработчик значений ячеек строки
+     * @return количество обработанных строк данных
+     * @throws IOException если XML листа не читается или повреждён
+     * @throws IllegalArgumentException если лист не найден
+     */
+    int streamRows(String sheetName, int columnCount, Consumer<String[]> rowConsumer) throws IOException {
+        int[] count = new int[1];
+        parseSheet(sheetName, columnCount, null, (rowNumber, cells) -> {
+            if (rowNumber > 0) {
+                rowConsumer.accept(cells);
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+
+    /**
+     * Выполняет SAX-разбор всего листа с передачей каждой непустой строки, включая заголовок, обработчику.
+     *
+     * @param sheetName     имя листа
+     * @param columnCount   количество значимых столбцов листа
+     * @param wantedColumns маска нужных столбцов или {@code null} для всех
+     * @param consumer      обработчик строк
+     * @throws IOException если XML листа не читается или повреждён
+     * @throws IllegalArgumentException если лист не найден
+     */
+    void parseSheet(String sheetName, int columnCount, boolean[] wantedColumns,
+                    SheetRowHandler.RowConsumer consumer) throws IOException {
+        try (InputStream sheetData = openSheet(sheetName)) {
+            XlsStreamReader.parseSheet(sheetData,
+                    new SheetRowHandler(sharedStrings, columnCount, wantedColumns, consumer));
+        } catch (SAXException e) {
+            logger.severe("Failed to parse sheet " + sheetName + " in " + filePath + ": " + e.getMessage());
+            throw new IOException("Failed to parse sheet " + sheetName + " in " + filePath, e);
+        }
+    }
+
+    /**
+     * Открывает поток XML листа по его имени.
+     *
+     * @param sheetName имя листа
+     * @return поток XML листа; закрывается вызывающей стороной
+     * @throws IOException если часть пакета не читается
+     * @throws IllegalArgumentException если лист не найден
+     */
+    InputStream openSheet(String sheetName) throws IOException {
+        PackagePart part = sheetParts.get(sheetName);
+        if (part == null) {
+            logger.severe("Sheet " + sheetName + " not found in file: " + filePath);
+            throw new IllegalArgumentException("Sheet " + sheetName + " not found in file: " + filePath);
+        }
+        return part.getInputStream();
+    }
+
+    /**
+     * Возвращает разрешённую таблицу общих строк книги.
+     *
+     * @return массив общих строк, доступный только для чтения
+     */
+    String[] sharedStrings() {
+        return sharedStrings;
+    }
+
+    /**
+     * Возвращает путь к файлу книги.
+     *
+     * @return путь к файлу
+     */
+    public String getFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Закрывает пакет книги без сохранения изменений.
+     */
+    @Override
+    public void close() {
+        pkg.revert();
+        logger.info("Closed workbook: " + filePath);
+    }
+}
@@ -0,0 +1,229 @@
+package io;
+
+import enums.StudentColumn;
+import enums.StudyProfile;
+import model.Student;
+import util.StringDictionary;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Запрос к листу студентов XLSX-книги с проекцией столбцов и фильтрацией строк на этапе разбора.
+ * <p>
+ * Ячейки невыбранных столбцов, которые не участвуют в условиях, пропускаются SAX-обработчиком листа: их текст
+ * не накапливается и не декодируется. Условия проверяются по «сырым» значениям ячеек, поэтому строки, которые
+ * им не удовлетворяют, отбрасываются до создания объекта {@link Student}. У созданных студентов заполнены только
+ * выбранные поля, остальные сохраняют значения по умолчанию.
+ * </p>
+ * <p>
+ * Условие по профилю обучения перед чтением студентов разрешается в множество идентификаторов университетов
+ * с этим профилем по листу университетов той же книги (читаются только столбцы идентификатора и профиля).
+ * Все условия объединяются по «и». Запрос не привязан к файлу и может выполняться многократно.
+ * </p>
+ */
+public final class XlsQuery {
+
+    private static final Logger logger = Logger.getLogger(XlsQuery.class.getName());
+
+    private final boolean[] selectedColumns = new boolean[XlsRowMapper.STUDENT_COLUMNS];
+    private Set<String> universityIds;
+    private StudyProfile profile;
+    private float minScore = Float.NEGATIVE_INFINITY;
+
+    /**
+     * Создаёт запрос, выбирающий все столбцы без условий.
+     */
+    public XlsQuery() {
+        Arrays.fill(selectedColumns, true);
+    }
+
+    /**
+     * Ограничивает набор заполняемых полей студента указанными столбцами.
+     *
+     * @param columns выбранные столбцы
+     * @return текущий запрос
+     * @throws IllegalArgumentException если не указан ни один столбец
+     */
+    public XlsQuery select(StudentColumn... columns) {
+        if (columns == null || columns.length == 0) {
+            throw new IllegalArgumentException("At least one column must be selected");
+        }
+        Arrays.fill(selectedColumns, false);
+        for (StudentColumn column : columns) {
+            selectedColumns[columnIndex(column)] = true;
+        }
+        return this;
+    }
+
+    /**
+     * Оставляет только студентов со средним баллом не ниже указанного.
+     *
+     * @param minScore минимальный средний балл включительно
+     * @return текущий запрос
+     * @throws IllegalArgumentException если значение не является числом
+     */
+    public XlsQuery whereScoreAtLeast(float minScore) {
+        if (Float.isNaN(minScore)) {
+            throw new IllegalArgumentException("Minimum score must be a number");
+        }
+        this.minScore = minScore;
+        return this;
+    }
+
+    /**
+     * Оставляет только студентов указанных университетов.
+     *
+     * @param universityIds допустимые идентификаторы университетов
+     * @return текущий запрос
+     * @throws IllegalArgumentException если множество не задано
+     */
+    public XlsQuery whereUniversityIdIn(Collection<String> universityIds) {
+        if (universityIds == null) {
+            throw new IllegalArgumentException("University ids must not be null");
+        }
+        this.universityIds = new HashSet<>(universityIds);
+        return this;
+    }
+
+    /**
+     * Оставляет только студентов университетов с указанным основным профилем обучения.
+     *
+     * @param profile профиль обучения
+     * @return текущий запрос
+     * @throws IllegalArgumentException если профиль не задан
+     */
+    public XlsQuery whereProfile(StudyProfile profile) {
+        if (profile == null) {
+            throw new IllegalArgumentException("Study profile must not be null");
+        }
+        this.profile = profile;
+        return this;
+    }
+
+    /**
+     * Выполняет запрос к книге и возвращает подходящих студентов в порядке строк листа.
+     *
+     * @param filePath путь к Excel-файлу
+     * @return список подходящих студентов
+     * @throws IOException если файл недоступен для чтения или повреждён
+     * @throws IllegalArgumentException если нужный лист не найден
+     */
+    public List<Student> readStudents(String filePath) throws IOException {
+        List<Student> students = new ArrayList<>();
+        streamStudents(filePath, students::add);
+        return students;
+    }
+
+    /**
+     * Выполняет запрос к книге и передаёт подходящих студентов обработчику в порядке строк листа.
+     *
+     * @param filePath        путь к Excel-файлу
+     * @param studentConsumer обработчик студентов
+     * @return количество подходящих студентов
+     * @throws IOException если файл недоступен для чтения или повреждён
+     * @throws IllegalArgumentException если нужный лист не найден
+     */
+    public int streamStudents(String filePath, Consumer<Student> studentConsumer) throws IOException {
+        try (WorkbookSource source = WorkbookSource.open(filePath)) {
+            return streamStudents(source, studentConsumer);
+        }
+    }
+
+    /**
+     * Выполняет запрос к открытой книге и передаёт подходящих студентов обработчику в порядке строк листа.
+     *
+     * @param source          открытый источник данных
+     * @param studentConsumer обработчик студентов
+     * @return количество подходящих студентов
+     * @throws IOException если XML листа не читается или повреждён
+     * @throws IllegalArgumentException если нужный лист не найден
+     */
+    public int streamStudents(WorkbookSource source, Consumer<Student> studentConsumer) throws IOException {
+        Set<String> allowedIds = resolveUniversityIds(source);
+        boolean filterScore = minScore != Float.NEGATIVE_INFINITY;
+        boolean[] parsedColumns = selectedColumns.clone();
+        parsedColumns[0] |= allowedIds != null;
+        parsedColumns[3] |= filterScore;
+        boolean[] columns = selectedColumns.clone();
+        StringDictionary universityIds = source.universityIds();
+
+        int[] counts = new int[2];
+        source.parseSheet(XlsReader.STUDENTS_SHEET, XlsRowMapper.STUDENT_COLUMNS, parsedColumns,
+                (rowNumber, cells) -> {
+                    if (rowNumber == 0) {
+                        return;
+                    }
+                    counts[0]++;
+                    if (allowedIds != null && !allowedIds.contains(cells[0])) {
+                        return;
+                    }
+                    if (filterScore && !(XlsRowMapper.parseFloat(cells[3]) >= minScore)) {
+                        return;
+                    }
+                    studentConsumer.accept(XlsRowMapper.toStudent(cells, columns, universityIds));
+                    counts[1]++;
+                });
+        logger.info("Query matched " + counts[1] + " of " + counts[0] + " students in " + source.getFilePath());
+        return counts[1];
+    }
+
+    /**
+     * Объединяет условия по идентификаторам и по профилю в одно множество допустимых идентификаторов.
+     *
+     * @param source открытый источник данных
+     * @return множество допустимых идентификаторов или {@code null}, если условия по университетам не заданы
+     * @throws IOException если XML листа университетов не читается или повреждён
+     */
+    private Set<String> resolveUniversityIds(WorkbookSource source) throws IOException {
+        if (profile == null) {
+            return universityIds;
+        }
+        Set<String> profileIds = new HashSet<>();
+        String profileName = profile.name();
+        boolean[] columns = new boolean[XlsRowMapper.UNIVERSITY_COLUMNS];
+        columns[0] = true;
+        columns[4] = true;
+        source.parseSheet(XlsReader.UNIVERSITIES_SHEET, XlsRowMapper.UNIVERSITY_COLUMNS, columns,
+                (rowNumber, cells) -> {
+                    if (rowNumber > 0 && profileName.equals(cells[4])
+                            && (universityIds == null || universityIds.contains(cells[0]))) {
+                        profileIds.add(cells[0]);
+                    }
+                });
+        logger.info("Profile " + profile + " resolved to " + profileIds.size() + " universities");
+        return profileIds;
+    }
+
+    /**
+     * Возвращает индекс столбца листа студентов.
+     *
+     * @param column столбец
+     * @return индекс столбца, начиная с нуля
+     * @throws IllegalArgumentException если столбец не задан
+     */
+    private static int columnIndex(StudentColumn column) {
+        if (column == null) {
+            throw new IllegalArgumentException("Column must not be null");
+        }
+        switch (column) {
+            case UNIVERSITY_ID:
+                return 0;
+            case FULL_NAME:
+                return 1;
+            case COURSE:
+                return 2;
+            case AVG_SCORE:
+                return 3;
+            default:
+                throw new IllegalArgumentException("Unsupported column: " + column);
+        }
+    }
+}
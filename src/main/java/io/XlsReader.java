@@ -1,11 +1,13 @@
 package io;
 
 import enums.StudyProfile;
+import enums.XlsReadMode;
 import model.Student;
 import model.University;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import util.StringDictionary;
 
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -17,11 +19,21 @@ import java.util.logging.Level;
 
 /**
  * Утилита чтения XLSX-файлов с исходными данными по университетам и студентам.
+ * <p>
+ * Идентификаторы университетов заменяются каноническими экземплярами словаря {@link StringDictionary},
+ * который создаётся на каждое чтение, и получают коды этого словаря.
+ * </p>
  */
 public class XlsReader {
 
     private static final Logger logger = Logger.getLogger(XlsReader.class.getName());
 
+    /** Имя листа с университетами. */
+    static final String UNIVERSITIES_SHEET = "Университеты";
+
+    /** Имя листа со студентами. */
+    static final String STUDENTS_SHEET = "Студенты";
+
     /**
      * Скрытый конструктор предотвращает создание экземпляров утилитного класса.
      */
@@ -40,11 +52,11 @@ public class XlsReader {
         logger.info("Starting to read universities from file: " + filePath);
 
         List<University> universities = new ArrayList<>();
+        StringDictionary universityIds = new StringDictionary();
 
-        try {
-            FileInputStream inputStream = new FileInputStream(filePath);
-            XSSFWorkbook workbook = new XSSFWorkbook(inputStream);
-            XSSFSheet sheet = workbook.getSheet("Университеты");
+        try (FileInputStream inputStream = new FileInputStream(filePath);
+             XSSFWorkbook workbook = new XSSFWorkbook(inputStream)) {
+            XSSFSheet sheet = workbook.getSheet(UNIVERSITIES_SHEET);
             if (sheet == null) {
                 logger.severe("Sheet with universities not found in file: " + filePath);
                 throw new IllegalArgumentException("Sheet with universities not found in file: " + filePath);
@@ -58,7 +70,8 @@ public class XlsReader {
                 Row currentRow = rows.next();
                 University university = new University();
                 universities.add(university);
-                university.setId(currentRow.getCell(0).getStringCellValue());
+                int idCode = universityIds.encode(currentRow.getCell(0).getStringCellValue());
+                university.setId(universityIds.decode(idCode), idCode);
                 university.setFullName(currentRow.getCell(1).getStringCellValue());
                 university.setShortName(currentRow.getCell(2).getStringCellValue());
                 university.setYearOfFoundation((int)currentRow.getCell(3).getNumericCellValue());
@@ -68,9 +81,6 @@ public class XlsReader {
             }
 
             logger.info("Successfully read " + universities.size() + " universities from file");
-            inputStream.close();
-            workbook.close();
-            
         } catch (IOException e) {
             logger.severe("IOException occurred while reading universities file: " + e.getMessage());
             throw e;
@@ -79,6 +89,21 @@ public class XlsReader {
         return universities;
     }
 
+    /**
+     * Считывает сведения об университетах из XLSX-файла в выбранном режиме.
+     *
+     * @param filePath путь к Excel-файлу
+     * @param mode     режим чтения: загрузка книги целиком или потоковый разбор листа
+     * @return список университетов, построенный из строк таблицы
+     * @throws IOException если файл недоступен для чтения или повреждён
+     * @throws IllegalArgumentException если лист с университетами не найден
+     */
+    public static List<University> readXlsUniversities(String filePath, XlsReadMode mode) throws IOException {
+        return mode == XlsReadMode.STREAMING
+                ? XlsStreamReader.readXlsUniversities(filePath)
+                : readXlsUniversities(filePath);
+    }
+
     /**
      * Считывает сведения о студентах из XLSX-файла.
      *
@@ -91,11 +116,11 @@ public class XlsReader {
         logger.info("Starting to read students from file: " + filePath);
 
         List<Student> students = new ArrayList<>();
+        StringDictionary universityIds = new StringDictionary();
 
-        try {
-            FileInputStream inputStream = new FileInputStream(filePath);
-            XSSFWorkbook workbook = new XSSFWorkbook(inputStream);
-            XSSFSheet sheet = workbook.getSheet("Студенты");
+        try (FileInputStream inputStream = new FileInputStream(filePath);
+             XSSFWorkbook workbook = new XSSFWorkbook(inputStream)) {
+            XSSFSheet sheet = workbook.getSheet(STUDENTS_SHEET);
             if (sheet == null) {
                 logger.severe("Sheet with students not found in file: " + filePath);
                 throw new IllegalArgumentException("Sheet with students not found in file: " + filePath);
@@ -109,7 +134,8 @@ public class XlsReader {
                 Row currentRow = rows.next();
                 Student student = new Student();
                 students.add(student);
-                student.setUniversityId(currentRow.getCell(0).getStringCellValue());
+                int universityIdCode = universityIds.encode(currentRow.getCell(0).getStringCellValue());
+                student.setUniversityId(universityIds.decode(universityIdCode), universityIdCode);
                 student.setFullName(currentRow.getCell(1).getStringCellValue());
                 student.setCurrentCourseNumber((int)currentRow.getCell(2).getNumericCellValue());
                 student.setAvgExamScore((float)currentRow.getCell(3).getNumericCellValue());
@@ -117,9 +143,6 @@ public class XlsReader {
             }
 
             logger.info("Successfully read " + students.size() + " students from file");
-            inputStream.close();
-            workbook.close();
-            
         } catch (IOException e) {
             logger.severe("IOException occurred while reading students file: " + e.getMessage());
             throw e;
@@ -127,4 +150,19 @@ public class XlsReader {
 
         return students;
     }
+
+    /**
+     * Считывает сведения о студентах из XLSX-файла в выбранном режиме.
+     *
+     * @param filePath путь к Excel-файлу
+     * @param mode     режим чтения: загрузка книги целиком или потоковый разбор листа
+     * @return список студентов из табличных данных
+     * @throws IOException если файл недоступен для чтения или повреждён
+     * @throws IllegalArgumentException если лист со студентами не найден
+     */
+    public static List<Student> readXlsStudents(String filePath, XlsReadMode mode) throws IOException {
+        return mode == XlsReadMode.STREAMING
+                ? XlsStreamReader.readXlsStudents(filePath)
+                : readXlsStudents(filePath);
+    }
 }
@@ -0,0 +1,109 @@
+package io;
+
+import enums.StudyProfile;
+import model.Student;
+import model.University;
+import util.StringDictionary;
+
+/**
+ * Преобразование «сырых» значений ячеек строки листа в объекты модели.
+ * <p>
+ * Порядок столбцов совпадает с разметкой листов «Университеты» и «Студенты», которую использует {@link XlsReader}.
+ * Числовые значения приводятся так же, как при чтении через {@code getNumericCellValue()}. Идентификаторы
+ * университетов заменяются каноническими экземплярами словаря загрузки {@link StringDictionary}, который передаёт
+ * вызывающий читатель, и получают коды этого словаря.
+ * </p>
+ */
+final class XlsRowMapper {
+
+    /** Количество столбцов листа с университетами. */
+    static final int UNIVERSITY_COLUMNS = 5;
+
+    /** Количество столбцов листа со студентами. */
+    static final int STUDENT_COLUMNS = 4;
+
+    /**
+     * Скрытый конструктор предотвращает создание экземпляров утилитного класса.
+     */
+    private XlsRowMapper() {
+    }
+
+    /**
+     * Создаёт университет из значений ячеек строки.
+     *
+     * @param cells         значения ячеек строки
+     * @param universityIds словарь идентификаторов университетов текущей загрузки
+     * @return университет
+     */
+    static University toUniversity(String[] cells, StringDictionary universityIds) {
+        int idCode = universityIds.encode(cells[0]);
+        return new University()
+                .setId(universityIds.decode(idCode), idCode)
+                .setFullName(cells[1])
+                .setShortName(cells[2])
+                .setYearOfFoundation(parseInt(cells[3]))
+                .setMainProfile(StudyProfile.valueOf(cells[4]));
+    }
+
+    /**
+     * Создаёт студента из значений ячеек строки.
+     *
+     * @param cells         значения ячеек строки
+     * @param universityIds словарь идентификаторов университетов текущей загрузки
+     * @return студент
+     */
+    static Student toStudent(String[] cells, StringDictionary universityIds) {
+        int universityIdCode = universityIds.encode(cells[0]);
+        return new Student()
+                .setUniversityId(universityIds.decode(universityIdCode), universityIdCode)
+                .setFullName(cells[1])
+                .setCurrentCourseNumber(parseInt(cells[2]))
+                .setAvgExamScore(parseFloat(cells[3]));
+    }
+
+    /**
+     * Создаёт студента только из выбранных столбцов строки; остальные поля остаются со значениями по умолчанию.
+     *
+     * @param cells         значения ячеек строки
+     * @param columns       маска выбранных столбцов в порядке листа
+     * @param universityIds словарь идентификаторов университетов текущей загрузки
+     * @return студент
+     */
+    static Student toStudent(String[] cells, boolean[] columns, StringDictionary universityIds) {
+        Student student = new Student();
+        if (columns[0]) {
+            int universityIdCode = universityIds.encode(cells[0]);
+            student.setUniversityId(universityIds.decode(universityIdCode), universityIdCode);
+        }
+        if (columns[1]) {
+            student.setFullName(cells[1]);
+        }
+        if (columns[2]) {
+            student.setCurrentCourseNumber(parseInt(cells[2]));
+        }
+        if (columns[3]) {
+            student.setAvgExamScore(parseFloat(cells[3]));
+        }
+        return student;
+    }
+
+    /**
+     * Приводит текст числовой ячейки к целому числу с отбрасыванием дробной части.
+     *
+     * @param value текст ячейки; {@code null} и пустая строка соответствуют пустой ячейке
+     * @return целочисленное значение
+     */
+    static int parseInt(String value) {
+        return value == null || value.isEmpty() ? 0 : (int) Double.parseDouble(value);
+    }
+
+    /**
+     * Приводит текст числовой ячейки к числу одинарной точности.
+     *
+     * @param value текст ячейки; {@code null} и пустая строка соответствуют пустой ячейке
+     * @return значение с плавающей точкой
+     */
+    static float parseFloat(String value) {
+        return value == null || value.isEmpty() ? 0f : (float) Double.parseDouble(value);
+    }
+}
@@ -0,0 +1,162 @@
+package io;
+
+import model.Student;
+import model.StudentTable;
+import model.University;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Потоковое чтение XLSX-файлов с исходными данными через событийную модель POI (SAX).
+ * <p>
+ * В отличие от {@link XlsReader}, книга не загружается в память целиком: XML листа разбирается последовательно,
+ * а объекты модели передаются потребителю по одной строке. Расход памяти определяется размером таблицы общих строк
+ * и не зависит от количества строк листа. Для чтения нескольких листов одной книги используйте {@link WorkbookSource}.
+ * </p>
+ */
+public final class XlsStreamReader {
+
+    private static final Logger logger = Logger.getLogger(XlsStreamReader.class.getName());
+
+    /**
+     * Скрытый конструктор предотвращает создание экземпляров утилитного класса.
+     */
+    private XlsStreamReader() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Последовательно передаёт потребителю университеты из XLSX-файла.
+     *
+     * @param filePath путь к Excel-файлу
+     * @param consumer получатель университетов в порядке строк листа
+     * @return количество прочитанных университетов
+     * @throws IOException если файл недоступен для чтения или повреждён
+     * @throws IllegalArgumentException если лист с университетами не найден
+     */
+    public static int streamUniversities(String filePath, Consumer<University> consumer) throws IOException {
+        logger.info("Starting to stream universities from file: " + filePath);
+        int count;
+        try (WorkbookSource source = WorkbookSource.open(filePath)) {
+            count = source.streamUniversities(consumer);
+        }
+        logger.info("Successfully streamed " + count + " universities from file");
+        return count;
+    }
+
+    /**
+     * Последовательно передаёт потребителю студентов из XLSX-файла.
+     *
+     * @param filePath путь к Excel-файлу
+     * @param consumer получатель студентов в порядке строк листа
+     * @return количество прочитанных студентов
+     * @throws IOException если файл недоступен для чтения или повреждён
+     * @throws IllegalArgumentException если лист со студентами не найден
+     */
+    public static int streamStudents(String filePath, Consumer<Student> consumer) throws IOException {
+        logger.info("Starting to stream students from file: " + filePath);
+        int count;
+        try (WorkbookSource source = WorkbookSource.open(filePath)) {
+            count = source.streamStudents(consumer);
+        }
+        logger.info("Successfully streamed " + count + " students from file");
+        return count;
+    }
+
+    /**
+     * Считывает университеты в список, используя потоковый разбор листа.
+     *
+     * @param filePath путь к Excel-файлу
+     * @return список университетов в порядке строк листа
+     * @throws IOException если файл недоступен для чтения или повреждён
+     * @throws IllegalArgumentException если лист с университетами не найден
+     */
+    public static List<University> readXlsUniversities(String filePath) throws IOException {
+        List<University> universities = new ArrayList<>();
+        streamUniversities(filePath, universities::add);
+        return universities;
+    }
+
+    /**
+     * Считывает студентов в список, используя потоковый разбор листа.
+     *
+     * @param filePath путь к Excel-файлу
+     * @return список студентов в порядке строк листа
+     * @throws IOException если файл недоступен для чтения или повреждён
+     * @throws IllegalArgumentException если лист со студентами не найден
+     */
+    public static List<Student> readXlsStudents(String filePath) throws IOException {
+        List<Student> students = new ArrayList<>();
+        streamStudents(filePath, students::add);
+        return students;
+    }
+
+    /**
+     * Считывает студентов в колоночную таблицу, используя потоковый разбор листа.
+     *
+     * @param filePath путь к Excel-файлу
+     * @return колоночная таблица студентов в порядке строк листа
+     * @throws IOException если файл недоступен для чтения или повреждён
+     * @throws IllegalArgumentException если лист со студентами не найден
+     */
+    public static StudentTable readXlsStudentTable(String filePath) throws IOException {
+        logger.info("Starting to read student table from file: " + filePath);
+        try (WorkbookSource source = WorkbookSource.open(filePath)) {
+            StudentTable table = source.readStudentTable();
+            logger.info("Successfully read " + table.size() + " students into table");
+            return table;
+        }
+    }
+
+    /**
+     * Загружает таблицу общих строк книги и разрешает её в массив для доступа по индексу без дополнительных аллокаций.
+     *
+     * @param pkg открытый OPC-пакет книги
+     * @return массив общих строк
+     * @throws IOException  если часть пакета не читается
+     * @throws SAXException если XML таблицы общих строк повреждён
+     */
+    static String[] loadSharedStrings(OPCPackage pkg) throws IOException, SAXException {
+        List<PackagePart> parts = pkg.getPartsByContentType(XSSFRelation.SHARED_STRINGS.getContentType());
+        if (parts.isEmpty()) {
+            return new String[0];
+        }
+        SharedStringsHandler handler = new SharedStringsHandler();
+        try (InputStream data = parts.get(0).getInputStream()) {
+            parseSheet(data, handler);
+        }
+        return handler.toArray();
+    }
+
+    /**
+     * Выполняет SAX-разбор XML части книги (листа или таблицы общих строк) указанным обработчиком.
+     *
+     * @param sheetData поток XML части книги
+     * @param handler   обработчик событий разбора
+     * @throws IOException  если поток не читается
+     * @throws SAXException если XML листа повреждён
+     */
+    static void parseSheet(InputStream sheetData, DefaultHandler handler) throws IOException, SAXException {
+        try {
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(handler);
+            parser.parse(new InputSource(sheetData));
+        } catch (ParserConfigurationException e) {
+            throw new SAXException("SAX parser is not available", e);
+        }
+    }
+}
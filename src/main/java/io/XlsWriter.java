@@ -11,6 +11,7 @@ import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collections;
@@ -33,7 +34,11 @@ public  class XlsWriter {
             "Average Exam Score",
             "Student Count",
             "University Count",
-            "University Names"
+            "University Names",
+            "Median Exam Score",
+            "P90 Exam Score",
+            "P99 Exam Score",
+            "Score Histogram"
     };
 
     /**
@@ -132,6 +137,55 @@ public  class XlsWriter {
             row.createCell(2).setCellValue(stats.getStudentCount());
             row.createCell(3).setCellValue(stats.getUniversityCount());
             row.createCell(4).setCellValue(String.join(", ", stats.getUniversityNames()));
+            setScoreCell(row.createCell(5), stats.getMedianExamScore());
+            setScoreCell(row.createCell(6), stats.getP90ExamScore());
+            setScoreCell(row.createCell(7), stats.getP99ExamScore());
+            row.createCell(8).setCellValue(formatHistogram(stats));
+        }
+    }
+
+    /**
+     * Формирует текст гистограммы баллов: для каждой корзины — её интервал и количество студентов, например
+     * {@code [0.0, 0.5): 3; [0.5, 1.0): 7}. Последняя корзина включает верхнюю границу. Если границы корзин
+     * не заданы, выводятся только количества.
+     *
+     * @param stats статистика профиля
+     * @return текст ячейки гистограммы
+     */
+    private static String formatHistogram(Statistics stats) {
+        List<Long> counts = stats.getScoreHistogram();
+        BigDecimal lowerBound = stats.getScoreHistogramLowerBound();
+        BigDecimal bucketWidth = stats.getScoreHistogramBucketWidth();
+        if (lowerBound == null || bucketWidth == null) {
+            return counts.stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(", "));
+        }
+        StringBuilder text = new StringBuilder();
+        for (int bucket = 0; bucket < counts.size(); bucket++) {
+            BigDecimal from = lowerBound.add(bucketWidth.multiply(BigDecimal.valueOf(bucket)));
+            if (bucket > 0) {
+                text.append("; ");
+            }
+            text.append('[').append(from.toPlainString())
+                    .append(", ").append(from.add(bucketWidth).toPlainString())
+                    .append(bucket == counts.size() - 1 ? "]: " : "): ")
+                    .append(counts.get(bucket));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Записывает балл в ячейку как число или оставляет пустую строку при отсутствии значения.
+     *
+     * @param cell  ячейка отчёта
+     * @param score балл или {@code null}
+     */
+    private static void setScoreCell(Cell cell, BigDecimal score) {
+        if (score != null) {
+            cell.setCellValue(score.doubleValue());
+        } else {
+            cell.setCellValue("");
         }
     }
 
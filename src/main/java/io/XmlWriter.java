@@ -7,6 +7,9 @@ import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.logging.Logger;
@@ -28,6 +31,19 @@ public class XmlWriter {
         throw new UnsupportedOperationException("Utility class cannot be instantiated");
     }
 
+    /**
+     * Возвращает путь к XML-файлу с временной меткой в каталоге вывода, создавая каталог при необходимости.
+     * Используется для потоковой записи через {@link StreamingPipeline}.
+     *
+     * @param processedAt время обработки, по которому формируется имя файла
+     * @return путь к файлу
+     * @throws IOException если каталог не удаётся создать
+     */
+    public static Path outputPath(LocalDateTime processedAt) throws IOException {
+        Path outputDir = Files.createDirectories(Paths.get(OUTPUT_DIR));
+        return outputDir.resolve(String.format("req_%s.xml", processedAt.format(TIMESTAMP_FORMATTER)));
+    }
+
     /**
      * Выполняет маршаллинг корневого объекта в XML-файл с временной меткой.
      *
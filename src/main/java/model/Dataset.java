@@ -0,0 +1,72 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Набор исходных данных, прочитанный из одной книги: университеты и студенты.
+ */
+public class Dataset {
+
+    private List<University> universities;
+    private List<Student> students;
+
+    /**
+     * Создаёт пустой набор данных.
+     */
+    public Dataset() {
+        this.universities = new ArrayList<>();
+        this.students = new ArrayList<>();
+    }
+
+    /**
+     * Создаёт набор данных из готовых списков.
+     *
+     * @param universities список университетов
+     * @param students     список студентов
+     */
+    public Dataset(List<University> universities, List<Student> students) {
+        this.universities = universities;
+        this.students = students;
+    }
+
+    /**
+     * Возвращает список университетов.
+     *
+     * @return список университетов
+     */
+    public List<University> getUniversities() {
+        return universities;
+    }
+
+    /**
+     * Устанавливает список университетов.
+     *
+     * @param universities список университетов
+     * @return текущий набор данных
+     */
+    public Dataset setUniversities(List<University> universities) {
+        this.universities = universities;
+        return this;
+    }
+
+    /**
+     * Возвращает список студентов.
+     *
+     * @return список студентов
+     */
+    public List<Student> getStudents() {
+        return students;
+    }
+
+    /**
+     * Устанавливает список студентов.
+     *
+     * @param students список студентов
+     * @return текущий набор данных
+     */
+    public Dataset setStudents(List<Student> students) {
+        this.students = students;
+        return this;
+    }
+}
@@ -6,6 +6,7 @@ import enums.StudyProfile;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlElementWrapper;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
@@ -33,11 +34,37 @@ public class Statistics {
     @SerializedName("university_names")
     private List<String> universityNames;
 
+    @SerializedName("median_exam_score")
+    @XmlElement(name = "medianScore")
+    private BigDecimal medianExamScore;
+
+    @SerializedName("p90_exam_score")
+    @XmlElement(name = "p90Score")
+    private BigDecimal p90ExamScore;
+
+    @SerializedName("p99_exam_score")
+    @XmlElement(name = "p99Score")
+    private BigDecimal p99ExamScore;
+
+    @SerializedName("score_histogram_lower_bound")
+    @XmlElement(name = "scoreHistogramLowerBound")
+    private BigDecimal scoreHistogramLowerBound;
+
+    @SerializedName("score_histogram_bucket_width")
+    @XmlElement(name = "scoreHistogramBucketWidth")
+    private BigDecimal scoreHistogramBucketWidth;
+
+    @SerializedName("score_histogram")
+    @XmlElementWrapper(name = "scoreHistogram")
+    @XmlElement(name = "bucket")
+    private List<Long> scoreHistogram;
+
     /**
-     * Создаёт пустой объект статистики с инициализированным списком университетов.
+     * Создаёт пустой объект статистики с инициализированными списками университетов и корзин гистограммы.
      */
     public Statistics() {
         this.universityNames = new ArrayList<>();
+        this.scoreHistogram = new ArrayList<>();
     }
 
     /**
@@ -60,6 +87,7 @@ public class Statistics {
         this.studentCount = studentCount;
         this.universityCount = universityCount;
         this.universityNames = universityNames == null ? new ArrayList<>() : new ArrayList<>(universityNames);
+        this.scoreHistogram = new ArrayList<>();
     }
 
     /**
@@ -162,6 +190,133 @@ public class Statistics {
         return this;
     }
 
+    /**
+     * Возвращает медиану баллов по профилю обучения.
+     * <p>
+     * Медиана и остальные квантили оцениваются потоковым скетчем {@link util.QuantileSketch} с относительной
+     * погрешностью не более 0,05% до округления до двух знаков.
+     * </p>
+     *
+     * @return медиана или {@code null}, если студентов нет
+     */
+    public BigDecimal getMedianExamScore() {
+        return medianExamScore;
+    }
+
+    /**
+     * Устанавливает медиану баллов по профилю обучения.
+     *
+     * @param medianExamScore медиана баллов
+     * @return текущий объект статистики
+     */
+    public Statistics setMedianExamScore(BigDecimal medianExamScore) {
+        this.medianExamScore = medianExamScore;
+        return this;
+    }
+
+    /**
+     * Возвращает 90-й процентиль баллов по профилю обучения.
+     *
+     * @return 90-й процентиль или {@code null}, если студентов нет
+     */
+    public BigDecimal getP90ExamScore() {
+        return p90ExamScore;
+    }
+
+    /**
+     * Устанавливает 90-й процентиль баллов по профилю обучения.
+     *
+     * @param p90ExamScore 90-й процентиль баллов
+     * @return текущий объект статистики
+     */
+    public Statistics setP90ExamScore(BigDecimal p90ExamScore) {
+        this.p90ExamScore = p90ExamScore;
+        return this;
+    }
+
+    /**
+     * Возвращает 99-й процентиль баллов по профилю обучения.
+     *
+     * @return 99-й процентиль или {@code null}, если студентов нет
+     */
+    public BigDecimal getP99ExamScore() {
+        return p99ExamScore;
+    }
+
+    /**
+     * Устанавливает 99-й процентиль баллов по профилю обучения.
+     *
+     * @param p99ExamScore 99-й процентиль баллов
+     * @return текущий объект статистики
+     */
+    public Statistics setP99ExamScore(BigDecimal p99ExamScore) {
+        this.p99ExamScore = p99ExamScore;
+        return this;
+    }
+
+    /**
+     * Возвращает нижнюю границу первой корзины гистограммы баллов.
+     *
+     * @return нижняя граница или {@code null}, если гистограмма не рассчитана
+     */
+    public BigDecimal getScoreHistogramLowerBound() {
+        return scoreHistogramLowerBound;
+    }
+
+    /**
+     * Устанавливает нижнюю границу первой корзины гистограммы баллов.
+     *
+     * @param scoreHistogramLowerBound нижняя граница первой корзины
+     * @return текущий объект статистики
+     */
+    public Statistics setScoreHistogramLowerBound(BigDecimal scoreHistogramLowerBound) {
+        this.scoreHistogramLowerBound = scoreHistogramLowerBound;
+        return this;
+    }
+
+    /**
+     * Возвращает ширину корзины гистограммы баллов: корзина {@code i} начинается с
+     * {@code lowerBound + i * bucketWidth}.
+     *
+     * @return ширина корзины или {@code null}, если гистограмма не рассчитана
+     */
+    public BigDecimal getScoreHistogramBucketWidth() {
+        return scoreHistogramBucketWidth;
+    }
+
+    /**
+     * Устанавливает ширину корзины гистограммы баллов.
+     *
+     * @param scoreHistogramBucketWidth ширина корзины
+     * @return текущий объект статистики
+     */
+    public Statistics setScoreHistogramBucketWidth(BigDecimal scoreHistogramBucketWidth) {
+        this.scoreHistogramBucketWidth = scoreHistogramBucketWidth;
+        return this;
+    }
+
+    /**
+     * Возвращает гистограмму баллов по профилю: количества студентов по корзинам {@link util.ScoreHistogram}
+     * (по умолчанию десять корзин шириной 0,5 балла от 0 до 5). Границы корзин задаются
+     * {@link #getScoreHistogramLowerBound()} и {@link #getScoreHistogramBucketWidth()}.
+     *
+     * @return неизменяемая копия списка количеств по корзинам
+     */
+    public List<Long> getScoreHistogram() {
+        return new ArrayList<>(scoreHistogram);
+    }
+
+    /**
+     * Устанавливает гистограмму баллов по профилю.
+     *
+     * @param scoreHistogram количества студентов по корзинам
+     * @return текущий объект статистики
+     */
+    public Statistics setScoreHistogram(List<Long> scoreHistogram) {
+        this.scoreHistogram = scoreHistogram == null ? new ArrayList<>() : new ArrayList<>(scoreHistogram);
+        return this;
+    }
+
     /**
      * Возвращает строковое представление статистики по профилю обучения.
      *
@@ -170,11 +325,19 @@ public class Statistics {
     @Override
     public String toString() {
         return String.format(
-                "studyProfile = %s, avgExamScore = %s, studentCount = %s, universityCount = %s, universityNames = %s",
+                "studyProfile = %s, avgExamScore = %s, studentCount = %s, universityCount = %s, universityNames = %s, "
+                        + "medianExamScore = %s, p90ExamScore = %s, p99ExamScore = %s, "
+                        + "scoreHistogramLowerBound = %s, scoreHistogramBucketWidth = %s, scoreHistogram = %s",
                 studyProfile != null ? studyProfile.getProfileName() : null,
                 avgExamScore,
                 studentCount,
                 universityCount,
-                universityNames);
+                universityNames,
+                medianExamScore,
+                p90ExamScore,
+                p99ExamScore,
+                scoreHistogramLowerBound,
+                scoreHistogramBucketWidth,
+                scoreHistogram);
     }
 }
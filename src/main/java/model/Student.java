@@ -27,6 +27,9 @@ public class Student {
     @XmlElement(name = "avgScore")
     private float avgExamScore;
 
+    /** Код идентификатора университета в словаре загрузки; не сериализуется. */
+    private transient int universityIdCode = -1;
+
     /**
      * Создаёт пустой объект студента.
      */
@@ -70,9 +73,34 @@ public class Student {
      */
     public Student setUniversityId(String universityId) {
         this.universityId = universityId;
+        this.universityIdCode = -1;
+        return this;
+    }
+
+    /**
+     * Устанавливает идентификатор университета студента вместе с его кодом в словаре
+     * ({@link util.StringDictionary}), в котором идентификатор является каноническим экземпляром.
+     *
+     * @param universityId     канонический экземпляр идентификатора университета
+     * @param universityIdCode код идентификатора в словаре или {@code -1}
+     * @return текущий объект студента
+     */
+    public Student setUniversityId(String universityId, int universityIdCode) {
+        this.universityId = universityId;
+        this.universityIdCode = universityIdCode;
         return this;
     }
 
+    /**
+     * Возвращает код идентификатора университета в словаре загрузки. Код не сериализуется и сбрасывается
+     * при изменении идентификатора через {@link #setUniversityId(String)}.
+     *
+     * @return код идентификатора или {@code -1}, если код не назначен
+     */
+    public int getUniversityIdCode() {
+        return universityIdCode;
+    }
+
     /**
      * Возвращает номер курса, на котором обучается студент.
      *
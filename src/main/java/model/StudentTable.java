@@ -0,0 +1,443 @@
+package model;
+
+import util.StringDictionary;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Колоночное представление набора студентов: каждый атрибут хранится в отдельном примитивном массиве.
+ * <p>
+ * Идентификаторы университетов закодированы словарём {@link StringDictionary}: в строке хранится код значения.
+ * Таблица, построенная со словарём загрузки ({@link #builder(StringDictionary)}), использует его коды, поэтому коды
+ * её строк совпадают с кодами студентов той же загрузки.
+ * Для совместимости с API, принимающими {@link Student}, таблица выдаёт представления строк без копирования данных
+ * ({@link #view(int)}, {@link #asStudentList()}). Представления доступны только для чтения и не предназначены
+ * для сериализации — для этого используйте {@link #toStudent(int)}.
+ * </p>
+ */
+public final class StudentTable {
+
+    private final int size;
+    private final float[] avgExamScore;
+    private final int[] currentCourseNumber;
+    private final int[] universityIdx;
+    private final String[] fullName;
+    private final StringDictionary universityIds;
+    private final int dictionarySize;
+
+    /**
+     * Создаёт таблицу из подготовленных столбцов.
+     *
+     * @param size                количество строк
+     * @param avgExamScore        столбец средних баллов
+     * @param currentCourseNumber столбец номеров курсов
+     * @param universityIdx       столбец кодов университетов в словаре ({@code -1} для пустого значения)
+     * @param fullName            столбец полных имён
+     * @param universityIds       словарь идентификаторов университетов
+     * @param dictionarySize      размер словаря на момент построения; коды строк меньше этого значения
+     */
+    private StudentTable(int size, float[] avgExamScore, int[] currentCourseNumber, int[] universityIdx,
+                         String[] fullName, StringDictionary universityIds, int dictionarySize) {
+        this.size = size;
+        this.avgExamScore = avgExamScore;
+        this.currentCourseNumber = currentCourseNumber;
+        this.universityIdx = universityIdx;
+        this.fullName = fullName;
+        this.universityIds = universityIds;
+        this.dictionarySize = dictionarySize;
+    }
+
+    /**
+     * Создаёт построитель таблицы.
+     *
+     * @return новый построитель
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Создаёт построитель таблицы, кодирующий идентификаторы университетов переданным словарём загрузки.
+     *
+     * @param universityIds словарь идентификаторов университетов текущей загрузки
+     * @return новый построитель
+     */
+    public static Builder builder(StringDictionary universityIds) {
+        return new Builder(Builder.DEFAULT_CAPACITY, universityIds);
+    }
+
+    /**
+     * Строит таблицу из списка студентов.
+     *
+     * @param students исходный список; элементы {@code null} пропускаются
+     * @return колоночная таблица
+     */
+    public static StudentTable of(List<Student> students) {
+        Builder builder = new Builder(students.size());
+        for (Student student : students) {
+            if (student != null) {
+                builder.add(student);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Возвращает количество строк таблицы.
+     *
+     * @return количество студентов
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает средний балл студента в строке.
+     *
+     * @param row номер строки
+     * @return средний балл
+     */
+    public float getAvgExamScore(int row) {
+        return avgExamScore[checkRow(row)];
+    }
+
+    /**
+     * Возвращает номер курса студента в строке.
+     *
+     * @param row номер строки
+     * @return номер курса
+     */
+    public int getCurrentCourseNumber(int row) {
+        return currentCourseNumber[checkRow(row)];
+    }
+
+    /**
+     * Возвращает индекс идентификатора университета студента в словаре.
+     *
+     * @param row номер строки
+     * @return индекс в словаре или {@code -1}, если идентификатор не задан
+     */
+    public int getUniversityIdx(int row) {
+        return universityIdx[checkRow(row)];
+    }
+
+    /**
+     * Возвращает идентификатор университета студента в строке.
+     *
+     * @param row номер строки
+     * @return идентификатор университета или {@code null}
+     */
+    public String getUniversityId(int row) {
+        return universityIds.decode(universityIdx[checkRow(row)]);
+    }
+
+    /**
+     * Возвращает полное имя студента в строке.
+     *
+     * @param row номер строки
+     * @return полное имя
+     */
+    public String getFullName(int row) {
+        return fullName[checkRow(row)];
+    }
+
+    /**
+     * Возвращает размер словаря идентификаторов университетов на момент построения таблицы; коды строк
+     * лежат в диапазоне от 0 до этого значения. Словарь загрузки может содержать и идентификаторы, которых
+     * нет в таблице.
+     *
+     * @return количество кодов словаря
+     */
+    public int getUniversityDictionarySize() {
+        return dictionarySize;
+    }
+
+    /**
+     * Возвращает идентификатор университета по индексу словаря.
+     *
+     * @param idx индекс в словаре
+     * @return идентификатор университета
+     * @throws IndexOutOfBoundsException если индекс не меньше {@link #getUniversityDictionarySize()}
+     */
+    public String getUniversityIdAt(int idx) {
+        if (idx < 0 || idx >= dictionarySize) {
+            throw new IndexOutOfBoundsException("Dictionary index " + idx + " is out of bounds for size "
+                    + dictionarySize);
+        }
+        return universityIds.decode(idx);
+    }
+
+    /**
+     * Возвращает индекс идентификатора университета в словаре.
+     *
+     * @param universityId идентификатор университета
+     * @return индекс в словаре или {@code -1}, если идентификатора нет в словаре таблицы
+     */
+    public int indexOfUniversityId(String universityId) {
+        int idx = universityIds.lookup(universityId);
+        return idx < dictionarySize ? idx : -1;
+    }
+
+    /**
+     * Возвращает представление строки таблицы в виде {@link Student} без копирования данных.
+     *
+     * @param row номер строки
+     * @return представление только для чтения
+     */
+    public Student view(int row) {
+        return new StudentView(this, checkRow(row));
+    }
+
+    /**
+     * Создаёт самостоятельный объект студента с копией значений строки.
+     *
+     * @param row номер строки
+     * @return новый объект студента
+     */
+    public Student toStudent(int row) {
+        return new Student()
+                .setUniversityId(getUniversityId(row))
+                .setFullName(getFullName(row))
+                .setCurrentCourseNumber(getCurrentCourseNumber(row))
+                .setAvgExamScore(getAvgExamScore(row));
+    }
+
+    /**
+     * Возвращает неизменяемый список представлений строк для передачи в API, работающие со списком студентов.
+     *
+     * @return список представлений с произвольным доступом
+     */
+    public List<Student> asStudentList() {
+        return new StudentListView(this);
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " is out of bounds for table of size " + size);
+        }
+        return row;
+    }
+
+    /**
+     * Построитель колоночной таблицы с автоматическим расширением массивов и словарным кодированием
+     * идентификаторов университетов.
+     */
+    public static final class Builder {
+
+        private static final int DEFAULT_CAPACITY = 1024;
+
+        private final StringDictionary universityIds;
+        private float[] avgExamScore;
+        private int[] currentCourseNumber;
+        private int[] universityIdx;
+        private String[] fullName;
+        private int size;
+
+        /**
+         * Создаёт построитель с начальной ёмкостью по умолчанию.
+         */
+        public Builder() {
+            this(DEFAULT_CAPACITY);
+        }
+
+        /**
+         * Создаёт построитель с заданной начальной ёмкостью и собственным словарём идентификаторов.
+         *
+         * @param capacity ожидаемое количество строк
+         */
+        public Builder(int capacity) {
+            this(capacity, new StringDictionary());
+        }
+
+        /**
+         * Создаёт построитель с заданной начальной ёмкостью и словарём идентификаторов загрузки.
+         *
+         * @param capacity      ожидаемое количество строк
+         * @param universityIds словарь идентификаторов университетов текущей загрузки
+         */
+        public Builder(int capacity, StringDictionary universityIds) {
+            this.universityIds = universityIds;
+            int initial = Math.max(capacity, 16);
+            this.avgExamScore = new float[initial];
+            this.currentCourseNumber = new int[initial];
+            this.universityIdx = new int[initial];
+            this.fullName = new String[initial];
+        }
+
+        /**
+         * Добавляет строку со значениями атрибутов студента.
+         *
+         * @param universityId        идентификатор университета
+         * @param fullName            полное имя
+         * @param currentCourseNumber номер курса
+         * @param avgExamScore        средний балл
+         * @return текущий построитель
+         */
+        public Builder add(String universityId, String fullName, int currentCourseNumber, float avgExamScore) {
+            if (size == this.avgExamScore.length) {
+                grow();
+            }
+            this.universityIdx[size] = universityIds.encode(universityId);
+            this.fullName[size] = fullName;
+            this.currentCourseNumber[size] = currentCourseNumber;
+            this.avgExamScore[size] = avgExamScore;
+            size++;
+            return this;
+        }
+
+        /**
+         * Добавляет строку со значениями атрибутов переданного студента. Код идентификатора, выданный тем же
+         * словарём для того же экземпляра строки, используется без повторного кодирования.
+         *
+         * @param student студент
+         * @return текущий построитель
+         */
+        public Builder add(Student student) {
+            String universityId = student.getUniversityId();
+            int code = student.getUniversityIdCode();
+            if (!universityIds.isCanonical(code, universityId)) {
+                return add(universityId, student.getFullName(),
+                        student.getCurrentCourseNumber(), student.getAvgExamScore());
+            }
+            if (size == avgExamScore.length) {
+                grow();
+            }
+            universityIdx[size] = code;
+            fullName[size] = student.getFullName();
+            currentCourseNumber[size] = student.getCurrentCourseNumber();
+            avgExamScore[size] = student.getAvgExamScore();
+            size++;
+            return this;
+        }
+
+        /**
+         * Возвращает количество добавленных строк.
+         *
+         * @return количество строк
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Завершает построение таблицы. Массивы обрезаются до фактического размера.
+         *
+         * @return колоночная таблица
+         */
+        public StudentTable build() {
+            return new StudentTable(size,
+                    Arrays.copyOf(avgExamScore, size),
+                    Arrays.copyOf(currentCourseNumber, size),
+                    Arrays.copyOf(universityIdx, size),
+                    Arrays.copyOf(fullName, size),
+                    universityIds,
+                    universityIds.size());
+        }
+
+        private void grow() {
+            int capacity = avgExamScore.length + (avgExamScore.length >> 1);
+            avgExamScore = Arrays.copyOf(avgExamScore, capacity);
+            currentCourseNumber = Arrays.copyOf(currentCourseNumber, capacity);
+            universityIdx = Arrays.copyOf(universityIdx, capacity);
+            fullName = Arrays.copyOf(fullName, capacity);
+        }
+    }
+
+    /**
+     * Представление строки таблицы в виде студента; все чтения делегируются столбцам таблицы.
+     */
+    private static final class StudentView extends Student {
+
+        private final StudentTable table;
+        private final int row;
+
+        private StudentView(StudentTable table, int row) {
+            this.table = table;
+            this.row = row;
+        }
+
+        @Override
+        public String getFullName() {
+            return table.fullName[row];
+        }
+
+        @Override
+        public String getUniversityId() {
+            return table.universityIds.decode(table.universityIdx[row]);
+        }
+
+        @Override
+        public int getUniversityIdCode() {
+            return table.universityIdx[row];
+        }
+
+        @Override
+        public int getCurrentCourseNumber() {
+            return table.currentCourseNumber[row];
+        }
+
+        @Override
+        public float getAvgExamScore() {
+            return table.avgExamScore[row];
+        }
+
+        @Override
+        public Student setFullName(String fullName) {
+            throw new UnsupportedOperationException("Student table rows are read-only");
+        }
+
+        @Override
+        public Student setUniversityId(String universityId) {
+            throw new UnsupportedOperationException("Student table rows are read-only");
+        }
+
+        @Override
+        public Student setUniversityId(String universityId, int universityIdCode) {
+            throw new UnsupportedOperationException("Student table rows are read-only");
+        }
+
+        @Override
+        public Student setCurrentCourseNumber(int currentCourseNumber) {
+            throw new UnsupportedOperationException("Student table rows are read-only");
+        }
+
+        @Override
+        public Student setAvgExamScore(float avgExamScore) {
+            throw new UnsupportedOperationException("Student table rows are read-only");
+        }
+
+        @Override
+        public String toString() {
+            return String.format("fullName = %s, universityId = %s, currentCourseNumber = %s, avgExamScore = %s",
+                    getFullName(),
+                    getUniversityId(),
+                    getCurrentCourseNumber(),
+                    getAvgExamScore());
+        }
+    }
+
+    /**
+     * Список представлений строк таблицы.
+     */
+    private static final class StudentListView extends AbstractList<Student> implements RandomAccess {
+
+        private final StudentTable table;
+
+        private StudentListView(StudentTable table) {
+            this.table = table;
+        }
+
+        @Override
+        public Student get(int index) {
+            return table.view(index);
+        }
+
+        @Override
+        public int size() {
+            return table.size;
+        }
+    }
+}
@@ -31,6 +31,9 @@ public class University {
     @XmlElement(name = "universityProfile")
     private StudyProfile mainProfile;
 
+    /** Код идентификатора в словаре загрузки; не сериализуется. */
+    private transient int idCode = -1;
+
     /**
      * Создаёт пустой объект университета.
      */
@@ -54,9 +57,34 @@ public class University {
      */
     public University setId(String id) {
         this.id = id;
+        this.idCode = -1;
+        return this;
+    }
+
+    /**
+     * Устанавливает идентификатор университета вместе с его кодом в словаре ({@link util.StringDictionary}),
+     * в котором идентификатор является каноническим экземпляром.
+     *
+     * @param id     канонический экземпляр идентификатора
+     * @param idCode код идентификатора в словаре или {@code -1}
+     * @return текущий объект университета
+     */
+    public University setId(String id, int idCode) {
+        this.id = id;
+        this.idCode = idCode;
         return this;
     }
 
+    /**
+     * Возвращает код идентификатора в словаре загрузки. Код не сериализуется и сбрасывается при изменении
+     * идентификатора через {@link #setId(String)}.
+     *
+     * @return код идентификатора или {@code -1}, если код не назначен
+     */
+    public int getIdCode() {
+        return idCode;
+    }
+
     /**
      * Возвращает полное название университета.
      *
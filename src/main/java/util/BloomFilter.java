@@ -0,0 +1,123 @@
+package util;
+
+/**
+ * Фильтр Блума для строковых ключей.
+ * <p>
+ * Фильтр отвечает на вопрос «может ли ключ присутствовать в множестве» без ложноотрицательных ответов и с заданной
+ * вероятностью ложноположительных. Размер битового массива и количество хеш-функций рассчитываются по ожидаемому
+ * количеству ключей и допустимой вероятности ошибки; размер округляется вверх до степени двойки, чтобы позиция бита
+ * вычислялась маской. Позиции битов получаются двойным хешированием из двух половин 64-битного значения,
+ * полученного из кэшируемого строкой {@link String#hashCode} финализатором MurmurHash3 (fmix64), поэтому проверка
+ * не просматривает символы ключа. Ключи с одинаковым {@code hashCode} неразличимы для фильтра, что добавляет
+ * к вероятности ошибки пренебрежимо малую величину порядка {@code n / 2^32}. Класс не потокобезопасен для записи.
+ * </p>
+ */
+public final class BloomFilter {
+
+    private final long[] bits;
+    private final long bitCount;
+    private final long bitMask;
+    private final int hashFunctionCount;
+    private long insertions;
+
+    /**
+     * Создаёт фильтр для указанного количества ключей и вероятности ложноположительного ответа.
+     *
+     * @param expectedInsertions     ожидаемое количество ключей
+     * @param falsePositiveRate      допустимая вероятность ложноположительного ответа, от 0 до 1 не включительно
+     * @throws IllegalArgumentException если параметры вне допустимых диапазонов
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 0) {
+            throw new IllegalArgumentException("Expected insertions must not be negative: " + expectedInsertions);
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False positive rate must be in (0, 1): " + falsePositiveRate);
+        }
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        m = Math.max(Long.SIZE, Long.highestOneBit(m - 1) << 1);
+        this.bits = new long[Math.toIntExact(m / Long.SIZE)];
+        this.bitCount = m;
+        this.bitMask = m - 1;
+        this.hashFunctionCount = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+    }
+
+    /**
+     * Добавляет ключ в фильтр.
+     *
+     * @param key ключ, не {@code null}
+     */
+    public void put(String key) {
+        long hash = hash(key);
+        long first = hash;
+        long second = hash >>> 32 | hash << 32;
+        for (int i = 0; i < hashFunctionCount; i++) {
+            long bit = (first + i * second) & bitMask;
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+        insertions++;
+    }
+
+    /**
+     * Проверяет, мог ли ключ быть добавлен в фильтр.
+     *
+     * @param key ключ; для {@code null} возвращается {@code false}
+     * @return {@code false}, если ключ точно не добавлялся; {@code true}, если ключ, вероятно, добавлен
+     */
+    public boolean mightContain(String key) {
+        if (key == null) {
+            return false;
+        }
+        long hash = hash(key);
+        long first = hash;
+        long second = hash >>> 32 | hash << 32;
+        for (int i = 0; i < hashFunctionCount; i++) {
+            long bit = (first + i * second) & bitMask;
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Возвращает размер битового массива.
+     *
+     * @return количество битов
+     */
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    /**
+     * Возвращает количество хеш-функций.
+     *
+     * @return количество проверяемых битов на ключ
+     */
+    public int getHashFunctionCount() {
+        return hashFunctionCount;
+    }
+
+    /**
+     * Оценивает вероятность ложноположительного ответа по фактическому количеству добавленных ключей.
+     *
+     * @return ожидаемая вероятность ложноположительного ответа
+     */
+    public double getExpectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashFunctionCount * insertions / bitCount), hashFunctionCount);
+    }
+
+    private static long hash(String key) {
+        return mix(key.hashCode() * 0x9E3779B97F4A7C15L);
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -2,12 +2,42 @@ package util;
 
 import comparators.*;
 import enums.StudentComparatorType;
+import enums.StudyProfile;
 import enums.UniversityComparatorType;
+import model.Student;
+import model.StudentTable;
+import model.University;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.RandomAccess;
 
 /**
  * Утилита фабричных методов для получения готовых компараторов студентов и университетов.
+ * <p>
+ * Помимо компараторов утилита сортирует коллекции по типу сравнения. Для числовых типов
+ * ({@link StudentComparatorType#AVG_EXAM_SCORE}, {@link StudentComparatorType#CURRENT_COURSE_NUMBER},
+ * {@link UniversityComparatorType#YEAR_OF_FOUNDATION}, {@link UniversityComparatorType#MAIN_PROFILE}) ключи
+ * извлекаются в массив {@code int} за один проход и сортируются поразрядно ({@link RadixSortUtil}) без вызовов
+ * {@code compare} на объектах. Остальные типы сортируются стабильной сортировкой объектов соответствующим
+ * компаратором. Результат в обоих случаях совпадает со стабильной сортировкой компаратором
+ * {@link #getStudentComparator} или {@link #getUniversityComparator}.
+ * </p>
+ * <p>
+ * Составные порядки задаются списком {@link SortKey} с направлениями. Соседние числовые ключи упаковываются
+ * в одно значение {@code long}, строковые ключи сравниваются только при равенстве предыдущих.
+ * </p>
  */
 public class ComparatorUtil {
+
+    /** Ранги профилей обучения в порядке {@link UniversityMainProfileComparator} по порядковому номеру профиля. */
+    private static final int[] PROFILE_RANKS = rankProfiles();
+
+    /** Разрядность ранга профиля обучения с учётом нулевого ранга для университетов без профиля. */
+    private static final int PROFILE_RANK_BITS = Integer.SIZE - Integer.numberOfLeadingZeros(PROFILE_RANKS.length);
     
     /**
      * Прячет конструктор и запрещает создавать экземпляры утилитного класса.
@@ -61,4 +91,410 @@ public class ComparatorUtil {
                 throw new IllegalArgumentException("Unknown comparator type: " + type);
         }
     }
+
+    /**
+     * Возвращает составной компаратор студентов по последовательности ключей с направлениями. Числовые ключи
+     * ({@link StudentComparatorType#AVG_EXAM_SCORE}, {@link StudentComparatorType#CURRENT_COURSE_NUMBER}) соседних
+     * позиций упаковываются в одно значение {@code long}, имя и идентификатор университета сравниваются
+     * компараторами только при равенстве предыдущих ключей.
+     *
+     * @param keys ключи сортировки в порядке приоритета
+     * @return составной компаратор
+     * @throws IllegalArgumentException если список ключей пуст или тип компаратора не поддерживается
+     */
+    public static Comparator<Student> getStudentComparator(List<SortKey<StudentComparatorType>> keys) {
+        return studentOrder(keys);
+    }
+
+    /**
+     * Возвращает составной компаратор университетов по последовательности ключей с направлениями. Год основания
+     * и профиль (через ранг названия профиля, университеты без профиля — наименьшие) соседних позиций
+     * упаковываются в одно значение {@code long}, строковые атрибуты сравниваются компараторами только
+     * при равенстве предыдущих ключей.
+     *
+     * @param keys ключи сортировки в порядке приоритета
+     * @return составной компаратор
+     * @throws IllegalArgumentException если список ключей пуст или тип компаратора не поддерживается
+     */
+    public static Comparator<University> getUniversityComparator(List<SortKey<UniversityComparatorType>> keys) {
+        return universityOrder(keys);
+    }
+
+    /**
+     * Возвращает новый список студентов, стабильно отсортированный по последовательности ключей. Упакованный
+     * ключ первых числовых позиций вычисляется один раз для каждого студента и сортируется поразрядно,
+     * остальные ключи применяются только к группам равных упакованных ключей.
+     *
+     * @param students список студентов без элементов {@code null}
+     * @param keys     ключи сортировки в порядке приоритета
+     * @return отсортированная копия списка
+     * @throws IllegalArgumentException если список ключей пуст или тип компаратора не поддерживается
+     */
+    public static List<Student> sortStudents(List<Student> students, List<SortKey<StudentComparatorType>> keys) {
+        return permute(students, studentOrder(keys).sortedOrder(students));
+    }
+
+    /**
+     * Возвращает новый список университетов, стабильно отсортированный по последовательности ключей.
+     *
+     * @param universities список университетов без элементов {@code null}
+     * @param keys         ключи сортировки в порядке приоритета
+     * @return отсортированная копия списка
+     * @throws IllegalArgumentException если список ключей пуст или тип компаратора не поддерживается
+     */
+    public static List<University> sortUniversities(List<University> universities,
+                                                    List<SortKey<UniversityComparatorType>> keys) {
+        return permute(universities, universityOrder(keys).sortedOrder(universities));
+    }
+
+    /**
+     * Возвращает порядок строк колоночной таблицы студентов, отсортированных по указанному типу сравнения.
+     * <p>
+     * Порядок совпадает со стабильной сортировкой списка студентов компаратором {@link #getStudentComparator}.
+     * Числовые столбцы и идентификаторы университетов (через ранги словаря) сортируются поразрядно
+     * по ключам {@code int} с помощью {@link RadixSortUtil}.
+     * </p>
+     *
+     * @param table таблица студентов
+     * @param type  требуемый тип сравнения студентов
+     * @return номера строк таблицы в отсортированном порядке
+     * @throws IllegalArgumentException если тип компаратора не поддерживается
+     */
+    public static int[] sortRows(StudentTable table, StudentComparatorType type) {
+        int size = table.size();
+        if (type == StudentComparatorType.FULL_NAME) {
+            Integer[] rows = new Integer[size];
+            for (int row = 0; row < size; row++) {
+                rows[row] = row;
+            }
+            Arrays.sort(rows, Comparator.comparing(table::getFullName, StringUtils::compare));
+            return Arrays.stream(rows).mapToInt(Integer::intValue).toArray();
+        }
+
+        int[] universityRanks = type == StudentComparatorType.UNIVERSITY_ID ? rankUniversityIds(table) : null;
+        int[] keys = new int[size];
+        for (int row = 0; row < size; row++) {
+            int key;
+            switch (type) {
+                case UNIVERSITY_ID:
+                    key = universityRanks[table.getUniversityIdx(row) + 1];
+                    break;
+                case CURRENT_COURSE_NUMBER:
+                    key = table.getCurrentCourseNumber(row);
+                    break;
+                case AVG_EXAM_SCORE:
+                    key = ~sortableFloatBits(table.getAvgExamScore(row));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown comparator type: " + type);
+            }
+            keys[row] = key;
+        }
+        return RadixSortUtil.sortedOrder(keys);
+    }
+
+    /**
+     * Возвращает стабильную перестановку индексов списка студентов, упорядочивающую его по указанному типу сравнения.
+     * Числовые типы сортируются поразрядно по извлечённым ключам, остальные — компаратором.
+     *
+     * @param students список студентов без элементов {@code null}
+     * @param type     требуемый тип сравнения студентов
+     * @return индексы студентов в отсортированном порядке
+     * @throws IllegalArgumentException если тип компаратора не поддерживается
+     */
+    public static int[] studentSortOrder(List<Student> students, StudentComparatorType type) {
+        if (!(students instanceof RandomAccess)) {
+            students = new ArrayList<>(students);
+        }
+        if (!hasNumericKey(type)) {
+            return comparatorOrder(students, getStudentComparator(type));
+        }
+        int[] keys = new int[students.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = numericKey(students.get(i), type);
+        }
+        return RadixSortUtil.sortedOrder(keys);
+    }
+
+    /**
+     * Возвращает новый список студентов, отсортированный по указанному типу сравнения. Результат совпадает
+     * с {@code students.stream().sorted(getStudentComparator(type))}.
+     *
+     * @param students список студентов без элементов {@code null}
+     * @param type     требуемый тип сравнения студентов
+     * @return отсортированная копия списка
+     * @throws IllegalArgumentException если тип компаратора не поддерживается
+     */
+    public static List<Student> sortStudents(List<Student> students, StudentComparatorType type) {
+        if (!hasNumericKey(type)) {
+            List<Student> result = new ArrayList<>(students);
+            result.sort(getStudentComparator(type));
+            return result;
+        }
+        return permute(students, studentSortOrder(students, type));
+    }
+
+    /**
+     * Возвращает стабильную перестановку индексов списка университетов, упорядочивающую его по указанному типу
+     * сравнения. Числовые типы и профиль (через ранг названия профиля) сортируются поразрядно, остальные —
+     * компаратором. В отличие от {@link UniversityMainProfileComparator}, университеты без профиля
+     * не приводят к ошибке и располагаются первыми.
+     *
+     * @param universities список университетов без элементов {@code null}
+     * @param type         требуемый тип сравнения университетов
+     * @return индексы университетов в отсортированном порядке
+     * @throws IllegalArgumentException если тип компаратора не поддерживается
+     */
+    public static int[] universitySortOrder(List<University> universities, UniversityComparatorType type) {
+        if (!(universities instanceof RandomAccess)) {
+            universities = new ArrayList<>(universities);
+        }
+        if (!hasNumericKey(type)) {
+            return comparatorOrder(universities, getUniversityComparator(type));
+        }
+        int[] keys = new int[universities.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = numericKey(universities.get(i), type);
+        }
+        return RadixSortUtil.sortedOrder(keys);
+    }
+
+    /**
+     * Возвращает новый список университетов, отсортированный по указанному типу сравнения. Результат совпадает
+     * с {@code universities.stream().sorted(getUniversityComparator(type))}.
+     *
+     * @param universities список университетов без элементов {@code null}
+     * @param type         требуемый тип сравнения университетов
+     * @return отсортированная копия списка
+     * @throws IllegalArgumentException если тип компаратора не поддерживается
+     */
+    public static List<University> sortUniversities(List<University> universities, UniversityComparatorType type) {
+        if (!hasNumericKey(type)) {
+            List<University> result = new ArrayList<>(universities);
+            result.sort(getUniversityComparator(type));
+            return result;
+        }
+        return permute(universities, universitySortOrder(universities, type));
+    }
+
+    /**
+     * Проверяет, сводится ли сравнение студентов к сравнению целочисленного ключа {@link #numericKey(Student,
+     * StudentComparatorType)}.
+     *
+     * @param type тип сравнения студентов
+     * @return {@code true} для числовых типов
+     */
+    static boolean hasNumericKey(StudentComparatorType type) {
+        return type == StudentComparatorType.AVG_EXAM_SCORE || type == StudentComparatorType.CURRENT_COURSE_NUMBER;
+    }
+
+    /**
+     * Проверяет, сводится ли сравнение университетов к сравнению целочисленного ключа {@link #numericKey(University,
+     * UniversityComparatorType)}.
+     *
+     * @param type тип сравнения университетов
+     * @return {@code true} для числовых типов и профиля
+     */
+    static boolean hasNumericKey(UniversityComparatorType type) {
+        return type == UniversityComparatorType.YEAR_OF_FOUNDATION || type == UniversityComparatorType.MAIN_PROFILE;
+    }
+
+    /**
+     * Возвращает целочисленный ключ студента, порядок которого по возрастанию совпадает с порядком компаратора.
+     *
+     * @param student студент
+     * @param type    числовой тип сравнения студентов
+     * @return ключ сортировки
+     * @throws IllegalArgumentException если тип не числовой
+     */
+    static int numericKey(Student student, StudentComparatorType type) {
+        switch (type) {
+            case AVG_EXAM_SCORE:
+                return ~sortableFloatBits(student.getAvgExamScore());
+            case CURRENT_COURSE_NUMBER:
+                return student.getCurrentCourseNumber();
+            default:
+                throw new IllegalArgumentException("Comparator type has no numeric key: " + type);
+        }
+    }
+
+    /**
+     * Возвращает целочисленный ключ университета, порядок которого по возрастанию совпадает с порядком компаратора.
+     * Университетам без профиля соответствует наименьший ключ.
+     *
+     * @param university университет
+     * @param type       числовой тип сравнения университетов
+     * @return ключ сортировки
+     * @throws IllegalArgumentException если тип не числовой
+     */
+    static int numericKey(University university, UniversityComparatorType type) {
+        switch (type) {
+            case YEAR_OF_FOUNDATION:
+                return university.getYearOfFoundation();
+            case MAIN_PROFILE:
+                StudyProfile profile = university.getMainProfile();
+                return profile == null ? 0 : PROFILE_RANKS[profile.ordinal()];
+            default:
+                throw new IllegalArgumentException("Comparator type has no numeric key: " + type);
+        }
+    }
+
+    /**
+     * Собирает составной порядок студентов.
+     *
+     * @param keys ключи сортировки
+     * @return составной компаратор
+     */
+    private static CompositeOrder<Student> studentOrder(List<SortKey<StudentComparatorType>> keys) {
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("Sort keys must not be empty");
+        }
+        CompositeOrder.Builder<Student> builder = CompositeOrder.builder();
+        for (SortKey<StudentComparatorType> key : keys) {
+            StudentComparatorType type = key.getType();
+            switch (type) {
+                case AVG_EXAM_SCORE:
+                case CURRENT_COURSE_NUMBER:
+                    builder.intKey(student -> valueKey(student, type), Integer.SIZE, key.isDescending());
+                    break;
+                case FULL_NAME:
+                case UNIVERSITY_ID:
+                    builder.comparatorKey(getStudentComparator(key.getType()), key.isDescending());
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown comparator type: " + key.getType());
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Возвращает целочисленный ключ студента, порядок которого по возрастанию совпадает с возрастанием значения
+     * атрибута. В отличие от {@link #numericKey(Student, StudentComparatorType)} балл не инвертируется.
+     *
+     * @param student студент
+     * @param type    числовой тип сравнения студентов
+     * @return ключ значения
+     */
+    private static int valueKey(Student student, StudentComparatorType type) {
+        return type == StudentComparatorType.AVG_EXAM_SCORE
+                ? sortableFloatBits(student.getAvgExamScore())
+                : student.getCurrentCourseNumber();
+    }
+
+    /**
+     * Собирает составной порядок университетов.
+     *
+     * @param keys ключи сортировки
+     * @return составной компаратор
+     */
+    private static CompositeOrder<University> universityOrder(List<SortKey<UniversityComparatorType>> keys) {
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("Sort keys must not be empty");
+        }
+        CompositeOrder.Builder<University> builder = CompositeOrder.builder();
+        for (SortKey<UniversityComparatorType> key : keys) {
+            UniversityComparatorType type = key.getType();
+            switch (type) {
+                case YEAR_OF_FOUNDATION:
+                    builder.intKey(university -> numericKey(university, type), Integer.SIZE, key.isDescending());
+                    break;
+                case MAIN_PROFILE:
+                    builder.intKey(university -> numericKey(university, type), PROFILE_RANK_BITS,
+                            key.isDescending());
+                    break;
+                case ID:
+                case FULL_NAME:
+                case SHORT_NAME:
+                    builder.comparatorKey(getUniversityComparator(key.getType()), key.isDescending());
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown comparator type: " + key.getType());
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Возвращает стабильную перестановку индексов списка, упорядочивающую его компаратором.
+     *
+     * @param items      список элементов
+     * @param comparator компаратор элементов
+     * @param <T>        тип элементов
+     * @return индексы элементов в отсортированном порядке
+     */
+    private static <T> int[] comparatorOrder(List<T> items, Comparator<? super T> comparator) {
+        Integer[] order = new Integer[items.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        List<T> source = items instanceof RandomAccess ? items : new ArrayList<>(items);
+        Arrays.sort(order, (a, b) -> comparator.compare(source.get(a), source.get(b)));
+        return Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Собирает элементы списка в порядке перестановки.
+     *
+     * @param items список элементов
+     * @param order перестановка индексов
+     * @param <T>   тип элементов
+     * @return новый список
+     */
+    static <T> List<T> permute(List<T> items, int[] order) {
+        List<T> source = items instanceof RandomAccess ? items : new ArrayList<>(items);
+        List<T> result = new ArrayList<>(order.length);
+        for (int index : order) {
+            result.add(source.get(index));
+        }
+        return result;
+    }
+
+    /**
+     * Ранжирует профили обучения по названию так же, как {@link UniversityMainProfileComparator}.
+     *
+     * @return ранги профилей начиная с единицы, индексированные порядковым номером профиля
+     */
+    private static int[] rankProfiles() {
+        StudyProfile[] profiles = StudyProfile.values();
+        StudyProfile[] sorted = profiles.clone();
+        Arrays.sort(sorted, Comparator.comparing(StudyProfile::getProfileName, StringUtils::compare));
+        int[] ranks = new int[profiles.length];
+        for (int rank = 0; rank < sorted.length; rank++) {
+            ranks[sorted[rank].ordinal()] = rank + 1;
+        }
+        return ranks;
+    }
+
+    /**
+     * Преобразует число с плавающей точкой в целое, порядок которого совпадает с {@link Float#compare}.
+     *
+     * @param value значение
+     * @return целочисленный ключ сортировки
+     */
+    static int sortableFloatBits(float value) {
+        int bits = Float.floatToIntBits(value);
+        return bits ^ ((bits >> 31) & 0x7fffffff);
+    }
+
+    /**
+     * Ранжирует словарь идентификаторов университетов таблицы лексикографически.
+     *
+     * @param table таблица студентов
+     * @return ранги, индексированные кодом словаря со смещением на единицу (элемент 0 — для пустого значения)
+     */
+    private static int[] rankUniversityIds(StudentTable table) {
+        int dictionarySize = table.getUniversityDictionarySize();
+        Integer[] order = new Integer[dictionarySize];
+        for (int i = 0; i < dictionarySize; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(table::getUniversityIdAt, StringUtils::compare));
+
+        int[] ranks = new int[dictionarySize + 1];
+        for (int rank = 0; rank < dictionarySize; rank++) {
+            ranks[order[rank] + 1] = rank + 1;
+        }
+        return ranks;
+    }
 }
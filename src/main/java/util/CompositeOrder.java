@@ -0,0 +1,283 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.ToIntFunction;
+
+/**
+ * Составной компаратор, собранный из последовательности ключей сортировки.
+ * <p>
+ * Соседние целочисленные ключи объединяются в ступени, каждая из которых упаковывает ключи в одно беззнаковое
+ * значение {@code long} (старший ключ — в старших битах); при сравнении двух записей ключи ступени сравниваются
+ * по очереди до первого различия без вызова компараторов.
+ * Строковые и прочие ключи образуют отдельные ступени-компараторы, которые вызываются только при равенстве
+ * предыдущих ступеней. Сортировка списка ({@link #sortedOrder}) вычисляет упакованный ключ первой ступени один раз
+ * для каждой записи, сортирует ключи поразрядно и досортировывает компаратором только группы равных ключей.
+ * </p>
+ *
+ * @param <T> тип сравниваемых записей
+ */
+final class CompositeOrder<T> implements Comparator<T> {
+
+    private final Stage<T>[] stages;
+    private final CompositeOrder<T> tail;
+
+    /**
+     * Создаёт компаратор из готовых ступеней.
+     *
+     * @param stages ступени в порядке приоритета
+     */
+    private CompositeOrder(Stage<T>[] stages) {
+        this.stages = stages;
+        this.tail = stages.length > 1 ? new CompositeOrder<>(Arrays.copyOfRange(stages, 1, stages.length)) : null;
+    }
+
+    /**
+     * Создаёт построитель составного компаратора.
+     *
+     * @param <T> тип сравниваемых записей
+     * @return пустой построитель
+     */
+    static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    @Override
+    public int compare(T first, T second) {
+        for (Stage<T> stage : stages) {
+            int result = stage.compare(first, second);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Возвращает стабильную перестановку индексов списка, упорядочивающую его этим компаратором.
+     *
+     * @param items список записей
+     * @return индексы записей в отсортированном порядке
+     */
+    int[] sortedOrder(List<T> items) {
+        List<T> source = items instanceof RandomAccess ? items : new ArrayList<>(items);
+        int size = source.size();
+        if (stages.length == 0) {
+            int[] order = new int[size];
+            Arrays.setAll(order, i -> i);
+            return order;
+        }
+        if (!(stages[0] instanceof PackedStage)) {
+            return comparatorOrder(source, 0, size, null);
+        }
+        PackedStage<T> first = (PackedStage<T>) stages[0];
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = first.pack(source.get(i));
+        }
+        int[] order = RadixSortUtil.sortedOrderUnsigned(keys);
+        if (tail == null) {
+            return order;
+        }
+        int start = 0;
+        for (int i = 1; i <= size; i++) {
+            if (i == size || keys[order[i]] != keys[order[start]]) {
+                if (i - start > 1) {
+                    tail.sortRange(source, order, start, i);
+                }
+                start = i;
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Стабильно сортирует участок перестановки этим компаратором.
+     *
+     * @param source записи
+     * @param order  перестановка индексов
+     * @param from   начало участка включительно
+     * @param to     конец участка не включительно
+     */
+    private void sortRange(List<T> source, int[] order, int from, int to) {
+        int[] sorted = comparatorOrder(source, from, to, order);
+        System.arraycopy(sorted, 0, order, from, sorted.length);
+    }
+
+    /**
+     * Стабильно сортирует индексы записей этим компаратором.
+     *
+     * @param source записи
+     * @param from   начало участка включительно
+     * @param to     конец участка не включительно
+     * @param order  исходная перестановка или {@code null} для индексов по порядку
+     * @return отсортированные индексы участка
+     */
+    private int[] comparatorOrder(List<T> source, int from, int to, int[] order) {
+        Integer[] range = new Integer[to - from];
+        for (int i = 0; i < range.length; i++) {
+            range[i] = order == null ? from + i : order[from + i];
+        }
+        Arrays.sort(range, (a, b) -> compare(source.get(a), source.get(b)));
+        return Arrays.stream(range).mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Построитель составного компаратора. Ключи добавляются в порядке приоритета.
+     *
+     * @param <T> тип сравниваемых записей
+     */
+    static final class Builder<T> {
+
+        private final List<Stage<T>> stages = new ArrayList<>();
+        private List<IntField<T>> pending = new ArrayList<>();
+        private int pendingBits;
+
+        private Builder() {
+        }
+
+        /**
+         * Добавляет целочисленный ключ.
+         *
+         * @param key        функция ключа; при {@code bits < 32} значения должны лежать в диапазоне
+         *                   {@code [0, 2^bits)}, при {@code bits == 32} допускается любое значение {@code int}
+         * @param bits       разрядность ключа от 1 до 32
+         * @param descending {@code true} для сортировки по убыванию ключа
+         * @return текущий построитель
+         * @throws IllegalArgumentException если разрядность вне допустимого диапазона
+         */
+        Builder<T> intKey(ToIntFunction<? super T> key, int bits, boolean descending) {
+            if (bits < 1 || bits > Integer.SIZE) {
+                throw new IllegalArgumentException("Key width must be between 1 and 32 bits: " + bits);
+            }
+            if (pendingBits + bits > Long.SIZE) {
+                flush();
+            }
+            pending.add(new IntField<>(key, bits, descending));
+            pendingBits += bits;
+            return this;
+        }
+
+        /**
+         * Добавляет ключ, сравниваемый компаратором.
+         *
+         * @param comparator компаратор записей
+         * @param descending {@code true} для обратного порядка компаратора
+         * @return текущий построитель
+         */
+        Builder<T> comparatorKey(Comparator<? super T> comparator, boolean descending) {
+            flush();
+            stages.add(new ComparatorStage<>(descending ? comparator.reversed() : comparator));
+            return this;
+        }
+
+        /**
+         * Собирает составной компаратор.
+         *
+         * @return составной компаратор
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        CompositeOrder<T> build() {
+            flush();
+            return new CompositeOrder<>(stages.toArray(new Stage[0]));
+        }
+
+        private void flush() {
+            if (!pending.isEmpty()) {
+                stages.add(new PackedStage<>(pending));
+                pending = new ArrayList<>();
+                pendingBits = 0;
+            }
+        }
+    }
+
+    /**
+     * Ступень сравнения составного компаратора.
+     */
+    private interface Stage<T> {
+
+        int compare(T first, T second);
+    }
+
+    /**
+     * Ступень, сравнивающая упакованные целочисленные ключи.
+     */
+    private static final class PackedStage<T> implements Stage<T> {
+
+        private final IntField<T>[] fields;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private PackedStage(List<IntField<T>> fields) {
+            this.fields = fields.toArray(new IntField[0]);
+        }
+
+        private long pack(T item) {
+            long packed = 0;
+            for (IntField<T> field : fields) {
+                packed = (packed << field.bits) | field.unsignedValue(item);
+            }
+            return packed;
+        }
+
+        /**
+         * Сравнивает ключи по очереди до первого различия; результат совпадает со сравнением упакованных значений.
+         */
+        @Override
+        public int compare(T first, T second) {
+            for (IntField<T> field : fields) {
+                int result = Long.compare(field.unsignedValue(first), field.unsignedValue(second));
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Ступень, сравнивающая записи компаратором.
+     */
+    private static final class ComparatorStage<T> implements Stage<T> {
+
+        private final Comparator<? super T> comparator;
+
+        private ComparatorStage(Comparator<? super T> comparator) {
+            this.comparator = comparator;
+        }
+
+        @Override
+        public int compare(T first, T second) {
+            return comparator.compare(first, second);
+        }
+    }
+
+    /**
+     * Целочисленный ключ фиксированной разрядности.
+     */
+    private static final class IntField<T> {
+
+        private final ToIntFunction<? super T> key;
+        private final int bits;
+        private final long mask;
+        private final boolean descending;
+
+        private IntField(ToIntFunction<? super T> key, int bits, boolean descending) {
+            this.key = key;
+            this.bits = bits;
+            this.mask = (1L << bits) - 1;
+            this.descending = descending;
+        }
+
+        /**
+         * Возвращает беззнаковое значение ключа, порядок которого совпадает с требуемым направлением.
+         */
+        private long unsignedValue(T item) {
+            int value = key.applyAsInt(item);
+            long unsigned = bits == Integer.SIZE ? (value ^ Integer.MIN_VALUE) & mask : value & mask;
+            return descending ? mask - unsigned : unsigned;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package util;
+
+import enums.StudentComparatorType;
+import enums.UniversityComparatorType;
+import model.Student;
+import model.University;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Сортировка студентов и университетов по именам с учётом правил языка ({@link Collator}).
+ * <p>
+ * В отличие от компараторов пакета {@code comparators}, которые сравнивают строки по кодам символов
+ * ({@code StringUtils.compare}) и, например, ставят «Ё» перед «А», сортировка использует порядок, заданный
+ * локалью и силой сравнения. Ключ сравнения {@link CollationKey} строится один раз для каждого различного имени,
+ * различные имена ранжируются сортировкой ключей, после чего записи сортируются поразрядно по целочисленному рангу
+ * ({@link RadixSortUtil}). Сортировка стабильна: записи с равными с точки зрения правил именами сохраняют исходный
+ * порядок. Записи без имени располагаются первыми, как и в компараторах пакета {@code comparators}.
+ * </p>
+ * <p>
+ * Экземпляр неизменяем и потокобезопасен: каждая сортировка использует собственную копию {@link Collator}.
+ * </p>
+ */
+public final class NameCollation {
+
+    /** Локаль сортировки по умолчанию. */
+    public static final Locale DEFAULT_LOCALE = new Locale("ru", "RU");
+
+    private final Collator collator;
+
+    /**
+     * Создаёт сортировку по правилам указанной локали.
+     *
+     * @param locale   локаль правил сравнения
+     * @param strength сила сравнения: {@link Collator#PRIMARY}, {@link Collator#SECONDARY},
+     *                 {@link Collator#TERTIARY} или {@link Collator#IDENTICAL}
+     * @throws IllegalArgumentException если сила сравнения не поддерживается
+     */
+    public NameCollation(Locale locale, int strength) {
+        this.collator = Collator.getInstance(locale);
+        this.collator.setStrength(strength);
+    }
+
+    /**
+     * Создаёт сортировку по правилам русского языка с силой {@link Collator#TERTIARY}: регистр и диакритика
+     * учитываются, но только после различий в буквах.
+     *
+     * @return сортировка по умолчанию
+     */
+    public static NameCollation russian() {
+        return new NameCollation(DEFAULT_LOCALE, Collator.TERTIARY);
+    }
+
+    /**
+     * Возвращает новый список студентов, отсортированный по имени с учётом правил языка.
+     *
+     * @param students список студентов без элементов {@code null}
+     * @param type     {@link StudentComparatorType#FULL_NAME}
+     * @return отсортированная копия списка
+     * @throws IllegalArgumentException если тип сравнения не является именем
+     */
+    public List<Student> sortStudents(List<Student> students, StudentComparatorType type) {
+        return ComparatorUtil.permute(students, studentOrder(students, type));
+    }
+
+    /**
+     * Возвращает стабильную перестановку индексов списка студентов в порядке имён.
+     *
+     * @param students список студентов без элементов {@code null}
+     * @param type     {@link StudentComparatorType#FULL_NAME}
+     * @return индексы студентов в отсортированном порядке
+     * @throws IllegalArgumentException если тип сравнения не является именем
+     */
+    public int[] studentOrder(List<Student> students, StudentComparatorType type) {
+        if (type != StudentComparatorType.FULL_NAME) {
+            throw new IllegalArgumentException("Collation is supported only for names: " + type);
+        }
+        return order(students, Student::getFullName);
+    }
+
+    /**
+     * Возвращает новый список университетов, отсортированный по полному или краткому названию с учётом правил языка.
+     *
+     * @param universities список университетов без элементов {@code null}
+     * @param type         {@link UniversityComparatorType#FULL_NAME} или {@link UniversityComparatorType#SHORT_NAME}
+     * @return отсортированная копия списка
+     * @throws IllegalArgumentException если тип сравнения не является названием
+     */
+    public List<University> sortUniversities(List<University> universities, UniversityComparatorType type) {
+        return ComparatorUtil.permute(universities, universityOrder(universities, type));
+    }
+
+    /**
+     * Возвращает стабильную перестановку индексов списка университетов в порядке названий.
+     *
+     * @param universities список университетов без элементов {@code null}
+     * @param type         {@link UniversityComparatorType#FULL_NAME} или {@link UniversityComparatorType#SHORT_NAME}
+     * @return индексы университетов в отсортированном порядке
+     * @throws IllegalArgumentException если тип сравнения не является названием
+     */
+    public int[] universityOrder(List<University> universities, UniversityComparatorType type) {
+        switch (type) {
+            case FULL_NAME:
+                return order(universities, University::getFullName);
+            case SHORT_NAME:
+                return order(universities, University::getShortName);
+            default:
+                throw new IllegalArgumentException("Collation is supported only for names: " + type);
+        }
+    }
+
+    /**
+     * Ранжирует имена записей по ключам сравнения и сортирует записи поразрядно по рангу.
+     *
+     * @param items записи
+     * @param name  функция получения имени
+     * @param <T>   тип записей
+     * @return индексы записей в отсортированном порядке
+     */
+    private <T> int[] order(List<T> items, Function<T, String> name) {
+        Collator localCollator = (Collator) collator.clone();
+        Map<String, Integer> distinctIndex = new HashMap<>();
+        List<CollationKey> distinctKeys = new ArrayList<>();
+        int[] nameIndex = new int[items.size()];
+        int position = 0;
+        for (T item : items) {
+            String value = name.apply(item);
+            if (value == null) {
+                nameIndex[position++] = -1;
+                continue;
+            }
+            Integer index = distinctIndex.get(value);
+            if (index == null) {
+                index = distinctKeys.size();
+                distinctIndex.put(value, index);
+                distinctKeys.add(localCollator.getCollationKey(value));
+            }
+            nameIndex[position++] = index;
+        }
+
+        Integer[] sortedNames = new Integer[distinctKeys.size()];
+        for (int i = 0; i < sortedNames.length; i++) {
+            sortedNames[i] = i;
+        }
+        Arrays.sort(sortedNames, (a, b) -> distinctKeys.get(a).compareTo(distinctKeys.get(b)));
+        int[] rankByName = new int[sortedNames.length];
+        int rank = 0;
+        for (int i = 0; i < sortedNames.length; i++) {
+            if (i > 0 && distinctKeys.get(sortedNames[i]).compareTo(distinctKeys.get(sortedNames[i - 1])) != 0) {
+                rank++;
+            }
+            rankByName[sortedNames[i]] = rank + 1;
+        }
+
+        int[] keys = new int[nameIndex.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = nameIndex[i] < 0 ? 0 : rankByName[nameIndex[i]];
+        }
+        return RadixSortUtil.sortedOrder(keys);
+    }
+}
@@ -0,0 +1,270 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Потоковый скетч квантилей баллов с ограниченной памятью и гарантированной относительной погрешностью.
+ * <p>
+ * Значения раскладываются по логарифмически-линейным корзинам, как в HdrHistogram и DDSketch: номер корзины
+ * берётся из битов представления {@code float} — знака, порядка и {@code precisionBits} старших битов мантиссы.
+ * Каждый двоичный порядок делится на {@code 2^precisionBits} корзин одинаковой относительной ширины, оценкой
+ * квантиля служит середина корзины. Поэтому для любого квантиля оценка отличается
+ * от точного значения (по определению ближайшего ранга) не более чем на {@link #getRelativeError()} от его
+ * модуля: при точности по умолчанию в 10 бит это 2<sup>-11</sup> ≈ 0,05%, то есть не более 0,0025 для балла 5,0.
+ * Значения по модулю меньше 2<sup>-10</sup> ≈ 0,001 учитываются как ноль, их абсолютная погрешность меньше 0,001.
+ * </p>
+ * <p>
+ * Память не зависит от количества значений и пропорциональна количеству двоичных порядков между минимальным
+ * и максимальным значением: {@code 2^precisionBits} счётчиков {@code long} на порядок (около 8 КБ при точности
+ * по умолчанию; баллы от 1 до 5 занимают три порядка, вся шкала от 0 до 5 — не более 13). Скетч хранит только
+ * счётчики корзин, поэтому слияние, вычитание и удаление значений точны, а результат не зависит от порядка
+ * добавления значений и объединения частичных скетчей. Значения {@code NaN} игнорируются. Класс не потокобезопасен.
+ * </p>
+ */
+public final class QuantileSketch {
+
+    /** Количество старших битов мантиссы, определяющих корзину, по умолчанию. */
+    public static final int DEFAULT_PRECISION_BITS = 10;
+
+    private static final int MANTISSA_BITS = 23;
+    private static final int MIN_MAGNITUDE_BITS = Float.floatToIntBits(0x1p-10f);
+    private static final long[] EMPTY = new long[0];
+
+    private final int precisionBits;
+    private final int shift;
+    private long[] counts = EMPTY;
+    private int offset;
+    private long count;
+
+    /**
+     * Создаёт пустой скетч с точностью по умолчанию.
+     */
+    public QuantileSketch() {
+        this(DEFAULT_PRECISION_BITS);
+    }
+
+    /**
+     * Создаёт пустой скетч с заданной точностью.
+     *
+     * @param precisionBits количество старших битов мантиссы в номере корзины, от 1 до 20
+     * @throws IllegalArgumentException если точность вне допустимого диапазона
+     */
+    public QuantileSketch(int precisionBits) {
+        if (precisionBits < 1 || precisionBits > 20) {
+            throw new IllegalArgumentException("Precision bits must be between 1 and 20: " + precisionBits);
+        }
+        this.precisionBits = precisionBits;
+        this.shift = MANTISSA_BITS - precisionBits;
+    }
+
+    /**
+     * Добавляет значение.
+     *
+     * @param value значение; {@code NaN} игнорируется
+     */
+    public void add(float value) {
+        if (Float.isNaN(value)) {
+            return;
+        }
+        int index = bucketOf(value);
+        ensureCapacity(index);
+        counts[index - offset]++;
+        count++;
+    }
+
+    /**
+     * Удаляет ранее добавленное значение.
+     *
+     * @param value значение; {@code NaN} игнорируется
+     * @throws IllegalArgumentException если в корзине значения нет добавленных значений
+     */
+    public void remove(float value) {
+        if (Float.isNaN(value)) {
+            return;
+        }
+        int position = bucketOf(value) - offset;
+        if (position < 0 || position >= counts.length || counts[position] == 0) {
+            throw new IllegalArgumentException("Value was not added to the sketch: " + value);
+        }
+        counts[position]--;
+        count--;
+    }
+
+    /**
+     * Добавляет к скетчу все значения другого скетча.
+     *
+     * @param other скетч с той же точностью
+     * @return текущий скетч
+     * @throws IllegalArgumentException если точность скетчей различается
+     */
+    public QuantileSketch merge(QuantileSketch other) {
+        requireCompatible(other);
+        if (other.count == 0) {
+            return this;
+        }
+        int first = other.firstNonEmpty();
+        int last = other.lastNonEmpty();
+        ensureCapacity(other.offset + first);
+        ensureCapacity(other.offset + last);
+        for (int i = first; i <= last; i++) {
+            counts[other.offset + i - offset] += other.counts[i];
+        }
+        count += other.count;
+        return this;
+    }
+
+    /**
+     * Удаляет из скетча все значения другого скетча, ранее добавленные в текущий.
+     *
+     * @param other скетч с той же точностью, значения которого входят в текущий скетч
+     * @return текущий скетч
+     * @throws IllegalArgumentException если точность различается или значения другого скетча не входят в текущий
+     */
+    public QuantileSketch subtract(QuantileSketch other) {
+        requireCompatible(other);
+        for (int i = 0; i < other.counts.length; i++) {
+            if (other.counts[i] == 0) {
+                continue;
+            }
+            int position = other.offset + i - offset;
+            if (position < 0 || position >= counts.length || counts[position] < other.counts[i]) {
+                throw new IllegalArgumentException("Subtracted sketch is not contained in this sketch");
+            }
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            if (other.counts[i] != 0) {
+                counts[other.offset + i - offset] -= other.counts[i];
+            }
+        }
+        count -= other.count;
+        return this;
+    }
+
+    /**
+     * Возвращает количество учтённых значений.
+     *
+     * @return количество значений
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Оценивает квантиль по определению ближайшего ранга: значение с рангом {@code ceil(quantile * n)}
+     * в отсортированной по возрастанию последовательности (но не меньше первого).
+     *
+     * @param quantile уровень квантиля от 0 до 1, например 0,5 для медианы
+     * @return оценка квантиля или {@code NaN}, если скетч пуст
+     * @throws IllegalArgumentException если уровень вне диапазона от 0 до 1
+     */
+    public double getQuantile(double quantile) {
+        if (!(quantile >= 0 && quantile <= 1)) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + quantile);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return bucketMidpoint(offset + i);
+            }
+        }
+        return bucketMidpoint(offset + lastNonEmpty());
+    }
+
+    /**
+     * Возвращает гарантированную верхнюю границу относительной погрешности оценки квантиля.
+     *
+     * @return относительная погрешность, равная {@code 2^-(precisionBits + 1)}
+     */
+    public double getRelativeError() {
+        return Math.scalb(1.0, -(precisionBits + 1));
+    }
+
+    /**
+     * Возвращает количество выделенных счётчиков корзин.
+     *
+     * @return размер массива счётчиков
+     */
+    public int getBucketCount() {
+        return counts.length;
+    }
+
+    private int bucketOf(float value) {
+        int magnitudeBits = Float.floatToIntBits(value) & 0x7fffffff;
+        if (magnitudeBits < MIN_MAGNITUDE_BITS) {
+            return 0;
+        }
+        int index = ((magnitudeBits - MIN_MAGNITUDE_BITS) >> shift) + 1;
+        return value < 0 ? -index : index;
+    }
+
+    private double bucketMidpoint(int index) {
+        if (index == 0) {
+            return 0.0;
+        }
+        int lowBits = ((Math.abs(index) - 1) << shift) + MIN_MAGNITUDE_BITS;
+        float low = Float.intBitsToFloat(lowBits);
+        float high = Float.intBitsToFloat(lowBits + (1 << shift) - 1);
+        double midpoint = Float.isNaN(high) || Float.isInfinite(high) ? low : low + ((double) high - low) / 2;
+        return index < 0 ? -midpoint : midpoint;
+    }
+
+    private void ensureCapacity(int index) {
+        if (counts.length == 0) {
+            counts = new long[64];
+            offset = index - 32;
+            return;
+        }
+        if (index >= offset && index < offset + counts.length) {
+            return;
+        }
+        int newOffset = Math.min(offset, index);
+        int newEnd = Math.max(offset + counts.length, index + 1);
+        int newLength = Math.max(newEnd - newOffset, counts.length * 2);
+        if (index < offset) {
+            newOffset = newEnd - newLength;
+        }
+        long[] grown = new long[newLength];
+        System.arraycopy(counts, 0, grown, offset - newOffset, counts.length);
+        counts = grown;
+        offset = newOffset;
+    }
+
+    private int firstNonEmpty() {
+        int i = 0;
+        while (i < counts.length && counts[i] == 0) {
+            i++;
+        }
+        return i;
+    }
+
+    private int lastNonEmpty() {
+        int i = counts.length - 1;
+        while (i > 0 && counts[i] == 0) {
+            i--;
+        }
+        return i;
+    }
+
+    private void requireCompatible(QuantileSketch other) {
+        if (other.precisionBits != precisionBits) {
+            throw new IllegalArgumentException("Sketch precision differs: " + other.precisionBits
+                    + " vs " + precisionBits);
+        }
+    }
+
+    /**
+     * Возвращает строковое представление скетча.
+     *
+     * @return количество значений и размер массива счётчиков
+     */
+    @Override
+    public String toString() {
+        return "QuantileSketch{count=" + count + ", buckets=" + counts.length
+                + ", nonEmpty=" + Arrays.stream(counts).filter(c -> c != 0).count() + "}";
+    }
+}
@@ -0,0 +1,140 @@
+package util;
+
+/**
+ * Стабильная поразрядная сортировка (LSD radix sort) пар «целочисленный ключ — индекс записи».
+ * <p>
+ * Ключи обрабатываются проходами по 8 бит (четыре для {@code int}, восемь для {@code long}), начиная с младшего
+ * байта. Гистограммы всех разрядов строятся
+ * за один предварительный проход; разряды, в которых у всех ключей одинаковое значение, пропускаются, поэтому
+ * узкие диапазоны ключей (например, номера курсов) сортируются за один проход. Сортировка стабильна: записи
+ * с равными ключами сохраняют исходный порядок индексов.
+ * </p>
+ */
+public final class RadixSortUtil {
+
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int PASSES = Integer.SIZE / RADIX_BITS;
+    private static final int LONG_PASSES = Long.SIZE / RADIX_BITS;
+
+    /**
+     * Прячет конструктор утилитного класса и предотвращает создание экземпляров.
+     */
+    private RadixSortUtil() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Возвращает перестановку индексов, упорядочивающую ключи по возрастанию (со знаком).
+     *
+     * @param keys ключи записей; массив не изменяется
+     * @return индексы записей в порядке возрастания ключей, равные ключи — в порядке индексов
+     */
+    public static int[] sortedOrder(int[] keys) {
+        int size = keys.length;
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        if (size < 2) {
+            return order;
+        }
+
+        int[] histograms = new int[PASSES * RADIX];
+        int[] unsignedKeys = new int[size];
+        for (int i = 0; i < size; i++) {
+            int key = keys[i] ^ Integer.MIN_VALUE;
+            unsignedKeys[i] = key;
+            for (int pass = 0; pass < PASSES; pass++) {
+                histograms[pass * RADIX + ((key >>> (pass * RADIX_BITS)) & (RADIX - 1))]++;
+            }
+        }
+
+        int[] sourceKeys = unsignedKeys;
+        int[] sourceOrder = order;
+        int[] targetKeys = new int[size];
+        int[] targetOrder = new int[size];
+        int[] offsets = new int[RADIX];
+        for (int pass = 0; pass < PASSES; pass++) {
+            int base = pass * RADIX;
+            int shift = pass * RADIX_BITS;
+            if (histograms[base + ((sourceKeys[0] >>> shift) & (RADIX - 1))] == size) {
+                continue;
+            }
+            int sum = 0;
+            for (int digit = 0; digit < RADIX; digit++) {
+                offsets[digit] = sum;
+                sum += histograms[base + digit];
+            }
+            for (int i = 0; i < size; i++) {
+                int key = sourceKeys[i];
+                int position = offsets[(key >>> shift) & (RADIX - 1)]++;
+                targetKeys[position] = key;
+                targetOrder[position] = sourceOrder[i];
+            }
+            int[] swapKeys = sourceKeys;
+            sourceKeys = targetKeys;
+            targetKeys = swapKeys;
+            int[] swapOrder = sourceOrder;
+            sourceOrder = targetOrder;
+            targetOrder = swapOrder;
+        }
+        return sourceOrder;
+    }
+
+    /**
+     * Возвращает перестановку индексов, упорядочивающую ключи {@code long} по возрастанию как беззнаковые числа
+     * (в порядке {@link Long#compareUnsigned}).
+     *
+     * @param keys ключи записей; массив не изменяется
+     * @return индексы записей в порядке возрастания ключей, равные ключи — в порядке индексов
+     */
+    public static int[] sortedOrderUnsigned(long[] keys) {
+        int size = keys.length;
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        if (size < 2) {
+            return order;
+        }
+
+        int[] histograms = new int[LONG_PASSES * RADIX];
+        for (long key : keys) {
+            for (int pass = 0; pass < LONG_PASSES; pass++) {
+                histograms[pass * RADIX + (int) ((key >>> (pass * RADIX_BITS)) & (RADIX - 1))]++;
+            }
+        }
+
+        long[] sourceKeys = keys.clone();
+        int[] sourceOrder = order;
+        long[] targetKeys = new long[size];
+        int[] targetOrder = new int[size];
+        int[] offsets = new int[RADIX];
+        for (int pass = 0; pass < LONG_PASSES; pass++) {
+            int base = pass * RADIX;
+            int shift = pass * RADIX_BITS;
+            if (histograms[base + (int) ((sourceKeys[0] >>> shift) & (RADIX - 1))] == size) {
+                continue;
+            }
+            int sum = 0;
+            for (int digit = 0; digit < RADIX; digit++) {
+                offsets[digit] = sum;
+                sum += histograms[base + digit];
+            }
+            for (int i = 0; i < size; i++) {
+                long key = sourceKeys[i];
+                int position = offsets[(int) ((key >>> shift) & (RADIX - 1))]++;
+                targetKeys[position] = key;
+                targetOrder[position] = sourceOrder[i];
+            }
+            long[] swapKeys = sourceKeys;
+            sourceKeys = targetKeys;
+            targetKeys = swapKeys;
+            int[] swapOrder = sourceOrder;
+            sourceOrder = targetOrder;
+            targetOrder = swapOrder;
+        }
+        return sourceOrder;
+    }
+}
@@ -0,0 +1,186 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Гистограмма баллов с фиксированными корзинами одинаковой ширины.
+ * <p>
+ * Корзина {@code i} покрывает полуинтервал {@code [lower + i * width, lower + (i + 1) * width)}, последняя корзина
+ * включает и верхнюю границу. Значения ниже нижней границы учитываются в первой корзине, выше верхней —
+ * в последней. Гистограммы с одинаковыми границами можно точно объединять и вычитать. Значения {@code NaN}
+ * игнорируются. Класс не потокобезопасен.
+ * </p>
+ */
+public final class ScoreHistogram {
+
+    /** Нижняя граница шкалы баллов по умолчанию. */
+    public static final float DEFAULT_LOWER_BOUND = 0f;
+
+    /** Верхняя граница шкалы баллов по умолчанию. */
+    public static final float DEFAULT_UPPER_BOUND = 5f;
+
+    /** Количество корзин по умолчанию: шаг 0,5 балла на шкале от 0 до 5. */
+    public static final int DEFAULT_BUCKET_COUNT = 10;
+
+    private final float lowerBound;
+    private final float upperBound;
+    private final float bucketWidth;
+    private final long[] counts;
+
+    /**
+     * Создаёт пустую гистограмму с границами по умолчанию.
+     */
+    public ScoreHistogram() {
+        this(DEFAULT_LOWER_BOUND, DEFAULT_UPPER_BOUND, DEFAULT_BUCKET_COUNT);
+    }
+
+    /**
+     * Создаёт пустую гистограмму с заданными границами.
+     *
+     * @param lowerBound  нижняя граница первой корзины
+     * @param upperBound  верхняя граница последней корзины
+     * @param bucketCount количество корзин
+     * @throws IllegalArgumentException если границы не упорядочены или количество корзин не положительно
+     */
+    public ScoreHistogram(float lowerBound, float upperBound, int bucketCount) {
+        if (!(lowerBound < upperBound) || bucketCount < 1) {
+            throw new IllegalArgumentException("Invalid histogram layout: [" + lowerBound + ", " + upperBound
+                    + "] with " + bucketCount + " buckets");
+        }
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.bucketWidth = (upperBound - lowerBound) / bucketCount;
+        this.counts = new long[bucketCount];
+    }
+
+    /**
+     * Добавляет значение.
+     *
+     * @param value значение; {@code NaN} игнорируется
+     */
+    public void add(float value) {
+        if (!Float.isNaN(value)) {
+            counts[bucketOf(value)]++;
+        }
+    }
+
+    /**
+     * Удаляет ранее добавленное значение.
+     *
+     * @param value значение; {@code NaN} игнорируется
+     * @throws IllegalArgumentException если в корзине значения нет добавленных значений
+     */
+    public void remove(float value) {
+        if (Float.isNaN(value)) {
+            return;
+        }
+        int bucket = bucketOf(value);
+        if (counts[bucket] == 0) {
+            throw new IllegalArgumentException("Value was not added to the histogram: " + value);
+        }
+        counts[bucket]--;
+    }
+
+    /**
+     * Добавляет к гистограмме значения другой гистограммы с теми же границами.
+     *
+     * @param other другая гистограмма
+     * @return текущая гистограмма
+     * @throws IllegalArgumentException если границы гистограмм различаются
+     */
+    public ScoreHistogram merge(ScoreHistogram other) {
+        requireCompatible(other);
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        return this;
+    }
+
+    /**
+     * Удаляет из гистограммы значения другой гистограммы с теми же границами, ранее добавленные в текущую.
+     *
+     * @param other другая гистограмма
+     * @return текущая гистограмма
+     * @throws IllegalArgumentException если границы различаются или значения другой гистограммы не входят в текущую
+     */
+    public ScoreHistogram subtract(ScoreHistogram other) {
+        requireCompatible(other);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] < other.counts[i]) {
+                throw new IllegalArgumentException("Subtracted histogram is not contained in this histogram");
+            }
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] -= other.counts[i];
+        }
+        return this;
+    }
+
+    /**
+     * Возвращает количество корзин.
+     *
+     * @return количество корзин
+     */
+    public int getBucketCount() {
+        return counts.length;
+    }
+
+    /**
+     * Возвращает количество значений в корзине.
+     *
+     * @param bucket номер корзины
+     * @return количество значений
+     */
+    public long getCount(int bucket) {
+        return counts[bucket];
+    }
+
+    /**
+     * Возвращает ширину корзины.
+     *
+     * @return ширина корзины
+     */
+    public float getBucketWidth() {
+        return bucketWidth;
+    }
+
+    /**
+     * Возвращает нижнюю границу корзины.
+     *
+     * @param bucket номер корзины
+     * @return нижняя граница корзины
+     */
+    public float getBucketLowerBound(int bucket) {
+        return lowerBound + bucket * bucketWidth;
+    }
+
+    /**
+     * Возвращает количества значений по корзинам в порядке возрастания границ.
+     *
+     * @return новый список количеств
+     */
+    public List<Long> toList() {
+        List<Long> result = new ArrayList<>(counts.length);
+        for (long bucketCount : counts) {
+            result.add(bucketCount);
+        }
+        return result;
+    }
+
+    private int bucketOf(float value) {
+        if (value <= lowerBound) {
+            return 0;
+        }
+        if (value >= upperBound) {
+            return counts.length - 1;
+        }
+        return Math.min(counts.length - 1, (int) ((value - lowerBound) / bucketWidth));
+    }
+
+    private void requireCompatible(ScoreHistogram other) {
+        if (other.lowerBound != lowerBound || other.upperBound != upperBound || other.counts.length != counts.length) {
+            throw new IllegalArgumentException("Histogram layouts differ");
+        }
+    }
+}
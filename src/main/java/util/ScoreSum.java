@@ -0,0 +1,89 @@
+package util;
+
+/**
+ * Сумма баллов, не зависящая от порядка сложения.
+ * <p>
+ * Балл типа {@code float} с модулем меньше 2<sup>16</sup>, кратный 2<sup>-32</sup>, переводится в целое число
+ * с фиксированной точкой (32 двоичных знака дроби) и складывается в {@code long} без округления. Этому условию
+ * удовлетворяют нуль и любой {@code float} с модулем от 2<sup>-9</sup> (около 0,002) до 2<sup>16</sup>, то есть
+ * все баллы обычных шкал, поэтому их сумма точна, а сложение и вычитание в любом порядке и с любым разбиением
+ * на части дают один и тот же результат. Сумма в фиксированной точке не переполняется, пока её модуль меньше
+ * 2<sup>31</sup>.
+ * </p>
+ * <p>
+ * Остальные баллы (меньшие по модулю ненулевые, слишком большие, бесконечности и {@code NaN}), а также
+ * слагаемые, на которых сумма в фиксированной точке переполнилась бы, накапливаются отдельно в {@code double}:
+ * для них сумма может зависеть от порядка сложения в последних разрядах. Итоговое значение — сумма
+ * в фиксированной точке, округлённая до {@code double} один раз, плюс остаток. Класс не потокобезопасен.
+ * </p>
+ */
+final class ScoreSum {
+
+    private static final int FRACTION_BITS = 32;
+    private static final double SCALE = 0x1p32;
+    private static final float MAX_FIXED_SCORE = 0x1p16f;
+
+    private long fixed;
+    private double rest;
+
+    /**
+     * Добавляет балл.
+     *
+     * @param score балл
+     */
+    void add(float score) {
+        double scaled = score * SCALE;
+        if (Math.abs(score) < MAX_FIXED_SCORE && scaled == (long) scaled) {
+            addFixed((long) scaled, score);
+        } else {
+            rest += score;
+        }
+    }
+
+    /**
+     * Вычитает ранее добавленный балл.
+     *
+     * @param score балл
+     */
+    void subtract(float score) {
+        add(-score);
+    }
+
+    /**
+     * Добавляет другую сумму.
+     *
+     * @param other другая сумма; не изменяется
+     */
+    void add(ScoreSum other) {
+        addFixed(other.fixed, Math.scalb((double) other.fixed, -FRACTION_BITS));
+        rest += other.rest;
+    }
+
+    /**
+     * Вычитает другую сумму, ранее добавленную к этой.
+     *
+     * @param other другая сумма; не изменяется
+     */
+    void subtract(ScoreSum other) {
+        addFixed(-other.fixed, -Math.scalb((double) other.fixed, -FRACTION_BITS));
+        rest -= other.rest;
+    }
+
+    /**
+     * Возвращает значение суммы.
+     *
+     * @return сумма в фиксированной точке, округлённая до {@code double}, плюс остаток
+     */
+    double doubleValue() {
+        return Math.scalb((double) fixed, -FRACTION_BITS) + rest;
+    }
+
+    private void addFixed(long value, double fallback) {
+        long sum = fixed + value;
+        if (((fixed ^ sum) & (value ^ sum)) < 0) {
+            rest += fallback;
+        } else {
+            fixed = sum;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package util;
+
+import enums.StudentComparatorType;
+import enums.UniversityComparatorType;
+import model.Student;
+import model.University;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntUnaryOperator;
+import java.util.logging.Logger;
+
+/**
+ * Фасад сортировки коллекций студентов и университетов по типу сравнения с автоматическим выбором
+ * последовательного или параллельного алгоритма.
+ * <p>
+ * Коллекции меньше порога, а также любые коллекции при параллелизме общего пула fork-join, равном единице,
+ * сортируются последовательно через {@link ComparatorUtil#sortStudents} и {@link ComparatorUtil#sortUniversities}
+ * (поразрядная сортировка числовых ключей на одном ядре быстрее параллельной сортировки сравнением). Коллекции
+ * от порога и больше сортируются в общем пуле fork-join:
+ * для числовых типов ключи упаковываются в {@code long} вместе с индексом записи (старшие 32 бита — ключ, младшие —
+ * индекс) и сортируются {@link Arrays#parallelSort(long[])}, для остальных типов индексы записей сортируются
+ * {@link Arrays#parallelSort(Object[], Comparator)} компаратором, который при равенстве записей сравнивает их
+ * исходные позиции. Оба параллельных пути задают полный порядок и не зависят от устойчивости параллельного
+ * слияния, поэтому результат всегда совпадает с {@code stream().sorted(comparator)}.
+ * </p>
+ */
+public final class SortUtil {
+
+    private static final Logger logger = Logger.getLogger(SortUtil.class.getName());
+
+    /** Размер коллекции по умолчанию, начиная с которого используется параллельная сортировка. */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 200_000;
+
+    /**
+     * Прячет конструктор утилитного класса и предотвращает создание экземпляров.
+     */
+    private SortUtil() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Сортирует студентов с порогом параллельной сортировки по умолчанию.
+     *
+     * @param students список студентов без элементов {@code null}
+     * @param type     тип сравнения студентов
+     * @return новый отсортированный список
+     * @throws IllegalArgumentException если тип компаратора не поддерживается
+     */
+    public static List<Student> sortStudents(List<Student> students, StudentComparatorType type) {
+        return sortStudents(students, type, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Сортирует студентов, переключаясь на параллельную сортировку начиная с указанного размера.
+     *
+     * @param students          список студентов без элементов {@code null}
+     * @param type              тип сравнения студентов
+     * @param parallelThreshold размер списка, начиная с которого сортировка выполняется параллельно
+     * @return новый отсортированный список
+     * @throws IllegalArgumentException если тип компаратора не поддерживается
+     */
+    public static List<Student> sortStudents(List<Student> students, StudentComparatorType type,
+                                             int parallelThreshold) {
+        if (students.size() < parallelThreshold || !parallelismAvailable()) {
+            return ComparatorUtil.sortStudents(students, type);
+        }
+        logger.fine("Sorting " + students.size() + " students by " + type + " in parallel");
+        Student[] items = students.toArray(new Student[0]);
+        if (ComparatorUtil.hasNumericKey(type)) {
+            return permute(items, i -> ComparatorUtil.numericKey(items[i], type));
+        }
+        return permute(items, ComparatorUtil.getStudentComparator(type));
+    }
+
+    /**
+     * Сортирует университеты с порогом параллельной сортировки по умолчанию.
+     *
+     * @param universities список университетов без элементов {@code null}
+     * @param type         тип сравнения университетов
+     * @return новый отсортированный список
+     * @throws IllegalArgumentException если тип компаратора не поддерживается
+     */
+    public static List<University> sortUniversities(List<University> universities, UniversityComparatorType type) {
+        return sortUniversities(universities, type, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Сортирует университеты, переключаясь на параллельную сортировку начиная с указанного размера.
+     *
+     * @param universities      список университетов без элементов {@code null}
+     * @param type              тип сравнения университетов
+     * @param parallelThreshold размер списка, начиная с которого сортировка выполняется параллельно
+     * @return новый отсортированный список
+     * @throws IllegalArgumentException если тип компаратора не поддерживается
+     */
+    public static List<University> sortUniversities(List<University> universities, UniversityComparatorType type,
+                                                    int parallelThreshold) {
+        if (universities.size() < parallelThreshold || !parallelismAvailable()) {
+            return ComparatorUtil.sortUniversities(universities, type);
+        }
+        logger.fine("Sorting " + universities.size() + " universities by " + type + " in parallel");
+        University[] items = universities.toArray(new University[0]);
+        if (ComparatorUtil.hasNumericKey(type)) {
+            return permute(items, i -> ComparatorUtil.numericKey(items[i], type));
+        }
+        return permute(items, ComparatorUtil.getUniversityComparator(type));
+    }
+
+    /**
+     * Проверяет, что общий пул fork-join может выполнять задачи параллельно.
+     *
+     * @return {@code true}, если параллелизм общего пула больше единицы
+     */
+    private static boolean parallelismAvailable() {
+        return ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+
+    /**
+     * Параллельно сортирует записи по упакованным ключам «ключ — индекс» и собирает их в новом порядке.
+     *
+     * @param items записи
+     * @param key   функция ключа записи по её индексу
+     * @param <T>   тип записей
+     * @return новый список записей в порядке возрастания ключей
+     */
+    private static <T> List<T> permute(T[] items, IntUnaryOperator key) {
+        long[] packed = new long[items.length];
+        Arrays.parallelSetAll(packed, i -> ((long) key.applyAsInt(i) << 32) | i);
+        Arrays.parallelSort(packed);
+        List<T> result = new ArrayList<>(items.length);
+        for (long entry : packed) {
+            result.add(items[(int) entry]);
+        }
+        return result;
+    }
+
+    /**
+     * Параллельно сортирует индексы записей компаратором с доупорядочиванием по исходной позиции и собирает записи
+     * в новом порядке.
+     *
+     * @param items      записи
+     * @param comparator компаратор записей
+     * @param <T>        тип записей
+     * @return новый список записей в порядке компаратора, равные записи — в исходном порядке
+     */
+    private static <T> List<T> permute(T[] items, Comparator<? super T> comparator) {
+        Integer[] order = new Integer[items.length];
+        Arrays.parallelSetAll(order, Integer::valueOf);
+        Arrays.parallelSort(order, (a, b) -> {
+            int result = comparator.compare(items[a], items[b]);
+            return result != 0 ? result : Integer.compare(a, b);
+        });
+        List<T> result = new ArrayList<>(items.length);
+        for (Integer index : order) {
+            result.add(items[index]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,107 @@
+package util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Отсортированный индекс записей по целочисленному ключу.
+ * <p>
+ * Ключи и записи хранятся в параллельных массивах, упорядоченных по возрастанию ключа (со знаком); записи с равными
+ * ключами сохраняют исходный порядок. Границы диапазона находятся двоичным поиском, поэтому запрос диапазона
+ * выполняется за O(log n + k) и возвращает неизменяемое представление части массива без копирования.
+ * </p>
+ *
+ * @param <T> тип записей
+ */
+final class SortedIntIndex<T> {
+
+    private final int[] keys;
+    private final List<T> items;
+
+    /**
+     * Строит индекс поразрядной сортировкой ключей.
+     *
+     * @param source записи
+     * @param keys   ключи записей в порядке списка; массив не изменяется
+     */
+    @SuppressWarnings("unchecked")
+    SortedIntIndex(List<T> source, int[] keys) {
+        int[] order = RadixSortUtil.sortedOrder(keys);
+        Object[] sortedItems = new Object[order.length];
+        this.keys = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            this.keys[i] = keys[order[i]];
+            sortedItems[i] = source.get(order[i]);
+        }
+        this.items = Collections.unmodifiableList(Arrays.asList((T[]) sortedItems));
+    }
+
+    /**
+     * Возвращает записи с ключами из диапазона {@code [from, to]}.
+     *
+     * @param from нижняя граница включительно
+     * @param to   верхняя граница включительно
+     * @return неизменяемый список записей по возрастанию ключа; пустой, если {@code from > to}
+     */
+    List<T> range(int from, int to) {
+        if (from > to) {
+            return Collections.emptyList();
+        }
+        return items.subList(lowerBound(from), upperBound(to));
+    }
+
+    /**
+     * Возвращает количество записей с ключами из диапазона {@code [from, to]} за O(log n).
+     *
+     * @param from нижняя граница включительно
+     * @param to   верхняя граница включительно
+     * @return количество записей
+     */
+    int count(int from, int to) {
+        return from > to ? 0 : upperBound(to) - lowerBound(from);
+    }
+
+    /**
+     * Возвращает все записи по возрастанию ключа.
+     *
+     * @return неизменяемый список записей
+     */
+    List<T> all() {
+        return items;
+    }
+
+    /**
+     * Находит первую позицию с ключом не меньше указанного.
+     */
+    private int lowerBound(int key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Находит первую позицию с ключом больше указанного.
+     */
+    private int upperBound(int key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle] <= key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
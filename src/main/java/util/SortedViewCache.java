@@ -0,0 +1,439 @@
+package util;
+
+import enums.StudentComparatorType;
+import enums.UniversityComparatorType;
+import model.Student;
+import model.University;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Кэш отсортированных представлений набора студентов и университетов по типам сравнения.
+ * <p>
+ * Кэш владеет копией исходных списков и при первом запросе порядка сортирует их через {@link SortUtil}. Повторные
+ * запросы того же типа сравнения для той же версии данных возвращают готовое представление. Версии студентов
+ * и университетов ведутся раздельно, поэтому изменение одного набора не делает недействительными представления
+ * другого. Добавление и удаление отдельных записей увеличивает версию своего набора и поддерживает уже
+ * построенные представления инкрементально:
+ * позиция записи находится двоичным поиском, поэтому представления всегда совпадают со стабильной сортировкой
+ * текущих списков ({@link ComparatorUtil#sortStudents}, {@link ComparatorUtil#sortUniversities}). Замена данных
+ * целиком ({@link #reset}) сбрасывает все представления.
+ * </p>
+ * <p>
+ * Представления вытесняются в порядке давности использования (LRU), когда общее количество хранимых в них ссылок
+ * превышает заданный предел. Представление, которое само больше предела, возвращается без сохранения в кэше.
+ * Счётчики попаданий, промахов и вытеснений доступны для мониторинга.
+ * </p>
+ * <p>
+ * Возвращаемые списки неизменяемы и действительны до следующего изменения данных кэша. Записи нельзя изменять,
+ * пока они находятся в кэше: изменение балла или имени выполняется удалением записи, изменением и повторным
+ * добавлением. Класс не потокобезопасен.
+ * </p>
+ */
+public final class SortedViewCache {
+
+    private static final Logger logger = Logger.getLogger(SortedViewCache.class.getName());
+
+    /** Предел количества ссылок во всех представлениях по умолчанию. */
+    public static final long DEFAULT_MAX_CACHED_ELEMENTS = 10_000_000L;
+
+    private final long maxCachedElements;
+    private final Map<Enum<?>, View<?>> views = new LinkedHashMap<>(16, 0.75f, true);
+    private List<University> universities;
+    private List<Student> students;
+    private long version;
+    private long studentVersion;
+    private long universityVersion;
+    private long cachedElements;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Создаёт кэш с пределом по умолчанию.
+     *
+     * @param universities исходные университеты без элементов {@code null}
+     * @param students     исходные студенты без элементов {@code null}
+     */
+    public SortedViewCache(List<University> universities, List<Student> students) {
+        this(universities, students, DEFAULT_MAX_CACHED_ELEMENTS);
+    }
+
+    /**
+     * Создаёт кэш с указанным пределом количества хранимых ссылок.
+     *
+     * @param universities      исходные университеты без элементов {@code null}
+     * @param students          исходные студенты без элементов {@code null}
+     * @param maxCachedElements предел суммарного размера представлений
+     * @throws IllegalArgumentException если предел отрицательный
+     */
+    public SortedViewCache(List<University> universities, List<Student> students, long maxCachedElements) {
+        if (maxCachedElements < 0) {
+            throw new IllegalArgumentException("Cache limit must not be negative: " + maxCachedElements);
+        }
+        this.maxCachedElements = maxCachedElements;
+        this.universities = new ArrayList<>(universities);
+        this.students = new ArrayList<>(students);
+    }
+
+    /**
+     * Возвращает студентов, отсортированных по указанному типу сравнения.
+     *
+     * @param type тип сравнения студентов
+     * @return неизменяемый отсортированный список
+     * @throws IllegalArgumentException если тип компаратора не поддерживается
+     */
+    public List<Student> getStudents(StudentComparatorType type) {
+        return view(type, () -> SortUtil.sortStudents(students, type));
+    }
+
+    /**
+     * Возвращает университеты, отсортированные по указанному типу сравнения.
+     *
+     * @param type тип сравнения университетов
+     * @return неизменяемый отсортированный список
+     * @throws IllegalArgumentException если тип компаратора не поддерживается
+     */
+    public List<University> getUniversities(UniversityComparatorType type) {
+        return view(type, () -> SortUtil.sortUniversities(universities, type));
+    }
+
+    /**
+     * Добавляет студента в конец набора и вставляет его в построенные представления студентов.
+     *
+     * @param student студент
+     */
+    public void addStudent(Student student) {
+        students.add(student);
+        version++;
+        studentVersion++;
+        insert(StudentComparatorType.class, student, studentVersion);
+    }
+
+    /**
+     * Удаляет студента из набора и из построенных представлений студентов. Студент сравнивается по ссылке.
+     *
+     * @param student студент
+     * @return {@code true}, если студент был в наборе
+     */
+    public boolean removeStudent(Student student) {
+        if (!removeByIdentity(students, student)) {
+            return false;
+        }
+        version++;
+        studentVersion++;
+        delete(StudentComparatorType.class, student, studentVersion);
+        return true;
+    }
+
+    /**
+     * Добавляет университет в конец набора и вставляет его в построенные представления университетов.
+     *
+     * @param university университет
+     */
+    public void addUniversity(University university) {
+        universities.add(university);
+        version++;
+        universityVersion++;
+        insert(UniversityComparatorType.class, university, universityVersion);
+    }
+
+    /**
+     * Удаляет университет из набора и из построенных представлений университетов. Университет сравнивается
+     * по ссылке.
+     *
+     * @param university университет
+     * @return {@code true}, если университет был в наборе
+     */
+    public boolean removeUniversity(University university) {
+        if (!removeByIdentity(universities, university)) {
+            return false;
+        }
+        version++;
+        universityVersion++;
+        delete(UniversityComparatorType.class, university, universityVersion);
+        return true;
+    }
+
+    /**
+     * Заменяет данные кэша целиком и сбрасывает все представления.
+     *
+     * @param universities новые университеты без элементов {@code null}
+     * @param students     новые студенты без элементов {@code null}
+     */
+    public void reset(List<University> universities, List<Student> students) {
+        this.universities = new ArrayList<>(universities);
+        this.students = new ArrayList<>(students);
+        version++;
+        studentVersion++;
+        universityVersion++;
+        views.clear();
+        cachedElements = 0;
+    }
+
+    /**
+     * Возвращает версию данных, которая увеличивается при каждом изменении студентов или университетов.
+     *
+     * @return версия данных
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Возвращает количество запросов, обслуженных готовым представлением.
+     *
+     * @return количество попаданий
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Возвращает количество запросов, потребовавших сортировки.
+     *
+     * @return количество промахов
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Возвращает количество представлений, вытесненных из-за предела.
+     *
+     * @return количество вытеснений
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Возвращает количество хранимых представлений.
+     *
+     * @return количество представлений
+     */
+    public int getViewCount() {
+        return views.size();
+    }
+
+    /**
+     * Возвращает суммарное количество ссылок во всех хранимых представлениях.
+     *
+     * @return размер кэша в элементах
+     */
+    public long getCachedElementCount() {
+        return cachedElements;
+    }
+
+    @Override
+    public String toString() {
+        return "SortedViewCache{" +
+                "version=" + version +
+                ", views=" + views.size() +
+                ", cachedElements=" + cachedElements +
+                ", hits=" + hitCount +
+                ", misses=" + missCount +
+                ", evictions=" + evictionCount +
+                '}';
+    }
+
+    /**
+     * Возвращает готовое представление актуальной версии своего набора или сортирует данные и сохраняет результат.
+     *
+     * @param type   тип сравнения
+     * @param sorter сортировка данных
+     * @param <T>    тип записей
+     * @return неизменяемый отсортированный список
+     */
+    @SuppressWarnings("unchecked")
+    private <T> List<T> view(Enum<?> type, Supplier<List<T>> sorter) {
+        long current = type instanceof StudentComparatorType ? studentVersion : universityVersion;
+        View<T> view = (View<T>) views.get(type);
+        if (view != null && view.version == current) {
+            hitCount++;
+            return view.readOnly;
+        }
+        missCount++;
+        if (view != null) {
+            views.remove(type);
+            cachedElements -= view.items.size();
+        }
+        logger.fine("Sorted view cache miss for " + type + " at version " + current);
+        List<T> sorted = sorter.get();
+        View<T> created = new View<>(insertionOrder(type), sorted, current);
+        if (sorted.size() <= maxCachedElements) {
+            views.put(type, created);
+            cachedElements += sorted.size();
+            evict();
+        }
+        return created.readOnly;
+    }
+
+    /**
+     * Вставляет запись в построенные представления указанного вида после всех равных ей записей, что соответствует
+     * её положению в конце исходного списка при стабильной сортировке.
+     *
+     * @param kind    класс типов сравнения представлений
+     * @param item    запись
+     * @param version новая версия набора записей
+     * @param <T>     тип записей
+     */
+    @SuppressWarnings("unchecked")
+    private <T> void insert(Class<?> kind, T item, long version) {
+        for (Map.Entry<Enum<?>, View<?>> entry : views.entrySet()) {
+            if (kind.isInstance(entry.getKey())) {
+                View<T> view = (View<T>) entry.getValue();
+                view.items.add(upperBound(view, item), item);
+                view.version = version;
+                cachedElements++;
+            }
+        }
+        evict();
+    }
+
+    /**
+     * Удаляет запись из построенных представлений указанного вида. Запись ищется по ссылке среди равных ей записей,
+     * а если её ключ был изменён после добавления — полным просмотром.
+     *
+     * @param kind    класс типов сравнения представлений
+     * @param item    запись
+     * @param version новая версия набора записей
+     * @param <T>     тип записей
+     */
+    @SuppressWarnings("unchecked")
+    private <T> void delete(Class<?> kind, T item, long version) {
+        for (Map.Entry<Enum<?>, View<?>> entry : views.entrySet()) {
+            if (kind.isInstance(entry.getKey())) {
+                View<T> view = (View<T>) entry.getValue();
+                int position = lowerBound(view, item);
+                while (position < view.items.size() && view.items.get(position) != item
+                        && view.order.compare(view.items.get(position), item) == 0) {
+                    position++;
+                }
+                if (position == view.items.size() || view.items.get(position) != item) {
+                    removeByIdentity(view.items, item);
+                } else {
+                    view.items.remove(position);
+                }
+                view.version = version;
+                cachedElements--;
+            }
+        }
+    }
+
+    /**
+     * Вытесняет давно не использованные представления, пока размер кэша превышает предел.
+     */
+    private void evict() {
+        Iterator<Map.Entry<Enum<?>, View<?>>> iterator = views.entrySet().iterator();
+        while (cachedElements > maxCachedElements && iterator.hasNext()) {
+            Map.Entry<Enum<?>, View<?>> eldest = iterator.next();
+            cachedElements -= eldest.getValue().items.size();
+            iterator.remove();
+            evictionCount++;
+            logger.fine("Evicted sorted view " + eldest.getKey());
+        }
+    }
+
+    /**
+     * Возвращает компаратор, порядок которого совпадает с сортировкой {@link ComparatorUtil} для типа сравнения.
+     * Для числовых типов сравниваются ключи {@code numericKey}, поэтому университеты без профиля не приводят
+     * к ошибке.
+     *
+     * @param type тип сравнения студентов или университетов
+     * @return компаратор вставки
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Comparator<? super T> insertionOrder(Enum<?> type) {
+        if (type instanceof StudentComparatorType) {
+            StudentComparatorType studentType = (StudentComparatorType) type;
+            Comparator<Student> order = ComparatorUtil.hasNumericKey(studentType)
+                    ? Comparator.comparingInt(student -> ComparatorUtil.numericKey(student, studentType))
+                    : ComparatorUtil.getStudentComparator(studentType);
+            return (Comparator<? super T>) order;
+        }
+        UniversityComparatorType universityType = (UniversityComparatorType) type;
+        Comparator<University> order = ComparatorUtil.hasNumericKey(universityType)
+                ? Comparator.comparingInt(university -> ComparatorUtil.numericKey(university, universityType))
+                : ComparatorUtil.getUniversityComparator(universityType);
+        return (Comparator<? super T>) order;
+    }
+
+    /**
+     * Находит первую позицию представления, запись в которой не меньше указанной.
+     */
+    private static <T> int lowerBound(View<T> view, T item) {
+        int low = 0;
+        int high = view.items.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (view.order.compare(view.items.get(middle), item) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Находит первую позицию представления, запись в которой больше указанной.
+     */
+    private static <T> int upperBound(View<T> view, T item) {
+        int low = 0;
+        int high = view.items.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (view.order.compare(view.items.get(middle), item) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Удаляет первое вхождение элемента, сравнивая по ссылке.
+     *
+     * @param items список
+     * @param item  элемент
+     * @param <T>   тип элементов
+     * @return {@code true}, если элемент найден
+     */
+    private static <T> boolean removeByIdentity(List<T> items, T item) {
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i) == item) {
+                items.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Отсортированное представление с компаратором вставки и версией своего набора, которой оно соответствует.
+     */
+    private static final class View<T> {
+
+        private final Comparator<? super T> order;
+        private final List<T> items;
+        private final List<T> readOnly;
+        private long version;
+
+        private View(Comparator<? super T> order, List<T> items, long version) {
+            this.order = order;
+            this.items = items;
+            this.readOnly = Collections.unmodifiableList(items);
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package util;
+
+import enums.StudyProfile;
+import model.Statistics;
+import model.Student;
+import model.StudentTable;
+import model.University;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Однопроходная агрегация студентов по профилям обучения без промежуточных коллекций.
+ * <p>
+ * При создании агрегатор строит план по списку университетов: каждому уникальному идентификатору университета
+ * назначается слот в компактной хеш-таблице {@link UniversityIdTable}, а для каждого профиля (по порядковому
+ * номеру {@link StudyProfile}) запоминаются слоты его университетов. Накопитель запоминает слоты по кодам словаря
+ * загрузки ({@link StringDictionary}), которые несут студенты, поэтому идентификатор каждого кода хешируется
+ * один раз на накопитель. Студенты накапливаются в примитивных массивах количества и суммы баллов по слотам
+ * за один проход, затем значения слотов суммируются по профилям. Результат совпадает с
+ * {@link StatisticsUtil#calculateStatisticsWithGrouping(List, List)}, включая округление HALF_UP до двух знаков.
+ * Баллы суммируются в {@link ScoreSum}: если каждый балл равен нулю либо по модулю не меньше 2<sup>-9</sup>
+ * и меньше 2<sup>16</sup>, сумма точна, поэтому порядок сложения и разбиение на части не влияют на результат;
+ * для прочих баллов сумма в последних разрядах может зависеть от порядка.
+ * </p>
+ * <p>
+ * Для распределения баллов каждый накопитель ведёт по профилю скетч квантилей {@link QuantileSketch}
+ * и гистограмму {@link ScoreHistogram}. Оба состоят только из счётчиков корзин, поэтому объединение накопителей
+ * точно и не зависит от порядка обработки частей.
+ * </p>
+ */
+public final class StatisticsAggregator {
+
+    private static final StudyProfile[] PROFILES = StudyProfile.values();
+
+    /** Наибольший код словаря, слот которого запоминает накопитель; студенты с большими кодами ищутся по строке. */
+    private static final int MAX_CACHED_CODES = 1 << 16;
+
+    private final UniversityIdTable slotById;
+    private final StudyProfile[] profileOrder;
+    private final int[][] profileSlots;
+    private final int[][] slotProfiles;
+    private final int[] profileUniversityCount;
+    private final List<List<String>> profileUniversityNames;
+
+    /**
+     * Строит план агрегации по списку университетов.
+     *
+     * @param universities университеты; элементы {@code null} и университеты без профиля не учитываются
+     */
+    public StatisticsAggregator(List<University> universities) {
+        this.slotById = new UniversityIdTable(universities.size());
+        this.profileUniversityCount = new int[PROFILES.length];
+
+        List<StudyProfile> order = new ArrayList<>(PROFILES.length);
+        List<List<Integer>> slotsByProfile = new ArrayList<>(PROFILES.length);
+        List<Set<String>> namesByProfile = new ArrayList<>(PROFILES.length);
+        for (int i = 0; i < PROFILES.length; i++) {
+            slotsByProfile.add(new ArrayList<>());
+            namesByProfile.add(new LinkedHashSet<>());
+        }
+
+        for (University university : universities) {
+            if (university == null || university.getMainProfile() == null) {
+                continue;
+            }
+            int ordinal = university.getMainProfile().ordinal();
+            if (profileUniversityCount[ordinal]++ == 0) {
+                order.add(university.getMainProfile());
+            }
+            if (university.getFullName() != null) {
+                namesByProfile.get(ordinal).add(university.getFullName());
+            }
+            if (university.getId() != null) {
+                slotsByProfile.get(ordinal).add(slotById.add(university.getId()));
+            }
+        }
+
+        this.profileOrder = order.toArray(new StudyProfile[0]);
+        this.profileSlots = new int[PROFILES.length][];
+        this.profileUniversityNames = new ArrayList<>(PROFILES.length);
+        List<List<Integer>> profilesBySlot = new ArrayList<>(slotById.size());
+        for (int slot = 0; slot < slotById.size(); slot++) {
+            profilesBySlot.add(new ArrayList<>(1));
+        }
+        for (int i = 0; i < PROFILES.length; i++) {
+            profileSlots[i] = slotsByProfile.get(i).stream().mapToInt(Integer::intValue).toArray();
+            profileUniversityNames.add(new ArrayList<>(namesByProfile.get(i)));
+            for (int slot : profileSlots[i]) {
+                profilesBySlot.get(slot).add(i);
+            }
+        }
+        this.slotProfiles = new int[slotById.size()][];
+        for (int slot = 0; slot < slotProfiles.length; slot++) {
+            slotProfiles[slot] = profilesBySlot.get(slot).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+    }
+
+    /**
+     * Возвращает количество профилей, для которых будет построена статистика.
+     *
+     * @return количество профилей с хотя бы одним университетом
+     */
+    public int getProfileCount() {
+        return profileOrder.length;
+    }
+
+    /**
+     * Создаёт пустой накопитель, совместимый с планом агрегатора.
+     *
+     * @return новый накопитель
+     */
+    public Accumulator newAccumulator() {
+        return new Accumulator(this);
+    }
+
+    /**
+     * Агрегирует список студентов одним проходом.
+     *
+     * @param students список студентов; {@code null} трактуется как пустая коллекция
+     * @return заполненный накопитель
+     */
+    public Accumulator accumulate(List<Student> students) {
+        Accumulator accumulator = newAccumulator();
+        if (students != null) {
+            for (Student student : students) {
+                accumulator.add(student);
+            }
+        }
+        return accumulator;
+    }
+
+    /**
+     * Агрегирует список студентов параллельно в указанном пуле fork-join.
+     * <p>
+     * Список делится на диапазоны, каждый диапазон агрегируется в собственный накопитель, а накопители
+     * объединяются по фиксированному дереву разбиения. Порядок объединения не зависит от планирования задач,
+     * поэтому результат совпадает с последовательным {@link #accumulate(List)}.
+     * </p>
+     *
+     * @param students     список студентов; {@code null} трактуется как пустая коллекция
+     * @param pool         пул потоков для выполнения задач
+     * @param leafSize     максимальный размер диапазона, агрегируемого одной задачей без дальнейшего деления
+     * @return заполненный накопитель
+     */
+    public Accumulator accumulateParallel(List<Student> students, ForkJoinPool pool, int leafSize) {
+        if (students == null || students.isEmpty()) {
+            return newAccumulator();
+        }
+        List<Student> source = students instanceof RandomAccess ? students : new ArrayList<>(students);
+        return pool.invoke(new AccumulateTask(this, source, 0, source.size(), Math.max(1, leafSize)));
+    }
+
+    /**
+     * Агрегирует колоночную таблицу студентов одним проходом по её столбцам.
+     *
+     * @param students таблица студентов; {@code null} трактуется как пустая таблица
+     * @return заполненный накопитель
+     */
+    public Accumulator accumulate(StudentTable students) {
+        Accumulator accumulator = newAccumulator();
+        if (students == null) {
+            return accumulator;
+        }
+
+        int[] slotByTableCode = new int[students.getUniversityDictionarySize()];
+        for (int code = 0; code < slotByTableCode.length; code++) {
+            slotByTableCode[code] = slotOf(students.getUniversityIdAt(code));
+        }
+        for (int row = 0; row < students.size(); row++) {
+            int code = students.getUniversityIdx(row);
+            if (code < 0) {
+                continue;
+            }
+            int slot = slotByTableCode[code];
+            if (slot < 0) {
+                accumulator.unmatched++;
+                continue;
+            }
+            accumulator.addToSlot(slot, students.getAvgExamScore(row));
+        }
+        return accumulator;
+    }
+
+    /**
+     * Сворачивает накопитель в статистику по профилям обучения.
+     *
+     * @param accumulator накопитель, созданный этим агрегатором
+     * @return список статистик в порядке первого появления профилей среди университетов
+     */
+    public List<Statistics> toStatistics(Accumulator accumulator) {
+        List<Statistics> result = new ArrayList<>(profileOrder.length);
+        for (StudyProfile profile : profileOrder) {
+            int ordinal = profile.ordinal();
+            long studentCount = 0;
+            ScoreSum scoreSum = new ScoreSum();
+            for (int slot : profileSlots[ordinal]) {
+                studentCount += accumulator.counts[slot];
+                scoreSum.add(accumulator.sums[slot]);
+            }
+
+            BigDecimal roundedAverage = studentCount > 0
+                    ? BigDecimal.valueOf(scoreSum.doubleValue() / studentCount).setScale(2, RoundingMode.HALF_UP)
+                    : null;
+
+            Statistics statistics = new Statistics()
+                    .setStudyProfile(profile)
+                    .setAvgExamScore(roundedAverage)
+                    .setStudentCount((int) studentCount)
+                    .setUniversityCount(profileUniversityCount[ordinal])
+                    .setUniversityNames(profileUniversityNames.get(ordinal));
+            result.add(StatisticsUtil.applyDistribution(statistics,
+                    accumulator.sketches[ordinal], accumulator.histograms[ordinal]));
+        }
+        return result;
+    }
+
+    /**
+     * Возвращает слот университета по его идентификатору.
+     *
+     * @param universityId идентификатор университета
+     * @return номер слота или {@code -1}, если университет отсутствует в плане
+     */
+    int slotOf(String universityId) {
+        return slotById.indexOf(universityId);
+    }
+
+    /**
+     * Задача агрегации диапазона списка студентов с делением пополам до размера листа.
+     */
+    private static final class AccumulateTask extends RecursiveTask<Accumulator> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final StatisticsAggregator aggregator;
+        private final List<Student> students;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        private AccumulateTask(StatisticsAggregator aggregator, List<Student> students, int from, int to,
+                               int leafSize) {
+            this.aggregator = aggregator;
+            this.students = students;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected Accumulator compute() {
+            if (to - from <= leafSize) {
+                Accumulator accumulator = aggregator.newAccumulator();
+                for (int i = from; i < to; i++) {
+                    accumulator.add(students.get(i));
+                }
+                return accumulator;
+            }
+            int middle = (from + to) >>> 1;
+            AccumulateTask left = new AccumulateTask(aggregator, students, from, middle, leafSize);
+            AccumulateTask right = new AccumulateTask(aggregator, students, middle, to, leafSize);
+            right.fork();
+            Accumulator result = left.compute();
+            return result.merge(right.join());
+        }
+    }
+
+    /**
+     * Частичный результат агрегации: количество студентов и сумма баллов по слотам университетов, скетчи квантилей
+     * и гистограммы баллов по профилям. Накопители одного агрегатора можно объединять, что позволяет агрегировать
+     * данные по частям.
+     */
+    public static final class Accumulator {
+
+        private final StatisticsAggregator aggregator;
+        private final long[] counts;
+        private final ScoreSum[] sums;
+        private final QuantileSketch[] sketches;
+        private final ScoreHistogram[] histograms;
+        private String[] idByCode = new String[0];
+        private int[] slotByCode = new int[0];
+        private long unmatched;
+
+        private Accumulator(StatisticsAggregator aggregator) {
+            this.aggregator = aggregator;
+            this.counts = new long[aggregator.slotById.size()];
+            this.sums = new ScoreSum[aggregator.slotById.size()];
+            for (int slot = 0; slot < sums.length; slot++) {
+                sums[slot] = new ScoreSum();
+            }
+            this.sketches = new QuantileSketch[PROFILES.length];
+            this.histograms = new ScoreHistogram[PROFILES.length];
+            for (StudyProfile profile : aggregator.profileOrder) {
+                sketches[profile.ordinal()] = new QuantileSketch();
+                histograms[profile.ordinal()] = new ScoreHistogram();
+            }
+        }
+
+        /**
+         * Учитывает студента. Студенты без идентификатора университета или с неизвестным идентификатором
+         * не попадают в статистику и подсчитываются отдельно.
+         *
+         * @param student студент; {@code null} игнорируется
+         */
+        public void add(Student student) {
+            if (student == null || student.getUniversityId() == null) {
+                return;
+            }
+            int slot = slotOf(student);
+            if (slot < 0) {
+                unmatched++;
+                return;
+            }
+            addToSlot(slot, student.getAvgExamScore());
+        }
+
+        /**
+         * Возвращает слот университета студента. Если студент несёт код словаря загрузки, слот запоминается
+         * по коду вместе с экземпляром идентификатора и при следующем студенте с тем же кодом и тем же экземпляром
+         * берётся из массива без хеширования строки. Сверка экземпляра делает запомненный слот верным, даже если
+         * студенты получены из разных загрузок со своими словарями.
+         */
+        private int slotOf(Student student) {
+            String universityId = student.getUniversityId();
+            int code = student.getUniversityIdCode();
+            if (code < 0 || code >= MAX_CACHED_CODES) {
+                return aggregator.slotOf(universityId);
+            }
+            if (code >= idByCode.length) {
+                int length = Math.min(MAX_CACHED_CODES, Math.max(code + 1, idByCode.length * 2));
+                idByCode = Arrays.copyOf(idByCode, length);
+                slotByCode = Arrays.copyOf(slotByCode, length);
+            }
+            if (idByCode[code] != universityId) {
+                slotByCode[code] = aggregator.slotOf(universityId);
+                idByCode[code] = universityId;
+            }
+            return slotByCode[code];
+        }
+
+        private void addToSlot(int slot, float avgExamScore) {
+            counts[slot]++;
+            sums[slot].add(avgExamScore);
+            for (int ordinal : aggregator.slotProfiles[slot]) {
+                sketches[ordinal].add(avgExamScore);
+                histograms[ordinal].add(avgExamScore);
+            }
+        }
+
+        /**
+         * Добавляет к накопителю значения другого накопителя того же агрегатора.
+         *
+         * @param other другой накопитель
+         * @return текущий накопитель
+         * @throws IllegalArgumentException если накопитель создан другим агрегатором
+         */
+        public Accumulator merge(Accumulator other) {
+            if (other.aggregator != aggregator) {
+                throw new IllegalArgumentException("Accumulators belong to different aggregators");
+            }
+            for (int slot = 0; slot < counts.length; slot++) {
+                counts[slot] += other.counts[slot];
+                sums[slot].add(other.sums[slot]);
+            }
+            for (StudyProfile profile : aggregator.profileOrder) {
+                sketches[profile.ordinal()].merge(other.sketches[profile.ordinal()]);
+                histograms[profile.ordinal()].merge(other.histograms[profile.ordinal()]);
+            }
+            unmatched += other.unmatched;
+            return this;
+        }
+
+        /**
+         * Возвращает количество студентов, чей университет отсутствует в списке университетов.
+         *
+         * @return количество неучтённых студентов
+         */
+        public long getUnmatchedCount() {
+            return unmatched;
+        }
+    }
+}
@@ -0,0 +1,520 @@
+package util;
+
+import enums.CubeDimension;
+import enums.StudyProfile;
+import model.Student;
+import model.StudentTable;
+import model.University;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Предварительно агрегированный куб статистики студентов по измерениям {@link CubeDimension}: профиль обучения,
+ * университет, курс и десятилетие основания университета.
+ * <p>
+ * Куб строится одним проходом по студентам: количество студентов и сумма баллов накапливаются в примитивных
+ * ячейках «идентификатор университета × курс». Профиль и десятилетие основания — атрибуты университета, поэтому
+ * остальные измерения выводятся из записей университетов при запросе. Запросы свёртки {@link #rollUp} и среза
+ * {@link #slice} работают только с ячейками (их количество — число университетов на число курсов) и не
+ * просматривают студентов повторно.
+ * </p>
+ * <p>
+ * Семантика учёта совпадает с {@link StatisticsUtil#calculateStatistics(List, List)}: в куб попадают записи
+ * университетов с идентификатором и профилем, студент учитывается для каждой записи университета с его
+ * идентификатором, студенты без идентификатора или с неизвестным идентификатором в ячейки не попадают. Свёртка
+ * по профилю даёт те же количества и средние баллы, что и статистика по профилям. Экземпляр неизменяем; срезы
+ * разделяют ячейки исходного куба.
+ * </p>
+ */
+public final class StatisticsCube {
+
+    private static final StudyProfile[] PROFILES = StudyProfile.values();
+    private static final int SMALL_COURSE_LIMIT = 64;
+
+    private final String[] universityIds;
+    private final int[] entrySlot;
+    private final int[] entryProfile;
+    private final int[] entryDecade;
+    private final int[] decades;
+    private final int[] courseNumbers;
+    private final long[][] counts;
+    private final double[][] sums;
+    private final long unmatched;
+    private final boolean[] entryMask;
+    private final boolean[] courseMask;
+
+    private StatisticsCube(String[] universityIds, int[] entrySlot, int[] entryProfile, int[] entryDecade,
+                           int[] decades, int[] courseNumbers, long[][] counts, double[][] sums, long unmatched,
+                           boolean[] entryMask, boolean[] courseMask) {
+        this.universityIds = universityIds;
+        this.entrySlot = entrySlot;
+        this.entryProfile = entryProfile;
+        this.entryDecade = entryDecade;
+        this.decades = decades;
+        this.courseNumbers = courseNumbers;
+        this.counts = counts;
+        this.sums = sums;
+        this.unmatched = unmatched;
+        this.entryMask = entryMask;
+        this.courseMask = courseMask;
+    }
+
+    /**
+     * Строит куб по спискам университетов и студентов одним проходом по студентам.
+     *
+     * @param universities университеты; {@code null} трактуется как пустая коллекция
+     * @param students     студенты; {@code null} трактуется как пустая коллекция
+     * @return построенный куб
+     */
+    public static StatisticsCube build(List<University> universities, List<Student> students) {
+        CubeBuilder builder = new CubeBuilder(universities);
+        if (students != null) {
+            for (Student student : students) {
+                if (student != null) {
+                    builder.add(student.getUniversityId(), student.getCurrentCourseNumber(),
+                            student.getAvgExamScore());
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Строит куб по списку университетов и колоночной таблице студентов одним проходом по её столбцам.
+     *
+     * @param universities университеты; {@code null} трактуется как пустая коллекция
+     * @param students     таблица студентов; {@code null} трактуется как пустая таблица
+     * @return построенный куб
+     */
+    public static StatisticsCube build(List<University> universities, StudentTable students) {
+        CubeBuilder builder = new CubeBuilder(universities);
+        if (students != null) {
+            int[] slotByCode = new int[students.getUniversityDictionarySize()];
+            for (int code = 0; code < slotByCode.length; code++) {
+                slotByCode[code] = builder.slotOf(students.getUniversityIdAt(code));
+            }
+            for (int row = 0; row < students.size(); row++) {
+                int code = students.getUniversityIdx(row);
+                if (code >= 0) {
+                    builder.addToSlot(slotByCode[code], students.getCurrentCourseNumber(row),
+                            students.getAvgExamScore(row));
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Возвращает срез куба, в котором измерение зафиксировано на одном значении. Срез можно сворачивать и
+     * срезать дальше; ячейки исходного куба не копируются.
+     *
+     * @param dimension измерение среза
+     * @param value     значение измерения: {@link StudyProfile} для профиля, {@link String} для университета,
+     *                  {@link Integer} для курса и года (приводится к десятилетию) для десятилетия основания
+     * @return новый куб-срез
+     * @throws IllegalArgumentException если тип значения не соответствует измерению
+     */
+    public StatisticsCube slice(CubeDimension dimension, Object value) {
+        boolean[] entries = entryMask.clone();
+        boolean[] courses = courseMask.clone();
+        switch (dimension) {
+            case STUDY_PROFILE:
+                int ordinal = requireType(dimension, value, StudyProfile.class).ordinal();
+                for (int e = 0; e < entries.length; e++) {
+                    entries[e] &= entryProfile[e] == ordinal;
+                }
+                break;
+            case UNIVERSITY:
+                String universityId = requireType(dimension, value, String.class);
+                for (int e = 0; e < entries.length; e++) {
+                    entries[e] &= universityIds[entrySlot[e]].equals(universityId);
+                }
+                break;
+            case COURSE:
+                int courseNumber = requireType(dimension, value, Integer.class);
+                for (int c = 0; c < courses.length; c++) {
+                    courses[c] &= courseNumbers[c] == courseNumber;
+                }
+                break;
+            case FOUNDATION_DECADE:
+                int decade = decadeOf(requireType(dimension, value, Integer.class));
+                for (int e = 0; e < entries.length; e++) {
+                    entries[e] &= decades[entryDecade[e]] == decade;
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported dimension: " + dimension);
+        }
+        return new StatisticsCube(universityIds, entrySlot, entryProfile, entryDecade, decades, courseNumbers,
+                counts, sums, unmatched, entries, courses);
+    }
+
+    /**
+     * Сворачивает куб до указанных измерений: ячейки с одинаковыми значениями этих измерений суммируются,
+     * остальные измерения агрегируются целиком. Без аргументов возвращает одну итоговую ячейку.
+     * <p>
+     * Группы без студентов в результат не попадают. Результат упорядочен лексикографически по измерениям
+     * в порядке аргументов: профили — по порядку объявления, университеты — по порядку первого появления,
+     * курсы и десятилетия — по возрастанию.
+     * </p>
+     *
+     * @param dimensions измерения группировки без повторов
+     * @return список ячеек свёртки
+     * @throws IllegalArgumentException если измерение указано дважды
+     */
+    public List<Cell> rollUp(CubeDimension... dimensions) {
+        boolean[] seen = new boolean[CubeDimension.values().length];
+        long[] radix = new long[dimensions.length];
+        for (int d = 0; d < dimensions.length; d++) {
+            if (seen[dimensions[d].ordinal()]) {
+                throw new IllegalArgumentException("Duplicate roll-up dimension: " + dimensions[d]);
+            }
+            seen[dimensions[d].ordinal()] = true;
+            radix[d] = cardinality(dimensions[d]);
+        }
+
+        Map<Long, Cell> cells = new HashMap<>();
+        for (int e = 0; e < entrySlot.length; e++) {
+            if (!entryMask[e]) {
+                continue;
+            }
+            int slot = entrySlot[e];
+            for (int c = 0; c < courseNumbers.length; c++) {
+                long count = counts[c][slot];
+                if (!courseMask[c] || count == 0) {
+                    continue;
+                }
+                long key = 0;
+                for (int d = 0; d < dimensions.length; d++) {
+                    key = key * radix[d] + memberCode(dimensions[d], e, c);
+                }
+                Cell cell = cells.get(key);
+                if (cell == null) {
+                    cell = newCell(dimensions, e, c);
+                    cells.put(key, cell);
+                }
+                cell.studentCount += count;
+                cell.scoreSum += sums[c][slot];
+            }
+        }
+
+        if (dimensions.length == 0 && cells.isEmpty()) {
+            return List.of(new Cell());
+        }
+        return new ArrayList<>(new TreeMap<>(cells).values());
+    }
+
+    /**
+     * Возвращает количество студентов в кубе (с учётом среза).
+     *
+     * @return количество студентов
+     */
+    public long getStudentCount() {
+        return rollUp().get(0).getStudentCount();
+    }
+
+    /**
+     * Возвращает средний балл студентов в кубе (с учётом среза).
+     *
+     * @return средний балл, округлённый до двух знаков, или {@code null}, если студентов нет
+     */
+    public BigDecimal getAvgExamScore() {
+        return rollUp().get(0).getAvgExamScore();
+    }
+
+    /**
+     * Возвращает количество студентов, чей университет отсутствует в кубе, без учёта срезов.
+     *
+     * @return количество неучтённых студентов
+     */
+    public long getUnmatchedCount() {
+        return unmatched;
+    }
+
+    private long cardinality(CubeDimension dimension) {
+        switch (dimension) {
+            case STUDY_PROFILE:
+                return PROFILES.length;
+            case UNIVERSITY:
+                return universityIds.length;
+            case COURSE:
+                return courseNumbers.length;
+            case FOUNDATION_DECADE:
+                return decades.length;
+            default:
+                throw new IllegalArgumentException("Unsupported dimension: " + dimension);
+        }
+    }
+
+    private int memberCode(CubeDimension dimension, int entry, int course) {
+        switch (dimension) {
+            case STUDY_PROFILE:
+                return entryProfile[entry];
+            case UNIVERSITY:
+                return entrySlot[entry];
+            case COURSE:
+                return course;
+            case FOUNDATION_DECADE:
+                return entryDecade[entry];
+            default:
+                throw new IllegalArgumentException("Unsupported dimension: " + dimension);
+        }
+    }
+
+    private Cell newCell(CubeDimension[] dimensions, int entry, int course) {
+        Cell cell = new Cell();
+        for (CubeDimension dimension : dimensions) {
+            switch (dimension) {
+                case STUDY_PROFILE:
+                    cell.studyProfile = PROFILES[entryProfile[entry]];
+                    break;
+                case UNIVERSITY:
+                    cell.universityId = universityIds[entrySlot[entry]];
+                    break;
+                case COURSE:
+                    cell.courseNumber = courseNumbers[course];
+                    break;
+                case FOUNDATION_DECADE:
+                    cell.foundationDecade = decades[entryDecade[entry]];
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported dimension: " + dimension);
+            }
+        }
+        return cell;
+    }
+
+    private static <T> T requireType(CubeDimension dimension, Object value, Class<T> type) {
+        if (!type.isInstance(value)) {
+            throw new IllegalArgumentException("Slice value for " + dimension + " must be "
+                    + type.getSimpleName() + ": " + value);
+        }
+        return type.cast(value);
+    }
+
+    private static int decadeOf(int year) {
+        return year - Math.floorMod(year, 10);
+    }
+
+    /**
+     * Ячейка результата свёртки: значения измерений группировки и агрегаты студентов.
+     * Значения измерений, не участвующих в группировке, равны {@code null}.
+     */
+    public static final class Cell {
+
+        private StudyProfile studyProfile;
+        private String universityId;
+        private Integer courseNumber;
+        private Integer foundationDecade;
+        private long studentCount;
+        private double scoreSum;
+
+        private Cell() {
+        }
+
+        /**
+         * Возвращает профиль обучения группы.
+         *
+         * @return профиль или {@code null}, если профиль не входит в группировку
+         */
+        public StudyProfile getStudyProfile() {
+            return studyProfile;
+        }
+
+        /**
+         * Возвращает идентификатор университета группы.
+         *
+         * @return идентификатор или {@code null}, если университет не входит в группировку
+         */
+        public String getUniversityId() {
+            return universityId;
+        }
+
+        /**
+         * Возвращает номер курса группы.
+         *
+         * @return номер курса или {@code null}, если курс не входит в группировку
+         */
+        public Integer getCourseNumber() {
+            return courseNumber;
+        }
+
+        /**
+         * Возвращает десятилетие основания университетов группы.
+         *
+         * @return первый год десятилетия или {@code null}, если десятилетие не входит в группировку
+         */
+        public Integer getFoundationDecade() {
+            return foundationDecade;
+        }
+
+        /**
+         * Возвращает количество студентов группы.
+         *
+         * @return количество студентов
+         */
+        public long getStudentCount() {
+            return studentCount;
+        }
+
+        /**
+         * Возвращает сумму баллов студентов группы.
+         *
+         * @return сумма баллов
+         */
+        public double getScoreSum() {
+            return scoreSum;
+        }
+
+        /**
+         * Возвращает средний балл группы, округлённый HALF_UP до двух знаков.
+         *
+         * @return средний балл или {@code null}, если студентов нет
+         */
+        public BigDecimal getAvgExamScore() {
+            return studentCount > 0
+                    ? BigDecimal.valueOf(scoreSum / studentCount).setScale(2, RoundingMode.HALF_UP)
+                    : null;
+        }
+
+        /**
+         * Возвращает строковое представление ячейки.
+         *
+         * @return значения измерений и агрегаты
+         */
+        @Override
+        public String toString() {
+            return String.format(
+                    "studyProfile = %s, universityId = %s, courseNumber = %s, foundationDecade = %s, "
+                            + "studentCount = %s, avgExamScore = %s",
+                    studyProfile != null ? studyProfile.getProfileName() : null,
+                    universityId,
+                    courseNumber,
+                    foundationDecade,
+                    studentCount,
+                    getAvgExamScore());
+        }
+    }
+
+    /**
+     * Накопитель ячеек куба «слот университета × код курса» на этапе построения.
+     */
+    private static final class CubeBuilder {
+
+        private final Map<String, Integer> slotById = new HashMap<>();
+        private final List<String> universityIds = new ArrayList<>();
+        private final int[] entrySlot;
+        private final int[] entryProfile;
+        private final int[] entryYear;
+        private final int[] codeBySmallCourse = new int[SMALL_COURSE_LIMIT];
+        private final Map<Integer, Integer> codeByCourse = new HashMap<>();
+        private final List<Integer> courseNumbers = new ArrayList<>();
+        private final List<long[]> counts = new ArrayList<>();
+        private final List<double[]> sums = new ArrayList<>();
+        private long unmatched;
+
+        private CubeBuilder(List<University> universities) {
+            List<University> entries = new ArrayList<>();
+            if (universities != null) {
+                for (University university : universities) {
+                    if (university != null && university.getId() != null && university.getMainProfile() != null) {
+                        entries.add(university);
+                    }
+                }
+            }
+            entrySlot = new int[entries.size()];
+            entryProfile = new int[entries.size()];
+            entryYear = new int[entries.size()];
+            for (int e = 0; e < entries.size(); e++) {
+                University university = entries.get(e);
+                Integer slot = slotById.get(university.getId());
+                if (slot == null) {
+                    slot = universityIds.size();
+                    slotById.put(university.getId(), slot);
+                    universityIds.add(university.getId());
+                }
+                entrySlot[e] = slot;
+                entryProfile[e] = university.getMainProfile().ordinal();
+                entryYear[e] = university.getYearOfFoundation();
+            }
+            Arrays.fill(codeBySmallCourse, -1);
+        }
+
+        private int slotOf(String universityId) {
+            Integer slot = universityId == null ? null : slotById.get(universityId);
+            return slot == null ? -1 : slot;
+        }
+
+        private void add(String universityId, int courseNumber, float avgExamScore) {
+            if (universityId != null) {
+                addToSlot(slotOf(universityId), courseNumber, avgExamScore);
+            }
+        }
+
+        private void addToSlot(int slot, int courseNumber, float avgExamScore) {
+            if (slot < 0) {
+                unmatched++;
+                return;
+            }
+            int code = courseCode(courseNumber);
+            counts.get(code)[slot]++;
+            sums.get(code)[slot] += avgExamScore;
+        }
+
+        private int courseCode(int courseNumber) {
+            boolean small = courseNumber >= 0 && courseNumber < SMALL_COURSE_LIMIT;
+            if (small && codeBySmallCourse[courseNumber] >= 0) {
+                return codeBySmallCourse[courseNumber];
+            }
+            Integer code = small ? null : codeByCourse.get(courseNumber);
+            if (code == null) {
+                code = courseNumbers.size();
+                courseNumbers.add(courseNumber);
+                counts.add(new long[universityIds.size()]);
+                sums.add(new double[universityIds.size()]);
+                if (small) {
+                    codeBySmallCourse[courseNumber] = code;
+                } else {
+                    codeByCourse.put(courseNumber, code);
+                }
+            }
+            return code;
+        }
+
+        private StatisticsCube build() {
+            Integer[] order = new Integer[courseNumbers.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Integer.compare(courseNumbers.get(a), courseNumbers.get(b)));
+            int[] sortedCourses = new int[order.length];
+            long[][] sortedCounts = new long[order.length][];
+            double[][] sortedSums = new double[order.length][];
+            for (int i = 0; i < order.length; i++) {
+                sortedCourses[i] = courseNumbers.get(order[i]);
+                sortedCounts[i] = counts.get(order[i]);
+                sortedSums[i] = sums.get(order[i]);
+            }
+
+            int[] decades = Arrays.stream(entryYear).map(StatisticsCube::decadeOf).distinct().sorted().toArray();
+            int[] entryDecade = new int[entryYear.length];
+            for (int e = 0; e < entryYear.length; e++) {
+                entryDecade[e] = Arrays.binarySearch(decades, decadeOf(entryYear[e]));
+            }
+
+            boolean[] entryMask = new boolean[entrySlot.length];
+            Arrays.fill(entryMask, true);
+            boolean[] courseMask = new boolean[sortedCourses.length];
+            Arrays.fill(courseMask, true);
+            return new StatisticsCube(universityIds.toArray(new String[0]), entrySlot, entryProfile, entryDecade,
+                    decades, sortedCourses, sortedCounts, sortedSums, unmatched, entryMask, courseMask);
+        }
+    }
+}
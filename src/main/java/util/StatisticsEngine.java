@@ -0,0 +1,428 @@
+package util;
+
+import enums.StudyProfile;
+import model.Statistics;
+import model.Student;
+import model.University;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Инкрементальный расчёт статистики по профилям обучения.
+ * <p>
+ * Движок хранит текущие агрегаты по каждому идентификатору университета и по каждому профилю и обновляет их
+ * при событиях изменения данных, не пересчитывая всю коллекцию. События студентов обрабатываются за O(1)
+ * (с точностью до количества университетов с одинаковым идентификатором), снимок статистики строится
+ * из готовых агрегатов. Снимок совпадает с результатом {@link StatisticsUtil#calculateStatistics(List, List)}
+ * для тех же университетов (в порядке добавления) и студентов, включая квантили и гистограммы баллов:
+ * скетчи {@link QuantileSketch} и гистограммы {@link ScoreHistogram} поддерживают точное удаление значений,
+ * а суммы баллов ведутся в {@link ScoreSum} и при его условиях на баллы вычитаются без ошибки округления.
+ * </p>
+ * <p>
+ * Движок не хранит самих студентов: события удаления и изменения балла должны относиться к ранее добавленным
+ * студентам с неизменёнными с момента добавления идентификатором университета и баллом. Класс не потокобезопасен.
+ * </p>
+ */
+public final class StatisticsEngine {
+
+    private static final StudyProfile[] PROFILES = StudyProfile.values();
+
+    private final List<University> universities = new ArrayList<>();
+    private final Map<String, IdAggregate> aggregatesById = new HashMap<>();
+    private final long[] profileStudentCount = new long[PROFILES.length];
+    private final ScoreSum[] profileScoreSum = new ScoreSum[PROFILES.length];
+    private final QuantileSketch[] profileSketches = new QuantileSketch[PROFILES.length];
+    private final ScoreHistogram[] profileHistograms = new ScoreHistogram[PROFILES.length];
+    private final int[] profileUniversityCount = new int[PROFILES.length];
+    private final List<List<String>> profileUniversityNames = new ArrayList<>(PROFILES.length);
+    private List<StudyProfile> profileOrder = new ArrayList<>();
+
+    /**
+     * Создаёт пустой движок.
+     */
+    public StatisticsEngine() {
+        for (int i = 0; i < PROFILES.length; i++) {
+            profileUniversityNames.add(new ArrayList<>());
+            profileScoreSum[i] = new ScoreSum();
+            profileSketches[i] = new QuantileSketch();
+            profileHistograms[i] = new ScoreHistogram();
+        }
+    }
+
+    /**
+     * Создаёт движок, заполненный исходными университетами и студентами.
+     *
+     * @param universities исходные университеты; {@code null} трактуется как пустая коллекция
+     * @param students     исходные студенты; {@code null} трактуется как пустая коллекция
+     */
+    public StatisticsEngine(List<University> universities, List<Student> students) {
+        this();
+        if (universities != null) {
+            universities.forEach(this::addUniversity);
+        }
+        if (students != null) {
+            students.forEach(this::addStudent);
+        }
+    }
+
+    /**
+     * Учитывает нового студента.
+     *
+     * @param student студент; {@code null} и студенты без идентификатора университета игнорируются
+     */
+    public void addStudent(Student student) {
+        if (student == null || student.getUniversityId() == null) {
+            return;
+        }
+        IdAggregate aggregate = aggregatesById.computeIfAbsent(student.getUniversityId(), id -> new IdAggregate());
+        aggregate.studentCount++;
+        aggregate.scoreSum.add(student.getAvgExamScore());
+        aggregate.sketch.add(student.getAvgExamScore());
+        aggregate.histogram.add(student.getAvgExamScore());
+        for (University university : aggregate.universities) {
+            if (university.getMainProfile() != null) {
+                int ordinal = university.getMainProfile().ordinal();
+                profileStudentCount[ordinal]++;
+                profileScoreSum[ordinal].add(student.getAvgExamScore());
+                profileSketches[ordinal].add(student.getAvgExamScore());
+                profileHistograms[ordinal].add(student.getAvgExamScore());
+            }
+        }
+    }
+
+    /**
+     * Исключает ранее добавленного студента.
+     *
+     * @param student студент; {@code null} и студенты без идентификатора университета игнорируются
+     * @throws IllegalArgumentException если по идентификатору университета студента нет учтённых студентов
+     */
+    public void removeStudent(Student student) {
+        if (student == null || student.getUniversityId() == null) {
+            return;
+        }
+        IdAggregate aggregate = requireStudents(student);
+        aggregate.studentCount--;
+        aggregate.scoreSum.subtract(student.getAvgExamScore());
+        aggregate.sketch.remove(student.getAvgExamScore());
+        aggregate.histogram.remove(student.getAvgExamScore());
+        for (University university : aggregate.universities) {
+            if (university.getMainProfile() != null) {
+                int ordinal = university.getMainProfile().ordinal();
+                profileStudentCount[ordinal]--;
+                profileScoreSum[ordinal].subtract(student.getAvgExamScore());
+                profileSketches[ordinal].remove(student.getAvgExamScore());
+                profileHistograms[ordinal].remove(student.getAvgExamScore());
+            }
+        }
+    }
+
+    /**
+     * Изменяет средний балл ранее добавленного студента и устанавливает новое значение в объект студента.
+     *
+     * @param student      студент
+     * @param avgExamScore новый средний балл
+     * @throws IllegalArgumentException если по идентификатору университета студента нет учтённых студентов
+     */
+    public void updateScore(Student student, float avgExamScore) {
+        if (student.getUniversityId() != null) {
+            IdAggregate aggregate = requireStudents(student);
+            float previous = student.getAvgExamScore();
+            aggregate.scoreSum.subtract(previous);
+            aggregate.scoreSum.add(avgExamScore);
+            aggregate.sketch.remove(previous);
+            aggregate.sketch.add(avgExamScore);
+            aggregate.histogram.remove(previous);
+            aggregate.histogram.add(avgExamScore);
+            for (University university : aggregate.universities) {
+                if (university.getMainProfile() != null) {
+                    int ordinal = university.getMainProfile().ordinal();
+                    profileScoreSum[ordinal].subtract(previous);
+                    profileScoreSum[ordinal].add(avgExamScore);
+                    profileSketches[ordinal].remove(previous);
+                    profileSketches[ordinal].add(avgExamScore);
+                    profileHistograms[ordinal].remove(previous);
+                    profileHistograms[ordinal].add(avgExamScore);
+                }
+            }
+        }
+        student.setAvgExamScore(avgExamScore);
+    }
+
+    /**
+     * Добавляет к движку студентов другого движка: агрегаты по идентификаторам университетов суммируются,
+     * университеты другого движка не переносятся. Позволяет заполнять отдельные движки по частям данных
+     * (например, по файлам) параллельно и затем объединять их; результат совпадает с добавлением тех же
+     * студентов в один движок.
+     *
+     * @param other другой движок; не изменяется
+     * @throws IllegalArgumentException если передан этот же движок
+     */
+    public void mergeStudents(StatisticsEngine other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot merge an engine into itself");
+        }
+        for (Map.Entry<String, IdAggregate> entry : other.aggregatesById.entrySet()) {
+            IdAggregate source = entry.getValue();
+            if (source.studentCount == 0) {
+                continue;
+            }
+            IdAggregate aggregate = aggregatesById.computeIfAbsent(entry.getKey(), id -> new IdAggregate());
+            aggregate.studentCount += source.studentCount;
+            aggregate.scoreSum.add(source.scoreSum);
+            aggregate.sketch.merge(source.sketch);
+            aggregate.histogram.merge(source.histogram);
+            for (University university : aggregate.universities) {
+                if (university.getMainProfile() != null) {
+                    int ordinal = university.getMainProfile().ordinal();
+                    profileStudentCount[ordinal] += source.studentCount;
+                    profileScoreSum[ordinal].add(source.scoreSum);
+                    profileSketches[ordinal].merge(source.sketch);
+                    profileHistograms[ordinal].merge(source.histogram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Добавляет университет в конец списка университетов.
+     *
+     * @param university университет; {@code null} игнорируется
+     */
+    public void addUniversity(University university) {
+        if (university == null) {
+            return;
+        }
+        universities.add(university);
+        attach(university);
+
+        StudyProfile profile = university.getMainProfile();
+        if (profile == null) {
+            return;
+        }
+        int ordinal = profile.ordinal();
+        if (profileUniversityCount[ordinal] == 1) {
+            profileOrder.add(profile);
+        }
+        List<String> names = profileUniversityNames.get(ordinal);
+        if (university.getFullName() != null && !names.contains(university.getFullName())) {
+            names.add(university.getFullName());
+        }
+    }
+
+    /**
+     * Исключает ранее добавленный университет. Студенты с его идентификатором остаются учтёнными и снова попадут
+     * в статистику, если университет с тем же идентификатором будет добавлен.
+     *
+     * @param university университет, ранее переданный в {@link #addUniversity} (сравнивается по ссылке)
+     * @throws IllegalArgumentException если университет не добавлен
+     */
+    public void removeUniversity(University university) {
+        int index = indexOf(university);
+        detach(university);
+        universities.remove(index);
+        rebuildProfileLayout();
+    }
+
+    /**
+     * Заменяет ранее добавленный университет новым на той же позиции списка университетов, поэтому порядок
+     * профилей и названий в статистике остаётся таким же, как при полном пересчёте по обновлённому списку.
+     *
+     * @param previous университет, ранее переданный в {@link #addUniversity} (сравнивается по ссылке)
+     * @param current  новый университет
+     * @throws IllegalArgumentException если прежний университет не добавлен или новый равен {@code null}
+     */
+    public void replaceUniversity(University previous, University current) {
+        if (current == null) {
+            throw new IllegalArgumentException("Replacement university must not be null");
+        }
+        int index = indexOf(previous);
+        detach(previous);
+        universities.set(index, current);
+        attach(current);
+        rebuildProfileLayout();
+    }
+
+    /**
+     * Меняет основной профиль всех университетов с указанным идентификатором. Новое значение устанавливается
+     * в объекты университетов.
+     *
+     * @param universityId идентификатор университета
+     * @param mainProfile  новый профиль; {@code null} исключает университет из статистики
+     * @throws IllegalArgumentException если университет с таким идентификатором не добавлен
+     */
+    public void changeMainProfile(String universityId, StudyProfile mainProfile) {
+        IdAggregate aggregate = universityId == null ? null : aggregatesById.get(universityId);
+        if (aggregate == null || aggregate.universities.isEmpty()) {
+            throw new IllegalArgumentException("Unknown university id: " + universityId);
+        }
+
+        for (University university : aggregate.universities) {
+            StudyProfile previous = university.getMainProfile();
+            if (previous != null) {
+                int ordinal = previous.ordinal();
+                profileUniversityCount[ordinal]--;
+                profileStudentCount[ordinal] -= aggregate.studentCount;
+                profileScoreSum[ordinal].subtract(aggregate.scoreSum);
+                profileSketches[ordinal].subtract(aggregate.sketch);
+                profileHistograms[ordinal].subtract(aggregate.histogram);
+            }
+            university.setMainProfile(mainProfile);
+            if (mainProfile != null) {
+                int ordinal = mainProfile.ordinal();
+                profileUniversityCount[ordinal]++;
+                profileStudentCount[ordinal] += aggregate.studentCount;
+                profileScoreSum[ordinal].add(aggregate.scoreSum);
+                profileSketches[ordinal].merge(aggregate.sketch);
+                profileHistograms[ordinal].merge(aggregate.histogram);
+            }
+        }
+        rebuildProfileLayout();
+    }
+
+    /**
+     * Возвращает текущий снимок статистики по профилям обучения.
+     *
+     * @return список статистик в порядке первого появления профилей среди университетов
+     */
+    public List<Statistics> getStatistics() {
+        if (profileOrder.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Statistics> result = new ArrayList<>(profileOrder.size());
+        for (StudyProfile profile : profileOrder) {
+            int ordinal = profile.ordinal();
+            long studentCount = profileStudentCount[ordinal];
+            BigDecimal roundedAverage = studentCount > 0
+                    ? BigDecimal.valueOf(profileScoreSum[ordinal].doubleValue() / studentCount)
+                            .setScale(2, RoundingMode.HALF_UP)
+                    : null;
+            Statistics statistics = new Statistics()
+                    .setStudyProfile(profile)
+                    .setAvgExamScore(roundedAverage)
+                    .setStudentCount((int) studentCount)
+                    .setUniversityCount(profileUniversityCount[ordinal])
+                    .setUniversityNames(profileUniversityNames.get(ordinal));
+            result.add(StatisticsUtil.applyDistribution(statistics,
+                    profileSketches[ordinal], profileHistograms[ordinal]));
+        }
+        return result;
+    }
+
+    /**
+     * Пересчитывает порядок профилей и списки названий университетов после смены профиля.
+     * Выполняется за время, пропорциональное количеству университетов.
+     */
+    private void rebuildProfileLayout() {
+        List<StudyProfile> order = new ArrayList<>(PROFILES.length);
+        List<Set<String>> names = new ArrayList<>(PROFILES.length);
+        for (int i = 0; i < PROFILES.length; i++) {
+            names.add(new LinkedHashSet<>());
+        }
+        for (University university : universities) {
+            StudyProfile profile = university.getMainProfile();
+            if (profile == null) {
+                continue;
+            }
+            Set<String> profileNames = names.get(profile.ordinal());
+            if (!order.contains(profile)) {
+                order.add(profile);
+            }
+            if (university.getFullName() != null) {
+                profileNames.add(university.getFullName());
+            }
+        }
+        profileOrder = order;
+        for (int i = 0; i < PROFILES.length; i++) {
+            profileUniversityNames.set(i, new ArrayList<>(names.get(i)));
+        }
+    }
+
+    /**
+     * Регистрирует университет в агрегате его идентификатора и добавляет студентов агрегата к профилю
+     * университета. Порядок профилей и списки названий не изменяет.
+     */
+    private void attach(University university) {
+        IdAggregate aggregate = null;
+        if (university.getId() != null) {
+            aggregate = aggregatesById.computeIfAbsent(university.getId(), id -> new IdAggregate());
+            aggregate.universities.add(university);
+        }
+        StudyProfile profile = university.getMainProfile();
+        if (profile == null) {
+            return;
+        }
+        int ordinal = profile.ordinal();
+        profileUniversityCount[ordinal]++;
+        if (aggregate != null) {
+            profileStudentCount[ordinal] += aggregate.studentCount;
+            profileScoreSum[ordinal].add(aggregate.scoreSum);
+            profileSketches[ordinal].merge(aggregate.sketch);
+            profileHistograms[ordinal].merge(aggregate.histogram);
+        }
+    }
+
+    /**
+     * Отменяет действие {@link #attach(University)}.
+     */
+    private void detach(University university) {
+        IdAggregate aggregate = university.getId() == null ? null : aggregatesById.get(university.getId());
+        if (aggregate != null) {
+            for (int i = 0; i < aggregate.universities.size(); i++) {
+                if (aggregate.universities.get(i) == university) {
+                    aggregate.universities.remove(i);
+                    break;
+                }
+            }
+        }
+        StudyProfile profile = university.getMainProfile();
+        if (profile == null) {
+            return;
+        }
+        int ordinal = profile.ordinal();
+        profileUniversityCount[ordinal]--;
+        if (aggregate != null) {
+            profileStudentCount[ordinal] -= aggregate.studentCount;
+            profileScoreSum[ordinal].subtract(aggregate.scoreSum);
+            profileSketches[ordinal].subtract(aggregate.sketch);
+            profileHistograms[ordinal].subtract(aggregate.histogram);
+        }
+    }
+
+    private int indexOf(University university) {
+        for (int i = 0; i < universities.size(); i++) {
+            if (universities.get(i) == university) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("University was not added to the engine: " + university);
+    }
+
+    private IdAggregate requireStudents(Student student) {
+        IdAggregate aggregate = aggregatesById.get(student.getUniversityId());
+        if (aggregate == null || aggregate.studentCount == 0) {
+            throw new IllegalArgumentException("No students registered for university id: "
+                    + student.getUniversityId());
+        }
+        return aggregate;
+    }
+
+    /**
+     * Агрегат студентов по одному идентификатору университета и университеты с этим идентификатором.
+     */
+    private static final class IdAggregate {
+
+        private final List<University> universities = new ArrayList<>(1);
+        private final QuantileSketch sketch = new QuantileSketch();
+        private final ScoreHistogram histogram = new ScoreHistogram();
+        private long studentCount;
+        private final ScoreSum scoreSum = new ScoreSum();
+    }
+}
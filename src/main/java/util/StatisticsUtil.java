@@ -3,6 +3,7 @@ package util;
 import enums.StudyProfile;
 import model.Statistics;
 import model.Student;
+import model.StudentTable;
 import model.University;
 
 import java.math.BigDecimal;
@@ -14,6 +15,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 import java.util.OptionalDouble;
 import java.util.stream.Collectors;
 import java.util.logging.Logger;
@@ -22,11 +24,19 @@ import java.util.logging.Level;
 /**
  * Набор утилит для построения агрегированной статистики по студентам и университетам.
  * Обрабатывает исходные коллекции и формирует объекты {@link Statistics} с использованием Stream API.
+ * Помимо среднего балла статистика содержит медиану, 90-й и 99-й процентили и гистограмму баллов, которые
+ * рассчитываются потоково с ограниченной памятью (см. {@link QuantileSketch} и {@link ScoreHistogram}).
  */
 public final class StatisticsUtil {
 
     private static final Logger logger = Logger.getLogger(StatisticsUtil.class.getName());
 
+    /** Размер списка студентов по умолчанию, начиная с которого имеет смысл параллельный расчёт. */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 100_000;
+
+    /** Количество задач на один поток при параллельном расчёте для выравнивания нагрузки. */
+    private static final int TASKS_PER_THREAD = 4;
+
     /**
      * Прячет конструктор утилитного класса и предотвращает создание экземпляров.
      */
@@ -39,7 +49,8 @@ public final class StatisticsUtil {
      * <p>
      * Коллекции студентов и университетов фильтруются от пустых значений, университеты группируются по профилю,
      * далее для каждого профиля подбираются связанные студенты. Средний балл считается только при наличии студентов
-     * и округляется математически до двух знаков после запятой.
+     * и округляется математически до двух знаков после запятой. Студенты агрегируются одним проходом
+     * с помощью {@link StatisticsAggregator}.
      * </p>
      *
      * @param students     исходный список студентов; {@code null} трактуется как пустая коллекция
@@ -57,20 +68,177 @@ public final class StatisticsUtil {
         logger.info("Processing " + universities.size() + " universities and " + 
                    (students == null ? 0 : students.size()) + " students");
 
-        Map<StudyProfile, List<University>> universitiesByProfile = universities.stream()
-                .filter(Objects::nonNull)
-                .filter(university -> university.getMainProfile() != null)
-                .collect(Collectors.groupingBy(
-                        University::getMainProfile,
-                        LinkedHashMap::new,
-                        Collectors.toCollection(ArrayList::new)));
+        StatisticsAggregator aggregator = new StatisticsAggregator(universities);
+        if (aggregator.getProfileCount() == 0) {
+            logger.warning("No universities with valid profiles found, returning empty statistics");
+            return Collections.emptyList();
+        }
+
+        StatisticsAggregator.Accumulator accumulator = aggregator.accumulate(students);
+        logUnmatched(accumulator);
+        List<Statistics> result = aggregator.toStatistics(accumulator);
+
+        logger.info("Successfully calculated statistics for " + result.size() + " study profiles");
+        return result;
+    }
 
-        if (universitiesByProfile.isEmpty()) {
+    /**
+     * Формирует список статистик, распределяя агрегацию студентов по потокам пула fork-join.
+     * <p>
+     * Каждая задача заполняет собственный частичный агрегат (количество и сумма баллов по университетам),
+     * затем агрегаты объединяются в детерминированном порядке. Результат совпадает с
+     * {@link #calculateStatistics(List, List)} побитово, если каждый балл равен нулю либо по модулю не меньше
+     * 2<sup>-9</sup> и меньше 2<sup>16</sup> (см. {@link StatisticsAggregator}): тогда суммы баллов точны и не зависят
+     * от разбиения на задачи. Если студентов меньше порога или задан один поток, используется последовательный
+     * расчёт.
+     * </p>
+     *
+     * @param students            исходный список студентов; {@code null} трактуется как пустая коллекция
+     * @param universities        исходный список университетов; {@code null} или пустой список возвращает пустой
+     *                            результат
+     * @param parallelism         количество потоков
+     * @param sequentialThreshold размер списка студентов, ниже которого расчёт выполняется последовательно
+     * @return список статистик, упорядоченный согласно порядку появления профилей в исходной коллекции университетов
+     * @throws IllegalArgumentException если parallelism меньше 1
+     */
+    public static List<Statistics> calculateStatistics(List<Student> students, List<University> universities,
+                                                       int parallelism, int sequentialThreshold) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        int studentCount = students == null ? 0 : students.size();
+        if (parallelism == 1 || studentCount < sequentialThreshold) {
+            return calculateStatistics(students, universities);
+        }
+
+        logger.info("Starting parallel statistics calculation with parallelism " + parallelism);
+
+        if (universities == null || universities.isEmpty()) {
+            logger.warning("Universities list is null or empty, returning empty statistics");
+            return Collections.emptyList();
+        }
+
+        logger.info("Processing " + universities.size() + " universities and " + studentCount + " students");
+
+        StatisticsAggregator aggregator = new StatisticsAggregator(universities);
+        if (aggregator.getProfileCount() == 0) {
             logger.warning("No universities with valid profiles found, returning empty statistics");
             return Collections.emptyList();
         }
 
-        logger.info("Found universities for " + universitiesByProfile.size() + " study profiles");
+        int leafSize = Math.max(1, studentCount / (parallelism * TASKS_PER_THREAD));
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        List<Statistics> result;
+        try {
+            StatisticsAggregator.Accumulator accumulator = aggregator.accumulateParallel(students, pool, leafSize);
+            logUnmatched(accumulator);
+            result = aggregator.toStatistics(accumulator);
+        } finally {
+            pool.shutdown();
+        }
+
+        logger.info("Successfully calculated statistics for " + result.size() + " study profiles");
+        return result;
+    }
+
+    /**
+     * Формирует список статистик по готовому агрегату студентов, например объединённому из частичных агрегатов,
+     * заполненных по отдельным файлам.
+     * <p>
+     * Агрегат не изменяется: его значения переносятся в новый движок {@link StatisticsEngine}, в который затем
+     * добавляются университеты. Результат совпадает с {@link #calculateStatistics(List, List)} для всех студентов,
+     * учтённых в агрегате.
+     * </p>
+     *
+     * @param studentAggregate движок, в который добавлены студенты; его университеты не учитываются
+     * @param universities     исходный список университетов; {@code null} или пустой список возвращает пустой
+     *                         результат
+     * @return список статистик, упорядоченный согласно порядку появления профилей в исходной коллекции университетов
+     */
+    public static List<Statistics> calculateStatistics(StatisticsEngine studentAggregate,
+                                                       List<University> universities) {
+        logger.info("Starting statistics calculation over merged student aggregate");
+
+        if (universities == null || universities.isEmpty()) {
+            logger.warning("Universities list is null or empty, returning empty statistics");
+            return Collections.emptyList();
+        }
+
+        StatisticsEngine engine = new StatisticsEngine();
+        engine.mergeStudents(studentAggregate);
+        universities.forEach(engine::addUniversity);
+        List<Statistics> result = engine.getStatistics();
+
+        logger.info("Successfully calculated statistics for " + result.size() + " study profiles");
+        return result;
+    }
+
+    /**
+     * Формирует список статистик по колоночной таблице студентов.
+     * <p>
+     * Результат совпадает с {@link #calculateStatistics(List, List)} для тех же данных. Студенты агрегируются одним
+     * проходом по примитивным столбцам таблицы: количество и сумма баллов накапливаются в массивах, индексированных
+     * кодом университета из словаря таблицы, после чего суммируются по университетам каждого профиля.
+     * </p>
+     *
+     * @param students     колоночная таблица студентов; {@code null} трактуется как пустая таблица
+     * @param universities исходный список университетов; {@code null} или пустой список возвращает пустой результат
+     * @return список статистик, упорядоченный согласно порядку появления профилей в исходной коллекции университетов
+     */
+    public static List<Statistics> calculateStatistics(StudentTable students, List<University> universities) {
+        logger.info("Starting statistics calculation over student table");
+
+        if (universities == null || universities.isEmpty()) {
+            logger.warning("Universities list is null or empty, returning empty statistics");
+            return Collections.emptyList();
+        }
+
+        StatisticsAggregator aggregator = new StatisticsAggregator(universities);
+        if (aggregator.getProfileCount() == 0) {
+            logger.warning("No universities with valid profiles found, returning empty statistics");
+            return Collections.emptyList();
+        }
+
+        StatisticsAggregator.Accumulator accumulator = aggregator.accumulate(students);
+        logUnmatched(accumulator);
+        List<Statistics> result = aggregator.toStatistics(accumulator);
+
+        logger.info("Successfully calculated statistics for " + result.size() + " study profiles");
+        return result;
+    }
+
+    /**
+     * Сообщает о студентах, не попавших в статистику из-за неизвестного идентификатора университета. Сами студенты
+     * перечисляются соединением {@link StudentUniversityJoin}.
+     *
+     * @param accumulator заполненный накопитель
+     */
+    private static void logUnmatched(StatisticsAggregator.Accumulator accumulator) {
+        if (accumulator.getUnmatchedCount() > 0) {
+            logger.warning("Skipped " + accumulator.getUnmatchedCount()
+                    + " students whose university id matches no university with a study profile");
+        }
+    }
+
+    /**
+     * Формирует список статистик через группировку Stream API: студенты группируются по университетам,
+     * затем собираются в списки по профилям и только после этого усредняются.
+     * <p>
+     * Эталонная реализация, результат которой совпадает с {@link #calculateStatistics(List, List)}.
+     * Используется для сверки и сравнения производительности.
+     * </p>
+     *
+     * @param students     исходный список студентов; {@code null} трактуется как пустая коллекция
+     * @param universities исходный список университетов; {@code null} или пустой список возвращает пустой результат
+     * @return список статистик, упорядоченный согласно порядку появления профилей в исходной коллекции университетов
+     */
+    public static List<Statistics> calculateStatisticsWithGrouping(List<Student> students,
+                                                                   List<University> universities) {
+        if (universities == null || universities.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<StudyProfile, List<University>> universitiesByProfile = groupByProfile(universities);
 
         Map<String, List<Student>> studentsByUniversity = students == null
                 ? Collections.emptyMap()
@@ -79,12 +247,40 @@ public final class StatisticsUtil {
                 .filter(student -> student.getUniversityId() != null)
                 .collect(Collectors.groupingBy(Student::getUniversityId));
 
-        List<Statistics> result = universitiesByProfile.entrySet().stream()
+        return universitiesByProfile.entrySet().stream()
                 .map(entry -> buildStatistics(entry.getKey(), entry.getValue(), studentsByUniversity))
                 .collect(Collectors.toList());
+    }
 
-        logger.info("Successfully calculated statistics for " + result.size() + " study profiles");
-        return result;
+    /**
+     * Группирует университеты с заданным профилем по профилю обучения в порядке первого появления профиля.
+     *
+     * @param universities исходный список университетов
+     * @return отображение профиля в список его университетов
+     */
+    private static Map<StudyProfile, List<University>> groupByProfile(List<University> universities) {
+        return universities.stream()
+                .filter(Objects::nonNull)
+                .filter(university -> university.getMainProfile() != null)
+                .collect(Collectors.groupingBy(
+                        University::getMainProfile,
+                        LinkedHashMap::new,
+                        Collectors.toCollection(ArrayList::new)));
+    }
+
+    /**
+     * Собирает уникальные названия университетов в порядке их появления.
+     *
+     * @param profileUniversities университеты профиля
+     * @return список уникальных непустых названий
+     */
+    private static List<String> collectUniversityNames(List<University> profileUniversities) {
+        return profileUniversities.stream()
+                .map(University::getFullName)
+                .filter(Objects::nonNull)
+                .collect(Collectors.collectingAndThen(
+                        Collectors.toCollection(LinkedHashSet::new),
+                        ArrayList::new));
     }
 
     /**
@@ -101,12 +297,7 @@ public final class StatisticsUtil {
             List<University> profileUniversities,
             Map<String, List<Student>> studentsByUniversity) {
 
-        List<String> universityNames = profileUniversities.stream()
-                .map(University::getFullName)
-                .filter(Objects::nonNull)
-                .collect(Collectors.collectingAndThen(
-                        Collectors.toCollection(LinkedHashSet::new),
-                        ArrayList::new));
+        List<String> universityNames = collectUniversityNames(profileUniversities);
 
         List<Student> profileStudents = profileUniversities.stream()
                 .map(University::getId)
@@ -124,11 +315,45 @@ public final class StatisticsUtil {
                 ? BigDecimal.valueOf(averageScoreOptional.getAsDouble()).setScale(2, RoundingMode.HALF_UP)
                 : null;
 
-        return new Statistics()
+        QuantileSketch sketch = new QuantileSketch();
+        ScoreHistogram histogram = new ScoreHistogram();
+        for (Student student : profileStudents) {
+            sketch.add(student.getAvgExamScore());
+            histogram.add(student.getAvgExamScore());
+        }
+
+        Statistics statistics = new Statistics()
                 .setStudyProfile(profile)
                 .setAvgExamScore(roundedAverage)
                 .setStudentCount(profileStudents.size())
                 .setUniversityCount(profileUniversities.size())
                 .setUniversityNames(universityNames);
+        return applyDistribution(statistics, sketch, histogram);
+    }
+
+    /**
+     * Заполняет в статистике медиану, 90-й и 99-й процентили баллов и гистограмму с границами её корзин.
+     * Квантили округляются HALF_UP до двух знаков; при отсутствии значений они остаются {@code null}.
+     *
+     * @param statistics статистика профиля
+     * @param sketch     скетч квантилей баллов профиля
+     * @param histogram  гистограмма баллов профиля
+     * @return переданная статистика
+     */
+    static Statistics applyDistribution(Statistics statistics, QuantileSketch sketch, ScoreHistogram histogram) {
+        return statistics
+                .setMedianExamScore(roundQuantile(sketch, 0.5))
+                .setP90ExamScore(roundQuantile(sketch, 0.9))
+                .setP99ExamScore(roundQuantile(sketch, 0.99))
+                .setScoreHistogramLowerBound(new BigDecimal(Float.toString(histogram.getBucketLowerBound(0))))
+                .setScoreHistogramBucketWidth(new BigDecimal(Float.toString(histogram.getBucketWidth())))
+                .setScoreHistogram(histogram.toList());
+    }
+
+    private static BigDecimal roundQuantile(QuantileSketch sketch, double quantile) {
+        double value = sketch.getQuantile(quantile);
+        return Double.isNaN(value) || Double.isInfinite(value)
+                ? null
+                : BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
     }
 }
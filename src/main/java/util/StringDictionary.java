@@ -0,0 +1,126 @@
+package util;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Словарь строк с малым количеством различных значений: каждому значению сопоставляются канонический экземпляр
+ * строки и плотный целочисленный код в порядке первого появления.
+ * <p>
+ * Словарь создаётся на одну загрузку данных: читатели исходных данных заводят собственный экземпляр на каждое
+ * чтение (на открытую книгу {@code WorkbookSource}, на файл CSV, снимок или состояние инкрементального чтения)
+ * и освобождают его вместе с результатом. Поэтому размер словаря ограничен количеством различных значений
+ * одной загрузки и не растёт при повторных чтениях. Коды разных словарей несовместимы между собой; объекты
+ * модели хранят вместе с кодом канонический экземпляр строки, по которому код можно проверить.
+ * </p>
+ * <p>
+ * При загрузке данных повторяющиеся значения (идентификаторы университетов) заменяются каноническими экземплярами,
+ * поэтому миллионы строк разделяют несколько сотен объектов {@link String}, а сравнение одинаковых значений
+ * завершается проверкой ссылок. Коды позволяют группировать записи в массивах, индексированных кодом, вместо
+ * отображений со строковыми ключами.
+ * </p>
+ * <p>
+ * Словарь только растёт и потокобезопасен: поиск существующего значения выполняется без блокировок, добавление
+ * нового значения синхронизировано. Код, полученный из словаря, всегда можно декодировать в любом потоке.
+ * </p>
+ */
+public final class StringDictionary {
+
+    private final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] values = new String[64];
+    private int size;
+
+    /**
+     * Возвращает код значения, добавляя значение в словарь при первом появлении.
+     *
+     * @param value значение
+     * @return код значения или {@code -1} для {@code null}
+     */
+    public int encode(String value) {
+        if (value == null) {
+            return -1;
+        }
+        Integer code = codes.get(value);
+        return code != null ? code : add(value);
+    }
+
+    /**
+     * Возвращает код значения без добавления в словарь.
+     *
+     * @param value значение
+     * @return код значения или {@code -1}, если значение отсутствует или равно {@code null}
+     */
+    public int lookup(String value) {
+        Integer code = value == null ? null : codes.get(value);
+        return code == null ? -1 : code;
+    }
+
+    /**
+     * Возвращает канонический экземпляр значения по коду.
+     *
+     * @param code код значения или {@code -1}
+     * @return канонический экземпляр или {@code null} для кода {@code -1}
+     * @throws IndexOutOfBoundsException если код не выдавался словарём
+     */
+    public String decode(int code) {
+        if (code == -1) {
+            return null;
+        }
+        String[] snapshot = values;
+        if (code < 0 || code >= snapshot.length || snapshot[code] == null) {
+            throw new IndexOutOfBoundsException("Unknown dictionary code: " + code);
+        }
+        return snapshot[code];
+    }
+
+    /**
+     * Возвращает канонический экземпляр значения, добавляя значение в словарь при первом появлении.
+     *
+     * @param value значение
+     * @return канонический экземпляр или {@code null}
+     */
+    public String intern(String value) {
+        return decode(encode(value));
+    }
+
+    /**
+     * Проверяет, что код выдан этим словарём для именно этого экземпляра строки. Проверка сравнивает ссылки
+     * и не вычисляет хеш, поэтому подходит для быстрой проверки кодов, сохранённых в объектах модели.
+     *
+     * @param code  код
+     * @param value экземпляр строки
+     * @return {@code true}, если {@code value} — канонический экземпляр с кодом {@code code}
+     */
+    public boolean isCanonical(int code, String value) {
+        String[] snapshot = values;
+        return code >= 0 && code < snapshot.length && snapshot[code] == value && value != null;
+    }
+
+    /**
+     * Возвращает текущее количество значений словаря; коды значений лежат в диапазоне от 0 до размера.
+     *
+     * @return количество значений
+     */
+    public int size() {
+        return codes.size();
+    }
+
+    /**
+     * Добавляет значение под блокировкой. Массив значений публикуется до записи кода в отображение, поэтому поток,
+     * получивший код, видит и соответствующее значение.
+     */
+    private synchronized int add(String value) {
+        Integer existing = codes.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        String[] current = values;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+        }
+        current[size] = value;
+        values = current;
+        codes.put(value, size);
+        return size++;
+    }
+}
@@ -0,0 +1,123 @@
+package util;
+
+import model.Student;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Индексы поиска студентов по среднему баллу, номеру курса и идентификатору университета.
+ * <p>
+ * Индексы строятся за один проход по списку: баллы и номера курсов попадают в массивы ключей, которые затем
+ * сортируются поразрядно, студенты группируются по идентификатору университета в хеш-индексе. Запросы диапазонов
+ * выполняются за O(log n + k), поиск по университету — за O(1). Баллы упорядочиваются по возрастанию
+ * в порядке {@link Float#compare}, поэтому {@code -0.0} меньше {@code 0.0}, а {@code NaN} больше любого числа
+ * и не попадает в диапазоны с конечными границами. Индекс неизменяем и отражает список на момент построения.
+ * </p>
+ */
+public final class StudentIndex {
+
+    private final SortedIntIndex<Student> byAvgExamScore;
+    private final SortedIntIndex<Student> byCurrentCourseNumber;
+    private final Map<String, List<Student>> byUniversityId;
+
+    private StudentIndex(SortedIntIndex<Student> byAvgExamScore, SortedIntIndex<Student> byCurrentCourseNumber,
+                         Map<String, List<Student>> byUniversityId) {
+        this.byAvgExamScore = byAvgExamScore;
+        this.byCurrentCourseNumber = byCurrentCourseNumber;
+        this.byUniversityId = byUniversityId;
+    }
+
+    /**
+     * Строит индексы по списку студентов. Студенты без идентификатора университета не попадают в индекс
+     * по университету, но учитываются в индексах баллов и курсов.
+     *
+     * @param students студенты без элементов {@code null}
+     * @return индексы студентов
+     */
+    public static StudentIndex build(List<Student> students) {
+        List<Student> source = new ArrayList<>(students);
+        int[] scores = new int[source.size()];
+        int[] courses = new int[source.size()];
+        Map<String, List<Student>> byUniversityId = new HashMap<>();
+        for (int i = 0; i < scores.length; i++) {
+            Student student = source.get(i);
+            scores[i] = ComparatorUtil.sortableFloatBits(student.getAvgExamScore());
+            courses[i] = student.getCurrentCourseNumber();
+            if (student.getUniversityId() != null) {
+                byUniversityId.computeIfAbsent(student.getUniversityId(), id -> new ArrayList<>()).add(student);
+            }
+        }
+        byUniversityId.replaceAll((id, list) -> Collections.unmodifiableList(list));
+        return new StudentIndex(new SortedIntIndex<>(source, scores), new SortedIntIndex<>(source, courses),
+                byUniversityId);
+    }
+
+    /**
+     * Возвращает студентов со средним баллом в указанном диапазоне.
+     *
+     * @param fromScore нижняя граница включительно
+     * @param toScore   верхняя граница включительно
+     * @return неизменяемый список по возрастанию балла, при равных баллах — в порядке исходного списка
+     */
+    public List<Student> getWithScoreBetween(float fromScore, float toScore) {
+        return byAvgExamScore.range(ComparatorUtil.sortableFloatBits(fromScore),
+                ComparatorUtil.sortableFloatBits(toScore));
+    }
+
+    /**
+     * Возвращает количество студентов со средним баллом в указанном диапазоне за O(log n).
+     *
+     * @param fromScore нижняя граница включительно
+     * @param toScore   верхняя граница включительно
+     * @return количество студентов
+     */
+    public int countWithScoreBetween(float fromScore, float toScore) {
+        return byAvgExamScore.count(ComparatorUtil.sortableFloatBits(fromScore),
+                ComparatorUtil.sortableFloatBits(toScore));
+    }
+
+    /**
+     * Возвращает студентов указанных курсов.
+     *
+     * @param fromCourse первый курс включительно
+     * @param toCourse   последний курс включительно
+     * @return неизменяемый список по возрастанию курса, при равных курсах — в порядке исходного списка
+     */
+    public List<Student> getWithCourseBetween(int fromCourse, int toCourse) {
+        return byCurrentCourseNumber.range(fromCourse, toCourse);
+    }
+
+    /**
+     * Возвращает количество студентов указанных курсов за O(log n).
+     *
+     * @param fromCourse первый курс включительно
+     * @param toCourse   последний курс включительно
+     * @return количество студентов
+     */
+    public int countWithCourseBetween(int fromCourse, int toCourse) {
+        return byCurrentCourseNumber.count(fromCourse, toCourse);
+    }
+
+    /**
+     * Возвращает студентов университета.
+     *
+     * @param universityId идентификатор университета
+     * @return неизменяемый список в порядке исходного списка; пустой, если студенты не найдены
+     */
+    public List<Student> getByUniversityId(String universityId) {
+        return byUniversityId.getOrDefault(universityId, Collections.emptyList());
+    }
+
+    /**
+     * Возвращает количество проиндексированных студентов.
+     *
+     * @return количество студентов
+     */
+    public int size() {
+        return byAvgExamScore.all().size();
+    }
+}
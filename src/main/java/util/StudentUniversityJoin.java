@@ -0,0 +1,315 @@
+package util;
+
+import model.Student;
+import model.University;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Хеш-соединение студентов с университетами по идентификатору университета.
+ * <p>
+ * Сторона построения — список университетов: идентификаторы помещаются в компактную хеш-таблицу
+ * {@link UniversityIdTable}, каждому слоту сопоставляются позиции университетов с этим идентификатором в исходном
+ * списке. Студенты подаются потоком и проверяются по таблице по одному, без промежуточной группировки, поэтому
+ * источник студентов может быть сколь угодно большим. За один проход соединение подсчитывает совпавшие пары
+ * и студентов, считает студентов-сирот (без идентификатора университета или с неизвестным идентификатором)
+ * и определяет университеты, к которым не относится ни один студент. Сироты не накапливаются: при необходимости
+ * они передаются потребителю ({@link #join(Iterable, BiConsumer, Consumer)}), который сам решает, сохранять ли их,
+ * поэтому память соединения не зависит от количества сирот.
+ * </p>
+ * <p>
+ * Дополнительно можно построить фильтр Блума по идентификаторам университетов. Он отсекает заведомо неизвестные
+ * идентификаторы до обращения к хеш-таблице и полезен, когда студенты читаются из отдельного большого файла с большой
+ * долей сирот или когда проверку нужно выполнить до создания объекта студента ({@link #mightMatch(String)}).
+ * Соединение неизменяемо; метод {@link #join} можно вызывать из нескольких потоков одновременно.
+ * </p>
+ */
+public final class StudentUniversityJoin {
+
+    private static final Logger logger = Logger.getLogger(StudentUniversityJoin.class.getName());
+
+    /** Вероятность ложноположительного ответа фильтра Блума по умолчанию. */
+    public static final double DEFAULT_BLOOM_FALSE_POSITIVE_RATE = 0.01;
+
+    private final List<University> universities;
+    private final UniversityIdTable table;
+    private final int[] slotByPosition;
+    private final int[][] universitiesBySlot;
+    private final BloomFilter bloomFilter;
+
+    private StudentUniversityJoin(List<University> universities, UniversityIdTable table, int[] slotByPosition,
+                                  int[][] universitiesBySlot, BloomFilter bloomFilter) {
+        this.universities = universities;
+        this.table = table;
+        this.slotByPosition = slotByPosition;
+        this.universitiesBySlot = universitiesBySlot;
+        this.bloomFilter = bloomFilter;
+    }
+
+    /**
+     * Строит соединение без фильтра Блума.
+     *
+     * @param universities университеты; элементы {@code null} не учитываются
+     * @return соединение
+     */
+    public static StudentUniversityJoin build(List<University> universities) {
+        return build(universities, false, DEFAULT_BLOOM_FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * Строит соединение с фильтром Блума с указанной вероятностью ложноположительного ответа.
+     *
+     * @param universities      университеты; элементы {@code null} не учитываются
+     * @param falsePositiveRate вероятность ложноположительного ответа фильтра, от 0 до 1 не включительно
+     * @return соединение
+     * @throws IllegalArgumentException если вероятность вне допустимого диапазона
+     */
+    public static StudentUniversityJoin buildWithBloomFilter(List<University> universities, double falsePositiveRate) {
+        return build(universities, true, falsePositiveRate);
+    }
+
+    private static StudentUniversityJoin build(List<University> universities, boolean useBloomFilter,
+                                               double falsePositiveRate) {
+        List<University> source = new ArrayList<>(universities.size());
+        for (University university : universities) {
+            if (university != null) {
+                source.add(university);
+            }
+        }
+        UniversityIdTable table = new UniversityIdTable(source.size());
+        int[] slotByPosition = new int[source.size()];
+        int[] slotSizes = new int[source.size()];
+        for (int position = 0; position < source.size(); position++) {
+            String id = source.get(position).getId();
+            int slot = id == null ? -1 : table.add(id);
+            slotByPosition[position] = slot;
+            if (slot >= 0) {
+                slotSizes[slot]++;
+            }
+        }
+        int[][] universitiesBySlot = new int[table.size()][];
+        for (int slot = 0; slot < universitiesBySlot.length; slot++) {
+            universitiesBySlot[slot] = new int[slotSizes[slot]];
+            slotSizes[slot] = 0;
+        }
+        for (int position = 0; position < slotByPosition.length; position++) {
+            int slot = slotByPosition[position];
+            if (slot >= 0) {
+                universitiesBySlot[slot][slotSizes[slot]++] = position;
+            }
+        }
+
+        BloomFilter bloomFilter = null;
+        if (useBloomFilter) {
+            bloomFilter = new BloomFilter(table.size(), falsePositiveRate);
+            for (int slot = 0; slot < table.size(); slot++) {
+                bloomFilter.put(table.idAt(slot));
+            }
+        }
+        logger.fine("Built university join over " + table.size() + " distinct ids"
+                + (bloomFilter == null ? "" : " with Bloom filter of " + bloomFilter.getBitCount() + " bits"));
+        return new StudentUniversityJoin(source, table, slotByPosition, universitiesBySlot, bloomFilter);
+    }
+
+    /**
+     * Проверяет, может ли студент с указанным идентификатором университета найти пару. При наличии фильтра Блума
+     * проверяется только фильтр, поэтому возможны ложноположительные ответы; без фильтра проверка точна.
+     *
+     * @param universityId идентификатор университета
+     * @return {@code false}, если университета с таким идентификатором точно нет
+     */
+    public boolean mightMatch(String universityId) {
+        return bloomFilter != null ? bloomFilter.mightContain(universityId) : table.indexOf(universityId) >= 0;
+    }
+
+    /**
+     * Возвращает университеты с указанным идентификатором.
+     *
+     * @param universityId идентификатор университета
+     * @return неизменяемый список в порядке исходного списка; пустой, если университет не найден
+     */
+    public List<University> getUniversities(String universityId) {
+        int slot = table.indexOf(universityId);
+        if (slot < 0) {
+            return Collections.emptyList();
+        }
+        List<University> result = new ArrayList<>(universitiesBySlot[slot].length);
+        for (int position : universitiesBySlot[slot]) {
+            result.add(universities.get(position));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Проверяет, построен ли фильтр Блума.
+     *
+     * @return {@code true}, если соединение использует фильтр Блума
+     */
+    public boolean hasBloomFilter() {
+        return bloomFilter != null;
+    }
+
+    /**
+     * Соединяет студентов с университетами, только подсчитывая совпадения.
+     *
+     * @param students студенты; элементы {@code null} пропускаются
+     * @return итог соединения
+     */
+    public JoinResult join(Iterable<Student> students) {
+        return join(students, null);
+    }
+
+    /**
+     * Соединяет студентов с университетами за один проход, передавая каждую совпавшую пару потребителю.
+     * Студент, чей идентификатор встречается у нескольких университетов, образует пару с каждым из них.
+     *
+     * @param students студенты; элементы {@code null} пропускаются
+     * @param matches  потребитель совпавших пар «студент — университет» или {@code null}
+     * @return итог соединения
+     */
+    public JoinResult join(Iterable<Student> students, BiConsumer<Student, University> matches) {
+        return join(students, matches, null);
+    }
+
+    /**
+     * Соединяет студентов с университетами за один проход, передавая каждую совпавшую пару и каждого
+     * студента-сироту потребителям. Чтобы получить сирот списком, передайте {@code orphanList::add}.
+     *
+     * @param students студенты; элементы {@code null} пропускаются
+     * @param matches  потребитель совпавших пар «студент — университет» или {@code null}
+     * @param orphans  потребитель студентов-сирот в порядке входного потока или {@code null}
+     * @return итог соединения
+     */
+    public JoinResult join(Iterable<Student> students, BiConsumer<Student, University> matches,
+                           Consumer<? super Student> orphans) {
+        boolean[] matchedSlots = new boolean[universitiesBySlot.length];
+        long orphanCount = 0;
+        long matchedPairs = 0;
+        long matchedStudents = 0;
+        long bloomRejected = 0;
+        for (Student student : students) {
+            if (student == null) {
+                continue;
+            }
+            String universityId = student.getUniversityId();
+            int slot;
+            if (universityId == null) {
+                slot = -1;
+            } else if (bloomFilter != null && !bloomFilter.mightContain(universityId)) {
+                bloomRejected++;
+                slot = -1;
+            } else {
+                slot = table.indexOf(universityId);
+            }
+            if (slot < 0) {
+                orphanCount++;
+                if (orphans != null) {
+                    orphans.accept(student);
+                }
+                continue;
+            }
+            matchedSlots[slot] = true;
+            matchedStudents++;
+            matchedPairs += universitiesBySlot[slot].length;
+            if (matches != null) {
+                for (int position : universitiesBySlot[slot]) {
+                    matches.accept(student, universities.get(position));
+                }
+            }
+        }
+
+        List<University> withoutStudents = new ArrayList<>();
+        for (int position = 0; position < slotByPosition.length; position++) {
+            int slot = slotByPosition[position];
+            if (slot < 0 || !matchedSlots[slot]) {
+                withoutStudents.add(universities.get(position));
+            }
+        }
+        if (orphanCount > 0) {
+            logger.warning("Found " + orphanCount + " students without a matching university");
+        }
+        return new JoinResult(matchedPairs, matchedStudents, orphanCount, bloomRejected, withoutStudents);
+    }
+
+    /**
+     * Итог соединения студентов с университетами.
+     */
+    public static final class JoinResult {
+
+        private final long matchedPairCount;
+        private final long matchedStudentCount;
+        private final long orphanStudentCount;
+        private final long bloomRejectedCount;
+        private final List<University> universitiesWithoutStudents;
+
+        private JoinResult(long matchedPairCount, long matchedStudentCount, long orphanStudentCount,
+                           long bloomRejectedCount, List<University> universitiesWithoutStudents) {
+            this.matchedPairCount = matchedPairCount;
+            this.matchedStudentCount = matchedStudentCount;
+            this.orphanStudentCount = orphanStudentCount;
+            this.bloomRejectedCount = bloomRejectedCount;
+            this.universitiesWithoutStudents = Collections.unmodifiableList(universitiesWithoutStudents);
+        }
+
+        /**
+         * Возвращает количество совпавших пар «студент — университет».
+         *
+         * @return количество пар
+         */
+        public long getMatchedPairCount() {
+            return matchedPairCount;
+        }
+
+        /**
+         * Возвращает количество студентов, нашедших хотя бы один университет.
+         *
+         * @return количество студентов
+         */
+        public long getMatchedStudentCount() {
+            return matchedStudentCount;
+        }
+
+        /**
+         * Возвращает количество студентов-сирот, отсечённых фильтром Блума без обращения к хеш-таблице.
+         *
+         * @return количество отсечённых студентов
+         */
+        public long getBloomRejectedCount() {
+            return bloomRejectedCount;
+        }
+
+        /**
+         * Возвращает количество студентов без идентификатора университета или с неизвестным идентификатором.
+         *
+         * @return количество студентов-сирот
+         */
+        public long getOrphanStudentCount() {
+            return orphanStudentCount;
+        }
+
+        /**
+         * Возвращает университеты, к которым не относится ни один студент, включая университеты без идентификатора.
+         *
+         * @return неизменяемый список в порядке исходного списка университетов
+         */
+        public List<University> getUniversitiesWithoutStudents() {
+            return universitiesWithoutStudents;
+        }
+
+        @Override
+        public String toString() {
+            return "JoinResult{" +
+                    "matchedPairs=" + matchedPairCount +
+                    ", matchedStudents=" + matchedStudentCount +
+                    ", orphanStudents=" + orphanStudentCount +
+                    ", bloomRejected=" + bloomRejectedCount +
+                    ", universitiesWithoutStudents=" + universitiesWithoutStudents.size() +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package util;
+
+import comparators.StudentAvgExamScoreComparator;
+import comparators.StudentFullNameComparator;
+import model.Student;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Ограниченная куча лучших студентов по среднему баллу.
+ * <p>
+ * Студенты упорядочиваются по убыванию балла ({@link StudentAvgExamScoreComparator}), при равных баллах —
+ * по полному имени ({@link StudentFullNameComparator}), при полном совпадении — по порядковому номеру студента
+ * во входных данных. Куча хранит не более {@code capacity} лучших студентов; в вершине находится худший из них,
+ * поэтому проверка кандидата выполняется за O(1), а замена — за O(log k). Кучи можно объединять, а результат
+ * не зависит от порядка добавления и объединения. Класс не потокобезопасен.
+ * </p>
+ */
+public final class TopKHeap {
+
+    private static final Comparator<Student> STUDENT_RANKING =
+            new StudentAvgExamScoreComparator().thenComparing(new StudentFullNameComparator());
+
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparing((Entry entry) -> entry.student, STUDENT_RANKING)
+            .thenComparingLong(entry -> entry.sequence);
+
+    private final int capacity;
+    private final PriorityQueue<Entry> heap;
+
+    /**
+     * Создаёт пустую кучу.
+     *
+     * @param capacity максимальное количество хранимых студентов
+     * @throws IllegalArgumentException если вместимость меньше 1
+     */
+    public TopKHeap(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Top-K capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.heap = new PriorityQueue<>(Math.min(capacity, 1024) + 1, RANKING.reversed());
+    }
+
+    /**
+     * Предлагает студента куче.
+     *
+     * @param student  студент
+     * @param sequence порядковый номер студента во входных данных для детерминированного разрешения полных совпадений
+     * @return {@code true}, если студент вошёл в число лучших
+     */
+    public boolean offer(Student student, long sequence) {
+        if (heap.size() < capacity) {
+            heap.add(new Entry(student, sequence));
+            return true;
+        }
+        Entry worst = heap.peek();
+        int comparison = STUDENT_RANKING.compare(student, worst.student);
+        if (comparison > 0 || (comparison == 0 && sequence > worst.sequence)) {
+            return false;
+        }
+        heap.poll();
+        heap.add(new Entry(student, sequence));
+        return true;
+    }
+
+    /**
+     * Добавляет в кучу студентов другой кучи той же вместимости.
+     *
+     * @param other другая куча
+     * @return текущая куча
+     * @throws IllegalArgumentException если вместимость куч различается
+     */
+    public TopKHeap merge(TopKHeap other) {
+        if (other.capacity != capacity) {
+            throw new IllegalArgumentException("Top-K capacities differ: " + other.capacity + " vs " + capacity);
+        }
+        for (Entry entry : other.heap) {
+            offer(entry.student, entry.sequence);
+        }
+        return this;
+    }
+
+    /**
+     * Возвращает количество хранимых студентов.
+     *
+     * @return не более вместимости кучи
+     */
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * Возвращает вместимость кучи.
+     *
+     * @return максимальное количество хранимых студентов
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Возвращает хранимых студентов от лучшего к худшему.
+     *
+     * @return новый список студентов
+     */
+    public List<Student> toList() {
+        List<Entry> entries = new ArrayList<>(heap);
+        entries.sort(RANKING);
+        List<Student> result = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            result.add(entry.student);
+        }
+        return result;
+    }
+
+    /**
+     * Студент с порядковым номером во входных данных.
+     */
+    private static final class Entry {
+
+        private final Student student;
+        private final long sequence;
+
+        private Entry(Student student, long sequence) {
+            this.student = student;
+            this.sequence = sequence;
+        }
+    }
+}
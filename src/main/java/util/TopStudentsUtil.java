@@ -0,0 +1,246 @@
+package util;
+
+import enums.StudyProfile;
+import model.Student;
+import model.University;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Запросы лучших студентов по среднему баллу: в целом, по профилям обучения и по университетам.
+ * <p>
+ * Вместо полной сортировки студентов для каждой группы поддерживается ограниченная куча {@link TopKHeap}, которая
+ * заполняется за один проход за O(n log k). При параллельном выполнении список делится на диапазоны, каждый диапазон
+ * заполняет собственные кучи, затем кучи объединяются. Порядок студентов задаётся {@link TopKHeap}: по убыванию
+ * балла, при равенстве — по полному имени, затем по позиции во входном списке, поэтому параллельный результат
+ * совпадает с последовательным.
+ * </p>
+ */
+public final class TopStudentsUtil {
+
+    private static final Logger logger = Logger.getLogger(TopStudentsUtil.class.getName());
+
+    /** Количество задач на один поток при параллельном выполнении для выравнивания нагрузки. */
+    private static final int TASKS_PER_THREAD = 4;
+
+    /**
+     * Прячет конструктор утилитного класса и предотвращает создание экземпляров.
+     */
+    private TopStudentsUtil() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Возвращает лучших студентов среди всех.
+     *
+     * @param students список студентов; {@code null} трактуется как пустая коллекция, элементы {@code null}
+     *                 пропускаются
+     * @param k        количество студентов
+     * @return не более {@code k} студентов от лучшего к худшему
+     * @throws IllegalArgumentException если {@code k} меньше 1
+     */
+    public static List<Student> top(List<Student> students, int k) {
+        return select(students, k, 1, student -> Collections.singletonList(Boolean.TRUE))
+                .getOrDefault(Boolean.TRUE, Collections.emptyList());
+    }
+
+    /**
+     * Возвращает лучших студентов каждого профиля обучения. Студент относится к профилям всех университетов
+     * с его идентификатором, как в {@link StatisticsUtil#calculateStatistics(List, List)}.
+     *
+     * @param students     список студентов; {@code null} трактуется как пустая коллекция
+     * @param universities список университетов; {@code null} трактуется как пустая коллекция
+     * @param k            количество студентов в каждом профиле
+     * @return отображение профиля в его лучших студентов в порядке первого появления профилей среди университетов;
+     * профили без студентов не включаются
+     * @throws IllegalArgumentException если {@code k} меньше 1
+     */
+    public static Map<StudyProfile, List<Student>> topByProfile(List<Student> students, List<University> universities,
+                                                                int k) {
+        return topByProfile(students, universities, k, 1);
+    }
+
+    /**
+     * Возвращает лучших студентов каждого профиля обучения, распределяя проход по потокам пула fork-join.
+     * Если студентов меньше {@link StatisticsUtil#DEFAULT_PARALLEL_THRESHOLD} или задан один поток,
+     * выполняется последовательный проход.
+     *
+     * @param students     список студентов; {@code null} трактуется как пустая коллекция
+     * @param universities список университетов; {@code null} трактуется как пустая коллекция
+     * @param k            количество студентов в каждом профиле
+     * @param parallelism  количество потоков
+     * @return отображение профиля в его лучших студентов в порядке первого появления профилей среди университетов
+     * @throws IllegalArgumentException если {@code k} или parallelism меньше 1
+     */
+    public static Map<StudyProfile, List<Student>> topByProfile(List<Student> students, List<University> universities,
+                                                                int k, int parallelism) {
+        List<StudyProfile> profileOrder = new ArrayList<>();
+        Map<String, List<StudyProfile>> profilesById = new HashMap<>();
+        if (universities != null) {
+            for (University university : universities) {
+                if (university == null || university.getMainProfile() == null) {
+                    continue;
+                }
+                if (!profileOrder.contains(university.getMainProfile())) {
+                    profileOrder.add(university.getMainProfile());
+                }
+                if (university.getId() != null) {
+                    List<StudyProfile> profiles = profilesById.computeIfAbsent(university.getId(),
+                            id -> new ArrayList<>(1));
+                    if (!profiles.contains(university.getMainProfile())) {
+                        profiles.add(university.getMainProfile());
+                    }
+                }
+            }
+        }
+
+        Map<StudyProfile, List<Student>> selected = select(students, k, parallelism,
+                student -> student.getUniversityId() == null
+                        ? Collections.emptyList()
+                        : profilesById.getOrDefault(student.getUniversityId(), Collections.emptyList()));
+
+        Map<StudyProfile, List<Student>> result = new LinkedHashMap<>();
+        for (StudyProfile profile : profileOrder) {
+            List<Student> top = selected.get(profile);
+            if (top != null) {
+                result.put(profile, top);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Возвращает лучших студентов каждого университета.
+     *
+     * @param students список студентов; {@code null} трактуется как пустая коллекция, студенты без идентификатора
+     *                 университета пропускаются
+     * @param k        количество студентов в каждом университете
+     * @return отображение идентификатора университета в его лучших студентов, упорядоченное по идентификатору
+     * @throws IllegalArgumentException если {@code k} меньше 1
+     */
+    public static Map<String, List<Student>> topByUniversity(List<Student> students, int k) {
+        return topByUniversity(students, k, 1);
+    }
+
+    /**
+     * Возвращает лучших студентов каждого университета, распределяя проход по потокам пула fork-join.
+     * Если студентов меньше {@link StatisticsUtil#DEFAULT_PARALLEL_THRESHOLD} или задан один поток,
+     * выполняется последовательный проход.
+     *
+     * @param students    список студентов; {@code null} трактуется как пустая коллекция
+     * @param k           количество студентов в каждом университете
+     * @param parallelism количество потоков
+     * @return отображение идентификатора университета в его лучших студентов, упорядоченное по идентификатору
+     * @throws IllegalArgumentException если {@code k} или parallelism меньше 1
+     */
+    public static Map<String, List<Student>> topByUniversity(List<Student> students, int k, int parallelism) {
+        return new TreeMap<>(select(students, k, parallelism,
+                student -> student.getUniversityId() == null
+                        ? Collections.emptyList()
+                        : Collections.singletonList(student.getUniversityId())));
+    }
+
+    /**
+     * Заполняет кучи групп за один проход, последовательно или параллельно.
+     *
+     * @param students    список студентов
+     * @param k           вместимость куч
+     * @param parallelism количество потоков
+     * @param groups      функция групп студента
+     * @param <K>         тип ключа группы
+     * @return отображение ключа группы в лучших студентов группы
+     */
+    private static <K> Map<K, List<Student>> select(List<Student> students, int k, int parallelism,
+                                                    Function<Student, List<K>> groups) {
+        if (k < 1) {
+            throw new IllegalArgumentException("Top-K size must be positive: " + k);
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        if (students == null || students.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<K, TopKHeap> heaps;
+        if (parallelism == 1 || students.size() < StatisticsUtil.DEFAULT_PARALLEL_THRESHOLD) {
+            heaps = new SelectTask<>(students, 0, students.size(), Integer.MAX_VALUE, k, groups).compute();
+        } else {
+            logger.info("Selecting top " + k + " students with parallelism " + parallelism);
+            List<Student> source = students instanceof RandomAccess ? students : new ArrayList<>(students);
+            int leafSize = Math.max(1, source.size() / (parallelism * TASKS_PER_THREAD));
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                heaps = pool.invoke(new SelectTask<>(source, 0, source.size(), leafSize, k, groups));
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        Map<K, List<Student>> result = new LinkedHashMap<>();
+        heaps.forEach((key, heap) -> result.put(key, heap.toList()));
+        return result;
+    }
+
+    /**
+     * Задача заполнения куч групп по диапазону списка студентов с делением пополам до размера листа.
+     *
+     * @param <K> тип ключа группы
+     */
+    private static final class SelectTask<K> extends RecursiveTask<Map<K, TopKHeap>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<Student> students;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+        private final int k;
+        private final Function<Student, List<K>> groups;
+
+        private SelectTask(List<Student> students, int from, int to, int leafSize, int k,
+                           Function<Student, List<K>> groups) {
+            this.students = students;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+            this.k = k;
+            this.groups = groups;
+        }
+
+        @Override
+        protected Map<K, TopKHeap> compute() {
+            if (to - from <= leafSize) {
+                Map<K, TopKHeap> heaps = new HashMap<>();
+                int index = from;
+                for (Student student : from == 0 && to == students.size() ? students : students.subList(from, to)) {
+                    if (student != null) {
+                        for (K key : groups.apply(student)) {
+                            heaps.computeIfAbsent(key, group -> new TopKHeap(k)).offer(student, index);
+                        }
+                    }
+                    index++;
+                }
+                return heaps;
+            }
+            int middle = (from + to) >>> 1;
+            SelectTask<K> left = new SelectTask<>(students, from, middle, leafSize, k, groups);
+            SelectTask<K> right = new SelectTask<>(students, middle, to, leafSize, k, groups);
+            right.fork();
+            Map<K, TopKHeap> result = left.compute();
+            right.join().forEach((key, heap) -> result.merge(key, heap, TopKHeap::merge));
+            return result;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Компактная хеш-таблица идентификаторов университетов с открытой адресацией.
+ * <p>
+ * Каждому различному идентификатору назначается плотный номер слота в порядке добавления. Таблица хранит
+ * идентификаторы, их хеши и номера слотов в параллельных массивах без объектов-обёрток и разрешает коллизии
+ * линейным пробированием; коэффициент заполнения не превышает 1/2. Сохранённый хеш позволяет отбросить
+ * несовпадающие ключи без вызова {@link String#equals}. Класс не потокобезопасен для записи; после заполнения
+ * таблицу можно читать из нескольких потоков.
+ * </p>
+ */
+final class UniversityIdTable {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private String[] keys;
+    private int[] hashes;
+    private int[] slots;
+    private String[] idsBySlot;
+    private int size;
+    private int shift;
+
+    /**
+     * Создаёт таблицу, рассчитанную на указанное количество идентификаторов без перестроения.
+     *
+     * @param expectedSize ожидаемое количество различных идентификаторов
+     */
+    UniversityIdTable(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2L && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+        this.idsBySlot = new String[Math.max(expectedSize, 1)];
+    }
+
+    /**
+     * Возвращает номер слота идентификатора, назначая новый при первом добавлении.
+     *
+     * @param id идентификатор университета, не {@code null}
+     * @return номер слота
+     */
+    int add(String id) {
+        int hash = id.hashCode();
+        int mask = keys.length - 1;
+        for (int position = index(hash); ; position = (position + 1) & mask) {
+            String key = keys[position];
+            if (key == null) {
+                if ((size + 1) * 2 > keys.length) {
+                    rehash();
+                    return add(id);
+                }
+                keys[position] = id;
+                hashes[position] = hash;
+                slots[position] = size;
+                if (size == idsBySlot.length) {
+                    idsBySlot = Arrays.copyOf(idsBySlot, size * 2);
+                }
+                idsBySlot[size] = id;
+                return size++;
+            }
+            if (hashes[position] == hash && key.equals(id)) {
+                return slots[position];
+            }
+        }
+    }
+
+    /**
+     * Возвращает номер слота идентификатора.
+     *
+     * @param id идентификатор университета; {@code null} не найден никогда
+     * @return номер слота или {@code -1}, если идентификатор не добавлен
+     */
+    int indexOf(String id) {
+        if (id == null) {
+            return -1;
+        }
+        int hash = id.hashCode();
+        int mask = keys.length - 1;
+        for (int position = index(hash); ; position = (position + 1) & mask) {
+            String key = keys[position];
+            if (key == null) {
+                return -1;
+            }
+            if (hashes[position] == hash && (key == id || key.equals(id))) {
+                return slots[position];
+            }
+        }
+    }
+
+    /**
+     * Возвращает идентификатор по номеру слота.
+     *
+     * @param slot номер слота от 0 до {@link #size()} не включительно
+     * @return идентификатор университета
+     */
+    String idAt(int slot) {
+        return idsBySlot[slot];
+    }
+
+    /**
+     * Возвращает количество различных идентификаторов.
+     *
+     * @return количество слотов
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Вычисляет начальную позицию пробирования: хеш перемешивается умножением на золотое сечение,
+     * берутся старшие биты.
+     */
+    private int index(int hash) {
+        return (hash * 0x9E3779B9) >>> shift;
+    }
+
+    private void allocate(int capacity) {
+        keys = new String[capacity];
+        hashes = new int[capacity];
+        slots = new int[capacity];
+        shift = Integer.numberOfLeadingZeros(capacity - 1);
+    }
+
+    private void rehash() {
+        String[] oldKeys = keys;
+        int[] oldHashes = hashes;
+        int[] oldSlots = slots;
+        allocate(oldKeys.length * 2);
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int position = index(oldHashes[i]);
+                while (keys[position] != null) {
+                    position = (position + 1) & mask;
+                }
+                keys[position] = oldKeys[i];
+                hashes[position] = oldHashes[i];
+                slots[position] = oldSlots[i];
+            }
+        }
+    }
+}
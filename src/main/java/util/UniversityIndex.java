@@ -0,0 +1,112 @@
+package util;
+
+import model.University;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Индексы поиска университетов по идентификатору и году основания.
+ * <p>
+ * Индексы строятся за один проход по списку: идентификаторы попадают в хеш-индекс, годы основания — в массив ключей,
+ * который затем сортируется поразрядно. Поиск по идентификатору выполняется за O(1), запрос диапазона годов —
+ * за O(log n + k). Университеты с одинаковым идентификатором сохраняются все в порядке исходного списка.
+ * Индекс неизменяем и отражает список на момент построения.
+ * </p>
+ */
+public final class UniversityIndex {
+
+    private final Map<String, List<University>> byId;
+    private final SortedIntIndex<University> byYearOfFoundation;
+
+    private UniversityIndex(Map<String, List<University>> byId, SortedIntIndex<University> byYearOfFoundation) {
+        this.byId = byId;
+        this.byYearOfFoundation = byYearOfFoundation;
+    }
+
+    /**
+     * Строит индексы по списку университетов.
+     *
+     * @param universities университеты без элементов {@code null}
+     * @return индексы университетов
+     */
+    public static UniversityIndex build(List<University> universities) {
+        List<University> source = new ArrayList<>(universities);
+        Map<String, List<University>> byId = new HashMap<>();
+        int[] years = new int[source.size()];
+        for (int i = 0; i < years.length; i++) {
+            University university = source.get(i);
+            if (university.getId() != null) {
+                byId.computeIfAbsent(university.getId(), id -> new ArrayList<>(1)).add(university);
+            }
+            years[i] = university.getYearOfFoundation();
+        }
+        byId.replaceAll((id, list) -> Collections.unmodifiableList(list));
+        return new UniversityIndex(byId, new SortedIntIndex<>(source, years));
+    }
+
+    /**
+     * Возвращает первый по порядку исходного списка университет с указанным идентификатором.
+     *
+     * @param id идентификатор университета
+     * @return университет или {@code null}, если он не найден
+     */
+    public University getById(String id) {
+        List<University> universities = byId.get(id);
+        return universities == null ? null : universities.get(0);
+    }
+
+    /**
+     * Возвращает все университеты с указанным идентификатором.
+     *
+     * @param id идентификатор университета
+     * @return неизменяемый список в порядке исходного списка; пустой, если университеты не найдены
+     */
+    public List<University> getAllById(String id) {
+        return byId.getOrDefault(id, Collections.emptyList());
+    }
+
+    /**
+     * Проверяет наличие университета с указанным идентификатором.
+     *
+     * @param id идентификатор университета
+     * @return {@code true}, если университет найден
+     */
+    public boolean containsId(String id) {
+        return byId.containsKey(id);
+    }
+
+    /**
+     * Возвращает университеты, основанные в указанном диапазоне лет.
+     *
+     * @param fromYear первый год включительно
+     * @param toYear   последний год включительно
+     * @return неизменяемый список по возрастанию года, при равных годах — в порядке исходного списка
+     */
+    public List<University> getFoundedBetween(int fromYear, int toYear) {
+        return byYearOfFoundation.range(fromYear, toYear);
+    }
+
+    /**
+     * Возвращает количество университетов, основанных в указанном диапазоне лет, за O(log n).
+     *
+     * @param fromYear первый год включительно
+     * @param toYear   последний год включительно
+     * @return количество университетов
+     */
+    public int countFoundedBetween(int fromYear, int toYear) {
+        return byYearOfFoundation.count(fromYear, toYear);
+    }
+
+    /**
+     * Возвращает количество проиндексированных университетов.
+     *
+     * @return количество университетов
+     */
+    public int size() {
+        return byYearOfFoundation.all().size();
+    }
+}
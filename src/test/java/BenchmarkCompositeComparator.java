@@ -0,0 +1,94 @@
+import comparators.SortKey;
+import enums.StudentComparatorType;
+import enums.UniversityComparatorType;
+import model.Student;
+import model.University;
+import util.ComparatorUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Сравнение составной сортировки цепочкой {@code thenComparing} с составными компараторами {@link ComparatorUtil}.
+ * <p>
+ * Пример запуска: {@code java -Xmx4g BenchmarkCompositeComparator 1000000}. Замеряются три варианта: сортировка
+ * цепочкой компараторов пакета {@code comparators}, сортировка составным компаратором
+ * {@link ComparatorUtil#getStudentComparator(List)} и сортировка {@link ComparatorUtil#sortStudents(List, List)}
+ * с однократным вычислением упакованных ключей. Перед замером результаты сверяются поэлементно по ссылкам.
+ * </p>
+ */
+public class BenchmarkCompositeComparator {
+
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURED_ITERATIONS = 5;
+
+    /**
+     * Генерирует данные и выполняет замеры.
+     *
+     * @param args первый аргумент — количество записей (по умолчанию 1000000)
+     */
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<Student> students = SyntheticData.students(size, 520, 1L);
+        List<University> universities = SyntheticData.universities(size);
+
+        List<SortKey<StudentComparatorType>> studentKeys = Arrays.asList(
+                SortKey.descending(StudentComparatorType.AVG_EXAM_SCORE),
+                SortKey.ascending(StudentComparatorType.CURRENT_COURSE_NUMBER),
+                SortKey.ascending(StudentComparatorType.FULL_NAME));
+        Comparator<Student> studentChain = ComparatorUtil.getStudentComparator(StudentComparatorType.AVG_EXAM_SCORE)
+                .thenComparing(ComparatorUtil.getStudentComparator(StudentComparatorType.CURRENT_COURSE_NUMBER))
+                .thenComparing(ComparatorUtil.getStudentComparator(StudentComparatorType.FULL_NAME));
+        compare("students by " + studentKeys,
+                () -> sorted(students, studentChain),
+                () -> sorted(students, ComparatorUtil.getStudentComparator(studentKeys)),
+                () -> ComparatorUtil.sortStudents(students, studentKeys));
+
+        List<SortKey<UniversityComparatorType>> universityKeys = Arrays.asList(
+                SortKey.ascending(UniversityComparatorType.MAIN_PROFILE),
+                SortKey.descending(UniversityComparatorType.YEAR_OF_FOUNDATION),
+                SortKey.ascending(UniversityComparatorType.FULL_NAME));
+        Comparator<University> universityChain =
+                ComparatorUtil.getUniversityComparator(UniversityComparatorType.MAIN_PROFILE)
+                        .thenComparing(ComparatorUtil.getUniversityComparator(
+                                UniversityComparatorType.YEAR_OF_FOUNDATION).reversed())
+                        .thenComparing(ComparatorUtil.getUniversityComparator(UniversityComparatorType.FULL_NAME));
+        compare("universities by " + universityKeys,
+                () -> sorted(universities, universityChain),
+                () -> sorted(universities, ComparatorUtil.getUniversityComparator(universityKeys)),
+                () -> ComparatorUtil.sortUniversities(universities, universityKeys));
+    }
+
+    private static <T> List<T> sorted(List<T> items, Comparator<? super T> comparator) {
+        List<T> result = new ArrayList<>(items);
+        result.sort(comparator);
+        return result;
+    }
+
+    private static <T> void compare(String name, Supplier<List<T>> chained, Supplier<List<T>> composite,
+                                    Supplier<List<T>> packed) {
+        List<T> expected = chained.get();
+        Checks.checkSameOrder("composite order of " + name, expected, composite.get());
+        Checks.checkSameOrder("packed order of " + name, expected, packed.get());
+        System.out.println(name);
+        measure("  thenComparing chain", chained);
+        measure("  composite comparator", composite);
+        measure("  packed keys + radix", packed);
+    }
+
+    private static <T> void measure(String name, Supplier<List<T>> task) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            task.get();
+        }
+        long start = System.nanoTime();
+        int sink = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += task.get().size();
+        }
+        double millis = (System.nanoTime() - start) / 1e6 / MEASURED_ITERATIONS;
+        System.out.printf("%-24s %.2f ms/op (%d)%n", name, millis, sink);
+    }
+}
@@ -0,0 +1,152 @@
+import io.CsvReader;
+import io.WorkbookSource;
+import model.Student;
+import util.StringDictionary;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Сравнение чтения студентов из CSV через {@link CsvReader} (в список, в колоночную таблицу и потоком)
+ * с построчным чтением {@link BufferedReader} и {@link String#split(String)} и с потоковым чтением той же выборки
+ * из XLSX ({@link WorkbookSource}).
+ * <p>
+ * Пример запуска: {@code java -Xmx4g BenchmarkCsvReader 5000000}. Результаты всех вариантов сверяются с построчным
+ * чтением, для чтения CSV выводится пропускная способность в МБ/с. XLSX-книга создаётся не больше чем на
+ * {@value #MAX_XLSX_STUDENTS} студентов — лимит строк листа.
+ * </p>
+ */
+public class BenchmarkCsvReader {
+
+    private static final int UNIVERSITY_COUNT = 500;
+    private static final int MAX_XLSX_STUDENTS = 1_000_000;
+    private static final int ROUNDS = 3;
+
+    /**
+     * Генерирует файлы и выполняет замеры.
+     *
+     * @param args первый аргумент — количество студентов (по умолчанию 5000000)
+     * @throws Exception если файлы не удаётся записать или прочитать
+     */
+    public static void main(String[] args) throws Exception {
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        Path csv = Files.createTempFile("csv-benchmark", ".csv");
+        Path workbook = Files.createTempFile("csv-benchmark", ".xlsx");
+        try {
+            SyntheticData.writeStudentsCsv(csv.toString(), UNIVERSITY_COUNT, studentCount);
+            double megabytes = Files.size(csv) / (1024.0 * 1024.0);
+            System.out.printf("CSV file: %d students, %.1f MB%n", studentCount, megabytes);
+
+            List<Student> expected = null;
+            for (int round = 0; round < ROUNDS; round++) {
+                expected = null;
+                expected = measure("BufferedReader + split", megabytes, () -> readNaive(csv));
+            }
+            int processors = Runtime.getRuntime().availableProcessors();
+            List<Student> baseline = expected;
+            for (int parallelism : new int[]{1, processors}) {
+                for (int round = 0; round < ROUNDS; round++) {
+                    verify(baseline, measure("CsvReader, " + parallelism + " thread(s)", megabytes,
+                            () -> CsvReader.readCsvStudents(csv.toString(), parallelism)));
+                }
+                if (processors == 1) {
+                    break;
+                }
+            }
+            for (int round = 0; round < ROUNDS; round++) {
+                verify(baseline, measure("CsvReader, column table", megabytes,
+                        () -> CsvReader.readCsvStudentTable(csv.toString(), processors).asStudentList()));
+            }
+            double expectedSum = 0;
+            for (Student student : baseline) {
+                expectedSum += student.getAvgExamScore();
+            }
+            for (int round = 0; round < ROUNDS; round++) {
+                double[] sum = new double[1];
+                long start = System.nanoTime();
+                int count = CsvReader.streamCsvStudents(csv.toString(),
+                        student -> sum[0] += student.getAvgExamScore());
+                report("CsvReader, streaming", megabytes, start);
+                if (count != baseline.size() || sum[0] != expectedSum) {
+                    throw new IllegalStateException("Streamed students differ from line-by-line reading");
+                }
+            }
+
+            expected = null;
+            baseline = null;
+            long start = System.nanoTime();
+            int csvRead = CsvReader.readCsvStudents(csv.toString(), processors).size();
+            double csvMillis = (System.nanoTime() - start) / 1e6;
+
+            int xlsxStudents = Math.min(studentCount, MAX_XLSX_STUDENTS);
+            SyntheticData.writeWorkbook(workbook.toString(), UNIVERSITY_COUNT, xlsxStudents);
+            start = System.nanoTime();
+            int xlsxRead;
+            try (WorkbookSource source = WorkbookSource.open(workbook.toString())) {
+                xlsxRead = source.readStudents().size();
+            }
+            double xlsxMillis = (System.nanoTime() - start) / 1e6;
+            System.out.printf("%-28s %10.0f students/ms%n", "CsvReader", csvRead / csvMillis);
+            System.out.printf("%-28s %10.0f students/ms (%d students)%n",
+                    "XLSX (WorkbookSource)", xlsxRead / xlsxMillis, xlsxRead);
+        } finally {
+            Files.deleteIfExists(csv);
+            Files.deleteIfExists(workbook);
+        }
+    }
+
+    /**
+     * Построчное чтение со строкой на каждую строку файла и на каждое поле.
+     */
+    private static List<Student> readNaive(Path csv) throws IOException {
+        StringDictionary ids = new StringDictionary();
+        List<Student> students = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(",", -1);
+                int code = ids.encode(fields[0]);
+                students.add(new Student()
+                        .setUniversityId(ids.decode(code), code)
+                        .setFullName(fields[1])
+                        .setCurrentCourseNumber((int) Double.parseDouble(fields[2]))
+                        .setAvgExamScore((float) Double.parseDouble(fields[3])));
+            }
+        }
+        return students;
+    }
+
+    private static void verify(List<Student> expected, List<Student> actual) {
+        boolean equal = expected.size() == actual.size();
+        for (int i = 0; equal && i < expected.size(); i++) {
+            Student e = expected.get(i);
+            Student a = actual.get(i);
+            equal = e.getUniversityId().equals(a.getUniversityId()) && e.getFullName().equals(a.getFullName())
+                    && e.getCurrentCourseNumber() == a.getCurrentCourseNumber()
+                    && Float.compare(e.getAvgExamScore(), a.getAvgExamScore()) == 0;
+        }
+        if (!equal) {
+            throw new IllegalStateException("CsvReader result differs from line-by-line reading");
+        }
+    }
+
+    private static List<Student> measure(String name, double megabytes, Callable<List<Student>> task)
+            throws Exception {
+        long start = System.nanoTime();
+        List<Student> students = task.call();
+        report(name, megabytes, start);
+        return students;
+    }
+
+    private static void report(String name, double megabytes, long start) {
+        double millis = (System.nanoTime() - start) / 1e6;
+        System.out.printf("%-28s %10.2f ms (%.0f MB/s)%n", name, millis, megabytes / (millis / 1000));
+    }
+}
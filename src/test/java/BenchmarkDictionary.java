@@ -0,0 +1,84 @@
+import model.Statistics;
+import model.Student;
+import model.University;
+import util.StatisticsAggregator;
+import util.StringDictionary;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Сравнение агрегации статистики по студентам с обычными строковыми идентификаторами университетов и по студентам,
+ * идентификаторы которых заменены каноническими экземплярами словаря загрузки {@link StringDictionary} с кодами.
+ * <p>
+ * Пример запуска: {@code java -Xmx4g BenchmarkDictionary 2000000}. Выводится количество различных экземпляров
+ * строк идентификаторов в каждом варианте и среднее время одного расчёта; перед замером результаты сверяются.
+ * </p>
+ */
+public class BenchmarkDictionary {
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 10;
+
+    /**
+     * Генерирует данные и выполняет замеры.
+     *
+     * @param args первый аргумент — количество студентов (по умолчанию 1000000)
+     */
+    public static void main(String[] args) {
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<University> universities = SyntheticData.universities(500);
+        List<Student> plain = SyntheticData.students(studentCount, 520, 1L);
+
+        StringDictionary dictionary = new StringDictionary();
+        List<Student> encoded = new ArrayList<>(plain.size());
+        for (Student student : plain) {
+            int code = dictionary.encode(student.getUniversityId());
+            encoded.add(new Student()
+                    .setUniversityId(dictionary.decode(code), code)
+                    .setFullName(student.getFullName())
+                    .setCurrentCourseNumber(student.getCurrentCourseNumber())
+                    .setAvgExamScore(student.getAvgExamScore()));
+        }
+        System.out.printf("distinct id instances: plain %d, dictionary %d (%d codes)%n",
+                distinctInstances(plain), distinctInstances(encoded), dictionary.size());
+
+        StatisticsAggregator aggregator = new StatisticsAggregator(universities);
+        List<Statistics> expected = aggregate(aggregator, plain);
+        if (!expected.toString().equals(aggregate(aggregator, encoded).toString())) {
+            throw new IllegalStateException("Dictionary-encoded statistics differ from plain statistics");
+        }
+
+        measure("plain ids", () -> aggregate(aggregator, plain));
+        measure("dictionary codes", () -> aggregate(aggregator, encoded));
+    }
+
+    private static List<Statistics> aggregate(StatisticsAggregator aggregator, List<Student> students) {
+        return aggregator.toStatistics(aggregator.accumulate(students));
+    }
+
+    private static int distinctInstances(List<Student> students) {
+        Set<String> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Student student : students) {
+            instances.add(student.getUniversityId());
+        }
+        return instances.size();
+    }
+
+    private static void measure(String name, Supplier<List<Statistics>> task) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            task.get();
+        }
+        long start = System.nanoTime();
+        int sink = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += task.get().size();
+        }
+        double millis = (System.nanoTime() - start) / 1e6 / MEASURED_ITERATIONS;
+        System.out.printf("%-24s %.2f ms/op (%d)%n", name, millis, sink);
+    }
+}
@@ -0,0 +1,87 @@
+import io.DatasetReader;
+import io.IncrementalIngestor;
+import model.Dataset;
+import model.Statistics;
+import util.StatisticsEngine;
+import util.StatisticsUtil;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Сравнение полного перечитывания и пересчёта книги с инкрементальным чтением {@link IncrementalIngestor}.
+ * <p>
+ * Пример запуска: {@code java -Xmx4g BenchmarkIncrementalIngestion 500000}. Создаётся синтетическая книга
+ * и считывается начальное состояние, затем книга перезаписывается с правкой каждого тысячного студента, удалением
+ * каждого пятитысячного и тысячей новых студентов. Замеряются полное чтение с расчётом статистики и инкрементальное
+ * чтение с применением изменения к {@link StatisticsEngine}; статистика обоих вариантов сверяется.
+ * </p>
+ */
+public class BenchmarkIncrementalIngestion {
+
+    private static final int UNIVERSITY_COUNT = 500;
+    private static final int INSERTED_STUDENTS = 1000;
+
+    /**
+     * Генерирует книги и выполняет замеры.
+     *
+     * @param args первый аргумент — количество студентов (по умолчанию 500000)
+     * @throws Exception если книгу не удаётся записать или прочитать
+     */
+    public static void main(String[] args) throws Exception {
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        Path workbook = Files.createTempFile("incremental-benchmark", ".xlsx");
+        Path state = null;
+        try {
+            SyntheticData.writeWorkbook(workbook.toString(), UNIVERSITY_COUNT, studentCount);
+            IncrementalIngestor ingestor = IncrementalIngestor.open(workbook.toString());
+            state = ingestor.getStatePath();
+            long start = System.nanoTime();
+            IncrementalIngestor.Delta initial = ingestor.ingest();
+            System.out.printf("initial ingest               %.2f ms %s%n", (System.nanoTime() - start) / 1e6, initial);
+            StatisticsEngine engine = new StatisticsEngine(ingestor.getUniversities(), ingestor.getStudents());
+
+            int[] index = new int[1];
+            SyntheticData.writeWorkbook(workbook.toString(), UNIVERSITY_COUNT, studentCount + INSERTED_STUDENTS,
+                    student -> {
+                        int i = index[0]++;
+                        if (i >= studentCount) {
+                            return student;
+                        }
+                        if (i % 5000 == 1) {
+                            return null;
+                        }
+                        return i % 1000 == 0 ? student.setAvgExamScore(5.0f - student.getAvgExamScore() / 2) : student;
+                    });
+
+            start = System.nanoTime();
+            Dataset dataset = DatasetReader.read(workbook.toString());
+            List<Statistics> expected = StatisticsUtil.calculateStatistics(dataset.getStudents(),
+                    dataset.getUniversities());
+            System.out.printf("full read + recompute        %.2f ms%n", (System.nanoTime() - start) / 1e6);
+
+            start = System.nanoTime();
+            IncrementalIngestor.Delta delta = ingestor.ingest();
+            delta.applyTo(engine);
+            List<Statistics> actual = engine.getStatistics();
+            System.out.printf("incremental ingest + apply   %.2f ms %s%n", (System.nanoTime() - start) / 1e6, delta);
+            if (!expected.toString().equals(actual.toString())) {
+                throw new IllegalStateException("Incremental statistics differ from full recompute");
+            }
+
+            start = System.nanoTime();
+            IncrementalIngestor.Delta unchanged = IncrementalIngestor.open(workbook.toString()).ingest();
+            System.out.printf("reopen + unchanged ingest    %.2f ms %s%n",
+                    (System.nanoTime() - start) / 1e6, unchanged);
+            if (!unchanged.isEmpty()) {
+                throw new IllegalStateException("Unchanged workbook produced a non-empty delta");
+            }
+        } finally {
+            if (state != null) {
+                Files.deleteIfExists(state);
+            }
+            Files.deleteIfExists(workbook);
+        }
+    }
+}
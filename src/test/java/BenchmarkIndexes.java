@@ -0,0 +1,100 @@
+import model.Student;
+import model.University;
+import util.StudentIndex;
+import util.UniversityIndex;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Сравнение линейного поиска по спискам с индексами {@link UniversityIndex} и {@link StudentIndex}.
+ * <p>
+ * Пример запуска: {@code java -Xmx4g BenchmarkIndexes 1000000}. Перед замером результаты запросов сверяются
+ * с линейным поиском как множества записей; выводятся время построения индексов и среднее время одного запроса.
+ * </p>
+ */
+public class BenchmarkIndexes {
+
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURED_ITERATIONS = 10;
+
+    /**
+     * Генерирует данные и выполняет замеры.
+     *
+     * @param args первый аргумент — количество студентов (по умолчанию 1000000)
+     */
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<University> universities = SyntheticData.universities(size / 10);
+        List<Student> students = SyntheticData.students(size, 520, 1L);
+
+        long start = System.nanoTime();
+        UniversityIndex universityIndex = UniversityIndex.build(universities);
+        StudentIndex studentIndex = StudentIndex.build(students);
+        System.out.printf("index build %.2f ms%n", (System.nanoTime() - start) / 1e6);
+
+        String id = universities.get(universities.size() / 2).getId();
+        compare("university by id",
+                () -> universities.stream().filter(u -> Objects.equals(u.getId(), id)).findFirst()
+                        .map(u -> 1).orElse(0),
+                () -> universityIndex.getById(id) != null ? 1 : 0);
+        check("universities founded 1750-1850",
+                universities.stream().filter(u -> u.getYearOfFoundation() >= 1750 && u.getYearOfFoundation() <= 1850)
+                        .collect(Collectors.toList()),
+                universityIndex.getFoundedBetween(1750, 1850));
+        compare("universities founded 1750-1850",
+                () -> (int) universities.stream()
+                        .filter(u -> u.getYearOfFoundation() >= 1750 && u.getYearOfFoundation() <= 1850).count(),
+                () -> universityIndex.getFoundedBetween(1750, 1850).size());
+        check("students with score 4.5-5.0",
+                students.stream().filter(s -> s.getAvgExamScore() >= 4.5f && s.getAvgExamScore() <= 5.0f)
+                        .collect(Collectors.toList()),
+                studentIndex.getWithScoreBetween(4.5f, 5.0f));
+        compare("students with score 4.5-5.0",
+                () -> (int) students.stream()
+                        .filter(s -> s.getAvgExamScore() >= 4.5f && s.getAvgExamScore() <= 5.0f).count(),
+                () -> studentIndex.getWithScoreBetween(4.5f, 5.0f).size());
+        String universityId = students.get(0).getUniversityId();
+        check("students of " + universityId,
+                students.stream().filter(s -> universityId.equals(s.getUniversityId())).collect(Collectors.toList()),
+                studentIndex.getByUniversityId(universityId));
+        compare("students of " + universityId,
+                () -> (int) students.stream().filter(s -> universityId.equals(s.getUniversityId())).count(),
+                () -> studentIndex.getByUniversityId(universityId).size());
+    }
+
+    private static <T> void check(String name, List<T> expected, List<T> actual) {
+        Set<T> found = Collections.newSetFromMap(new IdentityHashMap<>());
+        found.addAll(actual);
+        if (expected.size() != actual.size() || !found.containsAll(expected)) {
+            throw new IllegalStateException("Index result differs for " + name);
+        }
+    }
+
+    private static void compare(String name, IntSupplier scan, IntSupplier index) {
+        if (scan.getAsInt() != index.getAsInt()) {
+            throw new IllegalStateException("Index result differs for " + name);
+        }
+        System.out.println(name);
+        measure("  linear scan", scan);
+        measure("  index", index);
+    }
+
+    private static void measure(String name, IntSupplier task) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            task.getAsInt();
+        }
+        long start = System.nanoTime();
+        int sink = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += task.getAsInt();
+        }
+        double micros = (System.nanoTime() - start) / 1e3 / MEASURED_ITERATIONS;
+        System.out.printf("%-24s %.2f us/op (%d)%n", name, micros, sink);
+    }
+}
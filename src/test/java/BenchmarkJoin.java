@@ -0,0 +1,98 @@
+import model.Student;
+import model.University;
+import util.StudentUniversityJoin;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Сравнение соединения студентов с университетами через группировку {@code Map<String, List<Student>>}
+ * с хеш-соединением {@link StudentUniversityJoin} без фильтра Блума и с ним.
+ * <p>
+ * Пример запуска: {@code java -Xmx4g BenchmarkJoin 1000000}. Замеры выполняются для набора с малой долей
+ * студентов-сирот и для набора, где большинство студентов ссылается на неизвестные университеты. Перед замером
+ * итоги всех вариантов сверяются между собой, а сироты, переданные потребителю, — с их количеством в итоге.
+ * </p>
+ */
+public class BenchmarkJoin {
+
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURED_ITERATIONS = 5;
+
+    /**
+     * Генерирует данные и выполняет замеры.
+     *
+     * @param args первый аргумент — количество студентов (по умолчанию 1000000)
+     */
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<University> universities = SyntheticData.universities(5_000);
+        StudentUniversityJoin join = StudentUniversityJoin.build(universities);
+        StudentUniversityJoin bloomJoin = StudentUniversityJoin.buildWithBloomFilter(universities,
+                StudentUniversityJoin.DEFAULT_BLOOM_FALSE_POSITIVE_RATE);
+
+        for (int universityIdRange : new int[]{5_200, 100_000}) {
+            List<Student> students = SyntheticData.students(size, universityIdRange, 1L);
+            String expected = grouped(students, universities);
+            String actual = summary(join.join(students));
+            String actualWithBloom = summary(bloomJoin.join(students));
+            if (!expected.equals(actual) || !expected.equals(actualWithBloom)) {
+                throw new IllegalStateException("Join results differ: " + expected + " / " + actual + " / "
+                        + actualWithBloom);
+            }
+            List<Student> orphans = new ArrayList<>();
+            StudentUniversityJoin.JoinResult collected = bloomJoin.join(students, null, orphans::add);
+            if (orphans.size() != collected.getOrphanStudentCount()) {
+                throw new IllegalStateException("Reported " + orphans.size() + " orphans, counted "
+                        + collected.getOrphanStudentCount());
+            }
+            System.out.println("students over " + universityIdRange + " university ids: " + expected);
+            measure("  groupingBy map", () -> grouped(students, universities));
+            measure("  hash join", () -> summary(join.join(students)));
+            measure("  hash join + Bloom", () -> summary(bloomJoin.join(students)));
+        }
+    }
+
+    private static String grouped(List<Student> students, List<University> universities) {
+        Map<String, List<Student>> byUniversity = students.stream()
+                .filter(student -> student.getUniversityId() != null)
+                .collect(Collectors.groupingBy(Student::getUniversityId));
+        Set<String> universityIds = new HashSet<>();
+        long pairs = 0;
+        long withoutStudents = 0;
+        for (University university : universities) {
+            universityIds.add(university.getId());
+            List<Student> matched = byUniversity.get(university.getId());
+            if (matched == null) {
+                withoutStudents++;
+            } else {
+                pairs += matched.size();
+            }
+        }
+        long orphans = students.stream().filter(student -> !universityIds.contains(student.getUniversityId())).count();
+        return pairs + " pairs, " + orphans + " orphans, " + withoutStudents + " universities without students";
+    }
+
+    private static String summary(StudentUniversityJoin.JoinResult result) {
+        return result.getMatchedPairCount() + " pairs, " + result.getOrphanStudentCount() + " orphans, "
+                + result.getUniversitiesWithoutStudents().size() + " universities without students";
+    }
+
+    private static void measure(String name, Supplier<String> task) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            task.get();
+        }
+        long start = System.nanoTime();
+        int sink = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += task.get().length();
+        }
+        double millis = (System.nanoTime() - start) / 1e6 / MEASURED_ITERATIONS;
+        System.out.printf("%-24s %.2f ms/op (%d)%n", name, millis, sink);
+    }
+}
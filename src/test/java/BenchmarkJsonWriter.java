@@ -0,0 +1,170 @@
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import io.JsonStreamWriter;
+import model.Statistics;
+import model.Student;
+import model.University;
+import util.StatisticsEngine;
+
+import java.io.BufferedOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Сравнение записи JSON-документа со студентами, университетами и статистикой: прежний способ {@code JsonWriter}
+ * (словарь разделов и рефлексивная сериализация Gson через {@link FileWriter}), рефлексивная сериализация
+ * по записям поверх потокового писателя Gson и {@link JsonStreamWriter} в форматированном и компактном режимах.
+ * <p>
+ * Пример запуска: {@code java -Xmx1g BenchmarkJsonWriter 2000000}. Для каждого варианта выводятся время
+ * и пропускная способность в МБ/с; размеры файлов форматированных вариантов сверяются. Последний замер пишет
+ * студентов из итератора без списка и измеряет занятую кучу после сборки мусора на каждой десятой части потока.
+ * </p>
+ */
+public class BenchmarkJsonWriter {
+
+    private static final int UNIVERSITY_COUNT = 500;
+    private static final long SEED = 42L;
+    private static final int ROUNDS = 3;
+    private static final int CHECKPOINTS = 10;
+    private static final long MB = 1024 * 1024;
+
+    private static final Gson PRETTY = new GsonBuilder().setPrettyPrinting().create();
+
+    /**
+     * Выполняет замеры.
+     *
+     * @param args первый аргумент — количество студентов (по умолчанию 2000000)
+     * @throws IOException если файл не удаётся записать
+     */
+    public static void main(String[] args) throws IOException {
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        List<University> universities = SyntheticData.universities(UNIVERSITY_COUNT);
+        StatisticsEngine engine = new StatisticsEngine(universities, null);
+        SyntheticData.forEachStudent(studentCount, UNIVERSITY_COUNT, SEED, engine::addStudent);
+        List<Statistics> statistics = engine.getStatistics();
+        LocalDateTime processedAt = LocalDateTime.now();
+        Path file = Files.createTempFile("json-benchmark", ".json");
+        try {
+            long streamingSize = streamWithoutList(file, studentCount, universities, statistics, processedAt);
+
+            List<Student> students = SyntheticData.students(studentCount, UNIVERSITY_COUNT, SEED);
+            long[] sizes = new long[3];
+            for (int round = 0; round < ROUNDS; round++) {
+                sizes[0] = measure("Gson, HashMap of sections", file, () -> {
+                    Map<String, Object> root = new HashMap<>();
+                    root.put("studentsInfo", students);
+                    root.put("universitiesInfo", universities);
+                    root.put("statisticalInfo", statistics);
+                    root.put("processedAt", processedAt.toString());
+                    try (FileWriter writer = new FileWriter(file.toFile(), StandardCharsets.UTF_8)) {
+                        PRETTY.toJson(root, writer);
+                    }
+                });
+                sizes[1] = measure("Gson, per entry", file, () -> {
+                    try (Writer writer = new OutputStreamWriter(
+                            new BufferedOutputStream(Files.newOutputStream(file), 1 << 16), StandardCharsets.UTF_8);
+                         com.google.gson.stream.JsonWriter json = PRETTY.newJsonWriter(writer)) {
+                        json.beginObject();
+                        json.name("studentsInfo").beginArray();
+                        for (Student student : students) {
+                            PRETTY.toJson(student, Student.class, json);
+                        }
+                        json.endArray();
+                        json.name("universitiesInfo").beginArray();
+                        for (University university : universities) {
+                            PRETTY.toJson(university, University.class, json);
+                        }
+                        json.endArray();
+                        json.name("statisticalInfo").beginArray();
+                        for (Statistics entry : statistics) {
+                            PRETTY.toJson(entry, Statistics.class, json);
+                        }
+                        json.endArray();
+                        json.name("processedAt").value(processedAt.toString());
+                        json.endObject();
+                    }
+                });
+                sizes[2] = measure("JsonStreamWriter", file, () -> write(file, false, students.iterator(),
+                        universities, statistics, processedAt));
+                measure("JsonStreamWriter, compact", file, () -> write(file, true, students.iterator(),
+                        universities, statistics, processedAt));
+            }
+            if (sizes[0] != sizes[1] || sizes[1] != sizes[2] || sizes[2] != streamingSize) {
+                throw new IllegalStateException("Pretty-printed files differ in size: " + sizes[0] + ", " + sizes[1]
+                        + ", " + sizes[2] + ", " + streamingSize);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Пишет студентов из итератора, не создавая списка, и выводит занятую кучу после сборки мусора.
+     */
+    private static long streamWithoutList(Path file, int studentCount, List<University> universities,
+                                          List<Statistics> statistics, LocalDateTime processedAt) throws IOException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        int checkpointEvery = Math.max(1, studentCount / CHECKPOINTS);
+        Iterator<Student> source = SyntheticData.studentIterator(studentCount, UNIVERSITY_COUNT, SEED);
+        StringBuilder samples = new StringBuilder();
+        Iterator<Student> students = new Iterator<Student>() {
+            private int produced;
+
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            @Override
+            public Student next() {
+                if (produced++ % checkpointEvery == 0) {
+                    System.gc();
+                    samples.append(samples.length() == 0 ? "" : ", ")
+                            .append(memory.getHeapMemoryUsage().getUsed() / MB);
+                }
+                return source.next();
+            }
+        };
+        long size = measure("JsonStreamWriter, iterator", file, () -> write(file, false, students,
+                universities, statistics, processedAt));
+        System.out.println("heap after GC per tenth of the stream, MB: " + samples);
+        return size;
+    }
+
+    private static void write(Path file, boolean compact, Iterator<Student> students, List<University> universities,
+                              List<Statistics> statistics, LocalDateTime processedAt) throws IOException {
+        try (JsonStreamWriter writer = JsonStreamWriter.open(file, compact)) {
+            writer.writeStudents(students)
+                    .writeUniversities(universities.iterator())
+                    .writeStatistics(statistics.iterator())
+                    .writeProcessedAt(processedAt);
+        }
+    }
+
+    private static long measure(String name, Path file, Task task) throws IOException {
+        long start = System.nanoTime();
+        task.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long size = Files.size(file);
+        System.out.printf("%-28s %8.2f s %8.1f MB/s (%d MB)%n", name, seconds, size / (double) MB / seconds,
+                size / MB);
+        return size;
+    }
+
+    @FunctionalInterface
+    private interface Task {
+        void run() throws IOException;
+    }
+}
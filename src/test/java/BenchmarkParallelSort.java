@@ -0,0 +1,94 @@
+import enums.StudentComparatorType;
+import enums.UniversityComparatorType;
+import model.Student;
+import model.University;
+import util.ComparatorUtil;
+import util.SortUtil;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Пропускная способность последовательной сортировки {@code stream().sorted(comparator)}, последовательного
+ * пути {@link ComparatorUtil} и параллельного пути {@link SortUtil} на нескольких объёмах данных.
+ * <p>
+ * Пример запуска: {@code java -Xmx8g BenchmarkParallelSort 100000 1000000 10000000}. Для каждого объёма и типа
+ * сравнения результаты сверяются поэлементно по ссылкам, что проверяет стабильность параллельной сортировки.
+ * Выводится время одной сортировки и количество отсортированных записей в секунду. На машине с одним ядром
+ * {@link SortUtil} выбирает последовательный путь; чтобы замерить параллельный, задайте параллелизм общего пула
+ * свойством {@code -Djava.util.concurrent.ForkJoinPool.common.parallelism}.
+ * </p>
+ * <p>
+ * Замер на одном ядре ({@code -Xmx4600m}, JDK 17), миллионов записей в секунду для {@code stream().sorted},
+ * {@link ComparatorUtil} и {@link SortUtil}:
+ * </p>
+ * <pre>
+ * записей      студенты по баллу       студенты по университету    университеты по имени
+ * 100000       1.57 /  6.65 /  9.34    1.91 / 2.07 / 1.94          3.26 /  4.77 /  5.24
+ * 1000000      5.52 / 33.60 / 34.04    1.92 / 1.63 / 1.75          8.82 / 10.53 /  9.58
+ * 10000000     5.77 / 33.33 / 31.14    2.09 / 1.76 / 1.96          1.79 /  7.52 / 10.14
+ * </pre>
+ * <p>
+ * На одном ядре {@link SortUtil} совпадает с последовательным путём с точностью до шума. Если принудительно
+ * задать параллелизм 4 на одном ядре, параллельный путь медленнее последовательного в 1,5–8 раз: задачи пула
+ * делят одно ядро, а сортировка 10000000 университетов по имени не помещается в кучу 4600 МБ. Ускорение
+ * параллельного пути на нескольких ядрах этими замерами не подтверждено.
+ * </p>
+ */
+public class BenchmarkParallelSort {
+
+    private static final int WARMUP_ITERATIONS = 2;
+    private static final int MEASURED_ITERATIONS = 3;
+
+    /**
+     * Выполняет замеры на указанных объёмах.
+     *
+     * @param args объёмы данных (по умолчанию 100000, 1000000 и 10000000)
+     */
+    public static void main(String[] args) {
+        String[] sizes = args.length > 0 ? args : new String[]{"100000", "1000000", "10000000"};
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+        for (String sizeArgument : sizes) {
+            int size = Integer.parseInt(sizeArgument);
+            System.out.println("=== " + size + " rows ===");
+            List<Student> students = SyntheticData.students(size, 520, 1L);
+            for (StudentComparatorType type : new StudentComparatorType[]{
+                    StudentComparatorType.AVG_EXAM_SCORE, StudentComparatorType.UNIVERSITY_ID}) {
+                compare("students by " + type, size,
+                        () -> students.stream().sorted(ComparatorUtil.getStudentComparator(type))
+                                .collect(Collectors.toList()),
+                        () -> ComparatorUtil.sortStudents(students, type),
+                        () -> SortUtil.sortStudents(students, type, 0));
+            }
+            List<University> universities = SyntheticData.universities(size);
+            compare("universities by " + UniversityComparatorType.FULL_NAME, size,
+                    () -> universities.stream()
+                            .sorted(ComparatorUtil.getUniversityComparator(UniversityComparatorType.FULL_NAME))
+                            .collect(Collectors.toList()),
+                    () -> ComparatorUtil.sortUniversities(universities, UniversityComparatorType.FULL_NAME),
+                    () -> SortUtil.sortUniversities(universities, UniversityComparatorType.FULL_NAME, 0));
+        }
+    }
+
+    private static <T> void compare(String name, int size, Supplier<List<T>> baseline, Supplier<List<T>> sequential,
+                                    Supplier<List<T>> parallel) {
+        Checks.checkSameOrder("parallel order of " + name, baseline.get(), parallel.get());
+        System.out.println(name);
+        measure("  stream().sorted", size, baseline);
+        measure("  ComparatorUtil", size, sequential);
+        measure("  SortUtil parallel", size, parallel);
+    }
+
+    private static <T> void measure(String name, int size, Supplier<List<T>> task) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            task.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            task.get();
+        }
+        double millis = (System.nanoTime() - start) / 1e6 / MEASURED_ITERATIONS;
+        System.out.printf("%-22s %10.2f ms/op %14.0f rows/s%n", name, millis, size / (millis / 1000));
+    }
+}
@@ -0,0 +1,54 @@
+import io.ParallelXlsReader;
+import io.WorkbookSource;
+import model.Student;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Замер масштабирования параллельного разбора листа студентов по количеству потоков.
+ * <p>
+ * Пример запуска: {@code java -Xmx4g BenchmarkParallelXlsReader 500000}. Книга открывается один раз,
+ * затем лист разбирается последовательно и параллельно с числом потоков 1, 2, 4, ... до количества ядер.
+ * </p>
+ */
+public class BenchmarkParallelXlsReader {
+
+    /**
+     * Генерирует книгу и выполняет замеры.
+     *
+     * @param args первый аргумент — количество строк студентов (по умолчанию 500000)
+     * @throws IOException если книгу не удаётся создать или прочитать
+     */
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        File workbook = File.createTempFile("synthetic-students", ".xlsx");
+        workbook.deleteOnExit();
+        SyntheticData.writeWorkbook(workbook.getPath(), 500, rows);
+
+        try (WorkbookSource source = WorkbookSource.open(workbook.getPath())) {
+            List<Student> expected = source.readStudents();
+            int cores = Runtime.getRuntime().availableProcessors();
+            for (int round = 0; round < 3; round++) {
+                long start = System.nanoTime();
+                source.readStudents();
+                report("sequential SAX", rows, start);
+
+                for (int threads = 1; threads <= cores; threads *= 2) {
+                    start = System.nanoTime();
+                    List<Student> students = ParallelXlsReader.readXlsStudents(source, threads);
+                    report("parallel x" + threads, rows, start);
+                    if (!students.toString().equals(expected.toString())) {
+                        throw new IllegalStateException("Parallel result differs from sequential result");
+                    }
+                }
+            }
+        }
+    }
+
+    private static void report(String name, int rows, long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-18s time=%.3fs rows/s=%.0f%n", name, seconds, rows / seconds);
+    }
+}
@@ -0,0 +1,83 @@
+import io.DatasetReader;
+import io.ShardedXlsReader;
+import model.Dataset;
+import model.Statistics;
+import model.Student;
+import model.University;
+import util.StatisticsUtil;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Сравнение последовательного чтения набора книг со сборкой общего списка студентов и чтения
+ * {@link ShardedXlsReader} с частичными агрегатами по шардам.
+ * <p>
+ * Пример запуска: {@code java -Xmx4g BenchmarkShardedReader 8 100000}. В каталоге во временной папке создаются
+ * книги с одинаковыми университетами; статистика обоих вариантов сверяется, для чтения по шардам выводится время
+ * каждого шарда.
+ * </p>
+ */
+public class BenchmarkShardedReader {
+
+    private static final int UNIVERSITY_COUNT = 500;
+
+    /**
+     * Генерирует книги и выполняет замеры.
+     *
+     * @param args первый аргумент — количество книг (по умолчанию 8), второй — количество студентов в книге
+     *             (по умолчанию 100000)
+     * @throws IOException если книги не удаётся записать или прочитать
+     */
+    public static void main(String[] args) throws IOException {
+        int shardCount = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int studentsPerShard = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        Path directory = Files.createTempDirectory("sharded-benchmark");
+        try {
+            for (int i = 0; i < shardCount; i++) {
+                SyntheticData.writeWorkbook(directory.resolve(String.format("region-%02d.xlsx", i)).toString(),
+                        UNIVERSITY_COUNT, studentsPerShard);
+            }
+            List<Path> shards = ShardedXlsReader.findShards(directory.toString(), "region-*.xlsx");
+
+            long start = System.nanoTime();
+            List<University> universities = new ArrayList<>();
+            List<Student> students = new ArrayList<>();
+            Set<String> ids = new HashSet<>();
+            for (Path shard : shards) {
+                Dataset dataset = DatasetReader.read(shard.toString());
+                dataset.getUniversities().stream().filter(u -> ids.add(u.getId())).forEach(universities::add);
+                students.addAll(dataset.getStudents());
+            }
+            List<Statistics> expected = StatisticsUtil.calculateStatistics(students, universities);
+            System.out.printf("sequential read + list       %.2f ms%n", (System.nanoTime() - start) / 1e6);
+            students.clear();
+
+            for (int parallelism : new int[]{1, ShardedXlsReader.defaultParallelism(shards.size())}) {
+                start = System.nanoTime();
+                ShardedXlsReader.Result result = ShardedXlsReader.read(shards, parallelism, false);
+                List<Statistics> actual = result.calculateStatistics();
+                System.out.printf("sharded, pool of %-2d         %.2f ms (%d students, %d duplicate universities)%n",
+                        parallelism, (System.nanoTime() - start) / 1e6, result.getStudentCount(),
+                        result.getDuplicateUniversityCount());
+                result.getShards().forEach(shard -> System.out.println("  " + shard));
+                if (!expected.toString().equals(actual.toString())) {
+                    throw new IllegalStateException("Sharded statistics differ from sequential statistics");
+                }
+            }
+        } finally {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(directory);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+import io.DatasetReader;
+import io.SnapshotCache;
+import model.Dataset;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.Callable;
+
+/**
+ * Сравнение разбора XLSX-книги с загрузкой её двоичного снимка {@link SnapshotCache}.
+ * <p>
+ * Пример запуска: {@code java -Xmx4g BenchmarkSnapshotCache 2000000}. Создаётся синтетическая книга, затем
+ * замеряются разбор книги, первый запуск с записью снимка, загрузка снимка и загрузка после изменения времени
+ * модификации файла без изменения содержимого. Результаты загрузки сверяются с разбором книги.
+ * </p>
+ */
+public class BenchmarkSnapshotCache {
+
+    /**
+     * Генерирует книгу и выполняет замеры.
+     *
+     * @param args первый аргумент — количество студентов (по умолчанию 1000000)
+     * @throws Exception если книгу не удаётся записать или прочитать
+     */
+    public static void main(String[] args) throws Exception {
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path workbook = Files.createTempFile("snapshot-benchmark", ".xlsx");
+        try {
+            SyntheticData.writeWorkbook(workbook.toString(), 500, studentCount);
+            SnapshotCache.invalidate(workbook.toString());
+
+            Dataset expected = measure("workbook parse", () -> DatasetReader.read(workbook.toString()));
+            verify(expected, measure("first run (parse + write)", () -> SnapshotCache.read(workbook.toString())));
+            System.out.printf("snapshot size %d bytes, workbook size %d bytes%n",
+                    Files.size(SnapshotCache.snapshotPath(workbook.toString())), Files.size(workbook));
+            for (int i = 0; i < 3; i++) {
+                verify(expected, measure("snapshot load", () -> SnapshotCache.read(workbook.toString())));
+            }
+            Files.setLastModifiedTime(workbook, FileTime.fromMillis(System.currentTimeMillis() + 1000));
+            verify(expected, measure("load after touch", () -> SnapshotCache.read(workbook.toString())));
+        } finally {
+            SnapshotCache.invalidate(workbook.toString());
+            Files.deleteIfExists(workbook);
+        }
+    }
+
+    private static void verify(Dataset expected, Dataset actual) {
+        if (!expected.getUniversities().toString().equals(actual.getUniversities().toString())
+                || !expected.getStudents().toString().equals(actual.getStudents().toString())) {
+            throw new IllegalStateException("Snapshot contents differ from the parsed workbook");
+        }
+    }
+
+    private static Dataset measure(String name, Callable<Dataset> task) throws Exception {
+        long start = System.nanoTime();
+        Dataset dataset = task.call();
+        System.out.printf("%-28s %.2f ms (%d students)%n",
+                name, (System.nanoTime() - start) / 1e6, dataset.getStudents().size());
+        return dataset;
+    }
+}
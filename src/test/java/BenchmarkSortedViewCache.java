@@ -0,0 +1,123 @@
+import enums.StudentComparatorType;
+import enums.UniversityComparatorType;
+import model.Student;
+import model.University;
+import util.ComparatorUtil;
+import util.SortUtil;
+import util.SortedViewCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongSupplier;
+
+/**
+ * Сравнение повторной сортировки на каждый запрос с кэшем отсортированных представлений {@link SortedViewCache}.
+ * <p>
+ * Пример запуска: {@code java -Xmx4g BenchmarkSortedViewCache 1000000}. Сценарий повторяет запросы нескольких
+ * порядков, чередуя их с одиночными вставками и удалениями студентов. После сценария проверяется, что изменения
+ * студентов не сбросили представления университетов и наоборот, а представления кэша сверяются поэлементно
+ * по ссылкам со стабильной сортировкой текущего набора.
+ * </p>
+ */
+public class BenchmarkSortedViewCache {
+
+    private static final StudentComparatorType[] STUDENT_TYPES = {
+            StudentComparatorType.AVG_EXAM_SCORE, StudentComparatorType.FULL_NAME, StudentComparatorType.UNIVERSITY_ID};
+    private static final int ROUNDS = 20;
+    private static final int CHANGES_PER_ROUND = 50;
+
+    /**
+     * Генерирует данные и выполняет замеры.
+     *
+     * @param args первый аргумент — количество студентов (по умолчанию 1000000)
+     */
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<University> universities = SyntheticData.universities(500);
+        List<Student> initial = SyntheticData.students(size, 520, 1L);
+
+        List<Student> current = new ArrayList<>(initial);
+        long start = System.nanoTime();
+        long sink = run(new Random(7L), current, () -> {
+            long sum = 0;
+            for (StudentComparatorType type : STUDENT_TYPES) {
+                sum += SortUtil.sortStudents(current, type).size();
+            }
+            return sum;
+        }, null);
+        System.out.printf("%-24s %.2f ms/round (%d)%n", "re-sort every request",
+                (System.nanoTime() - start) / 1e6 / ROUNDS, sink);
+
+        SortedViewCache cache = new SortedViewCache(universities, initial);
+        requestUniversities(cache);
+        List<Student> mirror = new ArrayList<>(initial);
+        start = System.nanoTime();
+        sink = run(new Random(7L), mirror, () -> {
+            long sum = 0;
+            for (StudentComparatorType type : STUDENT_TYPES) {
+                sum += cache.getStudents(type).size();
+            }
+            return sum;
+        }, cache);
+        System.out.printf("%-24s %.2f ms/round (%d)%n", "sorted view cache",
+                (System.nanoTime() - start) / 1e6 / ROUNDS, sink);
+        System.out.println(cache);
+
+        long misses = cache.getMissCount();
+        requestUniversities(cache);
+        Checks.check(cache.getMissCount() == misses, "student changes invalidated university views");
+        University added = new University().setId("9999-added").setFullName("Добавленный университет")
+                .setShortName("ДУ").setYearOfFoundation(2000).setMainProfile(universities.get(0).getMainProfile());
+        cache.addUniversity(added);
+        Checks.check(cache.removeUniversity(added), "added university is missing from the cache");
+        for (StudentComparatorType type : STUDENT_TYPES) {
+            cache.getStudents(type);
+        }
+        Checks.check(cache.getMissCount() == misses, "university changes invalidated student views");
+        System.out.println("Changes of one kind keep cached views of the other kind");
+
+        for (StudentComparatorType type : STUDENT_TYPES) {
+            Checks.checkSameOrder("cached students by " + type, ComparatorUtil.sortStudents(mirror, type),
+                    cache.getStudents(type));
+        }
+        for (UniversityComparatorType type : UniversityComparatorType.values()) {
+            Checks.checkSameOrder("cached universities by " + type,
+                    ComparatorUtil.sortUniversities(universities, type), cache.getUniversities(type));
+        }
+        System.out.println("Cached views match full sorting");
+    }
+
+    private static long run(Random random, List<Student> students, LongSupplier requests,
+                            SortedViewCache cache) {
+        long sink = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            sink += requests.getAsLong();
+            for (int change = 0; change < CHANGES_PER_ROUND; change++) {
+                if (random.nextBoolean()) {
+                    Student removed = students.remove(random.nextInt(students.size()));
+                    if (cache != null) {
+                        cache.removeStudent(removed);
+                    }
+                } else {
+                    Student added = new Student()
+                            .setFullName("Добавленный Студент " + random.nextInt(1000))
+                            .setUniversityId(String.format("%04d-high", random.nextInt(520) + 1))
+                            .setCurrentCourseNumber(1 + random.nextInt(5))
+                            .setAvgExamScore(Math.round(random.nextFloat() * 500) / 100f);
+                    students.add(added);
+                    if (cache != null) {
+                        cache.addStudent(added);
+                    }
+                }
+            }
+        }
+        return sink;
+    }
+
+    private static void requestUniversities(SortedViewCache cache) {
+        for (UniversityComparatorType type : UniversityComparatorType.values()) {
+            cache.getUniversities(type);
+        }
+    }
+}
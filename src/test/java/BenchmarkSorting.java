@@ -0,0 +1,69 @@
+import enums.StudentComparatorType;
+import enums.UniversityComparatorType;
+import model.Student;
+import model.University;
+import util.ComparatorUtil;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Сравнение поразрядной сортировки по числовым ключам ({@link ComparatorUtil#sortStudents},
+ * {@link ComparatorUtil#sortUniversities}) с {@code stream().sorted(comparator)}.
+ * <p>
+ * Пример запуска: {@code java -Xmx4g BenchmarkSorting 2000000}. Перед замером результаты сортировок сверяются
+ * между собой поэлементно по ссылкам, что проверяет и стабильность.
+ * </p>
+ */
+public class BenchmarkSorting {
+
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURED_ITERATIONS = 5;
+
+    /**
+     * Генерирует данные и выполняет замеры.
+     *
+     * @param args первый аргумент — количество записей (по умолчанию 1000000)
+     */
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<Student> students = SyntheticData.students(size, 520, 1L);
+        List<University> universities = SyntheticData.universities(size);
+
+        for (StudentComparatorType type : new StudentComparatorType[]{
+                StudentComparatorType.AVG_EXAM_SCORE, StudentComparatorType.CURRENT_COURSE_NUMBER}) {
+            compare("students by " + type,
+                    () -> students.stream().sorted(ComparatorUtil.getStudentComparator(type))
+                            .collect(Collectors.toList()),
+                    () -> ComparatorUtil.sortStudents(students, type));
+        }
+        for (UniversityComparatorType type : new UniversityComparatorType[]{
+                UniversityComparatorType.YEAR_OF_FOUNDATION, UniversityComparatorType.MAIN_PROFILE}) {
+            compare("universities by " + type,
+                    () -> universities.stream().sorted(ComparatorUtil.getUniversityComparator(type))
+                            .collect(Collectors.toList()),
+                    () -> ComparatorUtil.sortUniversities(universities, type));
+        }
+    }
+
+    private static <T> void compare(String name, Supplier<List<T>> baseline, Supplier<List<T>> radix) {
+        Checks.checkSameOrder("sorted order of " + name, baseline.get(), radix.get());
+        System.out.println(name);
+        measure("  stream().sorted", baseline);
+        measure("  radix sort", radix);
+    }
+
+    private static <T> void measure(String name, Supplier<List<T>> task) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            task.get();
+        }
+        long start = System.nanoTime();
+        int sink = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += task.get().size();
+        }
+        double millis = (System.nanoTime() - start) / 1e6 / MEASURED_ITERATIONS;
+        System.out.printf("%-24s %.2f ms/op (%d)%n", name, millis, sink);
+    }
+}
@@ -0,0 +1,53 @@
+import model.Statistics;
+import model.Student;
+import model.University;
+import util.StatisticsUtil;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Сравнение однопроходной агрегации статистики с реализацией на группировке Stream API.
+ * <p>
+ * Пример запуска: {@code java -Xmx4g BenchmarkStatistics 2000000}. Для каждой реализации выполняется прогрев,
+ * затем выводится среднее время одного расчёта; перед замером результаты сверяются между собой.
+ * </p>
+ */
+public class BenchmarkStatistics {
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 10;
+
+    /**
+     * Генерирует данные и выполняет замеры.
+     *
+     * @param args первый аргумент — количество студентов (по умолчанию 1000000)
+     */
+    public static void main(String[] args) {
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<University> universities = SyntheticData.universities(500);
+        List<Student> students = SyntheticData.students(studentCount, 520, 1L);
+
+        List<Statistics> expected = StatisticsUtil.calculateStatisticsWithGrouping(students, universities);
+        List<Statistics> actual = StatisticsUtil.calculateStatistics(students, universities);
+        if (!expected.toString().equals(actual.toString())) {
+            throw new IllegalStateException("Single-pass statistics differ from grouping statistics");
+        }
+
+        measure("grouping (Stream API)", () -> StatisticsUtil.calculateStatisticsWithGrouping(students, universities));
+        measure("single-pass aggregator", () -> StatisticsUtil.calculateStatistics(students, universities));
+    }
+
+    private static void measure(String name, Supplier<List<Statistics>> task) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            task.get();
+        }
+        long start = System.nanoTime();
+        int sink = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += task.get().size();
+        }
+        double millis = (System.nanoTime() - start) / 1e6 / MEASURED_ITERATIONS;
+        System.out.printf("%-24s %.2f ms/op (%d)%n", name, millis, sink);
+    }
+}
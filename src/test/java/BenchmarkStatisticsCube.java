@@ -0,0 +1,109 @@
+import enums.CubeDimension;
+import enums.StudyProfile;
+import model.Statistics;
+import model.Student;
+import model.University;
+import util.StatisticsCube;
+import util.StatisticsUtil;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Построение куба статистики и замер времени запросов свёртки и среза.
+ * <p>
+ * Пример запуска: {@code java -Xmx4g BenchmarkStatisticsCube 2000000}. Перед замером свёртка по профилю сверяется
+ * с {@link StatisticsUtil#calculateStatistics(List, List)}, а разбивка по курсам внутри профиля — с группировкой
+ * Stream API по всем студентам.
+ * </p>
+ */
+public class BenchmarkStatisticsCube {
+
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURED_ITERATIONS = 10_000;
+
+    /**
+     * Генерирует данные, строит куб и выполняет замеры.
+     *
+     * @param args первый аргумент — количество студентов (по умолчанию 1000000)
+     */
+    public static void main(String[] args) {
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<University> universities = SyntheticData.universities(500);
+        List<Student> students = SyntheticData.students(studentCount, 520, 1L);
+
+        long start = System.nanoTime();
+        StatisticsCube cube = StatisticsCube.build(universities, students);
+        System.out.printf("cube build               %.2f ms%n", (System.nanoTime() - start) / 1e6);
+
+        verifyProfiles(cube, StatisticsUtil.calculateStatistics(students, universities));
+        verifyCourses(cube, universities, students, StudyProfile.PHYSICS);
+
+        measure("roll-up profile", () -> cube.rollUp(CubeDimension.STUDY_PROFILE));
+        measure("roll-up profile x course", () -> cube.rollUp(CubeDimension.STUDY_PROFILE, CubeDimension.COURSE));
+        measure("roll-up decade x profile",
+                () -> cube.rollUp(CubeDimension.FOUNDATION_DECADE, CubeDimension.STUDY_PROFILE));
+        measure("slice university x course",
+                () -> cube.slice(CubeDimension.UNIVERSITY, "0001-high").rollUp(CubeDimension.COURSE));
+    }
+
+    private static void verifyProfiles(StatisticsCube cube, List<Statistics> statistics) {
+        Map<StudyProfile, StatisticsCube.Cell> cells = cube.rollUp(CubeDimension.STUDY_PROFILE).stream()
+                .collect(Collectors.toMap(StatisticsCube.Cell::getStudyProfile, cell -> cell));
+        for (Statistics stats : statistics) {
+            StatisticsCube.Cell cell = cells.get(stats.getStudyProfile());
+            long count = cell == null ? 0 : cell.getStudentCount();
+            BigDecimal average = cell == null ? null : cell.getAvgExamScore();
+            if (count != stats.getStudentCount() || !String.valueOf(average).equals(
+                    String.valueOf(stats.getAvgExamScore()))) {
+                throw new IllegalStateException("Cube roll-up differs for profile " + stats.getStudyProfile());
+            }
+        }
+    }
+
+    private static void verifyCourses(StatisticsCube cube, List<University> universities, List<Student> students,
+                                      StudyProfile profile) {
+        Map<String, Long> entriesById = universities.stream()
+                .filter(university -> university.getMainProfile() == profile)
+                .collect(Collectors.groupingBy(University::getId, Collectors.counting()));
+        Map<Integer, String> expected = students.stream()
+                .filter(student -> entriesById.containsKey(student.getUniversityId()))
+                .collect(Collectors.groupingBy(Student::getCurrentCourseNumber, TreeMap::new,
+                        Collectors.collectingAndThen(Collectors.toList(), list -> {
+                            long count = 0;
+                            double sum = 0;
+                            for (Student student : list) {
+                                long entries = entriesById.get(student.getUniversityId());
+                                count += entries;
+                                sum += entries * (double) student.getAvgExamScore();
+                            }
+                            return count + "/" + BigDecimal.valueOf(sum / count).setScale(2, RoundingMode.HALF_UP);
+                        })));
+        Map<Integer, String> actual = cube.slice(CubeDimension.STUDY_PROFILE, profile)
+                .rollUp(CubeDimension.COURSE).stream()
+                .collect(Collectors.toMap(StatisticsCube.Cell::getCourseNumber,
+                        cell -> cell.getStudentCount() + "/" + cell.getAvgExamScore(), (a, b) -> a, TreeMap::new));
+        if (!expected.equals(actual)) {
+            throw new IllegalStateException("Cube course breakdown differs: " + expected + " vs " + actual);
+        }
+        System.out.println("Courses for " + profile.getProfileName() + ": " + actual);
+    }
+
+    private static void measure(String name, Supplier<List<StatisticsCube.Cell>> query) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            query.get();
+        }
+        long start = System.nanoTime();
+        int sink = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += query.get().size();
+        }
+        double micros = (System.nanoTime() - start) / 1e3 / MEASURED_ITERATIONS;
+        System.out.printf("%-26s %.2f us/op (%d)%n", name, micros, sink);
+    }
+}
@@ -0,0 +1,133 @@
+import enums.StudentColumn;
+import enums.StudyProfile;
+import io.WorkbookSource;
+import io.XlsQuery;
+import model.Student;
+import model.University;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Сравнение полного чтения листа студентов с последующей фильтрацией в памяти и узких запросов {@link XlsQuery}
+ * с проекцией столбцов и фильтрацией строк на этапе разбора.
+ * <p>
+ * Пример запуска: {@code java -Xmx2g BenchmarkXlsQuery 500000}. Для каждого варианта выводятся время и объём
+ * памяти, выделенной потоком за чтение; результат каждого запроса сверяется с фильтрацией полного чтения.
+ * </p>
+ */
+public class BenchmarkXlsQuery {
+
+    private static final int UNIVERSITY_COUNT = 500;
+    private static final float MIN_SCORE = 4.8f;
+    private static final StudyProfile PROFILE = StudyProfile.MEDICINE;
+    private static final int ROUNDS = 3;
+
+    /**
+     * Генерирует книгу и выполняет замеры.
+     *
+     * @param args первый аргумент — количество студентов (по умолчанию 500000)
+     * @throws Exception если книгу не удаётся создать или прочитать
+     */
+    public static void main(String[] args) throws Exception {
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        Path workbook = Files.createTempFile("xls-query", ".xlsx");
+        try {
+            SyntheticData.writeWorkbook(workbook.toString(), UNIVERSITY_COUNT, studentCount);
+            System.out.printf("Synthetic workbook: %d students, %d KB%n", studentCount, Files.size(workbook) / 1024);
+            String path = workbook.toString();
+
+            Set<String> profileIds = new HashSet<>();
+            try (WorkbookSource source = WorkbookSource.open(path)) {
+                for (University university : source.readUniversities()) {
+                    if (university.getMainProfile() == PROFILE) {
+                        profileIds.add(university.getId());
+                    }
+                }
+            }
+            List<Student> all = null;
+            for (int round = 0; round < ROUNDS; round++) {
+                all = null;
+                all = measure("full read", () -> {
+                    try (WorkbookSource source = WorkbookSource.open(path)) {
+                        return source.readStudents();
+                    }
+                });
+            }
+
+            List<Student> expectedByProfile = new ArrayList<>();
+            List<Student> expectedByScore = new ArrayList<>();
+            for (Student student : all) {
+                if (profileIds.contains(student.getUniversityId())) {
+                    expectedByProfile.add(student);
+                }
+                if (student.getAvgExamScore() >= MIN_SCORE) {
+                    expectedByScore.add(student);
+                }
+            }
+            int total = all.size();
+            all = null;
+
+            XlsQuery byProfile = new XlsQuery()
+                    .select(StudentColumn.UNIVERSITY_ID, StudentColumn.AVG_SCORE)
+                    .whereProfile(PROFILE);
+            XlsQuery byScore = new XlsQuery()
+                    .select(StudentColumn.AVG_SCORE)
+                    .whereScoreAtLeast(MIN_SCORE);
+            XlsQuery scoresOnly = new XlsQuery().select(StudentColumn.AVG_SCORE);
+            XlsQuery everything = new XlsQuery();
+            for (int round = 0; round < ROUNDS; round++) {
+                verify(expectedByProfile, measure("ids+scores, " + PROFILE, () -> byProfile.readStudents(path)),
+                        true, false, false, true);
+                verify(expectedByScore, measure("scores, score >= " + MIN_SCORE, () -> byScore.readStudents(path)),
+                        false, false, false, true);
+                Checks.check(measure("scores, all rows", () -> scoresOnly.readStudents(path)).size() == total,
+                        "projection without predicates dropped rows");
+                Checks.check(measure("all columns, all rows", () -> everything.readStudents(path)).size() == total,
+                        "query without predicates dropped rows");
+            }
+            System.out.printf("matched: %d of %d by profile, %d of %d by score%n",
+                    expectedByProfile.size(), total, expectedByScore.size(), total);
+        } finally {
+            Files.deleteIfExists(workbook);
+        }
+    }
+
+    /**
+     * Сверяет выбранные поля результата запроса с отфильтрованным полным чтением.
+     */
+    private static void verify(List<Student> expected, List<Student> actual,
+                               boolean id, boolean name, boolean course, boolean score) {
+        Checks.check(expected.size() == actual.size(),
+                "expected " + expected.size() + " students, got " + actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Student e = expected.get(i);
+            Student a = actual.get(i);
+            boolean equal = (id ? e.getUniversityId().equals(a.getUniversityId()) : a.getUniversityId() == null)
+                    && (name ? e.getFullName().equals(a.getFullName()) : a.getFullName() == null)
+                    && (course ? e.getCurrentCourseNumber() == a.getCurrentCourseNumber()
+                    : a.getCurrentCourseNumber() == 0)
+                    && (score ? Float.compare(e.getAvgExamScore(), a.getAvgExamScore()) == 0
+                    : a.getAvgExamScore() == 0f);
+            Checks.check(equal, "row " + i + ": expected " + e + ", got " + a);
+        }
+    }
+
+    private static List<Student> measure(String name, Callable<List<Student>> task) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        List<Student> students = task.call();
+        double millis = (System.nanoTime() - start) / 1e6;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        System.out.printf("%-28s %8d rows %10.2f ms %8d MB allocated%n",
+                name, students.size(), millis, allocated / (1024 * 1024));
+        return students;
+    }
+}
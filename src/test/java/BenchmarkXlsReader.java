@@ -0,0 +1,65 @@
+import io.XlsReader;
+import io.XlsStreamReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+/**
+ * Сравнение чтения листа студентов через XSSFWorkbook и через потоковый SAX-разбор на синтетической книге.
+ * <p>
+ * Пример запуска: {@code java -Xmx4g BenchmarkXlsReader 300000}. Выводит время, строки в секунду
+ * и пиковое использование кучи для каждого режима.
+ * </p>
+ */
+public class BenchmarkXlsReader {
+
+    /**
+     * Генерирует книгу и выполняет замеры.
+     *
+     * @param args первый аргумент — количество строк студентов (по умолчанию 200000)
+     * @throws IOException если книгу не удаётся создать или прочитать
+     */
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        File workbook = File.createTempFile("synthetic-students", ".xlsx");
+        workbook.deleteOnExit();
+        SyntheticData.writeWorkbook(workbook.getPath(), 500, rows);
+        System.out.printf("Synthetic workbook: %d rows, %d KB%n", rows, workbook.length() / 1024);
+
+        for (int round = 0; round < 2; round++) {
+            measure("streaming (count only)", () -> {
+                int[] count = new int[1];
+                XlsStreamReader.streamStudents(workbook.getPath(), student -> count[0]++);
+                return count[0];
+            });
+            measure("streaming (into list)", () -> XlsStreamReader.readXlsStudents(workbook.getPath()).size());
+            measure("DOM XSSFWorkbook", () -> XlsReader.readXlsStudents(workbook.getPath()).size());
+        }
+    }
+
+    private static void measure(String name, Task task) throws IOException {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+        long start = System.nanoTime();
+        int count = task.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long peakHeap = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peakHeap += pool.getPeakUsage().getUsed();
+            }
+        }
+        System.out.printf("%-24s rows=%d time=%.2fs rows/s=%.0f peakHeap=%d MB%n",
+                name, count, seconds, count / seconds, peakHeap / (1024 * 1024));
+    }
+
+    private interface Task {
+        int run() throws IOException;
+    }
+}
@@ -0,0 +1,47 @@
+import java.util.List;
+
+/**
+ * Общие проверки для проверочных программ и замеров: нарушенное условие прерывает запуск исключением
+ * с описанием нарушения.
+ */
+final class Checks {
+
+    private Checks() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Проверяет условие.
+     *
+     * @param condition проверяемое условие
+     * @param message   описание нарушения
+     * @throws IllegalStateException если условие не выполнено
+     */
+    static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException("Check failed: " + message);
+        }
+    }
+
+    /**
+     * Проверяет, что списки содержат одни и те же объекты в одном порядке. Объекты сравниваются по ссылкам,
+     * поэтому проверка различает равные записи и подтверждает стабильность сортировки.
+     *
+     * @param name     название сравниваемого результата
+     * @param expected ожидаемый список
+     * @param actual   проверяемый список
+     * @param <T>      тип элементов
+     * @throws IllegalStateException если размеры списков или элементы на какой-либо позиции различаются
+     */
+    static <T> void checkSameOrder(String name, List<T> expected, List<T> actual) {
+        if (expected.size() != actual.size()) {
+            throw new IllegalStateException("Check failed: " + name + " has " + actual.size() + " elements, expected "
+                    + expected.size());
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            if (expected.get(i) != actual.get(i)) {
+                throw new IllegalStateException("Check failed: " + name + " differs at position " + i);
+            }
+        }
+    }
+}
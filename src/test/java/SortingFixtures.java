@@ -0,0 +1,112 @@
+import enums.StudyProfile;
+import model.Student;
+import model.University;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Данные для проверок сортировки: синтетические записи дополнены записями с малым числом различных значений
+ * каждого поля, пустыми полями, {@code NaN}, {@code -0.0} и крайними значениями, чтобы порядок определялся
+ * и вторичными ключами, и стабильностью сортировки.
+ */
+final class SortingFixtures {
+
+    /** Количество синтетических университетов, на которые ссылаются студенты. */
+    static final int UNIVERSITY_COUNT = 60;
+
+    private SortingFixtures() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Создаёт список студентов для проверок.
+     *
+     * @param random источник случайных значений
+     * @return изменяемый список студентов
+     */
+    static List<Student> students(Random random) {
+        List<Student> students = new ArrayList<>(SyntheticData.students(3_000, UNIVERSITY_COUNT, 17L));
+        for (int i = 0; i < 300; i++) {
+            students.add(student(random));
+        }
+        float[] edgeScores = {Float.NaN, -0.0f, 0.0f, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY, 4.5f};
+        for (float score : edgeScores) {
+            students.add(new Student().setAvgExamScore(score).setCurrentCourseNumber(Integer.MIN_VALUE));
+            students.add(new Student().setFullName("ёлкин").setUniversityId("").setAvgExamScore(score)
+                    .setCurrentCourseNumber(Integer.MAX_VALUE));
+        }
+        return students;
+    }
+
+    /**
+     * Создаёт список университетов для проверок. Профиль задаётся всегда: компаратор
+     * {@link enums.UniversityComparatorType#MAIN_PROFILE} не поддерживает университеты без профиля.
+     *
+     * @param random источник случайных значений
+     * @return изменяемый список университетов
+     */
+    static List<University> universities(Random random) {
+        List<University> universities = new ArrayList<>(SyntheticData.universities(UNIVERSITY_COUNT));
+        for (int i = 0; i < 200; i++) {
+            universities.add(university(random, i));
+        }
+        universities.add(new University().setMainProfile(StudyProfile.MEDICINE));
+        universities.add(new University().setYearOfFoundation(Integer.MIN_VALUE).setMainProfile(StudyProfile.MEDICINE));
+        universities.add(new University().setId("").setFullName("").setShortName("")
+                .setYearOfFoundation(Integer.MAX_VALUE).setMainProfile(StudyProfile.LINGUISTICS));
+        return universities;
+    }
+
+    /**
+     * Создаёт студента с повторяющимися значениями полей и пустыми полями.
+     *
+     * @param random источник случайных значений
+     * @return студент
+     */
+    static Student student(Random random) {
+        String[] names = {"Иванов", "иванов", "Ёлкин", "Елкин", "Яковлев", "Adams", null};
+        float[] scores = {3.5f, 4.0f, 4.5f, 5.0f, Float.NaN, -0.0f, 0.0f};
+        return new Student()
+                .setFullName(names[random.nextInt(names.length)])
+                .setUniversityId(random.nextInt(10) == 0 ? null
+                        : String.format("%04d-high", random.nextInt(UNIVERSITY_COUNT + 5)))
+                .setCurrentCourseNumber(random.nextInt(7) - 1)
+                .setAvgExamScore(scores[random.nextInt(scores.length)]);
+    }
+
+    /**
+     * Создаёт университет с повторяющимися значениями полей и пустыми полями.
+     *
+     * @param random источник случайных значений
+     * @param index  порядковый номер, от которого зависит полное название
+     * @return университет
+     */
+    static University university(Random random, int index) {
+        String[] names = {"Академия", "академия", "Ёмкий институт", "Институт", "Университет", null};
+        StudyProfile[] profiles = StudyProfile.values();
+        String fullName = names[random.nextInt(names.length)];
+        return new University()
+                .setId(random.nextInt(8) == 0 ? null : String.format("%04d-high", random.nextInt(40)))
+                .setFullName(fullName == null || index % 3 == 0 ? fullName : fullName + " " + index % 5)
+                .setShortName(names[random.nextInt(names.length)])
+                .setYearOfFoundation(1700 + random.nextInt(30) * 10)
+                .setMainProfile(profiles[random.nextInt(profiles.length)]);
+    }
+
+    /**
+     * Возвращает копию списка, отсортированную стабильной сортировкой.
+     *
+     * @param items      исходный список
+     * @param comparator компаратор
+     * @param <T>        тип элементов
+     * @return отсортированная копия
+     */
+    static <T> List<T> sorted(List<T> items, Comparator<? super T> comparator) {
+        List<T> result = new ArrayList<>(items);
+        result.sort(comparator);
+        return result;
+    }
+}
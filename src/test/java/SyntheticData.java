@@ -0,0 +1,259 @@
+import enums.StudyProfile;
+import model.Student;
+import model.University;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Генератор синтетических данных для демонстрационных замеров производительности.
+ */
+public class SyntheticData {
+
+    private static final StudyProfile[] PROFILES = StudyProfile.values();
+
+    /**
+     * Скрытый конструктор предотвращает создание экземпляров утилитного класса.
+     */
+    private SyntheticData() {
+    }
+
+    /**
+     * Создаёт список университетов с детерминированными атрибутами.
+     *
+     * @param count количество университетов
+     * @return список университетов
+     */
+    public static List<University> universities(int count) {
+        List<University> universities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            universities.add(university(i));
+        }
+        return universities;
+    }
+
+    /**
+     * Создаёт список студентов, равномерно распределённых по университетам.
+     *
+     * @param count           количество студентов
+     * @param universityCount количество университетов
+     * @param seed            зерно генератора случайных чисел
+     * @return список студентов
+     */
+    public static List<Student> students(int count, int universityCount, long seed) {
+        List<Student> students = new ArrayList<>(count);
+        forEachStudent(count, universityCount, seed, students::add);
+        return students;
+    }
+
+    /**
+     * Передаёт потребителю студентов, не сохраняя их: последовательность совпадает со списком
+     * {@link #students(int, int, long)} с теми же параметрами.
+     *
+     * @param count           количество студентов
+     * @param universityCount количество университетов
+     * @param seed            зерно генератора случайных чисел
+     * @param consumer        получатель студентов
+     * @return количество переданных студентов
+     */
+    public static int forEachStudent(int count, int universityCount, long seed, Consumer<Student> consumer) {
+        Random random = new Random(seed);
+        for (int i = 0; i < count; i++) {
+            consumer.accept(student(i, universityCount, random));
+        }
+        return count;
+    }
+
+    /**
+     * Возвращает итератор, создающий студентов по запросу: последовательность совпадает со списком
+     * {@link #students(int, int, long)} с теми же параметрами, но студенты не хранятся.
+     *
+     * @param count           количество студентов
+     * @param universityCount количество университетов
+     * @param seed            зерно генератора случайных чисел
+     * @return итератор студентов
+     */
+    public static Iterator<Student> studentIterator(int count, int universityCount, long seed) {
+        Random random = new Random(seed);
+        return new Iterator<Student>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < count;
+            }
+
+            @Override
+            public Student next() {
+                if (index >= count) {
+                    throw new NoSuchElementException();
+                }
+                return student(index++, universityCount, random);
+            }
+        };
+    }
+
+    /**
+     * Записывает синтетическую книгу с листами «Университеты» и «Студенты» в потоковом режиме.
+     *
+     * @param filePath        путь к создаваемому файлу
+     * @param universityCount количество университетов
+     * @param studentCount    количество студентов
+     * @throws IOException если файл не удаётся записать
+     */
+    public static void writeWorkbook(String filePath, int universityCount, int studentCount) throws IOException {
+        writeWorkbook(filePath, universityCount, studentCount, UnaryOperator.identity());
+    }
+
+    /**
+     * Записывает синтетическую книгу, пропуская каждого студента через функцию правки. Позволяет получить
+     * версию книги, отличающуюся от исходной несколькими строками.
+     *
+     * @param filePath        путь к создаваемому файлу
+     * @param universityCount количество университетов
+     * @param studentCount    количество студентов
+     * @param edit            функция правки студента; {@code null} в результате исключает строку из книги
+     * @throws IOException если файл не удаётся записать
+     */
+    public static void writeWorkbook(String filePath, int universityCount, int studentCount,
+                                     UnaryOperator<Student> edit) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(null, 1000, true, true);
+        try {
+            Sheet studentSheet = workbook.createSheet("Студенты");
+            writeRow(studentSheet.createRow(0), "id университета", "ФИО", "Курс", "Средний балл");
+            Random random = new Random(42);
+            int rowNumber = 0;
+            for (int i = 0; i < studentCount; i++) {
+                Student student = edit.apply(student(i, universityCount, random));
+                if (student == null) {
+                    continue;
+                }
+                Row row = studentSheet.createRow(++rowNumber);
+                row.createCell(0).setCellValue(student.getUniversityId());
+                row.createCell(1).setCellValue(student.getFullName());
+                row.createCell(2).setCellValue(student.getCurrentCourseNumber());
+                row.createCell(3).setCellValue(student.getAvgExamScore());
+            }
+
+            Sheet universitySheet = workbook.createSheet("Университеты");
+            writeRow(universitySheet.createRow(0),
+                    "id университета", "Полное название", "Аббревиатура", "Год основания", "Профиль обучения");
+            for (int i = 0; i < universityCount; i++) {
+                University university = university(i);
+                Row row = universitySheet.createRow(i + 1);
+                row.createCell(0).setCellValue(university.getId());
+                row.createCell(1).setCellValue(university.getFullName());
+                row.createCell(2).setCellValue(university.getShortName());
+                row.createCell(3).setCellValue(university.getYearOfFoundation());
+                row.createCell(4).setCellValue(university.getMainProfile().name());
+            }
+
+            try (OutputStream outputStream = new FileOutputStream(filePath)) {
+                workbook.write(outputStream);
+            }
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    /**
+     * Правка для {@link #writeWorkbook(String, int, int, UnaryOperator)}, добавляющая в книгу трудные для разбора
+     * строки: студент с номером, оканчивающимся на 7, получает имя со служебными символами XML, а студент
+     * с номером, оканчивающимся на 13, — пустую ячейку идентификатора университета.
+     *
+     * @param student очередной студент
+     * @return тот же студент после правки
+     */
+    public static Student edgeCases(Student student) {
+        String name = student.getFullName();
+        if (name.endsWith("7")) {
+            student.setFullName("О'Нил & <Ко> \"" + name + "\"");
+        }
+        return name.endsWith("13") ? student.setUniversityId(null) : student;
+    }
+
+    /**
+     * Записывает студентов в CSV-файл со столбцами листа «Студенты» и строкой заголовка; для файлов {@code .tsv}
+     * разделителем служит табуляция.
+     *
+     * @param filePath        путь к создаваемому файлу
+     * @param universityCount количество университетов
+     * @param studentCount    количество студентов
+     * @throws IOException если файл не удаётся записать
+     */
+    public static void writeStudentsCsv(String filePath, int universityCount, int studentCount) throws IOException {
+        char delimiter = delimiter(filePath);
+        try (Writer writer = Files.newBufferedWriter(Paths.get(filePath), StandardCharsets.UTF_8)) {
+            writer.write("id университета" + delimiter + "ФИО" + delimiter + "Курс" + delimiter + "Средний балл\n");
+            Random random = new Random(42);
+            for (int i = 0; i < studentCount; i++) {
+                Student student = student(i, universityCount, random);
+                writer.write(student.getUniversityId() + delimiter + student.getFullName() + delimiter
+                        + student.getCurrentCourseNumber() + delimiter + student.getAvgExamScore() + "\n");
+            }
+        }
+    }
+
+    /**
+     * Записывает университеты в CSV-файл со столбцами листа «Университеты» и строкой заголовка.
+     *
+     * @param filePath        путь к создаваемому файлу
+     * @param universityCount количество университетов
+     * @throws IOException если файл не удаётся записать
+     */
+    public static void writeUniversitiesCsv(String filePath, int universityCount) throws IOException {
+        char delimiter = delimiter(filePath);
+        try (Writer writer = Files.newBufferedWriter(Paths.get(filePath), StandardCharsets.UTF_8)) {
+            writer.write("id университета" + delimiter + "Полное название" + delimiter + "Аббревиатура" + delimiter
+                    + "Год основания" + delimiter + "Профиль обучения\n");
+            for (University university : universities(universityCount)) {
+                writer.write(university.getId() + delimiter + university.getFullName() + delimiter
+                        + university.getShortName() + delimiter + university.getYearOfFoundation() + delimiter
+                        + university.getMainProfile().name() + "\n");
+            }
+        }
+    }
+
+    private static University university(int index) {
+        return new University()
+                .setId(String.format("%04d-high", index + 1))
+                .setFullName("Синтетический университет №" + (index + 1))
+                .setShortName("СУ-" + (index + 1))
+                .setYearOfFoundation(1700 + (index * 37) % 320)
+                .setMainProfile(PROFILES[index % PROFILES.length]);
+    }
+
+    private static Student student(int index, int universityCount, Random random) {
+        return new Student()
+                .setUniversityId(String.format("%04d-high", random.nextInt(universityCount) + 1))
+                .setFullName("Студент " + index)
+                .setCurrentCourseNumber(1 + random.nextInt(5))
+                .setAvgExamScore(Math.round((3.0f + random.nextFloat() * 2.0f) * 10f) / 10f);
+    }
+
+    private static char delimiter(String filePath) {
+        return filePath.endsWith(".tsv") ? '\t' : ',';
+    }
+
+    private static void writeRow(Row row, String... values) {
+        for (int i = 0; i < values.length; i++) {
+            row.createCell(i).setCellValue(values[i]);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+import comparators.SortKey;
+import enums.SortDirection;
+import enums.StudentComparatorType;
+import enums.UniversityComparatorType;
+import model.Student;
+import model.University;
+import util.ComparatorUtil;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Проверка составных порядков {@link ComparatorUtil}: компаратор по списку {@link SortKey} и сортировка
+ * с упакованными числовыми ключами совпадают с цепочкой {@code thenComparing} из компараторов отдельных типов
+ * для случайных наборов ключей и направлений.
+ */
+public class TestCompositeComparator {
+
+    private static final int ROUNDS = 200;
+
+    /**
+     * Выполняет проверки.
+     *
+     * @param args не используются
+     */
+    public static void main(String[] args) {
+        System.out.println("=== COMPOSITE COMPARATOR TEST ===");
+        Random random = new Random(13L);
+        List<Student> students = SortingFixtures.students(random);
+        List<University> universities = SortingFixtures.universities(random);
+        StudentComparatorType[] studentTypes = StudentComparatorType.values();
+        UniversityComparatorType[] universityTypes = UniversityComparatorType.values();
+        for (int round = 0; round < ROUNDS; round++) {
+            List<SortKey<StudentComparatorType>> studentKeys = new ArrayList<>();
+            Comparator<Student> studentChain = null;
+            for (int i = 0, count = 1 + random.nextInt(4); i < count; i++) {
+                StudentComparatorType type = studentTypes[random.nextInt(studentTypes.length)];
+                SortKey<StudentComparatorType> key = SortKey.of(type, direction(random));
+                studentKeys.add(key);
+                Comparator<Student> comparator = ComparatorUtil.getStudentComparator(type);
+                boolean naturalDescending = type == StudentComparatorType.AVG_EXAM_SCORE;
+                if (key.isDescending() != naturalDescending) {
+                    comparator = comparator.reversed();
+                }
+                studentChain = studentChain == null ? comparator : studentChain.thenComparing(comparator);
+            }
+            List<Student> expected = SortingFixtures.sorted(students, studentChain);
+            Checks.checkSameOrder("compiled students by " + studentKeys, expected,
+                    SortingFixtures.sorted(students, ComparatorUtil.getStudentComparator(studentKeys)));
+            Checks.checkSameOrder("packed students by " + studentKeys, expected,
+                    ComparatorUtil.sortStudents(students, studentKeys));
+
+            List<SortKey<UniversityComparatorType>> universityKeys = new ArrayList<>();
+            Comparator<University> universityChain = null;
+            for (int i = 0, count = 1 + random.nextInt(4); i < count; i++) {
+                UniversityComparatorType type = universityTypes[random.nextInt(universityTypes.length)];
+                SortKey<UniversityComparatorType> key = SortKey.of(type, direction(random));
+                universityKeys.add(key);
+                Comparator<University> comparator = ComparatorUtil.getUniversityComparator(type);
+                if (key.isDescending()) {
+                    comparator = comparator.reversed();
+                }
+                universityChain = universityChain == null ? comparator : universityChain.thenComparing(comparator);
+            }
+            List<University> expectedUniversities = SortingFixtures.sorted(universities, universityChain);
+            Checks.checkSameOrder("compiled universities by " + universityKeys, expectedUniversities,
+                    SortingFixtures.sorted(universities, ComparatorUtil.getUniversityComparator(universityKeys)));
+            Checks.checkSameOrder("packed universities by " + universityKeys, expectedUniversities,
+                    ComparatorUtil.sortUniversities(universities, universityKeys));
+        }
+        System.out.println("composite keys: " + ROUNDS + " random key lists match thenComparing chains");
+        System.out.println("All checks passed");
+    }
+
+    private static SortDirection direction(Random random) {
+        return random.nextBoolean() ? SortDirection.ASCENDING : SortDirection.DESCENDING;
+    }
+}
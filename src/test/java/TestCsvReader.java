@@ -0,0 +1,151 @@
+import io.CsvReader;
+import model.Student;
+import model.StudentTable;
+import model.University;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Проверка {@link CsvReader}: разбор кавычек, окончаний строк, пустых полей и табуляции, совпадение быстрого
+ * разбора чисел с {@code (float) Double.parseDouble} на случайных значениях и независимость результата
+ * от количества потоков и способа чтения.
+ */
+public class TestCsvReader {
+
+    /**
+     * Выполняет проверки.
+     *
+     * @param args первый аргумент — зерно генератора случайных чисел (по умолчанию 2024)
+     * @throws IOException если временные файлы не удаётся записать или прочитать
+     */
+    public static void main(String[] args) throws IOException {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 2024L;
+        System.out.println("=== CSV READER TEST (seed " + seed + ") ===");
+        checkFormatting();
+        checkNumbers(new Random(seed));
+        checkChunking(new Random(seed));
+        System.out.println("All checks passed");
+    }
+
+    private static void checkFormatting() throws IOException {
+        List<Student> students = readStudents(".csv", "\uFEFFid,ФИО,Курс,Балл\r\n"
+                + "0001-high,\"Иванов, Иван \"\"Младший\"\"\",3,4.5\r\n"
+                + "\r\n"
+                + ",,,\n"
+                + "0002-high,Петров П. П.,2.0,-0.0\n"
+                + "0001-high,Сидоров,4,1e1\n"
+                + "0003-high\n");
+        Checks.check(students.size() == 5, "expected 5 students, got " + students.size());
+        Checks.check(students.get(0).getFullName().equals("Иванов, Иван \"Младший\""),
+                "quoted name " + students.get(0));
+        Checks.check(students.get(0).getAvgExamScore() == 4.5f, "score " + students.get(0));
+        Checks.check("".equals(students.get(1).getUniversityId()) && "".equals(students.get(1).getFullName())
+                && students.get(1).getCurrentCourseNumber() == 0, "empty fields " + students.get(1));
+        Checks.check(students.get(4).getFullName() == null && students.get(4).getCurrentCourseNumber() == 0
+                && students.get(4).getAvgExamScore() == 0f, "missing trailing fields " + students.get(4));
+        Checks.check(students.get(2).getCurrentCourseNumber() == 2, "course 2.0 " + students.get(2));
+        Checks.check(Float.floatToIntBits(students.get(2).getAvgExamScore()) == Float.floatToIntBits(-0.0f),
+                "negative zero " + students.get(2));
+        Checks.check(students.get(3).getAvgExamScore() == 10f, "exponent " + students.get(3));
+        Checks.check(students.get(0).getUniversityId() == students.get(3).getUniversityId(), "ids are not canonical");
+
+        String longName = "Я".repeat(100_000);
+        List<Student> longLine = readStudents(".csv", "id,ФИО,Курс,Балл\n0001-high,Короткий,1,3\n0001-high,"
+                + longName + ",2,4\n0002-high,Последний,3,5\n");
+        Checks.check(longLine.size() == 3 && longLine.get(1).getFullName().equals(longName)
+                && longLine.get(2).getAvgExamScore() == 5f, "line longer than the parse window");
+
+        List<Student> tabbed = readStudents(".tsv", "id\tФИО\tКурс\tБалл\n0003-high\tА, Б\t5\t3.25\n");
+        Checks.check(tabbed.size() == 1 && tabbed.get(0).getFullName().equals("А, Б")
+                && tabbed.get(0).getAvgExamScore() == 3.25f, "TSV row " + tabbed);
+
+        Path universitiesFile = Files.createTempFile("csv-test", ".csv");
+        try {
+            Files.write(universitiesFile, ("id,Название,Аббревиатура,Год,Профиль\n"
+                    + "0001-high,\"Университет \"\"Север\"\"\",УС,1755.0,MEDICINE\n").getBytes(StandardCharsets.UTF_8));
+            List<University> universities = CsvReader.readCsvUniversities(universitiesFile.toString());
+            Checks.check(universities.size() == 1 && universities.get(0).getFullName().equals("Университет \"Север\"")
+                    && universities.get(0).getYearOfFoundation() == 1755, "university " + universities);
+        } finally {
+            Files.deleteIfExists(universitiesFile);
+        }
+    }
+
+    private static void checkNumbers(Random random) throws IOException {
+        StringBuilder csv = new StringBuilder("id,ФИО,Курс,Балл\n");
+        List<String> scores = new ArrayList<>();
+        List<String> courses = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            String score;
+            switch (i % 4) {
+                case 0:
+                    score = Float.toString(random.nextFloat() * 5f);
+                    break;
+                case 1:
+                    score = Double.toString(random.nextGaussian() * 1e6);
+                    break;
+                case 2:
+                    StringBuilder digits = new StringBuilder().append(random.nextInt(100)).append('.');
+                    for (int d = random.nextInt(20); d >= 0; d--) {
+                        digits.append(random.nextInt(10));
+                    }
+                    score = digits.toString();
+                    break;
+                default:
+                    score = (random.nextBoolean() ? "-" : "+") + random.nextInt(1000) + "." + random.nextInt(1000);
+                    break;
+            }
+            String course = random.nextBoolean() ? Integer.toString(random.nextInt()) : random.nextInt(10) + ".9";
+            scores.add(score);
+            courses.add(course);
+            csv.append("0001-high,Студент ").append(i).append(',').append(course).append(',').append(score)
+                    .append('\n');
+        }
+        List<Student> students = readStudents(".csv", csv.toString());
+        for (int i = 0; i < students.size(); i++) {
+            float expected = (float) Double.parseDouble(scores.get(i));
+            Checks.check(Float.floatToIntBits(expected) == Float.floatToIntBits(students.get(i).getAvgExamScore()),
+                    "score " + scores.get(i) + " parsed as " + students.get(i).getAvgExamScore());
+            Checks.check((int) Double.parseDouble(courses.get(i)) == students.get(i).getCurrentCourseNumber(),
+                    "course " + courses.get(i) + " parsed as " + students.get(i).getCurrentCourseNumber());
+        }
+        System.out.println("numbers: " + students.size() + " rows match Double.parseDouble");
+    }
+
+    private static void checkChunking(Random random) throws IOException {
+        Path file = Files.createTempFile("csv-test", ".csv");
+        try {
+            SyntheticData.writeStudentsCsv(file.toString(), 50, 10_000 + random.nextInt(1000));
+            String expected = CsvReader.readCsvStudents(file.toString(), 1).toString();
+            for (int parallelism : new int[]{2, 3, 7, 16}) {
+                Checks.check(expected.equals(CsvReader.readCsvStudents(file.toString(), parallelism).toString()),
+                        "students differ with parallelism " + parallelism);
+                StudentTable table = CsvReader.readCsvStudentTable(file.toString(), parallelism);
+                Checks.check(expected.equals(table.asStudentList().toString()), "table differs with parallelism "
+                        + parallelism);
+            }
+            List<Student> streamed = new ArrayList<>();
+            CsvReader.streamCsvStudents(file.toString(), streamed::add);
+            Checks.check(expected.equals(streamed.toString()), "streamed students differ");
+            System.out.println("chunking: results match for parallelism 1, 2, 3, 7, 16 and streaming");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<Student> readStudents(String extension, String content) throws IOException {
+        Path file = Files.createTempFile("csv-test", extension);
+        try {
+            Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+            return CsvReader.readCsvStudents(file.toString(), 1);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
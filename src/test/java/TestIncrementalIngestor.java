@@ -0,0 +1,168 @@
+import io.DatasetReader;
+import io.IncrementalIngestor;
+import io.SnapshotCache;
+import model.Dataset;
+import model.Student;
+import util.StatisticsEngine;
+import util.StatisticsUtil;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.function.UnaryOperator;
+
+/**
+ * Проверка {@link IncrementalIngestor}: вставленные, изменённые и удалённые строки определяются точно;
+ * неизменившаяся или лишь «тронутая» книга даёт пустое изменение; состояние переживает повторное открытие;
+ * изменение, применённое к {@link StatisticsEngine}, совпадает с полным пересчётом; состояние, заполненное
+ * из снимка, после правки нескольких строк даёт ровно эти строки как изменённые; состояние с количеством записей
+ * или длиной строки больше размера файла не загружается.
+ */
+public class TestIncrementalIngestor {
+
+    private static final int UNIVERSITY_COUNT = 20;
+    private static final int STUDENT_COUNT = 3_000;
+    private static final int HASH_LENGTH = 32;
+
+    /**
+     * Выполняет проверки.
+     *
+     * @param args не используются
+     * @throws IOException если книгу или файлы состояния не удаётся записать или прочитать
+     */
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== INCREMENTAL INGESTOR TEST ===");
+        Path workbook = Files.createTempFile("incremental-test", ".xlsx");
+        String file = workbook.toString();
+        IncrementalIngestor ingestor = IncrementalIngestor.open(file);
+        Path state = ingestor.getStatePath();
+        try {
+            SyntheticData.writeWorkbook(file, UNIVERSITY_COUNT, STUDENT_COUNT);
+            IncrementalIngestor.Delta initial = ingestor.ingest();
+            Dataset dataset = DatasetReader.read(file);
+            Checks.check(initial.getInsertedUniversities().size() == UNIVERSITY_COUNT
+                    && initial.getInsertedStudents().size() == STUDENT_COUNT
+                    && initial.size() == UNIVERSITY_COUNT + STUDENT_COUNT, "initial delta " + initial);
+            checkRows(ingestor, dataset);
+            Checks.check(ingestor.ingest().isEmpty(), "unchanged workbook produced a delta");
+            Files.setLastModifiedTime(workbook, FileTime.fromMillis(Files.getLastModifiedTime(workbook).toMillis()
+                    + 60_000));
+            Checks.check(ingestor.ingest().isEmpty(), "touched workbook produced a delta");
+            System.out.println("initial: every row is inserted, unchanged and touched workbooks give empty deltas");
+
+            StatisticsEngine engine = new StatisticsEngine(ingestor.getUniversities(), ingestor.getStudents());
+            rewrite(file, UnaryOperator.identity());
+            IncrementalIngestor.Delta delta = ingestor.ingest();
+            Checks.check(delta.getInsertedUniversities().isEmpty() && delta.getUpdatedUniversities().isEmpty()
+                    && delta.getDeletedUniversities().isEmpty(), "university delta " + delta);
+            Checks.check(delta.getDeletedStudents().size() == 1
+                    && delta.getDeletedStudents().get(0).getFullName().equals("Студент 5"), "deleted " + delta);
+            Checks.check(delta.getUpdatedStudents().size() == 2, "updated " + delta);
+            for (IncrementalIngestor.Update<Student> update : delta.getUpdatedStudents()) {
+                Checks.check(update.getPrevious().getFullName().equals(update.getCurrent().getFullName())
+                        && update.getPrevious().getAvgExamScore() != 1.0f
+                        && update.getCurrent().getAvgExamScore() == 1.0f, "update " + update.getCurrent());
+            }
+            Checks.check(delta.getInsertedStudents().size() == 2
+                    && delta.getInsertedStudents().get(1).getFullName().equals("Студент " + (STUDENT_COUNT + 1)),
+                    "inserted " + delta);
+            dataset = DatasetReader.read(file);
+            checkRows(ingestor, dataset);
+            delta.applyTo(engine);
+            Checks.check(StatisticsUtil.calculateStatistics(dataset.getStudents(), dataset.getUniversities())
+                    .toString().equals(engine.getStatistics().toString()), "statistics differ from full recompute");
+            System.out.println("edit: " + delta + ", statistics match a full recompute");
+
+            IncrementalIngestor reopened = IncrementalIngestor.open(file);
+            Checks.check(reopened.ingest().isEmpty(), "reopened state produced a delta for an unchanged workbook");
+            int[] index = new int[1];
+            rewrite(file, student -> index[0]++ == 0 ? student.setCurrentCourseNumber(9) : student);
+            IncrementalIngestor.Delta afterReopen = IncrementalIngestor.open(file).ingest();
+            Checks.check(afterReopen.size() == 1 && afterReopen.getUpdatedStudents().size() == 1
+                    && afterReopen.getUpdatedStudents().get(0).getCurrent().getCurrentCourseNumber() == 9,
+                    "delta after reopen " + afterReopen);
+            System.out.println("state: saved state detects changes across reopening");
+
+            byte[] bytes = Files.readAllBytes(state);
+            int universityCountOffset = 3 * Integer.BYTES + ByteBuffer.wrap(bytes).getInt(2 * Integer.BYTES)
+                    + Long.BYTES + HASH_LENGTH;
+            int[] corruptedOffsets = {2 * Integer.BYTES, universityCountOffset, universityCountOffset + Integer.BYTES};
+            for (int offset : corruptedOffsets) {
+                Files.write(state, ByteBuffer.wrap(bytes.clone()).putInt(offset, Integer.MAX_VALUE - 8).array());
+                IncrementalIngestor corrupted = IncrementalIngestor.open(file);
+                Checks.check(corrupted.getStudents().isEmpty() && corrupted.getUniversities().isEmpty(),
+                        "state with a length corrupted at offset " + offset + " is loaded");
+                IncrementalIngestor.Delta full = corrupted.ingest();
+                Checks.check(full.getInsertedStudents().size() == corrupted.getStudents().size()
+                        && full.getInsertedUniversities().size() == UNIVERSITY_COUNT
+                        && full.getUpdatedStudents().isEmpty() && full.getDeletedStudents().isEmpty(),
+                        "delta after a corrupted state " + full);
+            }
+            System.out.println("state: states with oversized counts or string lengths are ignored");
+
+            Files.deleteIfExists(state);
+            SnapshotCache.invalidate(file);
+            Checks.check(!IncrementalIngestor.open(file).seedFromSnapshot(), "seeded without a snapshot");
+            dataset = SnapshotCache.read(file);
+            IncrementalIngestor seeded = IncrementalIngestor.open(file);
+            Checks.check(seeded.seedFromSnapshot(), "valid snapshot is not used for seeding");
+            Checks.check(seeded.getStudents().size() == dataset.getStudents().size()
+                    && seeded.getUniversities().size() == dataset.getUniversities().size(), "seeded row counts");
+            Checks.check(seeded.ingest().isEmpty(), "seeded state produced a delta for an unchanged workbook");
+            Checks.check(seeded.seedFromSnapshot(), "matching state is not reported as current");
+            System.out.println("seed: snapshot fills the state without parsing the workbook");
+
+            Files.deleteIfExists(state);
+            seeded = IncrementalIngestor.open(file);
+            Checks.check(seeded.seedFromSnapshot(), "valid snapshot is not used for seeding");
+            index[0] = 0;
+            rewrite(file, student -> {
+                int i = index[0]++;
+                if (i == 0) {
+                    student.setCurrentCourseNumber(9);
+                }
+                return i == 1 || i == 100 || i == 1000 ? student.setAvgExamScore(2.0f) : student;
+            });
+            IncrementalIngestor.Delta seededDelta = seeded.ingest();
+            Checks.check(seededDelta.size() == 3 && seededDelta.getUpdatedStudents().size() == 3,
+                    "delta after seeding " + seededDelta);
+            checkRows(seeded, DatasetReader.read(file));
+            System.out.println("seed: editing 3 rows after seeding gives exactly 3 updates");
+        } finally {
+            SnapshotCache.invalidate(file);
+            Files.deleteIfExists(state);
+            Files.deleteIfExists(workbook);
+        }
+        System.out.println("All checks passed");
+    }
+
+    /**
+     * Перезаписывает книгу в изменённом виде: без шестого студента, с баллом 1.0 у одиннадцатого и двадцать
+     * первого и двумя студентами в конце листа. К каждому оставшемуся студенту затем применяется правка.
+     */
+    private static void rewrite(String file, UnaryOperator<Student> edit) throws IOException {
+        int[] index = new int[1];
+        SyntheticData.writeWorkbook(file, UNIVERSITY_COUNT, STUDENT_COUNT + 2, student -> {
+            int i = index[0]++;
+            if (i == 5) {
+                return null;
+            }
+            if (i == 10 || i == 20) {
+                student.setAvgExamScore(1.0f);
+            }
+            return edit.apply(student);
+        });
+    }
+
+    /**
+     * Сверяет текущие строки чтения с полным разбором книги.
+     */
+    private static void checkRows(IncrementalIngestor ingestor, Dataset dataset) {
+        Checks.check(dataset.getUniversities().toString().equals(ingestor.getUniversities().toString()),
+                "ingested universities differ from the workbook");
+        Checks.check(dataset.getStudents().toString().equals(ingestor.getStudents().toString()),
+                "ingested students differ from the workbook");
+    }
+}
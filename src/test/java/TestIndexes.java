@@ -0,0 +1,140 @@
+import model.Student;
+import model.University;
+import util.StudentIndex;
+import util.UniversityIndex;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Проверка {@link StudentIndex} и {@link UniversityIndex}: запросы диапазонов, подсчёт и поиск по идентификатору
+ * совпадают с полным перебором списка, включая порядок записей с равными ключами, граничные значения баллов
+ * ({@code -0.0}, {@code 0.0}, {@code NaN}, бесконечности), пустые и перевёрнутые диапазоны, записи без
+ * идентификатора и повторяющиеся идентификаторы университетов.
+ */
+public class TestIndexes {
+
+    private static final int UNIVERSITY_COUNT = 40;
+    private static final int RANDOM_RANGES = 500;
+
+    /**
+     * Выполняет проверки.
+     *
+     * @param args не используются
+     */
+    public static void main(String[] args) {
+        System.out.println("=== INDEXES TEST ===");
+        Random random = new Random(11L);
+        checkStudents(random);
+        checkUniversities(random);
+        System.out.println("All checks passed");
+    }
+
+    private static void checkStudents(Random random) {
+        List<Student> students = SyntheticData.students(5_000, UNIVERSITY_COUNT, 5L);
+        float[] edgeScores = {-0.0f, 0.0f, Float.NaN, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY, -1.5f, 5.0f};
+        for (float score : edgeScores) {
+            students.add(new Student().setFullName("Граничный " + score).setUniversityId("0001-high")
+                    .setCurrentCourseNumber(-2).setAvgExamScore(score));
+        }
+        students.add(new Student().setFullName("Без университета").setCurrentCourseNumber(3).setAvgExamScore(4.0f));
+        StudentIndex index = StudentIndex.build(students);
+        Checks.check(index.size() == students.size(), "student index size " + index.size());
+
+        Comparator<Student> byScore = (a, b) -> Float.compare(a.getAvgExamScore(), b.getAvgExamScore());
+        float[][] scoreRanges = {{4.5f, 5.0f}, {0.0f, 0.0f}, {-0.0f, -0.0f}, {-0.0f, 0.0f}, {5.0f, 4.5f},
+                {Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY}, {Float.NaN, Float.NaN}, {6.0f, 7.0f}};
+        for (float[] range : scoreRanges) {
+            checkScoreRange(students, index, byScore, range[0], range[1]);
+        }
+        for (int i = 0; i < RANDOM_RANGES; i++) {
+            float from = Math.round((2.5f + random.nextFloat() * 3.0f) * 10f) / 10f;
+            float to = Math.round((2.5f + random.nextFloat() * 3.0f) * 10f) / 10f;
+            checkScoreRange(students, index, byScore, from, to);
+        }
+        System.out.println("scores: ranges match a full scan, including -0.0, 0.0, NaN and infinities");
+
+        Comparator<Student> byCourse = Comparator.comparingInt(Student::getCurrentCourseNumber);
+        for (int from = -3; from <= 6; from++) {
+            for (int to = -3; to <= 6; to++) {
+                int fromCourse = from;
+                int toCourse = to;
+                List<Student> expected = filter(students, byCourse, s -> fromCourse <= s.getCurrentCourseNumber()
+                        && s.getCurrentCourseNumber() <= toCourse);
+                Checks.checkSameOrder("courses " + from + ".." + to, expected,
+                        index.getWithCourseBetween(from, to));
+                Checks.check(index.countWithCourseBetween(from, to) == expected.size(),
+                        "course count " + from + ".." + to);
+            }
+        }
+        System.out.println("courses: all ranges from -3 to 6 match a full scan");
+
+        for (int i = 0; i <= UNIVERSITY_COUNT + 1; i++) {
+            String id = String.format("%04d-high", i);
+            List<Student> expected = students.stream().filter(s -> id.equals(s.getUniversityId()))
+                    .collect(Collectors.toList());
+            Checks.checkSameOrder("students of " + id, expected, index.getByUniversityId(id));
+        }
+        Checks.check(index.getByUniversityId(null).isEmpty(), "students without a university are indexed");
+        System.out.println("university ids: lookups match a full scan, unknown and null ids are empty");
+
+        boolean rejected = false;
+        try {
+            index.getWithScoreBetween(4.0f, 5.0f).add(new Student());
+        } catch (UnsupportedOperationException e) {
+            rejected = true;
+        }
+        Checks.check(rejected, "score range result is modifiable");
+    }
+
+    private static void checkScoreRange(List<Student> students, StudentIndex index, Comparator<Student> byScore,
+                                        float from, float to) {
+        List<Student> expected = filter(students, byScore, s -> Float.compare(from, s.getAvgExamScore()) <= 0
+                && Float.compare(s.getAvgExamScore(), to) <= 0);
+        Checks.checkSameOrder("scores " + from + ".." + to, expected, index.getWithScoreBetween(from, to));
+        Checks.check(index.countWithScoreBetween(from, to) == expected.size(), "score count " + from + ".." + to);
+    }
+
+    private static void checkUniversities(Random random) {
+        List<University> universities = SyntheticData.universities(UNIVERSITY_COUNT);
+        University duplicate = new University().setId("0003-high").setFullName("Дубликат").setYearOfFoundation(1700);
+        universities.add(duplicate);
+        universities.add(new University().setFullName("Без идентификатора").setYearOfFoundation(1900));
+        UniversityIndex index = UniversityIndex.build(universities);
+        Checks.check(index.size() == universities.size(), "university index size " + index.size());
+
+        Checks.check(index.getById("0003-high") == universities.get(2), "first university with a duplicate id");
+        Checks.checkSameOrder("universities with id 0003-high", List.of(universities.get(2), duplicate),
+                index.getAllById("0003-high"));
+        Checks.check(index.containsId("0040-high") && !index.containsId("0041-high"), "containsId");
+        Checks.check(index.getById("0041-high") == null && index.getAllById("0041-high").isEmpty(), "unknown id");
+        Checks.check(!index.containsId(null), "university without an id is indexed");
+
+        Comparator<University> byYear = Comparator.comparingInt(University::getYearOfFoundation);
+        List<int[]> ranges = new ArrayList<>(List.of(new int[]{1700, 1700}, new int[]{1900, 1700},
+                new int[]{Integer.MIN_VALUE, Integer.MAX_VALUE}, new int[]{2100, 2200}));
+        for (int i = 0; i < RANDOM_RANGES; i++) {
+            ranges.add(new int[]{1690 + random.nextInt(340), 1690 + random.nextInt(340)});
+        }
+        for (int[] range : ranges) {
+            List<University> expected = filter(universities, byYear,
+                    u -> range[0] <= u.getYearOfFoundation() && u.getYearOfFoundation() <= range[1]);
+            Checks.checkSameOrder("founded " + range[0] + ".." + range[1], expected,
+                    index.getFoundedBetween(range[0], range[1]));
+            Checks.check(index.countFoundedBetween(range[0], range[1]) == expected.size(),
+                    "foundation count " + range[0] + ".." + range[1]);
+        }
+        System.out.println("universities: id lookups and foundation year ranges match a full scan");
+    }
+
+    /**
+     * Отбирает записи полным перебором и сортирует их стабильно, как индекс упорядочивает записи с равными ключами.
+     */
+    private static <T> List<T> filter(List<T> items, Comparator<T> order, Predicate<T> condition) {
+        return items.stream().filter(condition).sorted(order).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,157 @@
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import enums.StudyProfile;
+import io.JsonStreamWriter;
+import model.Statistics;
+import model.Student;
+import model.University;
+import util.StatisticsEngine;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Проверка {@link JsonStreamWriter}: вывод в форматированном и компактном режимах совпадает посимвольно
+ * с сериализацией Gson словаря разделов в фиксированном порядке, запись раздела частями совпадает с записью
+ * целиком, запись в файл совпадает побайтно при любом размере буфера (включая суррогатные пары на границе буфера),
+ * пропуск разделов допускается, а возврат к закрытому разделу запрещён.
+ */
+public class TestJsonStreamWriter {
+
+    private static final Gson PRETTY = new GsonBuilder().setPrettyPrinting().create();
+    private static final Gson COMPACT = new Gson();
+
+    /**
+     * Выполняет проверки.
+     *
+     * @param args не используются
+     * @throws IOException если запись завершается ошибкой
+     */
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== JSON STREAM WRITER TEST ===");
+        List<University> universities = SyntheticData.universities(12);
+        universities.add(new University().setId("0013-<high>").setFullName("Университет \"А & Б\"")
+                .setYearOfFoundation(2001));
+        universities.add(new University());
+
+        List<Student> students = SyntheticData.students(2_000, 12, 7L);
+        students.add(new Student().setFullName("O'Brien <script>=  😀").setUniversityId("0013-<high>")
+                .setCurrentCourseNumber(-1).setAvgExamScore(1e-7f));
+        students.add(new Student().setAvgExamScore(Float.MAX_VALUE));
+        students.add(new Student());
+
+        List<Statistics> statistics = new ArrayList<>(new StatisticsEngine(universities, students).getStatistics());
+        statistics.add(new Statistics().setStudyProfile(StudyProfile.LINGUISTICS));
+        statistics.add(new Statistics());
+        LocalDateTime processedAt = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_000_000);
+
+        for (boolean compact : new boolean[]{false, true}) {
+            Gson gson = compact ? COMPACT : PRETTY;
+            String expected = gson.toJson(sections(students, universities, statistics, processedAt));
+            Checks.check(expected.equals(write(compact, students, universities, statistics, processedAt, 1)),
+                    "document differs from Gson, compact=" + compact);
+            Checks.check(expected.equals(write(compact, students, universities, statistics, processedAt, 7)),
+                    "document written in batches differs from Gson, compact=" + compact);
+
+            String partial = gson.toJson(sections(null, universities, null, processedAt));
+            Checks.check(partial.equals(write(compact, null, universities, null, processedAt, 1)),
+                    "document with skipped sections differs from Gson, compact=" + compact);
+            String empty = gson.toJson(sections(null, null, null, null));
+            Checks.check(empty.equals(write(compact, null, null, null, null, 1)),
+                    "empty document differs from Gson, compact=" + compact);
+        }
+        System.out.println("output: pretty and compact documents match Gson");
+
+        String expected = PRETTY.toJson(sections(students, universities, statistics, processedAt));
+        Path file = Files.createTempFile("json-stream-writer", ".json");
+        try {
+            for (int bufferSize : new int[]{2, 3, 7, 1000, JsonStreamWriter.DEFAULT_BUFFER_SIZE}) {
+                try (JsonStreamWriter writer = JsonStreamWriter.open(file, false, bufferSize)) {
+                    writer.writeStudents(students.iterator())
+                            .writeUniversities(universities.iterator())
+                            .writeStatistics(statistics.iterator())
+                            .writeProcessedAt(processedAt);
+                }
+                Checks.check(Arrays.equals(expected.getBytes(StandardCharsets.UTF_8), Files.readAllBytes(file)),
+                        "file written with buffer of " + bufferSize + " characters differs from Gson");
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        System.out.println("file: UTF-8 output matches for buffers of 2, 3, 7, 1000 and "
+                + JsonStreamWriter.DEFAULT_BUFFER_SIZE + " characters");
+
+        StringWriter output = new StringWriter();
+        JsonStreamWriter writer = new JsonStreamWriter(output, true);
+        writer.writeUniversities(universities.iterator());
+        boolean rejected = false;
+        try {
+            writer.writeStudents(students.iterator());
+        } catch (IllegalStateException e) {
+            rejected = true;
+        }
+        Checks.check(rejected, "students accepted after universities");
+        writer.writeProcessedAt(processedAt).close();
+        Checks.check(output.toString().equals(COMPACT.toJson(sections(null, universities, null, processedAt))),
+                "document is not completed after a rejected section");
+        System.out.println("order: sections cannot be reopened");
+        System.out.println("All checks passed");
+    }
+
+    /**
+     * Записывает документ, разбивая студентов на указанное количество частей.
+     */
+    private static String write(boolean compact, List<Student> students, List<University> universities,
+                                List<Statistics> statistics, LocalDateTime processedAt, int parts) throws IOException {
+        StringWriter output = new StringWriter();
+        try (JsonStreamWriter writer = new JsonStreamWriter(output, compact)) {
+            if (students != null) {
+                int partSize = (students.size() + parts - 1) / parts;
+                for (int from = 0; from < students.size(); from += partSize) {
+                    writer.writeStudents(students.subList(from, Math.min(students.size(), from + partSize))
+                            .iterator());
+                }
+            }
+            if (universities != null) {
+                writer.writeUniversities(universities.iterator());
+            }
+            if (statistics != null) {
+                writer.writeStatistics(statistics.iterator());
+            }
+            if (processedAt != null) {
+                writer.writeProcessedAt(processedAt);
+            }
+        }
+        return output.toString();
+    }
+
+    /**
+     * Собирает разделы документа в словарь с фиксированным порядком ключей для эталонной сериализации Gson.
+     */
+    private static Map<String, Object> sections(List<Student> students, List<University> universities,
+                                                List<Statistics> statistics, LocalDateTime processedAt) {
+        Map<String, Object> root = new LinkedHashMap<>();
+        if (students != null) {
+            root.put("studentsInfo", students);
+        }
+        if (universities != null) {
+            root.put("universitiesInfo", universities);
+        }
+        if (statistics != null) {
+            root.put("statisticalInfo", statistics);
+        }
+        if (processedAt != null) {
+            root.put("processedAt", processedAt.toString());
+        }
+        return root;
+    }
+}
@@ -0,0 +1,53 @@
+import enums.StudentComparatorType;
+import enums.UniversityComparatorType;
+import model.Student;
+import model.University;
+import util.NameCollation;
+
+import java.text.Collator;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Проверка {@link NameCollation}: сортировка по кэшированным ключам сравнения совпадает со стабильной сортировкой
+ * через {@link Collator} с тем же языком и силой сравнения; пустые имена идут первыми, числовые типы сортировки
+ * отклоняются.
+ */
+public class TestNameCollation {
+
+    /**
+     * Выполняет проверки.
+     *
+     * @param args не используются
+     */
+    public static void main(String[] args) {
+        System.out.println("=== NAME COLLATION TEST ===");
+        Random random = new Random(13L);
+        List<Student> students = SortingFixtures.students(random);
+        List<University> universities = SortingFixtures.universities(random);
+
+        Collator collator = Collator.getInstance(NameCollation.DEFAULT_LOCALE);
+        collator.setStrength(Collator.TERTIARY);
+        Comparator<String> names = Comparator.nullsFirst(collator::compare);
+        NameCollation collation = NameCollation.russian();
+        Checks.checkSameOrder("collated students",
+                SortingFixtures.sorted(students, (a, b) -> names.compare(a.getFullName(), b.getFullName())),
+                collation.sortStudents(students, StudentComparatorType.FULL_NAME));
+        Checks.checkSameOrder("collated universities by full name",
+                SortingFixtures.sorted(universities, (a, b) -> names.compare(a.getFullName(), b.getFullName())),
+                collation.sortUniversities(universities, UniversityComparatorType.FULL_NAME));
+        Checks.checkSameOrder("collated universities by short name",
+                SortingFixtures.sorted(universities, (a, b) -> names.compare(a.getShortName(), b.getShortName())),
+                collation.sortUniversities(universities, UniversityComparatorType.SHORT_NAME));
+        boolean rejected = false;
+        try {
+            collation.sortStudents(students, StudentComparatorType.AVG_EXAM_SCORE);
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        Checks.check(rejected, "collation accepted a numeric type");
+        System.out.println("collation: cached collation keys match a stable Collator sort");
+        System.out.println("All checks passed");
+    }
+}
@@ -0,0 +1,52 @@
+import enums.StudentComparatorType;
+import enums.UniversityComparatorType;
+import model.Student;
+import model.University;
+import util.ComparatorUtil;
+import util.SortUtil;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Проверка {@link SortUtil}: параллельная сортировка с порогом в один элемент даёт для каждого типа тот же порядок,
+ * что и стабильная сортировка списка компаратором.
+ * <p>
+ * Чтобы параллельный путь выполнялся и на одноядерной машине, параллелизм общего пула задаётся свойством
+ * до первого обращения к пулу, если он не задан при запуске.
+ * </p>
+ */
+public class TestParallelSort {
+
+    private static final String PARALLELISM_PROPERTY = "java.util.concurrent.ForkJoinPool.common.parallelism";
+
+    /**
+     * Выполняет проверки.
+     *
+     * @param args не используются
+     */
+    public static void main(String[] args) {
+        if (System.getProperty(PARALLELISM_PROPERTY) == null) {
+            System.setProperty(PARALLELISM_PROPERTY, "4");
+        }
+        System.out.println("=== PARALLEL SORT TEST ===");
+        Checks.check(ForkJoinPool.getCommonPoolParallelism() > 1, "common pool cannot run tasks in parallel");
+        Random random = new Random(13L);
+        List<Student> students = SortingFixtures.students(random);
+        List<University> universities = SortingFixtures.universities(random);
+        for (StudentComparatorType type : StudentComparatorType.values()) {
+            Checks.checkSameOrder("parallel students by " + type,
+                    SortingFixtures.sorted(students, ComparatorUtil.getStudentComparator(type)),
+                    SortUtil.sortStudents(students, type, 1));
+        }
+        for (UniversityComparatorType type : UniversityComparatorType.values()) {
+            Checks.checkSameOrder("parallel universities by " + type,
+                    SortingFixtures.sorted(universities, ComparatorUtil.getUniversityComparator(type)),
+                    SortUtil.sortUniversities(universities, type, 1));
+        }
+        System.out.println("parallel: every type matches a stable comparator sort on "
+                + ForkJoinPool.getCommonPoolParallelism() + " workers");
+        System.out.println("All checks passed");
+    }
+}
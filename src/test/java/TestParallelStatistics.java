@@ -0,0 +1,99 @@
+import enums.StudyProfile;
+import model.Student;
+import model.University;
+import util.StatisticsUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Проверка параллельного расчёта статистики: при любом числе потоков и любом пороге последовательного расчёта
+ * результат {@link StatisticsUtil#calculateStatistics(List, List, int, int)} совпадает с последовательным
+ * {@link StatisticsUtil#calculateStatistics(List, List)} по всем полям, включая средний балл, квантили
+ * и гистограмму. Данные содержат повторяющийся идентификатор университета, университеты без профиля
+ * и без идентификатора, студентов без университета и с неизвестным университетом, а также баллы
+ * с произвольными младшими разрядами, на которых сказался бы порядок сложения в {@code double}. Баллы
+ * удовлетворяют условию точного суммирования из {@link StatisticsUtil#calculateStatistics(List, List, int, int)}.
+ */
+public class TestParallelStatistics {
+
+    private static final StudyProfile[] PROFILES = StudyProfile.values();
+    private static final int[] PARALLELISMS = {1, 2, 3, 8};
+    private static final int SMALL_THRESHOLD = 64;
+
+    /** Наименьший ненулевой балл, сумма которого не зависит от порядка сложения. */
+    private static final float MIN_EXACT_SCORE = 0x1p-9f;
+
+    /**
+     * Выполняет проверки.
+     *
+     * @param args первый аргумент — зерно генератора случайных чисел (по умолчанию 6)
+     */
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 6L;
+        Random random = new Random(seed);
+        System.out.println("=== PARALLEL STATISTICS TEST (seed " + seed + ") ===");
+
+        int checks = 0;
+        for (int n : new int[] {0, 1, 7, 1_000, 20_011}) {
+            List<University> universities = universities(random);
+            List<Student> students = students(random, n);
+            String expected = StatisticsUtil.calculateStatistics(students, universities).toString();
+            for (int parallelism : PARALLELISMS) {
+                for (int threshold : new int[] {1, SMALL_THRESHOLD, n + 1}) {
+                    String actual = StatisticsUtil.calculateStatistics(students, universities, parallelism, threshold)
+                            .toString();
+                    Checks.check(expected.equals(actual), n + " students, parallelism " + parallelism
+                            + ", threshold " + threshold + "\nexpected: " + expected + "\nactual:   " + actual);
+                    checks++;
+                }
+            }
+        }
+        System.out.println("Parallel runs compared with the sequential run: " + checks);
+
+        boolean rejected = false;
+        try {
+            StatisticsUtil.calculateStatistics(new ArrayList<>(), universities(random), 0, 1);
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        Checks.check(rejected, "zero parallelism is accepted");
+        System.out.println("Zero parallelism rejected");
+
+        System.out.println("All checks passed");
+    }
+
+    private static List<University> universities(Random random) {
+        List<University> universities = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            universities.add(new University()
+                    .setId("U" + i)
+                    .setFullName("Университет " + i)
+                    .setMainProfile(PROFILES[random.nextInt(PROFILES.length)]));
+        }
+        universities.add(new University().setId("U3").setFullName("Дубликат U3")
+                .setMainProfile(PROFILES[random.nextInt(PROFILES.length)]));
+        universities.add(new University().setId("U40").setFullName("Без профиля"));
+        universities.add(new University().setFullName("Без идентификатора").setMainProfile(PROFILES[0]));
+        return universities;
+    }
+
+    private static List<Student> students(Random random, int n) {
+        List<Student> students = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int kind = random.nextInt(50);
+            String universityId = kind == 0 ? null : kind == 1 ? "U99" : "U" + random.nextInt(41);
+            float score = random.nextInt(4) == 0 ? random.nextInt(51) / 10f : random.nextFloat() * 5f;
+            if (score < MIN_EXACT_SCORE) {
+                score = 0f;
+            }
+            students.add(new Student()
+                    .setFullName("Студент " + i)
+                    .setUniversityId(universityId)
+                    .setCurrentCourseNumber(1 + random.nextInt(5))
+                    .setAvgExamScore(score));
+        }
+        return students;
+    }
+}
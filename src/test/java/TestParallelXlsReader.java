@@ -0,0 +1,52 @@
+import io.ParallelXlsReader;
+import io.XlsReader;
+import model.Student;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Проверка {@link ParallelXlsReader}: при любом уровне параллелизма студенты совпадают с чтением книги целиком
+ * через {@link XlsReader} в том же порядке, в том числе для пустых ячеек и имён со служебными символами XML
+ * на границах фрагментов.
+ */
+public class TestParallelXlsReader {
+
+    private static final int UNIVERSITY_COUNT = 40;
+    private static final int STUDENT_COUNT = 5_000;
+
+    /**
+     * Выполняет проверки.
+     *
+     * @param args не используются
+     * @throws IOException если книгу не удаётся записать или прочитать
+     */
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== PARALLEL XLS READER TEST ===");
+        Path workbook = Files.createTempFile("parallel-reader-test", ".xlsx");
+        String file = workbook.toString();
+        try {
+            SyntheticData.writeWorkbook(file, UNIVERSITY_COUNT, STUDENT_COUNT, SyntheticData::edgeCases);
+            List<Student> expected = XlsReader.readXlsStudents(file);
+            Checks.check(expected.size() == STUDENT_COUNT, "full reader returned " + expected.size() + " students");
+            for (int parallelism : new int[]{1, 2, 3, 7}) {
+                List<Student> actual = ParallelXlsReader.readXlsStudents(file, parallelism);
+                Checks.check(expected.toString().equals(actual.toString()),
+                        "parallel reader with parallelism " + parallelism + " differs from the full reader");
+            }
+            boolean rejected = false;
+            try {
+                ParallelXlsReader.readXlsStudents(file, 0);
+            } catch (IllegalArgumentException e) {
+                rejected = true;
+            }
+            Checks.check(rejected, "parallel reader accepted parallelism 0");
+            System.out.println("parallel: parallelism 1, 2, 3 and 7 match the full reader");
+        } finally {
+            Files.deleteIfExists(workbook);
+        }
+        System.out.println("All checks passed");
+    }
+}
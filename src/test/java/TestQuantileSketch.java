@@ -0,0 +1,91 @@
+import util.QuantileSketch;
+import util.ScoreHistogram;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Проверка скетча квантилей и гистограммы баллов: оценки сравниваются с точными квантилями отсортированного
+ * массива, результат слияния частичных скетчей — с одним скетчем по всем значениям.
+ */
+public class TestQuantileSketch {
+
+    private static final double[] QUANTILES = {0.0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 1.0};
+
+    /**
+     * Выполняет проверки на нескольких распределениях.
+     *
+     * @param args первый аргумент — зерно генератора случайных чисел (по умолчанию 2024)
+     */
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 2024L;
+        Random random = new Random(seed);
+        System.out.println("=== QUANTILE SKETCH TEST (seed " + seed + ") ===");
+
+        for (int round = 0; round < 20; round++) {
+            int size = 1 + random.nextInt(200_000);
+            float[] values = new float[size];
+            for (int i = 0; i < size; i++) {
+                switch (round % 4) {
+                    case 0:
+                        values[i] = Math.round((3.0f + random.nextFloat() * 2.0f) * 10f) / 10f;
+                        break;
+                    case 1:
+                        values[i] = random.nextFloat() * 5f;
+                        break;
+                    case 2:
+                        values[i] = (float) Math.exp(random.nextGaussian() * 3);
+                        break;
+                    default:
+                        values[i] = (float) (random.nextGaussian() * 100);
+                        break;
+                }
+            }
+            check(values, 1 + random.nextInt(16));
+        }
+
+        System.out.println("=== TEST COMPLETED SUCCESSFULLY ===");
+    }
+
+    private static void check(float[] values, int parts) {
+        QuantileSketch whole = new QuantileSketch();
+        ScoreHistogram wholeHistogram = new ScoreHistogram();
+        QuantileSketch merged = new QuantileSketch();
+        ScoreHistogram mergedHistogram = new ScoreHistogram();
+        for (float value : values) {
+            whole.add(value);
+            wholeHistogram.add(value);
+        }
+        for (int part = parts - 1; part >= 0; part--) {
+            QuantileSketch partial = new QuantileSketch();
+            ScoreHistogram partialHistogram = new ScoreHistogram();
+            for (int i = part; i < values.length; i += parts) {
+                partial.add(values[i]);
+                partialHistogram.add(values[i]);
+            }
+            merged.merge(partial);
+            mergedHistogram.merge(partialHistogram);
+        }
+
+        float[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (double quantile : QUANTILES) {
+            long rank = Math.max(1, (long) Math.ceil(quantile * sorted.length));
+            double exact = sorted[(int) rank - 1];
+            double estimate = whole.getQuantile(quantile);
+            double bound = Math.abs(exact) < 0x1p-10 ? 0x1p-10 : Math.abs(exact) * whole.getRelativeError();
+            if (Math.abs(estimate - exact) > bound) {
+                throw new IllegalStateException("Quantile " + quantile + " estimate " + estimate
+                        + " exceeds error bound for exact value " + exact);
+            }
+            if (Double.compare(estimate, merged.getQuantile(quantile)) != 0) {
+                throw new IllegalStateException("Merged sketch differs at quantile " + quantile);
+            }
+        }
+        if (!wholeHistogram.toList().equals(mergedHistogram.toList())) {
+            throw new IllegalStateException("Merged histogram differs");
+        }
+        System.out.printf("%8d values, %2d parts, %5d buckets, median %.4f, p99 %.4f%n",
+                values.length, parts, whole.getBucketCount(), whole.getQuantile(0.5), whole.getQuantile(0.99));
+    }
+}
@@ -0,0 +1,40 @@
+import enums.StudentComparatorType;
+import enums.UniversityComparatorType;
+import model.Student;
+import model.University;
+import util.ComparatorUtil;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Проверка {@link ComparatorUtil#sortStudents} и {@link ComparatorUtil#sortUniversities}: для каждого типа
+ * сортировки, в том числе поразрядной по числовым ключам, порядок совпадает со стабильной сортировкой списка
+ * компаратором, включая пустые поля, {@code NaN}, {@code -0.0} и повторяющиеся значения.
+ */
+public class TestRadixSort {
+
+    /**
+     * Выполняет проверки.
+     *
+     * @param args не используются
+     */
+    public static void main(String[] args) {
+        System.out.println("=== RADIX SORT TEST ===");
+        Random random = new Random(13L);
+        List<Student> students = SortingFixtures.students(random);
+        List<University> universities = SortingFixtures.universities(random);
+        for (StudentComparatorType type : StudentComparatorType.values()) {
+            Checks.checkSameOrder("students by " + type,
+                    SortingFixtures.sorted(students, ComparatorUtil.getStudentComparator(type)),
+                    ComparatorUtil.sortStudents(students, type));
+        }
+        for (UniversityComparatorType type : UniversityComparatorType.values()) {
+            Checks.checkSameOrder("universities by " + type,
+                    SortingFixtures.sorted(universities, ComparatorUtil.getUniversityComparator(type)),
+                    ComparatorUtil.sortUniversities(universities, type));
+        }
+        System.out.println("single keys: every type matches a stable comparator sort");
+        System.out.println("All checks passed");
+    }
+}
@@ -0,0 +1,104 @@
+import io.ShardedXlsReader;
+import io.XlsReader;
+import model.Student;
+import model.University;
+import util.StatisticsUtil;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Проверка {@link ShardedXlsReader}: книги разного размера с пересекающимися университетами объединяются в порядке
+ * шардов, из повторяющихся университетов остаётся первая запись, а статистика совпадает со статистикой полного
+ * списка при любом уровне параллелизма и без сбора студентов.
+ */
+public class TestShardedXlsReader {
+
+    private static final int SHARD_COUNT = 4;
+
+    /**
+     * Выполняет проверки.
+     *
+     * @param args не используются
+     * @throws IOException если книги не удаётся записать или прочитать
+     */
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== SHARDED XLS READER TEST ===");
+        Path directory = Files.createTempDirectory("sharded-reader-test");
+        try {
+            checkSharded(directory);
+        } finally {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(directory);
+        }
+        System.out.println("All checks passed");
+    }
+
+    /**
+     * Сверяет чтение по шардам с последовательным чтением книг разного размера с пересекающимися университетами.
+     */
+    private static void checkSharded(Path directory) throws IOException {
+        List<Path> shards = new ArrayList<>();
+        List<University> expectedUniversities = new ArrayList<>();
+        List<Student> expectedStudents = new ArrayList<>();
+        Set<String> seenIds = new HashSet<>();
+        int expectedDuplicates = 0;
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            Path shard = directory.resolve(String.format("region-%02d.xlsx", i));
+            SyntheticData.writeWorkbook(shard.toString(), 10 + 5 * i, 500 + 300 * i);
+            shards.add(shard);
+            for (University university : XlsReader.readXlsUniversities(shard.toString())) {
+                if (seenIds.add(university.getId())) {
+                    expectedUniversities.add(university);
+                } else {
+                    expectedDuplicates++;
+                }
+            }
+            expectedStudents.addAll(XlsReader.readXlsStudents(shard.toString()));
+        }
+        Checks.check(ShardedXlsReader.findShards(directory.toString(), "region-*.xlsx").equals(shards),
+                "shards are not found in name order");
+        String expectedStatistics = StatisticsUtil.calculateStatistics(expectedStudents, expectedUniversities)
+                .toString();
+
+        for (int parallelism : new int[]{1, 3}) {
+            ShardedXlsReader.Result result = ShardedXlsReader.read(shards, parallelism, true);
+            String name = "sharded read with parallelism " + parallelism;
+            Checks.check(expectedUniversities.toString().equals(result.getUniversities().toString()),
+                    name + ": universities differ");
+            Checks.check(result.getDuplicateUniversityCount() == expectedDuplicates,
+                    name + ": " + result.getDuplicateUniversityCount() + " duplicates, expected " + expectedDuplicates);
+            Checks.check(expectedStudents.toString().equals(result.getStudents().toString()),
+                    name + ": students differ");
+            Checks.check(result.getStudentCount() == expectedStudents.size(), name + ": student count");
+            Checks.check(expectedStatistics.equals(result.calculateStatistics().toString()),
+                    name + ": statistics differ");
+            Checks.check(result.getShards().size() == SHARD_COUNT, name + ": shard count");
+        }
+
+        ShardedXlsReader.Result counted = ShardedXlsReader.read(shards, 2, false);
+        Checks.check(counted.getStudents().isEmpty(), "students are collected when not requested");
+        Checks.check(counted.getStudentCount() == expectedStudents.size()
+                && expectedStatistics.equals(counted.calculateStatistics().toString()),
+                "aggregates without collected students differ");
+        boolean rejected = false;
+        try {
+            ShardedXlsReader.read(shards, 0, false);
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        Checks.check(rejected, "sharded reader accepted parallelism 0");
+        System.out.println("sharded: " + SHARD_COUNT + " shards match sequential reads with " + expectedDuplicates
+                + " duplicate universities");
+    }
+}
@@ -0,0 +1,133 @@
+import io.DatasetReader;
+import io.SnapshotCache;
+import model.Dataset;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Проверка {@link SnapshotCache}: данные, загруженные из снимка, совпадают с разбором книги; снимок остаётся
+ * действительным после изменения только времени файла; изменённое содержимое, повреждённый снимок, в том числе
+ * с количеством записей или длиной строки больше размера файла, и снимок неизвестного формата приводят к разбору
+ * книги и перезаписи снимка. Путь чтения определяется по сообщениям
+ * журнала кэша.
+ */
+public class TestSnapshotCache {
+
+    private static final Logger CACHE_LOGGER = Logger.getLogger(SnapshotCache.class.getName());
+
+    private static final int UNIVERSITY_COUNT = 30;
+    private static final int STUDENT_COUNT = 2_000;
+    private static final int HASH_LENGTH = 32;
+
+    /**
+     * Выполняет проверки.
+     *
+     * @param args не используются
+     * @throws IOException если книгу или снимок не удаётся записать или прочитать
+     */
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== SNAPSHOT CACHE TEST ===");
+        List<String> messages = new ArrayList<>();
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                messages.add(record.getMessage());
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        CACHE_LOGGER.setLevel(Level.INFO);
+        CACHE_LOGGER.addHandler(handler);
+
+        Path workbook = Files.createTempFile("snapshot-test", ".xlsx");
+        String file = workbook.toString();
+        Path snapshot = SnapshotCache.snapshotPath(file);
+        try {
+            SyntheticData.writeWorkbook(file, UNIVERSITY_COUNT, STUDENT_COUNT);
+            SnapshotCache.invalidate(file);
+            Dataset parsed = DatasetReader.read(file);
+
+            read(file, parsed, messages, "No snapshot found");
+            Checks.check(Files.isRegularFile(snapshot), "snapshot is not written after parsing");
+            read(file, parsed, messages, "Loaded");
+            System.out.println("round trip: snapshot contents match the parsed workbook");
+
+            Files.setLastModifiedTime(workbook, FileTime.fromMillis(Files.getLastModifiedTime(workbook).toMillis()
+                    + 60_000));
+            read(file, parsed, messages, "Loaded");
+            read(file, parsed, messages, "Loaded");
+            System.out.println("touch: snapshot stays valid when only the modification time changes");
+
+            int[] index = new int[1];
+            SyntheticData.writeWorkbook(file, UNIVERSITY_COUNT, STUDENT_COUNT,
+                    student -> index[0]++ == 100 ? student.setAvgExamScore(1.0f) : student);
+            Dataset edited = DatasetReader.read(file);
+            Checks.check(!edited.getStudents().toString().equals(parsed.getStudents().toString()),
+                    "edited workbook has the same students");
+            read(file, edited, messages, "is stale");
+            read(file, edited, messages, "Loaded");
+            System.out.println("change: edited workbook invalidates the snapshot");
+
+            byte[] bytes = Files.readAllBytes(snapshot);
+            Files.write(snapshot, Arrays.copyOf(bytes, bytes.length / 2));
+            read(file, edited, messages, "is corrupted");
+            read(file, edited, messages, "Loaded");
+            int idCountOffset = 3 * Integer.BYTES + ByteBuffer.wrap(bytes).getInt(2 * Integer.BYTES)
+                    + 2 * Long.BYTES + HASH_LENGTH;
+            Files.write(snapshot, ByteBuffer.wrap(bytes.clone()).putInt(idCountOffset, Integer.MAX_VALUE).array());
+            read(file, edited, messages, "is corrupted");
+            Files.write(snapshot, ByteBuffer.wrap(bytes.clone()).putInt(idCountOffset + Integer.BYTES,
+                    Integer.MAX_VALUE - 8).array());
+            read(file, edited, messages, "is corrupted");
+            read(file, edited, messages, "Loaded");
+            Files.write(snapshot, "not a snapshot".getBytes(StandardCharsets.UTF_8));
+            read(file, edited, messages, "unknown format");
+            read(file, edited, messages, "Loaded");
+            System.out.println("damage: truncated, oversized and foreign snapshots fall back to parsing and are "
+                    + "rewritten");
+
+            Checks.check(SnapshotCache.invalidate(file), "existing snapshot is not deleted");
+            Checks.check(!SnapshotCache.invalidate(file), "missing snapshot reported as deleted");
+            read(file, edited, messages, "No snapshot found");
+        } finally {
+            CACHE_LOGGER.removeHandler(handler);
+            SnapshotCache.invalidate(file);
+            Files.deleteIfExists(workbook);
+        }
+        System.out.println("All checks passed");
+    }
+
+    /**
+     * Читает книгу через кэш, сверяет данные с ожидаемыми и проверяет, что журнал содержит сообщение
+     * с указанным фрагментом.
+     */
+    private static void read(String file, Dataset expected, List<String> messages, String expectedMessage)
+            throws IOException {
+        messages.clear();
+        Dataset actual = SnapshotCache.read(file);
+        Checks.check(expected.getUniversities().toString().equals(actual.getUniversities().toString()),
+                "universities differ, log: " + messages);
+        Checks.check(expected.getStudents().toString().equals(actual.getStudents().toString()),
+                "students differ, log: " + messages);
+        Checks.check(messages.stream().anyMatch(message -> message.contains(expectedMessage)),
+                "expected \"" + expectedMessage + "\" in log: " + messages);
+    }
+}
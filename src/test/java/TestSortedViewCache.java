@@ -0,0 +1,80 @@
+import enums.StudentComparatorType;
+import enums.UniversityComparatorType;
+import model.Student;
+import model.University;
+import util.ComparatorUtil;
+import util.SortedViewCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Проверка {@link SortedViewCache}: после случайных добавлений и удалений студентов и университетов каждое
+ * представление совпадает со стабильной сортировкой текущего списка; представление сверх предела элементов
+ * вытесняется.
+ */
+public class TestSortedViewCache {
+
+    private static final int CHANGES = 2_000;
+
+    /**
+     * Выполняет проверки.
+     *
+     * @param args не используются
+     */
+    public static void main(String[] args) {
+        System.out.println("=== SORTED VIEW CACHE TEST ===");
+        Random random = new Random(13L);
+        List<Student> students = SortingFixtures.students(random);
+        List<University> universities = SortingFixtures.universities(random);
+
+        List<Student> currentStudents = new ArrayList<>(students);
+        List<University> currentUniversities = new ArrayList<>(universities);
+        SortedViewCache cache = new SortedViewCache(currentUniversities, currentStudents);
+        for (int change = 0; change < CHANGES; change++) {
+            int action = random.nextInt(4);
+            if (action == 0 && !currentStudents.isEmpty()) {
+                Student removed = currentStudents.remove(random.nextInt(currentStudents.size()));
+                Checks.check(cache.removeStudent(removed), "removed student is missing from the cache");
+            } else if (action == 1) {
+                Student added = SortingFixtures.student(random);
+                currentStudents.add(added);
+                cache.addStudent(added);
+            } else if (action == 2 && !currentUniversities.isEmpty()) {
+                University removed = currentUniversities.remove(random.nextInt(currentUniversities.size()));
+                Checks.check(cache.removeUniversity(removed), "removed university is missing from the cache");
+            } else {
+                University added = SortingFixtures.university(random, currentUniversities.size());
+                currentUniversities.add(added);
+                cache.addUniversity(added);
+            }
+            if (change % 50 == 0 || change == CHANGES - 1) {
+                for (StudentComparatorType type : StudentComparatorType.values()) {
+                    Checks.checkSameOrder("cached students by " + type + " after change " + change,
+                            SortingFixtures.sorted(currentStudents, ComparatorUtil.getStudentComparator(type)),
+                            cache.getStudents(type));
+                }
+                for (UniversityComparatorType type : UniversityComparatorType.values()) {
+                    Checks.checkSameOrder("cached universities by " + type + " after change " + change,
+                            SortingFixtures.sorted(currentUniversities, ComparatorUtil.getUniversityComparator(type)),
+                            cache.getUniversities(type));
+                }
+            }
+        }
+        Checks.check(!cache.removeStudent(new Student()), "unknown student removed from the cache");
+        Checks.check(cache.getHitCount() > 0 && cache.getEvictionCount() == 0, "cache statistics " + cache);
+        System.out.println("changes: incrementally maintained views match a full sort after every 50 changes");
+
+        SortedViewCache small = new SortedViewCache(universities, students, students.size());
+        small.getStudents(StudentComparatorType.FULL_NAME);
+        Checks.checkSameOrder("student view after eviction",
+                SortingFixtures.sorted(students, ComparatorUtil.getStudentComparator(
+                        StudentComparatorType.AVG_EXAM_SCORE)),
+                small.getStudents(StudentComparatorType.AVG_EXAM_SCORE));
+        Checks.check(small.getEvictionCount() == 1 && small.getViewCount() == 1,
+                "view over the element limit is not evicted: " + small);
+        System.out.println("eviction: views over the element limit are evicted");
+        System.out.println("All checks passed");
+    }
+}
@@ -0,0 +1,291 @@
+import enums.CubeDimension;
+import enums.StudyProfile;
+import model.Student;
+import model.University;
+import util.StatisticsCube;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+
+/**
+ * Проверка {@link StatisticsCube}: свёртки по всем наборам и порядкам измерений и срезы, в том числе
+ * последовательные, совпадают с группировкой полным перебором пар «студент — запись университета»
+ * по количеству, сумме и среднему баллу, а также по порядку ячеек. Данные содержат повторяющиеся
+ * идентификаторы университетов, университеты без профиля и без идентификатора, студентов без университета
+ * и курсы за пределами обычного диапазона. Неучтёнными считаются студенты с идентификатором, которого нет в кубе;
+ * студенты без идентификатора не учитываются нигде.
+ */
+public class TestStatisticsCube {
+
+    private static final int UNIVERSITY_COUNT = 30;
+    private static final double SUM_TOLERANCE = 1e-6;
+
+    /**
+     * Вклад студента в одну запись университета.
+     */
+    private static final class Fact {
+        final StudyProfile profile;
+        final String universityId;
+        final int universityOrder;
+        final int course;
+        final int decade;
+        final double score;
+
+        Fact(University university, int universityOrder, Student student) {
+            this.profile = university.getMainProfile();
+            this.universityId = university.getId();
+            this.universityOrder = universityOrder;
+            this.course = student.getCurrentCourseNumber();
+            this.decade = university.getYearOfFoundation() - Math.floorMod(university.getYearOfFoundation(), 10);
+            this.score = student.getAvgExamScore();
+        }
+    }
+
+    /**
+     * Выполняет проверки.
+     *
+     * @param args не используются
+     */
+    public static void main(String[] args) {
+        System.out.println("=== STATISTICS CUBE TEST ===");
+        Random random = new Random(19L);
+        List<University> universities = SyntheticData.universities(UNIVERSITY_COUNT);
+        universities.add(new University().setId("0005-high").setMainProfile(StudyProfile.LINGUISTICS)
+                .setYearOfFoundation(1995));
+        universities.add(new University().setId("0006-high").setYearOfFoundation(1800));
+        universities.add(new University().setMainProfile(StudyProfile.MEDICINE).setYearOfFoundation(1800));
+        universities.add(null);
+
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 6_000; i++) {
+            int university = random.nextInt(UNIVERSITY_COUNT + 5);
+            int[] courses = {1, 2, 3, 4, 5, 6, 0, -1, 100};
+            students.add(new Student()
+                    .setUniversityId(university == 0 ? null : String.format("%04d-high", university))
+                    .setCurrentCourseNumber(courses[random.nextInt(courses.length)])
+                    .setAvgExamScore(Math.round((2.0f + random.nextFloat() * 3.0f) * 10f) / 10f));
+        }
+        students.add(null);
+
+        Map<String, Integer> universityOrder = new HashMap<>();
+        for (University university : universities) {
+            if (counted(university)) {
+                universityOrder.putIfAbsent(university.getId(), universityOrder.size());
+            }
+        }
+        List<Fact> facts = new ArrayList<>();
+        long unmatched = 0;
+        for (Student student : students) {
+            if (student == null) {
+                continue;
+            }
+            boolean matched = false;
+            for (University university : universities) {
+                if (counted(university) && university.getId().equals(student.getUniversityId())) {
+                    facts.add(new Fact(university, universityOrder.get(university.getId()), student));
+                    matched = true;
+                }
+            }
+            unmatched += matched || student.getUniversityId() == null ? 0 : 1;
+        }
+
+        StatisticsCube cube = StatisticsCube.build(universities, students);
+        Checks.check(cube.getUnmatchedCount() == unmatched,
+                "unmatched " + cube.getUnmatchedCount() + ", expected " + unmatched);
+        Checks.check(cube.getStudentCount() == facts.size(), "student count " + cube.getStudentCount());
+
+        int rollUps = 0;
+        for (List<CubeDimension> dimensions : permutations(Arrays.asList(CubeDimension.values()))) {
+            checkRollUp("cube", cube, facts, fact -> true, dimensions);
+            rollUps++;
+        }
+        System.out.println("roll-up: " + rollUps + " ordered dimension sets match a full scan");
+
+        int slices = 0;
+        for (StudyProfile profile : StudyProfile.values()) {
+            Predicate<Fact> byProfile = fact -> fact.profile == profile;
+            StatisticsCube byProfileCube = cube.slice(CubeDimension.STUDY_PROFILE, profile);
+            checkSlices("profile " + profile, byProfileCube, facts, byProfile);
+            slices++;
+            for (int course : new int[]{-1, 0, 3, 100, 7}) {
+                checkSlices("profile " + profile + ", course " + course,
+                        byProfileCube.slice(CubeDimension.COURSE, course), facts,
+                        byProfile.and(fact -> fact.course == course));
+                slices++;
+            }
+        }
+        for (String id : Arrays.asList("0001-high", "0005-high", "0006-high", "0034-high")) {
+            checkSlices("university " + id, cube.slice(CubeDimension.UNIVERSITY, id), facts,
+                    fact -> fact.universityId.equals(id));
+            slices++;
+        }
+        for (int year : new int[]{1700, 1755, 1999, 2500}) {
+            int decade = year - Math.floorMod(year, 10);
+            checkSlices("year " + year, cube.slice(CubeDimension.FOUNDATION_DECADE, year), facts,
+                    fact -> fact.decade == decade);
+            slices++;
+        }
+        System.out.println("slice: " + slices + " single and chained slices match a full scan");
+
+        boolean rejected = false;
+        try {
+            cube.slice(CubeDimension.COURSE, "3");
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        Checks.check(rejected, "slice accepted a value of the wrong type");
+        rejected = false;
+        try {
+            cube.rollUp(CubeDimension.COURSE, CubeDimension.COURSE);
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        Checks.check(rejected, "roll-up accepted a repeated dimension");
+        StatisticsCube empty = cube.slice(CubeDimension.UNIVERSITY, "missing");
+        Checks.check(empty.getStudentCount() == 0 && empty.getAvgExamScore() == null
+                && empty.rollUp(CubeDimension.COURSE).isEmpty(), "empty slice is not empty");
+        System.out.println("All checks passed");
+    }
+
+    /**
+     * Проверяет, попадает ли запись университета в куб: у неё должны быть идентификатор и профиль.
+     */
+    private static boolean counted(University university) {
+        return university != null && university.getId() != null && university.getMainProfile() != null;
+    }
+
+    private static void checkSlices(String name, StatisticsCube slice, List<Fact> facts, Predicate<Fact> filter) {
+        checkRollUp(name, slice, facts, filter, new ArrayList<>());
+        for (CubeDimension dimension : CubeDimension.values()) {
+            checkRollUp(name, slice, facts, filter, List.of(dimension));
+        }
+    }
+
+    private static void checkRollUp(String name, StatisticsCube cube, List<Fact> facts, Predicate<Fact> filter,
+                                    List<CubeDimension> dimensions) {
+        Map<List<Object>, double[]> groups = new HashMap<>();
+        Map<List<Object>, Fact> samples = new HashMap<>();
+        for (Fact fact : facts) {
+            if (filter.test(fact)) {
+                List<Object> key = key(fact, dimensions);
+                double[] group = groups.computeIfAbsent(key, k -> new double[2]);
+                group[0]++;
+                group[1] += fact.score;
+                samples.putIfAbsent(key, fact);
+            }
+        }
+        Comparator<Fact> order = (a, b) -> 0;
+        for (CubeDimension dimension : dimensions) {
+            order = order.thenComparing(sortKey(dimension));
+        }
+        List<List<Object>> keys = new ArrayList<>(groups.keySet());
+        Comparator<Fact> factOrder = order;
+        keys.sort((a, b) -> factOrder.compare(samples.get(a), samples.get(b)));
+
+        String description = name + " by " + dimensions;
+        List<StatisticsCube.Cell> cells = cube.rollUp(dimensions.toArray(new CubeDimension[0]));
+        if (keys.isEmpty() && dimensions.isEmpty()) {
+            Checks.check(cells.size() == 1 && cells.get(0).getStudentCount() == 0, "empty total " + description);
+            return;
+        }
+        Checks.check(cells.size() == keys.size(), description + " has " + cells.size() + " cells, expected "
+                + keys.size());
+        for (int i = 0; i < cells.size(); i++) {
+            StatisticsCube.Cell cell = cells.get(i);
+            List<Object> expectedKey = keys.get(i);
+            double[] group = groups.get(expectedKey);
+            Checks.check(expectedKey.equals(key(cell, dimensions)), description + " cell " + i + " is " + cell
+                    + ", expected " + expectedKey);
+            Checks.check(cell.getStudentCount() == (long) group[0], description + " count of " + cell);
+            Checks.check(Math.abs(cell.getScoreSum() - group[1]) < SUM_TOLERANCE, description + " sum of " + cell);
+            BigDecimal average = BigDecimal.valueOf(group[1] / group[0]);
+            Checks.check(cell.getAvgExamScore().subtract(average).abs().compareTo(new BigDecimal("0.005")) <= 0,
+                    description + " average of " + cell);
+        }
+    }
+
+    private static List<Object> key(Fact fact, List<CubeDimension> dimensions) {
+        List<Object> key = new ArrayList<>();
+        for (CubeDimension dimension : dimensions) {
+            switch (dimension) {
+                case STUDY_PROFILE:
+                    key.add(fact.profile);
+                    break;
+                case UNIVERSITY:
+                    key.add(fact.universityId);
+                    break;
+                case COURSE:
+                    key.add(fact.course);
+                    break;
+                default:
+                    key.add(fact.decade);
+            }
+        }
+        return key;
+    }
+
+    private static List<Object> key(StatisticsCube.Cell cell, List<CubeDimension> dimensions) {
+        List<Object> key = new ArrayList<>();
+        for (CubeDimension dimension : dimensions) {
+            switch (dimension) {
+                case STUDY_PROFILE:
+                    key.add(cell.getStudyProfile());
+                    break;
+                case UNIVERSITY:
+                    key.add(cell.getUniversityId());
+                    break;
+                case COURSE:
+                    key.add(cell.getCourseNumber());
+                    break;
+                default:
+                    key.add(cell.getFoundationDecade());
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Возвращает порядок ячеек по измерению: профили — по порядку объявления, университеты — по первому
+     * появлению в списке университетов, курсы и десятилетия — по возрастанию.
+     */
+    private static Comparator<Fact> sortKey(CubeDimension dimension) {
+        switch (dimension) {
+            case STUDY_PROFILE:
+                return Comparator.comparing(fact -> fact.profile);
+            case UNIVERSITY:
+                return Comparator.comparingInt(fact -> fact.universityOrder);
+            case COURSE:
+                return Comparator.comparingInt(fact -> fact.course);
+            default:
+                return Comparator.comparingInt(fact -> fact.decade);
+        }
+    }
+
+    /**
+     * Перечисляет все упорядоченные подмножества измерений, включая пустое.
+     */
+    private static List<List<CubeDimension>> permutations(List<CubeDimension> dimensions) {
+        List<List<CubeDimension>> result = new ArrayList<>();
+        result.add(new ArrayList<>());
+        for (CubeDimension dimension : dimensions) {
+            List<CubeDimension> rest = new ArrayList<>(dimensions);
+            rest.remove(dimension);
+            for (List<CubeDimension> tail : permutations(rest)) {
+                List<CubeDimension> permutation = new ArrayList<>();
+                permutation.add(dimension);
+                permutation.addAll(tail);
+                if (!result.contains(permutation)) {
+                    result.add(permutation);
+                }
+            }
+        }
+        return result;
+    }
+}
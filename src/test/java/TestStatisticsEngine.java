@@ -0,0 +1,108 @@
+import enums.StudyProfile;
+import model.Student;
+import model.University;
+import util.StatisticsEngine;
+import util.StatisticsUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Рандомизированная проверка инкрементального движка статистики: после каждой серии случайных событий снимок
+ * движка сравнивается с полным пересчётом через {@link StatisticsUtil#calculateStatistics(List, List)}.
+ */
+public class TestStatisticsEngine {
+
+    private static final StudyProfile[] PROFILES = StudyProfile.values();
+
+    /**
+     * Выполняет серию случайных сценариев.
+     *
+     * @param args первый аргумент — зерно генератора случайных чисел (по умолчанию 2024)
+     */
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 2024L;
+        Random random = new Random(seed);
+        System.out.println("=== STATISTICS ENGINE RANDOMIZED TEST (seed " + seed + ") ===");
+
+        int checks = 0;
+        for (int scenario = 0; scenario < 50; scenario++) {
+            List<University> universities = new ArrayList<>();
+            List<Student> students = new ArrayList<>();
+            StatisticsEngine engine = new StatisticsEngine();
+
+            for (int step = 0; step < 2000; step++) {
+                int action = random.nextInt(100);
+                if (action < 8 || universities.isEmpty()) {
+                    University university = randomUniversity(random);
+                    universities.add(university);
+                    engine.addUniversity(university);
+                } else if (action < 12) {
+                    University university = universities.get(random.nextInt(universities.size()));
+                    StudyProfile profile = random.nextInt(10) == 0 ? null : PROFILES[random.nextInt(PROFILES.length)];
+                    engine.changeMainProfile(university.getId(), profile);
+                } else if (action < 14 && universities.size() > 1) {
+                    University university = universities.remove(random.nextInt(universities.size()));
+                    engine.removeUniversity(university);
+                } else if (action < 16) {
+                    int index = random.nextInt(universities.size());
+                    University replacement = randomUniversity(random);
+                    engine.replaceUniversity(universities.set(index, replacement), replacement);
+                } else if (action < 60 || students.isEmpty()) {
+                    Student student = new Student()
+                            .setFullName("Студент " + step)
+                            .setUniversityId(random.nextInt(25) == 0 ? null : "U" + random.nextInt(35))
+                            .setCurrentCourseNumber(1 + random.nextInt(5))
+                            .setAvgExamScore(randomScore(random));
+                    students.add(student);
+                    engine.addStudent(student);
+                } else if (action < 80) {
+                    Student student = students.remove(random.nextInt(students.size()));
+                    engine.removeStudent(student);
+                } else {
+                    Student student = students.get(random.nextInt(students.size()));
+                    engine.updateScore(student, randomScore(random));
+                }
+
+                if (step % 50 == 0) {
+                    String expected = StatisticsUtil.calculateStatistics(students, universities).toString();
+                    String actual = engine.getStatistics().toString();
+                    if (!expected.equals(actual)) {
+                        throw new IllegalStateException("Snapshot mismatch in scenario " + scenario + ", step "
+                                + step + "\nexpected: " + expected + "\nactual:   " + actual);
+                    }
+                    checks++;
+                }
+            }
+
+            // Движки, заполненные частями студентов, после объединения совпадают с полным пересчётом
+            int split = random.nextInt(students.size() + 1);
+            StatisticsEngine merged = new StatisticsEngine(universities, students.subList(0, split));
+            merged.mergeStudents(new StatisticsEngine(null, students.subList(split, students.size())));
+            StatisticsEngine studentsFirst = new StatisticsEngine();
+            studentsFirst.mergeStudents(new StatisticsEngine(null, students));
+            universities.forEach(studentsFirst::addUniversity);
+            String expected = StatisticsUtil.calculateStatistics(students, universities).toString();
+            if (!expected.equals(merged.getStatistics().toString())
+                    || !expected.equals(studentsFirst.getStatistics().toString())) {
+                throw new IllegalStateException("Merged engine mismatch in scenario " + scenario);
+            }
+            checks++;
+        }
+
+        System.out.println("Snapshots compared with full recompute: " + checks);
+        System.out.println("=== TEST COMPLETED SUCCESSFULLY ===");
+    }
+
+    private static University randomUniversity(Random random) {
+        return new University()
+                .setId("U" + random.nextInt(30))
+                .setFullName(random.nextInt(20) == 0 ? null : "Университет " + random.nextInt(25))
+                .setMainProfile(random.nextInt(15) == 0 ? null : PROFILES[random.nextInt(PROFILES.length)]);
+    }
+
+    private static float randomScore(Random random) {
+        return random.nextBoolean() ? random.nextInt(51) / 10f : random.nextFloat() * 5f;
+    }
+}
@@ -0,0 +1,161 @@
+import com.google.gson.stream.JsonReader;
+import io.StreamingPipeline;
+import model.Statistics;
+import model.University;
+import util.StatisticsEngine;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Проверка потокового конвейера {@link StreamingPipeline} на синтетическом потоке студентов, который не хранится
+ * в памяти целиком.
+ * <p>
+ * Пример запуска: {@code java -Xmx64m TestStreamingPipeline 10000000}. На каждой десятой части потока источник
+ * измеряет занятую кучу после сборки мусора: рост больше {@value #MAX_HEAP_GROWTH_MB} МБ считается ошибкой.
+ * Статистика конвейера сверяется с движком, заполненным тем же потоком напрямую, а записанные JSON и XML
+ * перечитываются потоковыми парсерами и сверяются по количеству записей.
+ * </p>
+ */
+public class TestStreamingPipeline {
+
+    private static final int UNIVERSITY_COUNT = 500;
+    private static final long SEED = 42L;
+    private static final int CHECKPOINTS = 10;
+    private static final long MAX_HEAP_GROWTH_MB = 16;
+    private static final long MB = 1024 * 1024;
+
+    /**
+     * Выполняет проверку.
+     *
+     * @param args первый аргумент — количество студентов (по умолчанию 10000000)
+     * @throws Exception если файлы не удаётся записать или прочитать
+     */
+    public static void main(String[] args) throws Exception {
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        System.out.println("=== STREAMING PIPELINE TEST (" + studentCount + " students, max heap "
+                + Runtime.getRuntime().maxMemory() / MB + " MB) ===");
+        List<University> universities = SyntheticData.universities(UNIVERSITY_COUNT);
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        List<Long> heapAfterGc = new ArrayList<>();
+        int checkpointEvery = Math.max(1, studentCount / CHECKPOINTS);
+
+        Path json = Files.createTempFile("streaming-pipeline", ".json");
+        Path xml = Files.createTempFile("streaming-pipeline", ".xml");
+        try {
+            StreamingPipeline.Result result = new StreamingPipeline()
+                    .setJsonOutput(json)
+                    .setXmlOutput(xml)
+                    .run(universities, consumer -> {
+                        int[] produced = new int[1];
+                        return SyntheticData.forEachStudent(studentCount, UNIVERSITY_COUNT, SEED, student -> {
+                            consumer.accept(student);
+                            if (++produced[0] % checkpointEvery == 0) {
+                                System.gc();
+                                heapAfterGc.add(memory.getHeapMemoryUsage().getUsed());
+                            }
+                        });
+                    });
+            System.out.println("pipeline: " + result);
+            System.out.printf("output: JSON %d MB, XML %d MB%n", Files.size(json) / MB, Files.size(xml) / MB);
+
+            StringBuilder samples = new StringBuilder();
+            for (long used : heapAfterGc) {
+                samples.append(samples.length() == 0 ? "" : ", ").append(used / MB);
+            }
+            System.out.println("heap after GC per tenth of the stream, MB: " + samples);
+            long growth = heapAfterGc.isEmpty() ? 0 : Collections.max(heapAfterGc) - heapAfterGc.get(0);
+            Checks.check(growth <= MAX_HEAP_GROWTH_MB * MB, "heap grew by " + growth / MB + " MB");
+
+            StatisticsEngine reference = new StatisticsEngine(universities, null);
+            SyntheticData.forEachStudent(studentCount, UNIVERSITY_COUNT, SEED, reference::addStudent);
+            List<Statistics> expected = reference.getStatistics();
+            Checks.check(result.getStudentCount() == studentCount, "pipeline counted " + result.getStudentCount());
+            Checks.check(expected.toString().equals(result.getStatistics().toString()),
+                    "statistics differ from reference");
+
+            long[] jsonCounts = countJson(json);
+            Checks.check(jsonCounts[0] == studentCount, "JSON contains " + jsonCounts[0] + " students");
+            Checks.check(jsonCounts[1] == UNIVERSITY_COUNT, "JSON contains " + jsonCounts[1] + " universities");
+            Checks.check(jsonCounts[2] == expected.size(), "JSON contains " + jsonCounts[2] + " statistics entries");
+            long[] xmlCounts = countXml(xml);
+            Checks.check(xmlCounts[0] == studentCount, "XML contains " + xmlCounts[0] + " students");
+            Checks.check(xmlCounts[1] == UNIVERSITY_COUNT, "XML contains " + xmlCounts[1] + " universities");
+            Checks.check(xmlCounts[2] == expected.size(), "XML contains " + xmlCounts[2] + " statistics entries");
+            System.out.println("All checks passed");
+        } finally {
+            Files.deleteIfExists(json);
+            Files.deleteIfExists(xml);
+        }
+    }
+
+    /**
+     * Считает записи разделов студентов, университетов и статистики в JSON-файле.
+     */
+    private static long[] countJson(Path path) throws Exception {
+        long[] counts = new long[3];
+        try (Reader input = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+             JsonReader reader = new JsonReader(input)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                int section = name.equals("studentsInfo") ? 0
+                        : name.equals("universitiesInfo") ? 1
+                        : name.equals("statisticalInfo") ? 2 : -1;
+                if (section < 0) {
+                    reader.skipValue();
+                    continue;
+                }
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    reader.skipValue();
+                    counts[section]++;
+                }
+                reader.endArray();
+            }
+            reader.endObject();
+        }
+        return counts;
+    }
+
+    /**
+     * Считает элементы студентов, университетов и статистики в XML-файле.
+     */
+    private static long[] countXml(Path path) throws Exception {
+        long[] counts = new long[3];
+        try (InputStream input = Files.newInputStream(path)) {
+            XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(input);
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                switch (reader.getLocalName()) {
+                    case "studentEntry":
+                        counts[0]++;
+                        break;
+                    case "universityEntry":
+                        counts[1]++;
+                        break;
+                    case "statisticsEntry":
+                        counts[2]++;
+                        break;
+                    default:
+                        break;
+                }
+            }
+            reader.close();
+        }
+        return counts;
+    }
+}
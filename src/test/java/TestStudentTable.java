@@ -0,0 +1,131 @@
+import enums.StudentComparatorType;
+import enums.StudyProfile;
+import io.WorkbookSource;
+import model.Statistics;
+import model.Student;
+import model.StudentTable;
+import model.University;
+import util.ComparatorUtil;
+import util.StatisticsUtil;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Проверка колоночного пути аналитики: {@link ComparatorUtil#sortRows} даёт для каждого типа тот же порядок,
+ * что и стабильная сортировка списка студентов компаратором, а статистика по {@link StudentTable} совпадает
+ * со статистикой по списку, в том числе для таблицы, прочитанной из книги. Представления строк доступны только
+ * для чтения, а их коды университетов совпадают с кодами словаря таблицы; таблица, прочитанная из книги, кодирует
+ * идентификаторы словарём загрузки.
+ */
+public class TestStudentTable {
+
+    private static final int UNIVERSITY_COUNT = 30;
+
+    /**
+     * Выполняет проверки.
+     *
+     * @param args не используются
+     * @throws IOException если книгу не удаётся записать или прочитать
+     */
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== STUDENT TABLE TEST ===");
+        List<Student> students = SortingFixtures.students(new Random(29L));
+        StudentTable table = StudentTable.of(students);
+        Checks.check(table.size() == students.size(), "table has " + table.size() + " rows");
+        Checks.check(students.toString().equals(table.asStudentList().toString()), "table rows differ from the list");
+        for (StudentComparatorType type : StudentComparatorType.values()) {
+            Checks.checkSameOrder("table rows by " + type,
+                    SortingFixtures.sorted(students, ComparatorUtil.getStudentComparator(type)),
+                    rows(students, ComparatorUtil.sortRows(table, type)));
+        }
+        System.out.println("sort: sortRows matches a stable comparator sort for every type");
+
+        checkViews(table);
+        System.out.println("views: rows are read-only and carry the table's university codes");
+
+        List<University> universities = SyntheticData.universities(UNIVERSITY_COUNT);
+        universities.add(new University().setId("0005-high").setMainProfile(StudyProfile.LINGUISTICS));
+        universities.add(new University().setId("0006-high"));
+        universities.add(new University().setMainProfile(StudyProfile.MEDICINE));
+        List<Student> scored = new ArrayList<>(SyntheticData.students(5_000, UNIVERSITY_COUNT + 5, 31L));
+        scored.add(new Student().setFullName("Без университета").setAvgExamScore(4.0f));
+        scored.add(new Student().setFullName("Неизвестный университет").setUniversityId("9999-high"));
+        checkStatistics("synthetic table", StudentTable.of(scored), scored, universities);
+
+        Path workbook = Files.createTempFile("student-table-test", ".xlsx");
+        try {
+            SyntheticData.writeWorkbook(workbook.toString(), UNIVERSITY_COUNT, 5_000, SyntheticData::edgeCases);
+            try (WorkbookSource source = WorkbookSource.open(workbook.toString())) {
+                List<University> read = source.readUniversities();
+                List<Student> list = source.readStudents();
+                StudentTable loaded = source.readStudentTable();
+                Checks.check(list.toString().equals(loaded.asStudentList().toString()),
+                        "workbook table rows differ from the student list");
+                checkStatistics("workbook table", loaded, list, read);
+                for (int row = 0; row < list.size(); row++) {
+                    Checks.check(loaded.view(row).getUniversityIdCode() == list.get(row).getUniversityIdCode()
+                            && loaded.getUniversityId(row) == list.get(row).getUniversityId(),
+                            "workbook table row " + row + " is not encoded with the load dictionary");
+                }
+                Checks.checkSameOrder("workbook table rows by university",
+                        SortingFixtures.sorted(list, ComparatorUtil.getStudentComparator(
+                                StudentComparatorType.UNIVERSITY_ID)),
+                        rows(list, ComparatorUtil.sortRows(loaded, StudentComparatorType.UNIVERSITY_ID)));
+            }
+        } finally {
+            Files.deleteIfExists(workbook);
+        }
+        System.out.println("statistics: table statistics match list statistics");
+        System.out.println("All checks passed");
+    }
+
+    private static void checkViews(StudentTable table) {
+        for (int row = 0; row < table.size(); row++) {
+            Student view = table.view(row);
+            int code = view.getUniversityIdCode();
+            Checks.check(code == table.getUniversityIdx(row), "view code differs from the table at row " + row);
+            Checks.check(code < 0 ? view.getUniversityId() == null
+                    : view.getUniversityId() == table.getUniversityIdAt(code)
+                    && table.indexOfUniversityId(view.getUniversityId()) == code, "view code of row " + row);
+        }
+        Checks.check(table.indexOfUniversityId("missing") == -1, "unknown id has a dictionary index");
+        Student view = table.view(0);
+        List<Runnable> setters = List.of(
+                () -> view.setUniversityId("x"),
+                () -> view.setUniversityId("x", 5),
+                () -> view.setFullName("x"),
+                () -> view.setCurrentCourseNumber(1),
+                () -> view.setAvgExamScore(1.0f));
+        for (Runnable setter : setters) {
+            boolean rejected = false;
+            try {
+                setter.run();
+            } catch (UnsupportedOperationException e) {
+                rejected = true;
+            }
+            Checks.check(rejected, "read-only view accepted a change");
+        }
+    }
+
+    private static void checkStatistics(String name, StudentTable table, List<Student> students,
+                                        List<University> universities) {
+        List<Statistics> statistics = StatisticsUtil.calculateStatistics(students, universities);
+        Checks.check(statistics.size() > 1, name + ": fixture produces " + statistics.size() + " profiles");
+        String expected = statistics.toString();
+        Checks.check(expected.equals(StatisticsUtil.calculateStatistics(table, universities).toString()),
+                name + ": statistics differ from the list statistics");
+    }
+
+    private static List<Student> rows(List<Student> students, int[] order) {
+        List<Student> result = new ArrayList<>(order.length);
+        for (int row : order) {
+            result.add(students.get(row));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,110 @@
+import model.Student;
+import model.University;
+import util.StudentUniversityJoin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Проверка {@link StudentUniversityJoin}: совпавшие пары, студенты-сироты, переданные потребителю, и университеты
+ * без студентов совпадают с вложенным перебором; соединение с фильтром Блума даёт тот же результат, что и без него;
+ * повторяющиеся идентификаторы университетов образуют пару с каждым университетом, элементы {@code null}
+ * пропускаются.
+ */
+public class TestStudentUniversityJoin {
+
+    private static final int UNIVERSITY_COUNT = 50;
+
+    /**
+     * Выполняет проверки.
+     *
+     * @param args не используются
+     */
+    public static void main(String[] args) {
+        System.out.println("=== STUDENT UNIVERSITY JOIN TEST ===");
+        List<University> universities = SyntheticData.universities(UNIVERSITY_COUNT);
+        University duplicate = new University().setId("0007-high").setFullName("Филиал");
+        universities.add(duplicate);
+        universities.add(new University().setFullName("Без идентификатора"));
+        universities.add(null);
+
+        List<Student> students = new ArrayList<>(SyntheticData.students(3_000, UNIVERSITY_COUNT - 10, 3L));
+        students.add(new Student().setFullName("Неизвестный университет").setUniversityId("9999-high"));
+        students.add(new Student().setFullName("Без университета"));
+        students.add(null);
+        students.add(new Student().setFullName("Студент филиала").setUniversityId("0007-high"));
+
+        List<Student> expectedOrphans = new ArrayList<>();
+        List<Student> expectedPairStudents = new ArrayList<>();
+        List<University> expectedPairUniversities = new ArrayList<>();
+        Set<University> matched = Collections.newSetFromMap(new IdentityHashMap<>());
+        long expectedMatchedStudents = 0;
+        for (Student student : students) {
+            if (student == null) {
+                continue;
+            }
+            boolean found = false;
+            for (University university : universities) {
+                if (university != null && university.getId() != null
+                        && university.getId().equals(student.getUniversityId())) {
+                    expectedPairStudents.add(student);
+                    expectedPairUniversities.add(university);
+                    matched.add(university);
+                    found = true;
+                }
+            }
+            if (found) {
+                expectedMatchedStudents++;
+            } else {
+                expectedOrphans.add(student);
+            }
+        }
+        List<University> expectedWithoutStudents = new ArrayList<>();
+        for (University university : universities) {
+            if (university != null && !matched.contains(university)) {
+                expectedWithoutStudents.add(university);
+            }
+        }
+        Checks.check(expectedWithoutStudents.size() > 10, "fixture has no universities without students");
+
+        for (StudentUniversityJoin join : Arrays.asList(StudentUniversityJoin.build(universities),
+                StudentUniversityJoin.buildWithBloomFilter(universities,
+                        StudentUniversityJoin.DEFAULT_BLOOM_FALSE_POSITIVE_RATE))) {
+            String name = join.hasBloomFilter() ? "with Bloom filter" : "without Bloom filter";
+            List<Student> pairStudents = new ArrayList<>();
+            List<University> pairUniversities = new ArrayList<>();
+            List<Student> orphans = new ArrayList<>();
+            StudentUniversityJoin.JoinResult result = join.join(students, (student, university) -> {
+                pairStudents.add(student);
+                pairUniversities.add(university);
+            }, orphans::add);
+
+            Checks.checkSameOrder("students of matched pairs " + name, expectedPairStudents, pairStudents);
+            Checks.checkSameOrder("universities of matched pairs " + name, expectedPairUniversities,
+                    pairUniversities);
+            Checks.check(result.getMatchedPairCount() == expectedPairStudents.size(), "pair count " + name);
+            Checks.check(result.getMatchedStudentCount() == expectedMatchedStudents, "student count " + name);
+            Checks.checkSameOrder("orphans " + name, expectedOrphans, orphans);
+            Checks.check(result.getOrphanStudentCount() == expectedOrphans.size(), "orphan count " + name);
+            Checks.checkSameOrder("universities without students " + name, expectedWithoutStudents,
+                    result.getUniversitiesWithoutStudents());
+            Checks.check(result.getBloomRejectedCount() <= expectedOrphans.size(), "Bloom rejections " + name);
+
+            StudentUniversityJoin.JoinResult counted = join.join(students);
+            Checks.check(counted.getMatchedPairCount() == result.getMatchedPairCount()
+                    && counted.getOrphanStudentCount() == result.getOrphanStudentCount(),
+                    "join without consumers differs " + name);
+
+            Checks.checkSameOrder("universities with id 0007-high " + name,
+                    Arrays.asList(universities.get(6), duplicate), join.getUniversities("0007-high"));
+            Checks.check(join.getUniversities("9999-high").isEmpty(), "unknown id has universities " + name);
+            Checks.check(join.mightMatch("0001-high"), "known id rejected " + name);
+            System.out.println(name + ": " + result);
+        }
+        System.out.println("All checks passed");
+    }
+}
@@ -0,0 +1,185 @@
+import comparators.StudentAvgExamScoreComparator;
+import comparators.StudentFullNameComparator;
+import enums.StudyProfile;
+import model.Student;
+import model.University;
+import util.StatisticsUtil;
+import util.TopKHeap;
+import util.TopStudentsUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Проверка {@link TopKHeap} и {@link TopStudentsUtil}: лучшие студенты совпадают с первыми {@code k} элементами
+ * стабильной сортировки по убыванию балла и полному имени, то есть при полном совпадении выше стоит студент,
+ * раньше встретившийся во входном списке. Данные содержат множество повторяющихся баллов и имён, {@code NaN},
+ * {@code -0.0}, пустые имена и пустые элементы; проверяются {@code k} больше количества студентов, объединение куч
+ * и параллельный проход по спискам, размер которых достигает порога параллельного выполнения.
+ */
+public class TestTopStudents {
+
+    private static final Comparator<Student> RANKING =
+            new StudentAvgExamScoreComparator().thenComparing(new StudentFullNameComparator());
+    private static final int[] PARALLELISMS = {1, 2, 3, 8};
+
+    /**
+     * Выполняет проверки.
+     *
+     * @param args первый аргумент — зерно генератора случайных чисел (по умолчанию 10)
+     */
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 10L;
+        Random random = new Random(seed);
+        System.out.println("=== TOP STUDENTS TEST (seed " + seed + ") ===");
+
+        List<Student> students = SortingFixtures.students(random);
+        checkHeap(students, random);
+        System.out.println("TopKHeap offers and merges match a stable sort");
+
+        for (int k : new int[] {1, 3, 50, students.size(), students.size() + 10}) {
+            Checks.checkSameOrder("top " + k, expectedTop(students, k), TopStudentsUtil.top(students, k));
+        }
+        List<Student> withNulls = new ArrayList<>(students);
+        for (int i = 0; i < 20; i++) {
+            withNulls.add(random.nextInt(withNulls.size() + 1), null);
+        }
+        Checks.checkSameOrder("top with null elements", expectedTop(withNulls, 100),
+                TopStudentsUtil.top(withNulls, 100));
+        System.out.println("Overall top matches a stable sort");
+
+        List<Student> large = new ArrayList<>(StatisticsUtil.DEFAULT_PARALLEL_THRESHOLD + 1_000);
+        while (large.size() < StatisticsUtil.DEFAULT_PARALLEL_THRESHOLD + 1_000) {
+            large.add(random.nextInt(1_000) == 0 ? null : SortingFixtures.student(random));
+        }
+        List<University> universities = SortingFixtures.universities(random);
+        Map<String, List<Student>> universityGroups = groupByUniversity(large);
+        Map<StudyProfile, List<Student>> profileGroups = groupByProfile(large, universities);
+        for (int k : new int[] {1, 7, 5_000}) {
+            Map<String, List<Student>> byUniversity = expectedTop(universityGroups, k);
+            Map<StudyProfile, List<Student>> byProfile = expectedTop(profileGroups, k);
+            for (int parallelism : PARALLELISMS) {
+                String suffix = ", k " + k + ", parallelism " + parallelism;
+                checkSameGroups("by university" + suffix, byUniversity,
+                        TopStudentsUtil.topByUniversity(large, k, parallelism));
+                checkSameGroups("by profile" + suffix, byProfile,
+                        TopStudentsUtil.topByProfile(large, universities, k, parallelism));
+            }
+        }
+        System.out.println("Grouped top matches a stable sort for parallelism 1, 2, 3 and 8");
+
+        checkRejected(() -> new TopKHeap(0), "zero capacity");
+        checkRejected(() -> new TopKHeap(2).merge(new TopKHeap(3)), "merge of different capacities");
+        checkRejected(() -> TopStudentsUtil.top(students, 0), "zero k");
+        checkRejected(() -> TopStudentsUtil.topByUniversity(students, 1, 0), "zero parallelism");
+        System.out.println("Invalid arguments rejected");
+
+        System.out.println("All checks passed");
+    }
+
+    /**
+     * Предлагает студентов кучам в случайном порядке, разбивая их между несколькими кучами, которые затем
+     * объединяются также в случайном порядке.
+     */
+    private static void checkHeap(List<Student> students, Random random) {
+        for (int k : new int[] {1, 2, 10, 257, students.size(), students.size() + 1}) {
+            List<Integer> order = new ArrayList<>(students.size());
+            for (int i = 0; i < students.size(); i++) {
+                order.add(i);
+            }
+            Collections.shuffle(order, random);
+
+            List<TopKHeap> heaps = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(5); i++) {
+                heaps.add(new TopKHeap(k));
+            }
+            for (int index : order) {
+                heaps.get(random.nextInt(heaps.size())).offer(students.get(index), index);
+            }
+            Collections.shuffle(heaps, random);
+            TopKHeap merged = heaps.get(0);
+            for (int i = 1; i < heaps.size(); i++) {
+                merged.merge(heaps.get(i));
+            }
+
+            List<Student> expected = expectedTop(students, k);
+            Checks.check(merged.size() == expected.size(), "heap of capacity " + k + " holds " + merged.size()
+                    + " students, expected " + expected.size());
+            Checks.checkSameOrder("heap of capacity " + k, expected, merged.toList());
+        }
+    }
+
+    private static List<Student> expectedTop(List<Student> students, int k) {
+        List<Student> present = new ArrayList<>(students);
+        present.removeIf(student -> student == null);
+        List<Student> sorted = SortingFixtures.sorted(present, RANKING);
+        return new ArrayList<>(sorted.subList(0, Math.min(k, sorted.size())));
+    }
+
+    private static <K> Map<K, List<Student>> expectedTop(Map<K, List<Student>> groups, int k) {
+        Map<K, List<Student>> result = new LinkedHashMap<>();
+        groups.forEach((key, group) -> result.put(key, expectedTop(group, k)));
+        return result;
+    }
+
+    private static Map<String, List<Student>> groupByUniversity(List<Student> students) {
+        Map<String, List<Student>> groups = new TreeMap<>();
+        for (Student student : students) {
+            if (student != null && student.getUniversityId() != null) {
+                groups.computeIfAbsent(student.getUniversityId(), id -> new ArrayList<>()).add(student);
+            }
+        }
+        return groups;
+    }
+
+    private static Map<StudyProfile, List<Student>> groupByProfile(List<Student> students,
+                                                                   List<University> universities) {
+        Map<StudyProfile, List<Student>> groups = new LinkedHashMap<>();
+        for (University university : universities) {
+            if (university.getMainProfile() != null) {
+                groups.putIfAbsent(university.getMainProfile(), new ArrayList<>());
+            }
+        }
+        for (Student student : students) {
+            if (student == null || student.getUniversityId() == null) {
+                continue;
+            }
+            for (Map.Entry<StudyProfile, List<Student>> group : groups.entrySet()) {
+                for (University university : universities) {
+                    if (university.getMainProfile() == group.getKey()
+                            && student.getUniversityId().equals(university.getId())) {
+                        group.getValue().add(student);
+                        break;
+                    }
+                }
+            }
+        }
+        groups.values().removeIf(List::isEmpty);
+        return groups;
+    }
+
+    private static <K> void checkSameGroups(String name, Map<K, List<Student>> expected,
+                                            Map<K, List<Student>> actual) {
+        Checks.check(new ArrayList<>(expected.keySet()).equals(new ArrayList<>(actual.keySet())),
+                name + " groups " + actual.keySet() + ", expected " + expected.keySet());
+        for (Map.Entry<K, List<Student>> group : expected.entrySet()) {
+            Checks.checkSameOrder(name + " [" + group.getKey() + "]", group.getValue(), actual.get(group.getKey()));
+        }
+    }
+
+    private static void checkRejected(Runnable action, String name) {
+        boolean rejected = false;
+        try {
+            action.run();
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        Checks.check(rejected, name + " is accepted");
+    }
+}
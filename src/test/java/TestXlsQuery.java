@@ -0,0 +1,123 @@
+import enums.StudentColumn;
+import enums.StudyProfile;
+import io.XlsQuery;
+import io.XlsReader;
+import model.Student;
+import model.University;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Проверка {@link XlsQuery}: выборка по каждому условию и их сочетаниям возвращает те же строки, что и
+ * отфильтрованное чтение книги целиком через {@link XlsReader}, выбранные поля совпадают, а невыбранные остаются
+ * пустыми. Книга содержит пустые ячейки и имена со служебными символами XML.
+ */
+public class TestXlsQuery {
+
+    private static final int UNIVERSITY_COUNT = 40;
+    private static final int STUDENT_COUNT = 5_000;
+
+    /**
+     * Выполняет проверки.
+     *
+     * @param args не используются
+     * @throws IOException если книгу не удаётся записать или прочитать
+     */
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== XLS QUERY TEST ===");
+        Path workbook = Files.createTempFile("query-test", ".xlsx");
+        String file = workbook.toString();
+        try {
+            SyntheticData.writeWorkbook(file, UNIVERSITY_COUNT, STUDENT_COUNT, SyntheticData::edgeCases);
+            checkQuery(file, XlsReader.readXlsStudents(file), XlsReader.readXlsUniversities(file));
+        } finally {
+            Files.deleteIfExists(workbook);
+        }
+        System.out.println("All checks passed");
+    }
+
+    /**
+     * Сверяет запросы с фильтрацией полного чтения по каждому условию и их сочетаниям.
+     */
+    private static void checkQuery(String workbook, List<Student> all, List<University> universities)
+            throws IOException {
+        Set<String> ids = new HashSet<>(Arrays.asList("0001-high", "0004-high", "0017-high", "9999-high"));
+        StudyProfile profile = universities.get(0).getMainProfile();
+        Set<String> profileIds = universities.stream()
+                .filter(university -> university.getMainProfile() == profile)
+                .map(University::getId)
+                .collect(Collectors.toSet());
+        Predicate<Student> byScore = student -> student.getAvgExamScore() >= 4.0f;
+        Predicate<Student> byId = student -> ids.contains(student.getUniversityId());
+        Predicate<Student> byProfile = student -> profileIds.contains(student.getUniversityId());
+
+        verify("all columns, all rows", all, new XlsQuery().readStudents(workbook), student -> true,
+                StudentColumn.values());
+        verify("names", all, new XlsQuery().select(StudentColumn.FULL_NAME).readStudents(workbook),
+                student -> true, StudentColumn.FULL_NAME);
+        verify("ids, all rows", all, new XlsQuery().select(StudentColumn.UNIVERSITY_ID).readStudents(workbook),
+                student -> true, StudentColumn.UNIVERSITY_ID);
+        verify("courses, score >= 4.0", all, new XlsQuery().select(StudentColumn.COURSE)
+                .whereScoreAtLeast(4.0f).readStudents(workbook), byScore, StudentColumn.COURSE);
+        verify("ids, selected universities", all, new XlsQuery().select(StudentColumn.UNIVERSITY_ID)
+                .whereUniversityIdIn(ids).readStudents(workbook), byId, StudentColumn.UNIVERSITY_ID);
+        verify("names and scores, " + profile, all, new XlsQuery()
+                .select(StudentColumn.FULL_NAME, StudentColumn.AVG_SCORE)
+                .whereProfile(profile).readStudents(workbook), byProfile,
+                StudentColumn.FULL_NAME, StudentColumn.AVG_SCORE);
+        verify("all columns, all predicates", all, new XlsQuery().whereScoreAtLeast(4.0f)
+                .whereUniversityIdIn(ids).whereProfile(profile).readStudents(workbook),
+                byScore.and(byId).and(byProfile), StudentColumn.values());
+        verify("no matching university", all, new XlsQuery().whereUniversityIdIn(Collections.emptySet())
+                .readStudents(workbook), student -> false, StudentColumn.values());
+
+        List<Student> streamed = new ArrayList<>();
+        int count = new XlsQuery().whereScoreAtLeast(4.0f).streamStudents(workbook, streamed::add);
+        Checks.check(count == streamed.size(), "streamed count " + count + " of " + streamed.size() + " students");
+        verify("streamed, score >= 4.0", all, streamed, byScore, StudentColumn.values());
+
+        boolean rejected = false;
+        try {
+            new XlsQuery().whereScoreAtLeast(Float.NaN);
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        Checks.check(rejected, "query accepted a NaN score threshold");
+        System.out.println("query: projections and predicates match a filtered full read");
+    }
+
+    /**
+     * Сверяет результат запроса с отфильтрованным полным чтением: выбранные поля совпадают, остальные пусты.
+     */
+    private static void verify(String name, List<Student> all, List<Student> actual, Predicate<Student> filter,
+                               StudentColumn... columns) {
+        List<Student> expected = all.stream().filter(filter).collect(Collectors.toList());
+        Checks.check(expected.size() == actual.size(),
+                name + ": expected " + expected.size() + " students, got " + actual.size());
+        Set<StudentColumn> selected = new HashSet<>(Arrays.asList(columns));
+        for (int i = 0; i < expected.size(); i++) {
+            Student e = expected.get(i);
+            Student a = actual.get(i);
+            boolean equal = (selected.contains(StudentColumn.UNIVERSITY_ID)
+                    ? e.getUniversityId().equals(a.getUniversityId())
+                    : a.getUniversityId() == null)
+                    && (selected.contains(StudentColumn.FULL_NAME)
+                    ? e.getFullName().equals(a.getFullName()) : a.getFullName() == null)
+                    && (selected.contains(StudentColumn.COURSE)
+                    ? e.getCurrentCourseNumber() == a.getCurrentCourseNumber() : a.getCurrentCourseNumber() == 0)
+                    && (selected.contains(StudentColumn.AVG_SCORE)
+                    ? Float.compare(e.getAvgExamScore(), a.getAvgExamScore()) == 0 : a.getAvgExamScore() == 0f);
+            Checks.check(equal, name + ", row " + i + ": expected " + e + ", got " + a);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+import enums.XlsReadMode;
+import io.XlsReader;
+import model.Student;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Проверка потокового режима {@link XlsReader}: студенты и университеты совпадают с чтением книги целиком,
+ * в том числе для пустой ячейки идентификатора университета, которая читается как пустая строка, и для имён
+ * со служебными символами XML.
+ */
+public class TestXlsStreamReader {
+
+    private static final int UNIVERSITY_COUNT = 40;
+    private static final int STUDENT_COUNT = 2_000;
+
+    /**
+     * Выполняет проверки.
+     *
+     * @param args не используются
+     * @throws IOException если книгу не удаётся записать или прочитать
+     */
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== XLS STREAM READER TEST ===");
+        Path workbook = Files.createTempFile("stream-reader-test", ".xlsx");
+        String file = workbook.toString();
+        try {
+            SyntheticData.writeWorkbook(file, UNIVERSITY_COUNT, STUDENT_COUNT, SyntheticData::edgeCases);
+            List<Student> expected = XlsReader.readXlsStudents(file);
+            Checks.check(expected.size() == STUDENT_COUNT, "full reader returned " + expected.size() + " students");
+            Checks.check(expected.stream().anyMatch(student -> student.getUniversityId().isEmpty()),
+                    "fixture has no empty university cells");
+            Checks.check(expected.stream().anyMatch(student -> student.getFullName().startsWith("О'Нил & <Ко>")),
+                    "fixture has no names with XML markup characters");
+
+            List<Student> streamed = XlsReader.readXlsStudents(file, XlsReadMode.STREAMING);
+            Checks.check(expected.toString().equals(streamed.toString()),
+                    "streaming students differ from the full reader");
+            Checks.check(XlsReader.readXlsUniversities(file).toString()
+                    .equals(XlsReader.readXlsUniversities(file, XlsReadMode.STREAMING).toString()),
+                    "streaming universities differ from the full reader");
+            System.out.println("streaming: students and universities match the full reader, blank cells included");
+        } finally {
+            Files.deleteIfExists(workbook);
+        }
+        System.out.println("All checks passed");
+    }
+}